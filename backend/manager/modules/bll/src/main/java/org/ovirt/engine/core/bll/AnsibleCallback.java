@@ -66,7 +66,9 @@ public class AnsibleCallback implements CommandCallback {
         AnsibleRunnerClient.PlaybookStatus playbookStatus = runnerClient.getPlaybookStatus(playUuid);
         String msg = playbookStatus.getMsg();
         // Process the events if the playbook is running:
-        totalEvents = runnerClient.getTotalEvents(playUuid);
+        totalEvents = msg.equalsIgnoreCase("running")
+                ? runnerClient.getTotalEvents(playUuid)
+                : runnerClient.getTotalEventsOfEndedPlay(playUuid);
 
         log.debug("LastEventId: {} totalEvents: {} playbookStatus: {}", ret.getLastEventId(), totalEvents, playbookStatus);
         if (msg.equalsIgnoreCase("running") || msg.equalsIgnoreCase("successful")
@@ -85,6 +87,7 @@ public class AnsibleCallback implements CommandCallback {
             command.setSucceeded(false);
             command.setCommandStatus(CommandStatus.FAILED);
         }
+        runnerClient.stopTailingEvents(playUuid);
         command.persistCommand(command.getParameters().getParentCommand(), true);
     }
 
@@ -4,16 +4,27 @@ import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 
+import javax.inject.Inject;
+
 import org.ovirt.engine.core.bll.context.CommandContext;
+import org.ovirt.engine.core.bll.exportimport.OvaDiskThroughputReporter;
+import org.ovirt.engine.core.common.action.ActionReturnValue;
 import org.ovirt.engine.core.common.action.AnsibleCommandParameters;
+import org.ovirt.engine.core.common.job.StepEnum;
 import org.ovirt.engine.core.common.utils.ansible.AnsibleCommandConfig;
 import org.ovirt.engine.core.common.utils.ansible.AnsibleConstants;
+import org.ovirt.engine.core.common.utils.ansible.AnsibleRunnerClient;
 import org.ovirt.engine.core.utils.EngineLocalConfig;
 
 @NonTransactiveCommandAttribute
 public class AnsiblePackOvaCommand <T extends AnsibleCommandParameters> extends AnsibleCommandBase<T> {
     private static final String CREATE_OVA_LOG_DIRECTORY = "ova";
 
+    @Inject
+    private AnsibleRunnerClient runnerClient;
+    @Inject
+    private OvaDiskThroughputReporter ovaDiskThroughputReporter;
+
     public AnsiblePackOvaCommand(T parameters, CommandContext cmdContext) {
         super(parameters, cmdContext);
     }
@@ -34,6 +45,7 @@ public class AnsiblePackOvaCommand <T extends AnsibleCommandParameters> extends
                 .variable("ovirt_ova_pack_tpm", vars.get("ovirt_ova_pack_tpm"))
                 .variable("ovirt_ova_pack_nvram", vars.get("ovirt_ova_pack_nvram"))
                 .variable("ovirt_ova_pack_padding", vars.get("ovirt_ova_pack_padding"))
+                .variable("ovirt_ova_pack_parallelism", vars.get("ovirt_ova_pack_parallelism"))
                 .variable("ansible_timeout", timeout)
                 // /var/log/ovirt-engine/ova/ovirt-export-ova-ansible-{hostname}-{correlationid}-{timestamp}.log
                 .logFileDirectory(CREATE_OVA_LOG_DIRECTORY)
@@ -45,6 +57,16 @@ public class AnsiblePackOvaCommand <T extends AnsibleCommandParameters> extends
 
     @Override
     protected BiConsumer<String, String> getEventUrlConsumer() {
-        return null;
+        StringBuilder stdout = new StringBuilder();
+        getParameters().setStringBuilder(stdout);
+        return (eventName, eventUrl) -> stdout.append(runnerClient.getCommandStdout(eventUrl));
+    }
+
+    @Override
+    public ActionReturnValue endAction() {
+        ovaDiskThroughputReporter.report(getExecutionContext(),
+                StepEnum.PACKING_OVA_DISK,
+                getParameters().getStringBuilder());
+        return super.endAction();
     }
 }
@@ -25,6 +25,9 @@ public class AuditLogCleanupManager implements BackendService {
 
     private static final Logger log = LoggerFactory.getLogger(AuditLogCleanupManager.class);
 
+    /** The daily partitions of the audit log are created a week ahead, so a stopped engine does not miss them */
+    private static final int PARTITION_DAYS_AHEAD = 7;
+
     @Inject
     @ThreadPools(ThreadPools.ThreadPoolType.EngineScheduledThreadPool)
     private ManagedScheduledExecutorService executor;
@@ -42,6 +45,7 @@ public class AuditLogCleanupManager implements BackendService {
         String cronExpression = String.format("%d %d %d * * ?", calendar.get(Calendar.SECOND),
                 calendar.get(Calendar.MINUTE), calendar.get(Calendar.HOUR_OF_DAY));
 
+        createPartitions();
         log.info("Setting audit cleanup manager to run at '{}'", cronExpression);
         executor.schedule(this::cleanup, new EngineCronTrigger(cronExpression));
         log.info("Finished initializing {}", getClass().getSimpleName());
@@ -50,6 +54,7 @@ public class AuditLogCleanupManager implements BackendService {
     public void cleanup() {
         try {
             log.debug("Start cleanup");
+            auditLogDao.createPartitions(PARTITION_DAYS_AHEAD);
             DateTime latestTimeToKeep = DateTime.getNow().addDays(
                     Config.<Integer>getValue(ConfigValues.AuditLogAgingThreshold)
                             * -1);
@@ -61,4 +66,13 @@ public class AuditLogCleanupManager implements BackendService {
         }
     }
 
+    private void createPartitions() {
+        try {
+            auditLogDao.createPartitions(PARTITION_DAYS_AHEAD);
+        } catch (RuntimeException e) {
+            log.error("Failed to create the audit log partitions: {}", ExceptionUtils.getRootCauseMessage(e));
+            log.debug("Exception", e);
+        }
+    }
+
 }
@@ -4,10 +4,14 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -37,6 +41,7 @@ import org.ovirt.engine.core.dao.SnapshotDao;
 import org.ovirt.engine.core.dao.VmDao;
 import org.ovirt.engine.core.utils.lock.EngineLock;
 import org.ovirt.engine.core.utils.lock.LockManager;
+import org.ovirt.engine.core.utils.threadpool.ThreadPoolUtil;
 import org.ovirt.engine.core.utils.threadpool.ThreadPools;
 import org.ovirt.engine.core.vdsbroker.monitoring.VmsMonitoring;
 import org.slf4j.Logger;
@@ -62,6 +67,11 @@ import org.slf4j.LoggerFactory;
  * we remove the VM from the list of VMs to start and skip it (the VM will not be automatically started).
  * - Otherwise, we successfully scheduled an attempt to start the VM. From this point on, it is the monitoring
  * module ({@link VmsMonitoring}) that will track the VM and re-register it to this service in case of a failure.
+ *
+ * The VMs are processed in waves: when the priority is considered each wave holds the VMs of one priority, starting
+ * with the highest one, otherwise all the VMs form a single wave. The VMs of a wave that were locked for running are
+ * started concurrently, at most {@link ConfigValues#AutoStartVmsRunnerMaxParallelStarts} at a time, and the time it
+ * took to handle each wave is logged once none of its VMs waits for an auto-start anymore.
  */
 public abstract class AutoStartVmsRunner implements BackendService {
 
@@ -88,6 +98,8 @@ public abstract class AutoStartVmsRunner implements BackendService {
 
     private Map<Guid, AutoStartVmToRestart> autoStartVmsToRestart;
 
+    private final Map<Integer, RestartWave> restartWaves = new HashMap<>();
+
     private Set<Guid> vmsToAdd;
     private final Object vmsToAddLock = new Object();
 
@@ -98,7 +110,7 @@ public abstract class AutoStartVmsRunner implements BackendService {
     }
 
     @PostConstruct
-    private void init() {
+    void init() {
         autoStartVmsToRestart = getInitialVmsToStart().stream()
             .collect(Collectors.toMap(AutoStartVmToRestart::getVmId, a -> a));
 
@@ -158,14 +170,45 @@ public abstract class AutoStartVmsRunner implements BackendService {
         // Update priority, user may have changed it
         vmsToRestart.forEach(vmToRestart -> vmToRestart.setVm(vms.get(vmToRestart.getVmId())));
 
-        if (considerPriority) {
-            // Sort only if priority is important
-            vmsToRestart.sort(
-                    Comparator.<AutoStartVmToRestart> comparingInt(a -> a.getVm() != null ? a.getVm().getPriority() : 0)
-                            .reversed());
+        int neededPriority = Integer.MIN_VALUE;
+        for (List<AutoStartVmToRestart> wave : groupIntoWaves(vmsToRestart)) {
+            for (AutoStartVmToRestart autoStartVmToRestart : wave) {
+                if (autoStartVmToRestart.getState() == AutoStartVmToRestart.State.VM_DOWN) {
+                    autoStartVmToRestart.setState(
+                            processVmDown(autoStartVmToRestart, neededPriority, iterationStartTime));
+                }
+            }
+
+            runLockedVms(wave, iterationStartTime);
+
+            for (AutoStartVmToRestart autoStartVmToRestart : wave) {
+                if (autoStartVmToRestart.getState() == AutoStartVmToRestart.State.VM_STARTING) {
+                    autoStartVmToRestart.setState(
+                            processVmStarting(autoStartVmToRestart, iterationStartTime));
+                }
+
+                if (autoStartVmToRestart.getState() == AutoStartVmToRestart.State.AUTOSTART_FINISHED) {
+                    autoStartVmsToRestart.remove(autoStartVmToRestart.getVmId());
+                    // The VM is running or failed to auto-start. It will not block VMs with lower priority
+                    continue;
+                }
+
+                neededPriority = Math.max(neededPriority, autoStartVmToRestart.getVm().getPriority());
+            }
         }
 
-        int neededPriority = Integer.MIN_VALUE;
+        logFinishedRestartWaves();
+    }
+
+    /**
+     * Groups the VMs to restart into waves of VMs that can be started concurrently. When the priority is
+     * considered, each wave holds the VMs of a single priority and the waves are ordered from the highest
+     * priority to the lowest one. Otherwise all the VMs form a single wave.
+     * VMs that were removed in the meantime are excluded from the auto-start list.
+     */
+    private Collection<List<AutoStartVmToRestart>> groupIntoWaves(List<AutoStartVmToRestart> vmsToRestart) {
+        Map<Integer, List<AutoStartVmToRestart>> waves = considerPriority ?
+                new TreeMap<>(Comparator.reverseOrder()) : new HashMap<>();
         for (AutoStartVmToRestart autoStartVmToRestart : vmsToRestart) {
             if (autoStartVmToRestart.getVm() == null) {
                 log.debug("VM '{}' was removed, excluding it from auto-start list", autoStartVmToRestart.getVmId());
@@ -173,23 +216,89 @@ public abstract class AutoStartVmsRunner implements BackendService {
                 continue;
             }
 
-            if (autoStartVmToRestart.getState() == AutoStartVmToRestart.State.VM_DOWN) {
-                autoStartVmToRestart.setState(
-                        processVmDown(autoStartVmToRestart, neededPriority, iterationStartTime));
-            }
+            int wavePriority = considerPriority ? autoStartVmToRestart.getVm().getPriority() : 0;
+            waves.computeIfAbsent(wavePriority, priority -> new ArrayList<>()).add(autoStartVmToRestart);
+        }
+        return waves.values();
+    }
+
+    /**
+     * Runs the VMs of the wave that were locked for running, at most
+     * {@link ConfigValues#AutoStartVmsRunnerMaxParallelStarts} of them concurrently.
+     */
+    private void runLockedVms(List<AutoStartVmToRestart> wave, DateTime iterationStartTime) {
+        List<AutoStartVmToRestart> vmsToRun = wave.stream()
+                .filter(vmToRestart -> vmToRestart.getState() == AutoStartVmToRestart.State.VM_LOCKED_FOR_RUN)
+                .collect(Collectors.toList());
+        if (vmsToRun.isEmpty()) {
+            return;
+        }
+
+        registerInRestartWave(vmsToRun);
+
+        int maxParallelStarts =
+                Math.max(1, Config.<Integer> getValue(ConfigValues.AutoStartVmsRunnerMaxParallelStarts));
+        for (int from = 0; from < vmsToRun.size(); from += maxParallelStarts) {
+            List<AutoStartVmToRestart> batch =
+                    vmsToRun.subList(from, Math.min(from + maxParallelStarts, vmsToRun.size()));
+            List<Callable<Void>> runVmTasks = batch.stream()
+                    .<Callable<Void>> map(vmToRestart -> () -> {
+                        vmToRestart.setState(runLockedVm(vmToRestart, iterationStartTime));
+                        return null;
+                    })
+                    .collect(Collectors.toList());
+            ThreadPoolUtil.invokeAll(runVmTasks);
+        }
+    }
 
-            if (autoStartVmToRestart.getState() == AutoStartVmToRestart.State.VM_STARTING) {
-                autoStartVmToRestart.setState(
-                        processVmStarting(autoStartVmToRestart, iterationStartTime));
+    private AutoStartVmToRestart.State runLockedVm(AutoStartVmToRestart vmToRestart, DateTime iterationStartTime) {
+        VM vm = vmToRestart.getVm();
+        try {
+            if (runVmAndUpdateStatus(vm, vmToRestart.takeRunVmLock())) {
+                // The VM reached WaitForLunch. The STARTING state will monitor it's startup.
+                return AutoStartVmToRestart.State.VM_STARTING;
             }
+        } catch (RuntimeException e) {
+            log.error("Failed to auto-start VM '{}': {}", vm.getName(), ExceptionUtils.getRootCauseMessage(e));
+            log.debug("Exception", e);
+        }
 
-            if (autoStartVmToRestart.getState() == AutoStartVmToRestart.State.AUTOSTART_FINISHED) {
-                autoStartVmsToRestart.remove(autoStartVmToRestart.getVmId());
-                // The VM is running or failed to auto-start. It will not block VMs with lower priority
+        return scheduleNextTimeToStart(vmToRestart, iterationStartTime, vm);
+    }
+
+    private void registerInRestartWave(List<AutoStartVmToRestart> vmsToRun) {
+        for (AutoStartVmToRestart vmToRestart : vmsToRun) {
+            int wavePriority = considerPriority ? vmToRestart.getVm().getPriority() : 0;
+            restartWaves.computeIfAbsent(wavePriority, priority -> new RestartWave(priority, vmToRestart.getVm()))
+                    .addVm(vmToRestart.getVmId());
+        }
+    }
+
+    /**
+     * A wave is finished when none of its VMs waits for an auto-start anymore,
+     * the time it took since the first VM of the wave was run is logged.
+     */
+    private void logFinishedRestartWaves() {
+        Iterator<RestartWave> iterator = restartWaves.values().iterator();
+        while (iterator.hasNext()) {
+            RestartWave wave = iterator.next();
+            if (wave.getVmIds().stream().anyMatch(autoStartVmsToRestart::containsKey)) {
                 continue;
             }
 
-            neededPriority = Math.max(neededPriority, autoStartVmToRestart.getVm().getPriority());
+            iterator.remove();
+            long duration = System.currentTimeMillis() - wave.getStartTime();
+            log.info("Auto-start wave of priority {} with {} VMs finished in {} ms",
+                    wave.getPriority(), wave.getVmIds().size(), duration);
+            AuditLogType waveFinishedAuditLogType = getRestartWaveFinishedAuditLogType();
+            if (waveFinishedAuditLogType != null) {
+                AuditLogable event = new AuditLogableImpl();
+                event.setClusterId(wave.getClusterId());
+                event.addCustomValue("Priority", String.valueOf(wave.getPriority()));
+                event.addCustomValue("VmsCount", String.valueOf(wave.getVmIds().size()));
+                event.addCustomValue("Duration", String.valueOf(duration));
+                auditLogDirector.log(event, waveFinishedAuditLogType);
+            }
         }
     }
 
@@ -262,12 +371,9 @@ public abstract class AutoStartVmsRunner implements BackendService {
             return AutoStartVmToRestart.State.VM_STARTING;
         }
 
-        if (runVmAndUpdateStatus(vm, runVmLock)) {
-            // The VM reached WaitForLunch. The STARTING state will monitor it's startup.
-            return AutoStartVmToRestart.State.VM_STARTING;
-        }
-
-        return scheduleNextTimeToStart(autoStartVmToRestart, iterationStartTime, vm);
+        // The VM is run together with the other VMs of its wave, see runLockedVms()
+        autoStartVmToRestart.setRunVmLock(runVmLock);
+        return AutoStartVmToRestart.State.VM_LOCKED_FOR_RUN;
     }
 
     private AutoStartVmToRestart.State processVmStarting(AutoStartVmToRestart vmToRestart, DateTime iterationStartTime) {
@@ -341,6 +447,14 @@ public abstract class AutoStartVmsRunner implements BackendService {
 
     protected abstract AuditLogType getExceededMaxNumOfRestartsAuditLogType();
 
+    /**
+     * @return the audit log type to log when all the VMs of a restart wave were handled,
+     * or {@code null} if finished waves should not be logged
+     */
+    protected AuditLogType getRestartWaveFinishedAuditLogType() {
+        return null;
+    }
+
     private void logVmEvent(VM vm, AuditLogType restartFailedAuditLogType) {
         AuditLogable event = createVmEvent(vm);
         auditLogDirector.log(event, restartFailedAuditLogType);
@@ -393,6 +507,8 @@ public abstract class AutoStartVmsRunner implements BackendService {
 
         public enum State {
             VM_DOWN,
+            /** The VM is locked and will be run together with the other VMs of its wave */
+            VM_LOCKED_FOR_RUN,
             VM_STARTING,
             AUTOSTART_FINISHED
         }
@@ -408,6 +524,7 @@ public abstract class AutoStartVmsRunner implements BackendService {
 
         private State state;
         private VM vm;
+        private EngineLock runVmLock;
 
         AutoStartVmToRestart(Guid vmId) {
             this.vmId = vmId;
@@ -463,5 +580,51 @@ public abstract class AutoStartVmsRunner implements BackendService {
         public void setVm(VM vm) {
             this.vm = vm;
         }
+
+        void setRunVmLock(EngineLock runVmLock) {
+            this.runVmLock = runVmLock;
+        }
+
+        EngineLock takeRunVmLock() {
+            EngineLock lock = runVmLock;
+            runVmLock = null;
+            return lock;
+        }
+    }
+
+    /**
+     * The VMs of a single priority that were run together, tracked until all of them are handled.
+     */
+    private static class RestartWave {
+        private final int priority;
+        private final Guid clusterId;
+        private final long startTime;
+        private final Set<Guid> vmIds = new HashSet<>();
+
+        RestartWave(int priority, VM firstVm) {
+            this.priority = priority;
+            this.clusterId = firstVm.getClusterId();
+            this.startTime = System.currentTimeMillis();
+        }
+
+        void addVm(Guid vmId) {
+            vmIds.add(vmId);
+        }
+
+        int getPriority() {
+            return priority;
+        }
+
+        Guid getClusterId() {
+            return clusterId;
+        }
+
+        long getStartTime() {
+            return startTime;
+        }
+
+        Set<Guid> getVmIds() {
+            return vmIds;
+        }
     }
 }
@@ -37,6 +37,7 @@ import org.ovirt.engine.core.bll.job.ExecutionContext;
 import org.ovirt.engine.core.bll.job.ExecutionHandler;
 import org.ovirt.engine.core.bll.job.JobRepository;
 import org.ovirt.engine.core.bll.job.JobRepositoryCleanupManager;
+import org.ovirt.engine.core.bll.job.JobRepositoryFlushManager;
 import org.ovirt.engine.core.bll.network.macpool.MacPoolPerCluster;
 import org.ovirt.engine.core.bll.quota.QuotaManager;
 import org.ovirt.engine.core.bll.storage.backup.DbEntityCleanupManager;
@@ -162,6 +163,8 @@ public class Backend implements BackendInternal, BackendCommandObjectsHandler {
 
     private void initHandlers() {
         BaseConditionFieldAutoCompleter.tagsHandler = tagsDirector;
+        // the handlers register their updatable fields in the static maps of ObjectIdentityChecker, which are not
+        // thread safe, so they are loaded one after the other
         serviceLoader.load(VmHandler.class);
         serviceLoader.load(VdsHandler.class);
         serviceLoader.load(VmTemplateHandler.class);
@@ -185,6 +188,11 @@ public class Backend implements BackendInternal, BackendCommandObjectsHandler {
     @PreDestroy
     public void shutdown() {
         AcctUtils.reportReason(Acct.ReportReason.SHUTDOWN, "Shutting down engine");
+        try {
+            jobRepository.flushPendingChanges();
+        } catch (Exception e) {
+            log.error("Failed to write pending step changes", e);
+        }
     }
 
     private void checkDBConnectivity() {
@@ -256,13 +264,15 @@ public class Backend implements BackendInternal, BackendCommandObjectsHandler {
 
         log.info("Running ovirt-engine {}", Config.<String>getValue(ConfigValues.ProductRPMVersion));
 
-        serviceLoader.load(CpuFlagsManagerHandler.class);
-        serviceLoader.load(AuditLogCleanupManager.class);
-        serviceLoader.load(ClusterUpgradeRunningCleanupManager.class);
+        serviceLoader.loadInParallel(CpuFlagsManagerHandler.class, TagsDirector.class);
 
-        serviceLoader.load(TagsDirector.class);
-
-        serviceLoader.load(IsoDomainListSynchronizer.class);
+        // the following services are not needed for monitoring the hosts, so they are loaded once it started
+        serviceLoader.defer(AuditLogCleanupManager.class,
+                ClusterUpgradeRunningCleanupManager.class,
+                IsoDomainListSynchronizer.class,
+                JobRepositoryCleanupManager.class,
+                DbEntityCleanupManager.class,
+                AutoRecoveryManager.class);
 
         initSearchDependencies();
         initHandlers();
@@ -278,11 +288,7 @@ public class Backend implements BackendInternal, BackendCommandObjectsHandler {
         log.info("Mark incomplete jobs as {}", JobExecutionStatus.UNKNOWN.name());
         initJobRepository();
 
-        serviceLoader.load(JobRepositoryCleanupManager.class);
-
-        serviceLoader.load(DbEntityCleanupManager.class);
-
-        serviceLoader.load(AutoRecoveryManager.class);
+        serviceLoader.load(JobRepositoryFlushManager.class);
 
         initExecutionMessageDirector();
 
@@ -290,10 +296,10 @@ public class Backend implements BackendInternal, BackendCommandObjectsHandler {
         _startedAt = DateTime.getNow();
 
         serviceLoader.load(VmPoolHandler.class);
-        serviceLoader.load(VmPoolMonitor.class);
-        serviceLoader.load(HaAutoStartVmsRunner.class);
-        serviceLoader.load(QuotaManager.class);
-        serviceLoader.load(VmMigrationProgressMonitoring.class);
+        serviceLoader.loadInParallel(VmPoolMonitor.class,
+                HaAutoStartVmsRunner.class,
+                QuotaManager.class,
+                VmMigrationProgressMonitoring.class);
 
         //initializes attestation
         initAttestation();
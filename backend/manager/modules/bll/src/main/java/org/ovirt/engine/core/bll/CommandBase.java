@@ -34,6 +34,7 @@ import org.ovirt.engine.core.bll.context.NoOpCompensationContext;
 import org.ovirt.engine.core.bll.interfaces.BackendInternal;
 import org.ovirt.engine.core.bll.job.ExecutionContext;
 import org.ovirt.engine.core.bll.job.ExecutionHandler;
+import org.ovirt.engine.core.bll.job.JobRepository;
 import org.ovirt.engine.core.bll.quota.InvalidQuotaParametersException;
 import org.ovirt.engine.core.bll.quota.QuotaConsumptionParameter;
 import org.ovirt.engine.core.bll.quota.QuotaManager;
@@ -91,7 +92,6 @@ import org.ovirt.engine.core.dal.job.ExecutionMessageDirector;
 import org.ovirt.engine.core.dao.BusinessEntitySnapshotDao;
 import org.ovirt.engine.core.dao.EntityDao;
 import org.ovirt.engine.core.dao.PermissionDao;
-import org.ovirt.engine.core.dao.StepDao;
 import org.ovirt.engine.core.utils.CorrelationIdTracker;
 import org.ovirt.engine.core.utils.ReflectionUtils;
 import org.ovirt.engine.core.utils.ReplacementUtils;
@@ -102,7 +102,9 @@ import org.ovirt.engine.core.utils.lock.LockingResult;
 import org.ovirt.engine.core.utils.transaction.TransactionCompletionListener;
 import org.ovirt.engine.core.utils.transaction.TransactionMethod;
 import org.ovirt.engine.core.utils.transaction.TransactionRollbackListener;
+import org.ovirt.engine.core.utils.transaction.TransactionSuccessListener;
 import org.ovirt.engine.core.utils.transaction.TransactionSupport;
+import org.ovirt.engine.core.vdsbroker.monitoring.EntityChangeFeed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataAccessException;
@@ -160,7 +162,7 @@ public abstract class CommandBase<T extends ActionParametersBase>
     private PermissionDao permissionDao;
 
     @Inject
-    private StepDao stepDao;
+    private JobRepository jobRepository;
 
     @Inject
     private CommandCoordinatorUtil commandCoordinatorUtil;
@@ -168,6 +170,9 @@ public abstract class CommandBase<T extends ActionParametersBase>
     @Inject
     private CommandCompensator compensator;
 
+    @Inject
+    private EntityChangeFeed entityChangeFeed;
+
     @Named
     @Inject
     private Predicate<DbUser> isSystemSuperUserPredicate;
@@ -433,6 +438,44 @@ public abstract class CommandBase<T extends ActionParametersBase>
         return getReturnValue();
     }
 
+    /**
+     * Records the entities this command acted upon in the change feed, so list views following the feed pick up
+     * the change on their next refresh. The entities are published only once the transaction the command runs in is
+     * committed, so that clients which follow the feed never reload the entities before the change is visible to
+     * them.
+     */
+    private void publishEntityChanges() {
+        Map<VdcObjectType, Guid> changes = getChangedEntities();
+        if (changes.isEmpty()) {
+            return;
+        }
+        if (TransactionSupport.current() != null) {
+            TransactionSupport.registerRollbackHandler(
+                    (TransactionSuccessListener) () -> changes.forEach(entityChangeFeed::publish));
+        } else {
+            changes.forEach(entityChangeFeed::publish);
+        }
+    }
+
+    /**
+     * Returns the entities this command changed when it succeeds, taken from the ids the command already holds.
+     * Commands which change entities that are not referenced by these ids should add them.
+     */
+    protected Map<VdcObjectType, Guid> getChangedEntities() {
+        Map<VdcObjectType, Guid> changes = new HashMap<>();
+        putEntityChange(changes, VdcObjectType.VM, getVmIdRef());
+        putEntityChange(changes, VdcObjectType.VDS, getVdsId());
+        putEntityChange(changes, VdcObjectType.Storage, getStorageDomainId());
+        putEntityChange(changes, VdcObjectType.Cluster, getClusterId());
+        return changes;
+    }
+
+    private static void putEntityChange(Map<VdcObjectType, Guid> changes, VdcObjectType type, Guid id) {
+        if (!Guid.isNullOrEmpty(id)) {
+            changes.put(type, id);
+        }
+    }
+
     private void clearAsyncTasksWithOutVdsmId() {
         if (!getReturnValue().getTaskPlaceHolderIdList().isEmpty()) {
             TransactionSupport.executeInNewTransaction(() -> {
@@ -527,6 +570,9 @@ public abstract class CommandBase<T extends ActionParametersBase>
             } finally {
                 freeLockEndAction();
                 endStepsAndJobIfNeeded();
+                if (getSucceeded()) {
+                    publishEntityChanges();
+                }
                 // NOTE: this update persists updates made during the endSuccessfully()/endWithFailure() execution.
                 // The update is done intentionally after the freeLock() call, change with care.
                 updateCommandIfNeeded();
@@ -1348,9 +1394,9 @@ public abstract class CommandBase<T extends ActionParametersBase>
     protected boolean parentHasCallback() {
         if (isExecutedAsChildCommand()
                 && getParameters().getParentParameters() != null) {
-            CommandEntity commandEntity =
-                    commandCoordinatorUtil.getCommandEntity(getParameters().getParentParameters().getCommandId());
-            return commandEntity != null && commandEntity.isCallbackEnabled();
+            CommandEntity commandHeader =
+                    commandCoordinatorUtil.getCommandHeader(getParameters().getParentParameters().getCommandId());
+            return commandHeader != null && commandHeader.isCallbackEnabled();
         }
 
         return false;
@@ -1365,7 +1411,7 @@ public abstract class CommandBase<T extends ActionParametersBase>
                             getCommandStepSubjectEntities());
             if (taskStep != null) {
                 if (shouldUpdateStepProgress()) {
-                    stepDao.updateStepProgress(taskStep.getId(), 0);
+                    jobRepository.updateStepProgress(taskStep.getId(), 0);
                 }
                 getExecutionContext().setStep(taskStep);
                 persistCommandIfNeeded();
@@ -1403,6 +1449,7 @@ public abstract class CommandBase<T extends ActionParametersBase>
                     if (getCommandShouldBeLogged()) {
                         logRenamedEntity();
                     }
+                    publishEntityChanges();
 
                     // only after creating all tasks, we can start polling them (we
                     // don't want
@@ -2273,7 +2320,7 @@ public abstract class CommandBase<T extends ActionParametersBase>
     }
 
     protected void updateCommandIfNeeded() {
-        if (shouldPersistCommand() && commandCoordinatorUtil.getCommandEntity(getCommandId()) != null) {
+        if (shouldPersistCommand() && commandCoordinatorUtil.getCommandHeader(getCommandId()) != null) {
             persistCommand(getParameters().getParentCommand());
         }
     }
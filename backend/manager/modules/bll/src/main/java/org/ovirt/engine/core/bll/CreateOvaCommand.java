@@ -33,6 +33,8 @@ import org.ovirt.engine.core.common.businessentities.VmTemplate;
 import org.ovirt.engine.core.common.businessentities.network.VmNetworkInterface;
 import org.ovirt.engine.core.common.businessentities.storage.DiskImage;
 import org.ovirt.engine.core.common.businessentities.storage.FullEntityOvfData;
+import org.ovirt.engine.core.common.config.Config;
+import org.ovirt.engine.core.common.config.ConfigValues;
 import org.ovirt.engine.core.common.errors.EngineError;
 import org.ovirt.engine.core.common.errors.EngineException;
 import org.ovirt.engine.core.common.utils.Pair;
@@ -210,6 +212,8 @@ public class CreateOvaCommand<T extends CreateOvaParameters> extends CommandBase
         vars.put("ovirt_ova_pack_tpm", tpmData);
         vars.put("ovirt_ova_pack_nvram", nvramData);
         vars.put("ovirt_ova_pack_padding", Boolean.toString(compatibilityVersion.greater(Version.v4_6)));
+        vars.put("ovirt_ova_pack_parallelism",
+                String.valueOf(Config.<Integer> getValue(ConfigValues.OvaDiskConversionParallelism)));
         params.setVariables(vars);
         return params;
     }
@@ -27,6 +27,9 @@ public abstract class GetAllVmsQueryBase<P extends QueryParametersBase> extends
             vmHandler.updateVmGuestAgentVersion(vm);
             vmHandler.updateVmStatistics(vm);
         }
+        if (!isInternalExecution()) {
+            vmHandler.vmStatisticsConsumed(vmsList);
+        }
         getQueryReturnValue().setReturnValue(vmsList);
     }
 
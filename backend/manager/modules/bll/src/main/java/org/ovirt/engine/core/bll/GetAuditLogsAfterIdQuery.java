@@ -0,0 +1,66 @@
+package org.ovirt.engine.core.bll;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+
+import org.ovirt.engine.core.bll.context.EngineContext;
+import org.ovirt.engine.core.common.businessentities.AuditLog;
+import org.ovirt.engine.core.common.queries.GetAuditLogsAfterIdParameters;
+import org.ovirt.engine.core.dal.dbbroker.auditloghandling.AuditLogEventBuffer;
+import org.ovirt.engine.core.dao.AuditLogDao;
+
+/**
+ * Returns the events that were logged after the given one, waiting for them if requested, for clients that follow
+ * the events. The events are read from the {@link AuditLogEventBuffer}, and from the database only when the buffer
+ * does not hold them all, or when there are new events to filter by the permissions of the user.
+ */
+public class GetAuditLogsAfterIdQuery<P extends GetAuditLogsAfterIdParameters> extends QueriesCommandBase<P> {
+
+    static final int MAX_WAIT_SECONDS = 60;
+
+    @Inject
+    private AuditLogEventBuffer eventBuffer;
+
+    @Inject
+    private AuditLogDao auditLogDao;
+
+    public GetAuditLogsAfterIdQuery(P parameters, EngineContext engineContext) {
+        super(parameters, engineContext);
+    }
+
+    @Override
+    protected void executeQueryCommand() {
+        long id = getParameters().getId();
+        int max = getParameters().getMax();
+        int waitSeconds = Math.max(0, Math.min(getParameters().getWaitSeconds(), MAX_WAIT_SECONDS));
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(waitSeconds);
+
+        List<AuditLog> events;
+        try {
+            long bufferedId = id;
+            while (true) {
+                events = eventBuffer.getAfter(bufferedId, max, Math.max(0, deadline - System.currentTimeMillis()));
+                if (events == null || events.isEmpty() || !getParameters().isFiltered()) {
+                    break;
+                }
+
+                // the new events the user may not see do not end the wait
+                bufferedId = events.get(0).getAuditLogId();
+                events = auditLogDao.getAllAfterId(id, max, getUserID(), true);
+                if (!events.isEmpty() || System.currentTimeMillis() >= deadline) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            events = null;
+        }
+
+        if (events == null) {
+            events = auditLogDao.getAllAfterId(id, max, getUserID(), getParameters().isFiltered());
+        }
+        getQueryReturnValue().setReturnValue(events);
+    }
+}
@@ -0,0 +1,26 @@
+package org.ovirt.engine.core.bll;
+
+import javax.inject.Inject;
+
+import org.ovirt.engine.core.bll.context.EngineContext;
+import org.ovirt.engine.core.common.queries.GetEntityChangesParameters;
+import org.ovirt.engine.core.vdsbroker.monitoring.EntityChangeFeed;
+
+/**
+ * Returns the ids of the entities of the requested type that changed since the given change feed version.
+ */
+public class GetEntityChangesQuery<P extends GetEntityChangesParameters> extends QueriesCommandBase<P> {
+
+    @Inject
+    private EntityChangeFeed entityChangeFeed;
+
+    public GetEntityChangesQuery(P parameters, EngineContext engineContext) {
+        super(parameters, engineContext);
+    }
+
+    @Override
+    protected void executeQueryCommand() {
+        setReturnValue(entityChangeFeed.getChangesSince(getParameters().getObjectType(),
+                getParameters().getSinceVersion()));
+    }
+}
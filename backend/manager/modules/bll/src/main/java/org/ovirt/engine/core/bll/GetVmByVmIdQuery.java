@@ -1,5 +1,7 @@
 package org.ovirt.engine.core.bll;
 
+import java.util.Collections;
+
 import javax.inject.Inject;
 
 import org.ovirt.engine.core.bll.context.EngineContext;
@@ -42,5 +44,8 @@ public class GetVmByVmIdQuery<P extends IdQueryParameters> extends QueriesComman
         vmHandler.updateVmInitFromDB(vm.getStaticData(), true);
         vmHandler.updateNumaNodesFromDb(vm);
         vmHandler.updateVmStatistics(vm);
+        if (!isInternalExecution()) {
+            vmHandler.vmStatisticsConsumed(Collections.singleton(vm));
+        }
     }
 }
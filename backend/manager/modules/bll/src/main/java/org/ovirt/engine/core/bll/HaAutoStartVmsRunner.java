@@ -76,6 +76,11 @@ public class HaAutoStartVmsRunner extends AutoStartVmsRunner {
         return AuditLogType.EXCEEDED_MAXIMUM_NUM_OF_RESTART_HA_VM_ATTEMPTS;
     }
 
+    @Override
+    protected AuditLogType getRestartWaveFinishedAuditLogType() {
+        return AuditLogType.HA_VM_RESTART_WAVE_FINISHED;
+    }
+
     private static class  HaVmToRestart extends AutoStartVmToRestart {
         private static final int RETRY_TO_RUN_AUTO_START_VM_LONG_INTERVAL =
                 Config.<Integer> getValue(ConfigValues.RetryToRunAutoStartVmLongIntervalInSeconds);
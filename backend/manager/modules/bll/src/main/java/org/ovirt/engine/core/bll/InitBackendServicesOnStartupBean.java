@@ -87,9 +87,9 @@ public class InitBackendServicesOnStartupBean implements InitBackendServicesOnSt
             serviceLoader.load(KubevirtService.class);
 
             serviceLoader.load(IrsProxyManager.class);
-            serviceLoader.load(OvfDataUpdater.class);
-            serviceLoader.load(StoragePoolStatusHandler.class);
-            serviceLoader.load(GlusterJobsManager.class);
+            serviceLoader.loadInParallel(OvfDataUpdater.class,
+                    StoragePoolStatusHandler.class,
+                    GlusterJobsManager.class);
 
             resourceManager.get().scheduleJobsForHosts();
 
@@ -110,17 +110,20 @@ public class InitBackendServicesOnStartupBean implements InitBackendServicesOnSt
             serviceLoader.load(AsyncTaskManager.class);
             serviceLoader.load(CommandCoordinatorUtil.class);
             serviceLoader.load(CommandCallbacksPoller.class);
-            serviceLoader.load(CommandEntityCleanupManager.class);
+            serviceLoader.defer(CommandEntityCleanupManager.class);
 
             if(Config.<Boolean> getValue(ConfigValues.AffinityRulesEnforcementManagerEnabled)) {
                 serviceLoader.load(AffinityRulesEnforcementManager.class);
             }
 
-            serviceLoader.load(CertificationValidityChecker.class);
-            serviceLoader.load(HostUpdatesCheckerService.class);
-            serviceLoader.load(IPTablesDeprecationNotifier.class);
-            serviceLoader.load(ExternalNetworkSyncService.class);
-            serviceLoader.load(AnsibleRunnerCleanUpService.class);
+            serviceLoader.defer(CertificationValidityChecker.class,
+                    HostUpdatesCheckerService.class,
+                    IPTablesDeprecationNotifier.class,
+                    ExternalNetworkSyncService.class,
+                    AnsibleRunnerCleanUpService.class);
+
+            serviceLoader.logLoadTimes();
+            serviceLoader.loadDeferred();
         } catch (Exception ex) {
             log.error("Failed to initialize backend", ex);
             throw ex;
@@ -2,6 +2,7 @@ package org.ovirt.engine.core.bll;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import javax.inject.Inject;
 
@@ -46,6 +47,14 @@ public abstract class LabelCommandBase<T extends LabelActionParametersBase> exte
                 ActionGroup.TAG_MANAGEMENT));
     }
 
+    @Override
+    protected Map<VdcObjectType, Guid> getChangedEntities() {
+        Map<VdcObjectType, Guid> changes = super.getChangedEntities();
+        // labels may be used by the affinity groups of any cluster
+        changes.put(VdcObjectType.System, Guid.SYSTEM);
+        return changes;
+    }
+
     protected void setAuditCustomValues() {
         addCustomValue("labelName", getLabelName());
     }
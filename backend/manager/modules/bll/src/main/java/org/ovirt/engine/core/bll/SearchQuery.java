@@ -267,16 +267,13 @@ public class SearchQuery<P extends SearchParameters> extends QueriesCommandBase<
             return Collections.emptyList();
         }
 
-        var javaZoneIdToOffset = vmHandler.getJavaZoneIdToOffsetFuncSupplier();
         List<VM> vms = vmDao.getAllUsingQuery(data.getQuery());
+        vmHandler.updateVmsRuntimeData(vms);
+        if (!isInternalExecution()) {
+            vmHandler.vmStatisticsConsumed(vms);
+        }
         Map<Guid, VM> vmsById = new HashMap<>();
         for (VM vm : vms) {
-            vmHandler.updateVmGuestAgentVersion(vm);
-            vmHandler.updateVmLock(vm);
-            vmHandler.updateOperationProgress(vm);
-            vmHandler.updateVmStatistics(vm);
-            vmHandler.updateConfiguredCpuVerb(vm);
-            vmHandler.updateIsDifferentTimeZone(vm, javaZoneIdToOffset);
             vmsById.put(vm.getId(), vm);
         }
         var vmIdsWithVnicsOutOfSync = vmNetworkInterfaceDao.getAllWithVnicOutOfSync(vmsById.keySet());
@@ -523,6 +520,7 @@ public class SearchQuery<P extends SearchParameters> extends QueriesCommandBase<
             String searchText = getParameters().getSearchPattern();
             // do not cache expressions with '*' since it is translated to specific IDs that might be changed
             useCache = useCache && !searchText.contains(ASTR);
+            useCache = useCache && getParameters().isCacheable();
             if (useCache) {
                 // first lets check the cache of queries.
                 searchKey = String.format("%1$s,%2$s,%3$s", searchText, getParameters().getMaxCount(), getParameters().getCaseSensitive());
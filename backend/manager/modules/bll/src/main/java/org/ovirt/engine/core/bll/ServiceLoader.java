@@ -1,14 +1,34 @@
 package org.ovirt.engine.core.bll;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
 import javax.enterprise.inject.Any;
 import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
 import org.ovirt.engine.core.common.BackendService;
+import org.ovirt.engine.core.utils.threadpool.ThreadPoolUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Loads the backend services on startup.
+ * <p>
+ * The services are loaded in stages: each call to {@link #load(Class)} or {@link #loadInParallel(Class[])} starts
+ * after the services of the previous calls were loaded, so a service depends on the services of the previous stages,
+ * while the services of the same parallel stage must not depend on each other. Services which are not needed for
+ * monitoring the hosts are registered by {@link #defer(Class[])}, and loaded by {@link #loadDeferred()} once the
+ * monitoring of the hosts started. The time it took to load each service is reported in the log.
+ */
 @Singleton
 public class ServiceLoader {
 
@@ -18,6 +38,9 @@ public class ServiceLoader {
     @Any
     private Instance<BackendService> services;
 
+    private final Map<String, Long> loadTimes = new ConcurrentHashMap<>();
+    private final List<Class<? extends BackendService>> deferredServices = new ArrayList<>();
+
     /**
      * Load CDI beans of type {@code BackendService} by simply getting their reference from
      * the bean manager. If the instance doesn't exist (which is the assumption) it will be created
@@ -31,7 +54,90 @@ public class ServiceLoader {
      * @param service a provider of {@code BackendService} instances. see {@linkplain Instance}
      */
     public void load(Class<? extends BackendService> service) {
+        long start = System.currentTimeMillis();
         BackendService backendService = services.select(service).get();
-        log.info("Start {} ", backendService);
+        long loadTime = System.currentTimeMillis() - start;
+        loadTimes.put(service.getSimpleName(), loadTime);
+        log.info("Start {} ({} ms)", backendService, loadTime);
+    }
+
+    /**
+     * Loads the given services concurrently, and waits until all of them are loaded. The given services must not
+     * depend on each other.
+     *
+     * @param services the services to load
+     */
+    @SafeVarargs
+    public final void loadInParallel(Class<? extends BackendService>... services) {
+        loadInParallel(Arrays.asList(services));
+    }
+
+    private void loadInParallel(Collection<Class<? extends BackendService>> services) {
+        if (services.size() < 2) {
+            services.forEach(this::load);
+            return;
+        }
+
+        List<Callable<Void>> tasks = services.stream()
+                .map(service -> (Callable<Void>) () -> {
+                    load(service);
+                    return null;
+                })
+                .collect(Collectors.toList());
+        ThreadPoolUtil.invokeAll(tasks);
+    }
+
+    /**
+     * Registers services which are not needed for monitoring the hosts, to be loaded by {@link #loadDeferred()}.
+     *
+     * @param services the services to load later, which must not depend on each other
+     */
+    @SafeVarargs
+    public final void defer(Class<? extends BackendService>... services) {
+        synchronized (deferredServices) {
+            deferredServices.addAll(Arrays.asList(services));
+        }
+    }
+
+    /**
+     * Loads the deferred services concurrently in the background, each of them by its own task of the thread pool. A
+     * service which fails to load does not prevent the other ones from being loaded.
+     */
+    public void loadDeferred() {
+        List<Class<? extends BackendService>> services;
+        synchronized (deferredServices) {
+            services = new ArrayList<>(deferredServices);
+            deferredServices.clear();
+        }
+
+        AtomicInteger remaining = new AtomicInteger(services.size());
+        services.forEach(service -> ThreadPoolUtil.execute(() -> {
+            try {
+                load(service);
+            } catch (Exception e) {
+                log.error("Failed to load deferred service {}: {}", service.getSimpleName(), e.getMessage());
+                log.debug("Exception", e);
+            } finally {
+                if (remaining.decrementAndGet() == 0) {
+                    logLoadTimes();
+                }
+            }
+        }));
+    }
+
+    /**
+     * Logs the time it took to load each of the services loaded so far, the slowest first.
+     */
+    public void logLoadTimes() {
+        log.info("Backend services load times: {}",
+                loadTimes.entrySet()
+                        .stream()
+                        .sorted(Map.Entry.<String, Long> comparingByValue().reversed())
+                        .map(entry -> entry.getKey() + "=" + entry.getValue() + "ms")
+                        .collect(Collectors.joining(", ")));
+    }
+
+    Map<String, Long> getLoadTimes() {
+        return loadTimes;
     }
 }
@@ -101,6 +101,7 @@ import org.ovirt.engine.core.common.errors.EngineError;
 import org.ovirt.engine.core.common.errors.EngineException;
 import org.ovirt.engine.core.common.errors.EngineMessage;
 import org.ovirt.engine.core.common.interfaces.VDSBrokerFrontend;
+import org.ovirt.engine.core.common.locks.LockInfo;
 import org.ovirt.engine.core.common.locks.LockingGroup;
 import org.ovirt.engine.core.common.osinfo.OsRepository;
 import org.ovirt.engine.core.common.queries.NameQueryParameters;
@@ -149,6 +150,7 @@ import org.ovirt.engine.core.utils.transaction.TransactionSupport;
 import org.ovirt.engine.core.vdsbroker.ResourceManager;
 import org.ovirt.engine.core.vdsbroker.VmManager;
 import org.ovirt.engine.core.vdsbroker.builder.vminfo.VmInfoBuildUtils;
+import org.ovirt.engine.core.vdsbroker.monitoring.VmStatsPolling;
 import org.ovirt.engine.core.vdsbroker.vdsbroker.NumaSettingFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -173,6 +175,9 @@ public class VmHandler implements BackendService {
     @Inject
     private ResourceManager resourceManager;
 
+    @Inject
+    private VmStatsPolling vmStatsPolling;
+
     @Inject
     private VDSBrokerFrontend vdsBrokerFrontend;
 
@@ -649,16 +654,22 @@ public class VmHandler implements BackendService {
                 final Map<String, String> spiceDriversInGuest = Config.getValue(ConfigValues.SpiceDriverNameInGuest);
                 final String spiceDriverInGuest =
                         spiceDriversInGuest.get(osRepository.getOsFamily(vm.getOs()).toLowerCase());
+                updateVmGuestAgentVersion(vm, parts, possibleAgentAppNames, spiceDriverInGuest);
+            }
+        }
+    }
 
-                for (final String part : parts) {
-                    for (String agentName : possibleAgentAppNames) {
-                        if (StringUtils.containsIgnoreCase(part, agentName)) {
-                            vm.setGuestAgentVersion(getApplicationVersion(part, agentName));
-                        }
-                        if (StringUtils.containsIgnoreCase(part, spiceDriverInGuest)) {
-                            vm.setSpiceDriverVersion(getApplicationVersion(part, spiceDriverInGuest));
-                        }
-                    }
+    private static void updateVmGuestAgentVersion(VM vm,
+            String[] parts,
+            List<String> possibleAgentAppNames,
+            String spiceDriverInGuest) {
+        for (final String part : parts) {
+            for (String agentName : possibleAgentAppNames) {
+                if (StringUtils.containsIgnoreCase(part, agentName)) {
+                    vm.setGuestAgentVersion(getApplicationVersion(part, agentName));
+                }
+                if (StringUtils.containsIgnoreCase(part, spiceDriverInGuest)) {
+                    vm.setSpiceDriverVersion(getApplicationVersion(part, spiceDriverInGuest));
                 }
             }
         }
@@ -669,7 +680,10 @@ public class VmHandler implements BackendService {
     }
 
     public void updateOperationProgress(final VM vm) {
-        VmManager vmManager = resourceManager.getVmManager(vm.getId(), false);
+        updateOperationProgress(vm, resourceManager.getVmManager(vm.getId(), false));
+    }
+
+    private static void updateOperationProgress(VM vm, VmManager vmManager) {
         if (vmManager != null) {
             vm.setBackgroundOperationDescription(vmManager.getConvertOperationDescription());
             vm.setBackgroundOperationProgress(vmManager.getConvertOperationProgress());
@@ -680,7 +694,25 @@ public class VmHandler implements BackendService {
     }
 
     public void updateVmStatistics(final VM vm) {
-        VmManager vmManager = resourceManager.getVmManager(vm.getId(), false);
+        updateVmStatistics(vm, resourceManager.getVmManager(vm.getId(), false));
+    }
+
+    /**
+     * Marks the statistics of the VMs of the hosts the given VMs run on as consumed, so they are polled at the regular
+     * rate. Called for the VMs that are returned to the clients, which show their statistics, rather than for the VMs
+     * that are loaded for internal use.
+     *
+     * @param vms
+     *            the VMs whose statistics were returned to a client
+     */
+    public void vmStatisticsConsumed(final Collection<VM> vms) {
+        vmStatsPolling.statsConsumed(vms.stream()
+                .map(VM::getRunOnVds)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+    }
+
+    private static void updateVmStatistics(VM vm, VmManager vmManager) {
         if (vmManager != null) {
             vm.setStatisticsData(vmManager.getStatistics());
         }
@@ -693,6 +725,50 @@ public class VmHandler implements BackendService {
         vm.setConfiguredCpuVerb(configuredCpuVerb);
     }
 
+    /**
+     * Updates the given {@link VM}s with the data which is not loaded from the database: their guest agent versions,
+     * locks, background operations, statistics, configured CPU verbs and time zone differences. This is equivalent to
+     * updating each of the VMs on its own, but the data shared by the VMs is looked up only once for all of them.
+     *
+     * @param vms
+     *            the VMs, as loaded from the database
+     */
+    public void updateVmsRuntimeData(final Collection<VM> vms) {
+        if (vms.isEmpty()) {
+            return;
+        }
+
+        final List<String> possibleAgentAppNames = Config.getValue(ConfigValues.AgentAppName);
+        final Map<String, String> spiceDriversInGuest = Config.getValue(ConfigValues.SpiceDriverNameInGuest);
+        final Map<Integer, String> spiceDriverInGuestByOs = new HashMap<>();
+        final Map<Pair<String, Version>, String> cpuVerbs = new HashMap<>();
+        final Map<String, LockInfo> lockInfos = lockManager.getLockInfos(LockingGroup.VM.name());
+        final MemoizingSupplier<Function<String, Integer>> javaZoneIdToOffset = getJavaZoneIdToOffsetFuncSupplier();
+
+        for (VM vm : vms) {
+            if (vm.getAppList() != null) {
+                String[] parts = vm.getAppList().split("[,]", -1);
+                if (parts.length != 0) {
+                    String spiceDriverInGuest = spiceDriverInGuestByOs.computeIfAbsent(vm.getOs(),
+                            os -> spiceDriversInGuest.get(osRepository.getOsFamily(os).toLowerCase()));
+                    updateVmGuestAgentVersion(vm, parts, possibleAgentAppNames, spiceDriverInGuest);
+                }
+            }
+
+            vm.setLockInfo(lockInfos.isEmpty() ? null : lockInfos.get(vm.getId().toString()));
+
+            VmManager vmManager = resourceManager.getVmManager(vm.getId(), false);
+            updateOperationProgress(vm, vmManager);
+            updateVmStatistics(vm, vmManager);
+
+            vm.setConfiguredCpuVerb(cpuVerbs.computeIfAbsent(
+                    new Pair<>(vm.getClusterCpuName(), vm.getCompatibilityVersion()),
+                    key -> cpuFlagsManagerHandler.getCpuId(key.getFirst(), key.getSecond())));
+
+            updateIsDifferentTimeZone(vm, javaZoneIdToOffset);
+        }
+    }
+
     public void updateIsDifferentTimeZone(VM vm, MemoizingSupplier<Function<String, Integer>> javaZoneIdToOffset) {
         String timeZone = vm.getTimeZone();
         if (timeZone != null && !timeZone.isEmpty() && osRepository.isWindows(vm.getOs())) {
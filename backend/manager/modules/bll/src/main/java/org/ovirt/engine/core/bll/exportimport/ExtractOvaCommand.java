@@ -25,8 +25,11 @@ import org.ovirt.engine.core.common.action.ConvertOvaParameters;
 import org.ovirt.engine.core.common.businessentities.VmEntityType;
 import org.ovirt.engine.core.common.businessentities.storage.DiskImage;
 import org.ovirt.engine.core.common.businessentities.storage.VolumeFormat;
+import org.ovirt.engine.core.common.config.Config;
+import org.ovirt.engine.core.common.config.ConfigValues;
 import org.ovirt.engine.core.common.errors.EngineError;
 import org.ovirt.engine.core.common.errors.EngineException;
+import org.ovirt.engine.core.common.job.StepEnum;
 import org.ovirt.engine.core.common.utils.SecretValue;
 import org.ovirt.engine.core.common.utils.ansible.AnsibleCommandConfig;
 import org.ovirt.engine.core.common.utils.ansible.AnsibleConstants;
@@ -59,6 +62,8 @@ public class ExtractOvaCommand<T extends ConvertOvaParameters> extends VmCommand
     @Inject
     private VmDao vmDao;
     @Inject
+    private OvaDiskThroughputReporter ovaDiskThroughputReporter;
+    @Inject
     @Typed(ConcurrentChildCommandsExecutionCallback.class)
     private Instance<ConcurrentChildCommandsExecutionCallback> callbackProvider;
 
@@ -127,6 +132,8 @@ public class ExtractOvaCommand<T extends ConvertOvaParameters> extends VmCommand
                                 .map(e -> String
                                         .format("\\\"%s\\\": \\\"%s\\\"", e.getValue().toString(), e.getKey().toString()))
                                 .collect(Collectors.joining(", ", "{", "}")))
+                .variable("ovirt_import_ova_parallelism",
+                        Config.<Integer> getValue(ConfigValues.OvaDiskConversionParallelism))
                 .variable("ansible_timeout", timeout)
                 // /var/log/ovirt-engine/ova/ovirt-import-ova-ansible-{hostname}-{correlationid}-{timestamp}.log
                 .logFileDirectory(IMPORT_OVA_LOG_DIRECTORY)
@@ -135,13 +142,19 @@ public class ExtractOvaCommand<T extends ConvertOvaParameters> extends VmCommand
                 .playAction("Import OVA")
                 .playbook(AnsibleConstants.IMPORT_OVA_PLAYBOOK);
 
-        AnsibleReturnValue ansibleReturnValue  = ansibleExecutor.runCommand(commandConfig);
+        StringBuilder stdout = new StringBuilder();
+        AnsibleReturnValue ansibleReturnValue = ansibleExecutor.runCommand(
+                commandConfig,
+                log,
+                (eventName, eventUrl) -> stdout.append(runnerClient.getCommandStdout(eventUrl))
+        );
         boolean succeeded = ansibleReturnValue.getAnsibleReturnCode() == AnsibleReturnCode.OK;
         if (!succeeded) {
             log.error("Failed to extract OVA. Please check logs for more details: {}", ansibleReturnValue.getLogFile());
             return false;
         }
 
+        ovaDiskThroughputReporter.report(getExecutionContext(), StepEnum.EXTRACTING_OVA_DISK, stdout);
         return true;
     }
 
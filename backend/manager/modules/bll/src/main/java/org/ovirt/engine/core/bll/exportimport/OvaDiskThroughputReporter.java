@@ -0,0 +1,75 @@
+package org.ovirt.engine.core.bll.exportimport;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.ovirt.engine.core.bll.job.ExecutionContext;
+import org.ovirt.engine.core.bll.job.ExecutionHandler;
+import org.ovirt.engine.core.common.job.Step;
+import org.ovirt.engine.core.common.job.StepEnum;
+import org.ovirt.engine.core.dal.job.ExecutionMessageDirector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reports the throughput of each disk packed into or extracted from an OVA, as printed by the OVA scripts running on
+ * the host, by an ended sub-step of the OVA step.
+ */
+@Singleton
+public class OvaDiskThroughputReporter {
+
+    private static final Logger log = LoggerFactory.getLogger(OvaDiskThroughputReporter.class);
+
+    public static final Pattern DISK_THROUGHPUT_PATTERN = Pattern.compile(
+            "(?:converted|extracted) disk: path=(\\S+) size=([0-9]+) time=([0-9.]+)s throughput=([0-9.]+)MiB/s");
+
+    private static final long MIB = 1024 * 1024;
+
+    @Inject
+    private ExecutionHandler executionHandler;
+
+    /**
+     * @param context the context whose step is the OVA step
+     * @param stepName the name of the sub-steps to add
+     * @param output the output of the OVA script
+     */
+    public void report(ExecutionContext context, StepEnum stepName, CharSequence output) {
+        if (output == null || context == null) {
+            return;
+        }
+
+        // the sub-steps are ended right away, so they are added by a context of their own
+        ExecutionContext stepsContext = new ExecutionContext();
+        stepsContext.setMonitored(true);
+        stepsContext.setJob(context.getJob());
+        Step parentStep = context.getStep();
+        Matcher matcher = DISK_THROUGHPUT_PATTERN.matcher(output);
+        while (matcher.find()) {
+            Map<String, String> values = new HashMap<>();
+            values.put("DiskId", getDiskId(matcher.group(1)));
+            values.put("Size", String.valueOf(Long.parseLong(matcher.group(2)) / MIB));
+            values.put("Time", matcher.group(3));
+            values.put("Throughput", matcher.group(4));
+            String description = ExecutionMessageDirector.resolveStepMessage(stepName, values);
+            log.info("{}", description);
+
+            Step step = executionHandler.addSubStep(stepsContext, parentStep, stepName, description);
+            executionHandler.endStep(stepsContext, step, true);
+        }
+    }
+
+    /**
+     * The images of the disks are located at .../images/{disk id}/{volume id}
+     */
+    private static String getDiskId(String imagePath) {
+        Path parent = Paths.get(imagePath).getParent();
+        return parent != null && parent.getFileName() != null ? parent.getFileName().toString() : imagePath;
+    }
+}
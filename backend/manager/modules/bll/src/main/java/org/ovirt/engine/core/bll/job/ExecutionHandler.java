@@ -34,7 +34,6 @@ import org.ovirt.engine.core.common.validation.group.PreRun;
 import org.ovirt.engine.core.compat.Guid;
 import org.ovirt.engine.core.dal.job.ExecutionMessageDirector;
 import org.ovirt.engine.core.dao.JobDao;
-import org.ovirt.engine.core.dao.StepDao;
 import org.ovirt.engine.core.utils.CorrelationIdTracker;
 import org.ovirt.engine.core.utils.lock.EngineLock;
 import org.ovirt.engine.core.utils.log.LoggedUtils;
@@ -72,9 +71,6 @@ public class ExecutionHandler {
     @Inject
     private JobDao jobDao;
 
-    @Inject
-    private StepDao stepDao;
-
     @PostConstruct
     private void init() {
         instance = this;
@@ -449,7 +445,7 @@ public class ExecutionHandler {
                 }
 
                 if (context.getExecutionMethod() == ExecutionMethod.AsJob) {
-                    if (stepDao.exists(parentStep.getId())) {
+                    if (jobRepository.getStep(parentStep.getId(), false) != null) {
                         if (parentStep.getJobId().equals(context.getJob().getId())) {
                             step = parentStep.addStep(newStepName, description);
                         }
@@ -647,7 +643,7 @@ public class ExecutionHandler {
                 } else {
                     context.setExecutionMethod(ExecutionMethod.AsStep);
                     Step parentStep = jobRepository.getStep(parentStepId, false);
-                    parentStep.setSteps(stepDao.getStepsByParentStepId(parentStep.getId()));
+                    jobRepository.loadParentStepSteps(parentStep);
                     context.setStep(parentStep);
                 }
                 context.setMonitored(true);
@@ -838,7 +834,7 @@ public class ExecutionHandler {
         } else {
             Step parentStep = context.getStep();
             if (context.getExecutionMethod() == ExecutionMethod.AsStep && parentStep != null) {
-                List<Step> steps = stepDao.getStepsByJobId(parentStep.getJobId());
+                List<Step> steps = jobRepository.getJobSteps(parentStep.getJobId());
                 boolean hasChildStepsRunning = false;
                 for (Step step : steps) {
                     if (step.getStatus() == JobExecutionStatus.STARTED && step.getParentStepId() != null) {
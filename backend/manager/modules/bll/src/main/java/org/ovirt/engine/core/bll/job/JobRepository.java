@@ -12,7 +12,8 @@ import org.ovirt.engine.core.compat.Guid;
 
 /**
  * Represents basic CRUD operations for Job and Step objects.
- * Each modification operation is being executed in a new transaction.
+ * Each modification operation is being executed in a new transaction. The changes of the steps may be kept in memory
+ * and written later by {@link #flushPendingChanges()}, while the read operations already reflect them.
  */
 public interface JobRepository {
 
@@ -43,6 +44,21 @@ public interface JobRepository {
      */
     void updateStep(Step step);
 
+    /**
+     * Updates the progress of an existing {@link Step} entity.
+     *
+     * @param stepId
+     *            The id of the step to update (can't be <code>null</code>).
+     * @param progress
+     *            The progress of the step.
+     */
+    void updateStepProgress(Guid stepId, Integer progress);
+
+    /**
+     * Writes the pending changes of the steps and of the modification dates of their jobs.
+     */
+    void flushPendingChanges();
+
     /**
      * Persists a new instance of {@link Job} the entity.
      *
@@ -99,6 +115,15 @@ public interface JobRepository {
      */
     void loadJobSteps(Job job);
 
+    /**
+     * Retrieves the {@link Step} entities of the given job.
+     *
+     * @param jobId
+     *            The id of the job (can't be <code>null</code>).
+     * @return The steps of the job, or an empty list if there are none.
+     */
+    List<Step> getJobSteps(Guid jobId);
+
     /**
      * Update the {@link Step} entity with its Steps.
      *
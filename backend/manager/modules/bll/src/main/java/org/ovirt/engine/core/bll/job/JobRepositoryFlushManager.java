@@ -0,0 +1,58 @@
+package org.ovirt.engine.core.bll.job;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.enterprise.concurrent.ManagedScheduledExecutorService;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.apache.commons.lang.exception.ExceptionUtils;
+import org.ovirt.engine.core.common.BackendService;
+import org.ovirt.engine.core.utils.threadpool.ThreadPools;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Responsible for writing the pending changes of the steps to the database by running a fixed scheduled job each
+ * {@link #FLUSH_INTERVAL_IN_MILLIS} milliseconds, which bounds the delay of the changes.
+ */
+@Singleton
+public class JobRepositoryFlushManager implements BackendService {
+
+    private static final Logger log = LoggerFactory.getLogger(JobRepositoryFlushManager.class);
+
+    static final long FLUSH_INTERVAL_IN_MILLIS = 1000;
+
+    @Inject
+    private JobRepository jobRepository;
+
+    @Inject
+    @ThreadPools(ThreadPools.ThreadPoolType.EngineScheduledThreadPool)
+    private ManagedScheduledExecutorService executor;
+
+    private JobRepositoryFlushManager() {
+    }
+
+    /**
+     * Initializes the flush scheduler.
+     */
+    @PostConstruct
+    public void initialize() {
+        log.info("Start initializing {}", getClass().getSimpleName());
+        executor.scheduleWithFixedDelay(this::flushPendingChanges,
+                FLUSH_INTERVAL_IN_MILLIS,
+                FLUSH_INTERVAL_IN_MILLIS,
+                TimeUnit.MILLISECONDS);
+        log.info("Finished initializing {}", getClass().getSimpleName());
+    }
+
+    private void flushPendingChanges() {
+        try {
+            jobRepository.flushPendingChanges();
+        } catch (Throwable t) {
+            log.error("Failed to write pending step changes: {}", ExceptionUtils.getRootCauseMessage(t));
+            log.debug("Exception", t);
+        }
+    }
+}
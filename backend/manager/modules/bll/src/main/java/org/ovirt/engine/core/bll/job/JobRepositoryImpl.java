@@ -5,10 +5,13 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.function.Predicate;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -30,6 +33,11 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Implements the CRUD operations for the Job entities.
+ * <p>
+ * The steps of the jobs change on every phase of the commands, so their changes are kept in memory and written by
+ * {@link #flushPendingChanges()} in batches, where the changes of the same step are coalesced, and the last update
+ * time of each job is written once. The pending changes of a job are written before it is completed, and the reads of
+ * the repository return the pending steps instead of the persisted ones, until the flush that writes them is committed.
  */
 @Singleton
 public class JobRepositoryImpl implements JobRepository {
@@ -41,6 +49,12 @@ public class JobRepositoryImpl implements JobRepository {
     private final StepDao stepDao;
     private final StepSubjectEntityDao stepSubjectEntityDao;
 
+    private final Object pendingChangesLock = new Object();
+    private final Object flushLock = new Object();
+    // the steps that were not written yet, in the order they were added
+    private final Map<Guid, PendingStep> pendingSteps = new LinkedHashMap<>();
+    private final Map<Guid, Date> pendingJobUpdateTimes = new HashMap<>();
+
     @Inject
     public JobRepositoryImpl(JobDao jobDao, JobSubjectEntityDao jobSubjectEntityDao, StepDao stepDao,
                              StepSubjectEntityDao stepSubjectEntityDao) {
@@ -58,13 +72,60 @@ public class JobRepositoryImpl implements JobRepository {
     @Override
     public void saveStep(final Step step, Collection<StepSubjectEntity> stepSubjectEntities) {
         stepSubjectEntities.forEach(x -> x.setStepId(step.getId()));
+        // steps which are looked up by their subject entities are written through
+        if (!stepSubjectEntities.isEmpty() || isWrittenThrough(step)) {
+            flushPendingChanges(step.getJobId());
+            writeStep(step, true, stepSubjectEntities);
+            return;
+        }
+        addPendingStep(step, true);
+    }
+
+    @Override
+    public void updateStep(final Step step) {
+        if (isWrittenThrough(step)) {
+            flushPendingChanges(step.getJobId());
+            writeStep(step, false, Collections.emptyList());
+            return;
+        }
+        addPendingStep(step, false);
+    }
+
+    /**
+     * External steps, and steps which are looked up by the id of their external system, are written to the database
+     * right away, as they are read directly from the database by their external handlers.
+     */
+    private static boolean isWrittenThrough(Step step) {
+        return step.isExternal() || step.getExternalSystem().getId() != null;
+    }
+
+    private void addPendingStep(Step step, boolean newStep) {
+        synchronized (pendingChangesLock) {
+            PendingStep pendingStep = pendingSteps.get(step.getId());
+            if (pendingStep == null) {
+                pendingSteps.put(step.getId(), new PendingStep(step, newStep));
+            } else {
+                // a step that is not persisted yet is saved with its latest data
+                pendingStep.step = step;
+                pendingStep.version++;
+            }
+            pendingJobUpdateTimes.put(step.getJobId(), new Date());
+        }
+    }
+
+    private void writeStep(Step step, boolean newStep, Collection<StepSubjectEntity> stepSubjectEntities) {
         TransactionSupport.executeInNewTransaction(() -> {
             try {
                 jobDao.updateJobLastUpdateTime(step.getJobId(), new Date());
-                stepDao.save(step);
-                stepSubjectEntityDao.saveAll(stepSubjectEntities);
+                if (newStep) {
+                    stepDao.save(step);
+                    stepSubjectEntityDao.saveAll(stepSubjectEntities);
+                } else {
+                    stepDao.update(step);
+                }
             } catch (Exception e) {
-                log.error("Failed to save step '{}', '{}': {}",
+                log.error("Failed to {} step '{}', '{}': {}",
+                        newStep ? "save" : "update",
                         step.getId(),
                         step.getStepName(),
                         e.getMessage());
@@ -75,23 +136,144 @@ public class JobRepositoryImpl implements JobRepository {
     }
 
     @Override
-    public void updateStep(final Step step) {
-        TransactionSupport.executeInNewTransaction(() -> {
+    public void updateStepProgress(Guid stepId, Integer progress) {
+        synchronized (pendingChangesLock) {
+            PendingStep pendingStep = pendingSteps.get(stepId);
+            if (pendingStep != null) {
+                pendingStep.step.setProgress(progress);
+                pendingStep.version++;
+                return;
+            }
+        }
+        stepDao.updateStepProgress(stepId, progress);
+    }
+
+    @Override
+    public void flushPendingChanges() {
+        flushPendingChanges(jobId -> true);
+    }
+
+    private void flushPendingChanges(Guid jobId) {
+        flushPendingChanges(jobId::equals);
+    }
+
+    /**
+     * Writes the pending changes of the jobs matching the given filter in a single transaction. The flushes are
+     * serialized, so a step is never updated before the flush which saves it is committed.
+     * <p>
+     * The written changes are kept pending until the transaction is committed, so they are still read in the meantime,
+     * and only the changes that were not replaced while being written are removed then.
+     */
+    private void flushPendingChanges(Predicate<Guid> jobFilter) {
+        synchronized (flushLock) {
+            List<PendingStep> steps = new ArrayList<>();
+            Map<Guid, Date> jobUpdateTimes = new HashMap<>();
+            synchronized (pendingChangesLock) {
+                for (PendingStep pendingStep : pendingSteps.values()) {
+                    if (jobFilter.test(pendingStep.step.getJobId())) {
+                        steps.add(pendingStep.copy());
+                    }
+                }
+                for (Entry<Guid, Date> entry : pendingJobUpdateTimes.entrySet()) {
+                    if (jobFilter.test(entry.getKey())) {
+                        jobUpdateTimes.put(entry.getKey(), entry.getValue());
+                    }
+                }
+            }
+
+            if (steps.isEmpty() && jobUpdateTimes.isEmpty()) {
+                return;
+            }
 
             try {
-                jobDao.updateJobLastUpdateTime(step.getJobId(), new Date());
-                stepDao.update(step);
+                writePendingChanges(steps, jobUpdateTimes);
             } catch (Exception e) {
-                log.error("Failed to update step '{}', '{}': {}",
-                        step.getId(),
-                        step.getStepName(),
+                // fall back to write each step on its own, so a single failure does not lose the others
+                log.warn("Failed to write {} pending steps in a batch, writing them one by one: {}",
+                        steps.size(),
                         e.getMessage());
                 log.debug("Exception", e);
+                steps.forEach(pendingStep -> writeStep(pendingStep.step,
+                        pendingStep.newStep,
+                        Collections.emptyList()));
             }
+            removeWrittenChanges(steps, jobUpdateTimes);
+        }
+    }
+
+    private void removeWrittenChanges(List<PendingStep> writtenSteps, Map<Guid, Date> writtenJobUpdateTimes) {
+        synchronized (pendingChangesLock) {
+            for (PendingStep writtenStep : writtenSteps) {
+                PendingStep pendingStep = pendingSteps.get(writtenStep.step.getId());
+                if (pendingStep == null) {
+                    continue;
+                }
+                if (pendingStep.version == writtenStep.version) {
+                    pendingSteps.remove(writtenStep.step.getId());
+                } else {
+                    // the step changed while it was written, and is updated by the next flush
+                    pendingStep.newStep = false;
+                }
+            }
+            writtenJobUpdateTimes.forEach(pendingJobUpdateTimes::remove);
+        }
+    }
+
+    private void writePendingChanges(List<PendingStep> steps, Map<Guid, Date> jobUpdateTimes) {
+        // the steps are saved in the order they were added, so parent steps are saved before their sub-steps
+        List<Step> newSteps = new ArrayList<>();
+        List<Step> updatedSteps = new ArrayList<>();
+        for (PendingStep pendingStep : steps) {
+            (pendingStep.newStep ? newSteps : updatedSteps).add(pendingStep.step);
+        }
+
+        TransactionSupport.executeInNewTransaction(() -> {
+            jobUpdateTimes.forEach(jobDao::updateJobLastUpdateTime);
+            stepDao.saveAllInBatch(newSteps);
+            stepDao.updateAllInBatch(updatedSteps);
             return null;
         });
     }
 
+    /**
+     * Replaces the given persisted steps by their pending instances, and adds the pending steps matching the given
+     * filter which are not persisted yet.
+     */
+    private List<Step> withPendingSteps(List<Step> steps, Predicate<Step> filter) {
+        synchronized (pendingChangesLock) {
+            if (pendingSteps.isEmpty()) {
+                return steps;
+            }
+
+            List<Step> result = new ArrayList<>(steps.size());
+            Set<Guid> stepIds = new HashSet<>();
+            for (Step step : steps) {
+                PendingStep pendingStep = pendingSteps.get(step.getId());
+                result.add(pendingStep == null ? step : pendingStep.step);
+                stepIds.add(step.getId());
+            }
+            for (PendingStep pendingStep : pendingSteps.values()) {
+                if (!stepIds.contains(pendingStep.step.getId()) && filter.test(pendingStep.step)) {
+                    result.add(pendingStep.step);
+                }
+            }
+            return result;
+        }
+    }
+
+    private Job withPendingUpdateTime(Job job) {
+        if (job != null) {
+            Date lastUpdateTime;
+            synchronized (pendingChangesLock) {
+                lastUpdateTime = pendingJobUpdateTimes.get(job.getId());
+            }
+            if (lastUpdateTime != null) {
+                job.setLastUpdateTime(lastUpdateTime);
+            }
+        }
+        return job;
+    }
+
     @Override
     public void saveJob(final Job job) {
         TransactionSupport.executeInNewTransaction(() -> {
@@ -106,7 +288,7 @@ public class JobRepositoryImpl implements JobRepository {
 
     @Override
     public Job getJob(final Guid jobId) {
-        Job job = jobDao.get(jobId);
+        Job job = withPendingUpdateTime(jobDao.get(jobId));
         if (job != null) {
             Map<Guid, VdcObjectType> jobSubjectEntity =
                     jobSubjectEntityDao.getJobSubjectEntityByJobId(jobId);
@@ -117,7 +299,7 @@ public class JobRepositoryImpl implements JobRepository {
 
     @Override
     public Job getJobWithSteps(final Guid jobId) {
-        Job job = jobDao.get(jobId);
+        Job job = withPendingUpdateTime(jobDao.get(jobId));
         if (job != null) {
             Map<Guid, VdcObjectType> jobSubjectEntity =
                     jobSubjectEntityDao.getJobSubjectEntityByJobId(jobId);
@@ -129,15 +311,21 @@ public class JobRepositoryImpl implements JobRepository {
 
     @Override
     public void loadJobSteps(final Job job) {
-        List<Step> steps = stepDao.getStepsByJobId(job.getId());
+        List<Step> steps = getJobSteps(job.getId());
         if (!steps.isEmpty()) {
             job.setSteps(buildStepsTree(steps));
         }
     }
 
+    @Override
+    public List<Step> getJobSteps(final Guid jobId) {
+        return withPendingSteps(stepDao.getStepsByJobId(jobId), step -> jobId.equals(step.getJobId()));
+    }
+
     @Override
     public void loadParentStepSteps(final Step step) {
-        List<Step> steps = stepDao.getStepsByParentStepId(step.getId());
+        List<Step> steps = withPendingSteps(stepDao.getStepsByParentStepId(step.getId()),
+                pendingStep -> step.getId().equals(pendingStep.getParentStepId()));
         if (!steps.isEmpty()) {
             step.setSteps(steps);
         }
@@ -174,7 +362,14 @@ public class JobRepositoryImpl implements JobRepository {
 
     @Override
     public Step getStep(Guid stepId, boolean loadSubjectEntities) {
-        Step step = stepDao.get(stepId);
+        Step step;
+        synchronized (pendingChangesLock) {
+            PendingStep pendingStep = pendingSteps.get(stepId);
+            step = pendingStep == null ? null : pendingStep.step;
+        }
+        if (step == null) {
+            step = stepDao.get(stepId);
+        }
         if (step != null && loadSubjectEntities) {
             step.setSubjectEntities(stepSubjectEntityDao.getStepSubjectEntitiesByStepId(stepId));
         }
@@ -187,7 +382,7 @@ public class JobRepositoryImpl implements JobRepository {
         List<Guid> jobIdsList = jobSubjectEntityDao.getJobIdByEntityId(entityId);
 
         for (Guid jobId : jobIdsList) {
-            Job job = jobDao.get(jobId);
+            Job job = withPendingUpdateTime(jobDao.get(jobId));
             if (job != null && job.getActionType() == actionType) {
                 jobList.add(job);
             }
@@ -197,6 +392,15 @@ public class JobRepositoryImpl implements JobRepository {
 
     @Override
     public void updateExistingStepAndSaveNewStep(final Step existingStep, final Step newStep) {
+        if (!isWrittenThrough(existingStep) && !isWrittenThrough(newStep)) {
+            synchronized (pendingChangesLock) {
+                addPendingStep(existingStep, false);
+                addPendingStep(newStep, true);
+            }
+            return;
+        }
+
+        flushPendingChanges(existingStep.getJobId());
         TransactionSupport.executeInNewTransaction(() -> {
             jobDao.updateJobLastUpdateTime(existingStep.getJobId(), new Date());
             stepDao.update(existingStep);
@@ -207,6 +411,7 @@ public class JobRepositoryImpl implements JobRepository {
 
     @Override
     public void updateCompletedJobAndSteps(final Job job) {
+        flushPendingChanges(job.getId());
         TransactionSupport.executeInNewTransaction(() -> {
             jobDao.update(job);
             stepDao.updateJobStepsCompleted(job.getId(), job.getStatus(), job.getEndTime());
@@ -216,6 +421,7 @@ public class JobRepositoryImpl implements JobRepository {
 
     @Override
     public void closeCompletedJobSteps(final Guid jobId, final JobExecutionStatus status) {
+        flushPendingChanges(jobId);
         TransactionSupport.executeInNewTransaction(() -> {
             stepDao.updateJobStepsCompleted(jobId, status, new Date());
             return null;
@@ -224,6 +430,7 @@ public class JobRepositoryImpl implements JobRepository {
 
     @Override
     public void finalizeJobs() {
+        flushPendingChanges();
         TransactionSupport.executeInNewTransaction(() -> {
             jobDao.deleteRunningJobsOfTasklessCommands();
             jobDao.updateStartedExecutionEntitiesToUnknown(new Date());
@@ -232,4 +439,22 @@ public class JobRepositoryImpl implements JobRepository {
 
     }
 
+    private static class PendingStep {
+
+        private Step step;
+        private boolean newStep;
+        // incremented on every change of the step, to tell whether it changed while it was written
+        private int version;
+
+        PendingStep(Step step, boolean newStep) {
+            this.step = step;
+            this.newStep = newStep;
+        }
+
+        PendingStep copy() {
+            PendingStep copy = new PendingStep(step, newStep);
+            copy.version = version;
+            return copy;
+        }
+    }
 }
@@ -337,7 +337,30 @@ public class InMemoryLockManager implements LockManager, LockManagerMonitorMXBea
 
     @Override
     public LockInfo getLockInfo(String key) {
-        InternalLockView internalLockView = locks.get(key);
+        return toLockInfo(locks.get(key));
+    }
+
+    @Override
+    public Map<String, LockInfo> getLockInfos(String group) {
+        Map<String, LockInfo> lockInfos = new HashMap<>();
+        globalLock.lock();
+        try {
+            for (Entry<String, InternalLockView> entry : locks.entrySet()) {
+                String key = entry.getKey();
+                if (key.endsWith(group)) {
+                    LockInfo lockInfo = toLockInfo(entry.getValue());
+                    if (lockInfo != null) {
+                        lockInfos.put(key.substring(0, key.length() - group.length()), lockInfo);
+                    }
+                }
+            }
+        } finally {
+            globalLock.unlock();
+        }
+        return lockInfos;
+    }
+
+    private static LockInfo toLockInfo(InternalLockView internalLockView) {
         if (internalLockView == null) {
             return null;
         }
@@ -1,9 +1,13 @@
 package org.ovirt.engine.core.bll.scheduling;
 
-import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import javax.annotation.PostConstruct;
 import javax.enterprise.concurrent.ManagedScheduledExecutorService;
@@ -13,21 +17,27 @@ import javax.inject.Singleton;
 import org.apache.commons.lang.exception.ExceptionUtils;
 import org.ovirt.engine.core.bll.interfaces.BackendInternal;
 import org.ovirt.engine.core.bll.job.ExecutionHandler;
+import org.ovirt.engine.core.bll.scheduling.arem.AffinityRulesEnforcementIndex;
 import org.ovirt.engine.core.bll.scheduling.arem.AffinityRulesEnforcer;
 import org.ovirt.engine.core.common.AuditLogType;
 import org.ovirt.engine.core.common.BackendService;
+import org.ovirt.engine.core.common.VdcObjectType;
 import org.ovirt.engine.core.common.action.ActionReturnValue;
 import org.ovirt.engine.core.common.action.ActionType;
 import org.ovirt.engine.core.common.action.MigrateVmParameters;
 import org.ovirt.engine.core.common.businessentities.Cluster;
+import org.ovirt.engine.core.common.businessentities.EntityChanges;
 import org.ovirt.engine.core.common.businessentities.VM;
 import org.ovirt.engine.core.common.config.Config;
 import org.ovirt.engine.core.common.config.ConfigValues;
+import org.ovirt.engine.core.common.scheduling.AffinityGroup;
+import org.ovirt.engine.core.compat.Guid;
 import org.ovirt.engine.core.dal.dbbroker.auditloghandling.AuditLogDirector;
 import org.ovirt.engine.core.dal.dbbroker.auditloghandling.AuditLogableImpl;
 import org.ovirt.engine.core.dal.dbbroker.auditloghandling.MessageBundler;
 import org.ovirt.engine.core.dao.ClusterDao;
 import org.ovirt.engine.core.utils.threadpool.ThreadPools;
+import org.ovirt.engine.core.vdsbroker.monitoring.EntityChangeFeed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,9 +55,14 @@ public class AffinityRulesEnforcementManager implements BackendService {
     @Inject
     private BackendInternal backend;
     @Inject
+    private EntityChangeFeed entityChangeFeed;
+    @Inject
     @ThreadPools(ThreadPools.ThreadPoolType.EngineScheduledThreadPool)
     private ManagedScheduledExecutorService executor;
 
+    private final AffinityRulesEnforcementIndex enforcementIndex = new AffinityRulesEnforcementIndex();
+    private long lastChangeVersion = -1;
+
     @PostConstruct
     protected void wakeup() {
 
@@ -71,27 +86,38 @@ public class AffinityRulesEnforcementManager implements BackendService {
 
     /**
      * refresh method is called each interval of AffinityRulesEnforcementManager. It will try to find a broken affinity rule, choose a VM then, migrate it in order
-     * to fix the breakage.
+     * to fix the breakage. Only the clusters that may have changed since the previous interval are evaluated, see
+     * {@link AffinityRulesEnforcementIndex}.
      */
     public void refresh() {
         try {
             log.debug("Affinity Rules Enforcement Manager interval reached.");
 
-            final List<Iterator<VM>> vmCandidatesPerCluster = new ArrayList<>();
-            for (Cluster cluster : clusterDao.getWithoutMigratingVms()) {
-                if (!cluster.isInUpgradeMode()) {
-                    vmCandidatesPerCluster.add(rulesEnforcer.chooseVmsToMigrate(cluster));
+            List<Cluster> clusters = clusterDao.getWithoutMigratingVms();
+            startIndexPass(clusters);
+
+            final Map<Guid, Iterator<VM>> vmCandidatesPerCluster = new LinkedHashMap<>();
+            final Map<Guid, List<AffinityGroup>> affinityGroupsPerCluster = new HashMap<>();
+            for (Cluster cluster : clusters) {
+                if (!cluster.isInUpgradeMode() && enforcementIndex.needsEvaluation(cluster.getId())) {
+                    vmCandidatesPerCluster.put(cluster.getId(), rulesEnforcer.chooseVmsToMigrate(cluster,
+                            groups -> affinityGroupsPerCluster.put(cluster.getId(), groups)));
                 }
             }
 
             // Migrate 1 VM from each cluster
-            for (Iterator<VM> candidates : vmCandidatesPerCluster) {
+            for (Map.Entry<Guid, Iterator<VM>> entry : vmCandidatesPerCluster.entrySet()) {
+                Iterator<VM> candidates = entry.getValue();
+                boolean hasCandidates = candidates.hasNext();
                 while (candidates.hasNext()) {
                     VM vm = candidates.next();
                     if (migrateVM(vm)) {
                         break;
                     }
                 }
+                enforcementIndex.clusterEvaluated(entry.getKey(),
+                        affinityGroupsPerCluster.getOrDefault(entry.getKey(), Collections.emptyList()),
+                        hasCandidates);
             }
 
         } catch (Throwable t) {
@@ -100,6 +126,26 @@ public class AffinityRulesEnforcementManager implements BackendService {
         }
     }
 
+    /**
+     * Collects the VMs and clusters that changed since the previous pass, so that only the clusters
+     * they may affect are evaluated.
+     */
+    private void startIndexPass(List<Cluster> clusters) {
+        EntityChanges vmChanges = entityChangeFeed.getChangesSince(VdcObjectType.VM, lastChangeVersion);
+        EntityChanges clusterChanges = entityChangeFeed.getChangesSince(VdcObjectType.Cluster, lastChangeVersion);
+        EntityChanges systemChanges = entityChangeFeed.getChangesSince(VdcObjectType.System, lastChangeVersion);
+        lastChangeVersion = Math.min(vmChanges.getVersion(),
+                Math.min(clusterChanges.getVersion(), systemChanges.getVersion()));
+
+        enforcementIndex.retainClusters(clusters.stream().map(Cluster::getId).collect(Collectors.toList()));
+        enforcementIndex.startPass(
+                vmChanges.isFullRefreshRequired() || clusterChanges.isFullRefreshRequired()
+                        // System changes, e.g. label updates, may affect any cluster
+                        || systemChanges.hasChanges(),
+                vmChanges.getChangedIds(),
+                clusterChanges.getChangedIds());
+    }
+
     protected boolean migrateVM(final VM vmToMigrate) {
         MigrateVmParameters parameters = new MigrateVmParameters(false, vmToMigrate.getId());
 
@@ -30,4 +30,10 @@ public class ExternalPolicyUnit extends PolicyUnitImpl {
     protected PolicyUnitType getType() {
         return getPolicyUnit().getPolicyUnitType();
     }
+
+    @Override
+    public boolean isBalancingOnVmStatistics() {
+        // the data used by the external scheduler is not known
+        return true;
+    }
 }
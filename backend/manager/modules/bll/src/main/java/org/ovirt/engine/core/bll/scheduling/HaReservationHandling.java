@@ -1,6 +1,7 @@
 package org.ovirt.engine.core.bll.scheduling;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -13,7 +14,6 @@ import org.ovirt.engine.core.common.businessentities.Cluster;
 import org.ovirt.engine.core.common.businessentities.VDS;
 import org.ovirt.engine.core.common.businessentities.VDSStatus;
 import org.ovirt.engine.core.common.businessentities.VM;
-import org.ovirt.engine.core.common.utils.Pair;
 import org.ovirt.engine.core.common.utils.VmCpuCountHelper;
 import org.ovirt.engine.core.compat.Guid;
 import org.ovirt.engine.core.dao.VdsDao;
@@ -58,24 +58,8 @@ public class HaReservationHandling {
             return false;
         }
 
-        // List of host id and cpu/ram free resources
-        // for the outer Pair, first is host id second is a Pair of cpu and ram
-        // for the inner Pair, first is cpu second is ram
-        List<Pair<Guid, Pair<Integer, Integer>>> hostsUnutilizedResources = getUnutilizedResources(hosts);
-
         Map<Guid, List<VM>> hostToHaVmsMapping = mapHaVmToHostByCluster(cluster.getId());
-
-        for (VDS host : hosts) {
-            if (hostToHaVmsMapping.get(host.getId()) != null) {
-                boolean isHaSafe =
-                        findReplacementForHost(cluster, host,
-                                hostToHaVmsMapping.get(host.getId()),
-                                hostsUnutilizedResources);
-                if (!isHaSafe) {
-                    failedHosts.add(host);
-                }
-            }
-        }
+        failedHosts.addAll(findHostsWithoutReplacement(cluster, hosts, hostToHaVmsMapping));
 
         log.info("HA reservation status for cluster '{}' is '{}'",
                 cluster.getName(),
@@ -83,79 +67,99 @@ public class HaReservationHandling {
         return failedHosts.isEmpty();
     }
 
-    private boolean findReplacementForHost(Cluster cluster, VDS host,
-            List<VM> vmList,
-            List<Pair<Guid, Pair<Integer, Integer>>> hostsUnutilizedResources) {
-
-        Map<Guid, Pair<Integer, Integer>> additionalHostsUtilizedResources = new HashMap<>();
+    /**
+     * Checks for each host whether its HA VMs fit on the remaining hosts, placing every VM on the first host
+     * that still has enough free memory and CPU.
+     *
+     * @return the hosts whose HA VMs could not all be placed on the other hosts
+     */
+    List<VDS> findHostsWithoutReplacement(Cluster cluster, List<VDS> hosts, Map<Guid, List<VM>> hostToHaVmsMapping) {
+        HostsCapacity capacity = new HostsCapacity(hosts);
+        List<VDS> failedHosts = new ArrayList<>();
+
+        for (int hostIndex = 0; hostIndex < hosts.size(); hostIndex++) {
+            VDS host = hosts.get(hostIndex);
+            List<VM> haVms = hostToHaVmsMapping.get(host.getId());
+            if (haVms != null && !capacity.fitsOnOtherHosts(hostIndex, cluster, host, haVms)) {
+                failedHosts.add(host);
+            }
+        }
+        return failedHosts;
+    }
 
-        for (VM vm : vmList) {
-            int curVmMemSize = 0;
-            if(vm.getUsageMemPercent() != null) {
-                curVmMemSize = (int) Math.round(vm.getMemSizeMb() * (vm.getUsageMemPercent() / 100.0));
+    /**
+     * The free CPU and memory of the hosts of a cluster, kept in primitive arrays indexed like the host list.
+     * The scratch arrays holding the resources taken by the VMs that were placed are reused between the checks.
+     */
+    private class HostsCapacity {
+        private final int[] freeCpu;
+        private final int[] freeMemory;
+        private final int[] placedCpu;
+        private final int[] placedMemory;
+
+        HostsCapacity(List<VDS> hosts) {
+            int hostsCount = hosts.size();
+            freeCpu = new int[hostsCount];
+            freeMemory = new int[hostsCount];
+            placedCpu = new int[hostsCount];
+            placedMemory = new int[hostsCount];
+
+            for (int i = 0; i < hostsCount; i++) {
+                VDS host = hosts.get(i);
+                freeCpu[i] = host.getUsageCpuPercent() != null ? 100 - host.getUsageCpuPercent() : 0;
+                // Get available memory for the Host, round down to int
+                freeMemory[i] = (int) host.getMaxSchedulingMemory()
+                        - PendingOvercommitMemory.collectForHost(pendingResourceManager, host.getId());
             }
+        }
 
-            // Make sure we reserve at least the guaranteed amount of memory or more
-            // if the VM is using more than that.
-            curVmMemSize = Math.max(curVmMemSize, vm.getMinAllocatedMem());
+        boolean fitsOnOtherHosts(int failedHostIndex, Cluster cluster, VDS failedHost, List<VM> vms) {
+            Arrays.fill(placedCpu, 0);
+            Arrays.fill(placedMemory, 0);
 
-            int curVmCpuPercent = 0;
-            if (vm.getUsageCpuPercent() != null) {
-                curVmCpuPercent =
-                        vm.getUsageCpuPercent() * VmCpuCountHelper.getDynamicNumOfCpu(vm)
-                                / SlaValidator.getEffectiveCpuCores(host, cluster.getCountThreadsAsCores());
+            for (VM vm : vms) {
+                int vmMemory = getRequiredMemory(vm);
+                int vmCpu = 0;
+                if (vm.getUsageCpuPercent() != null) {
+                    vmCpu = vm.getUsageCpuPercent() * VmCpuCountHelper.getDynamicNumOfCpu(vm)
+                            / SlaValidator.getEffectiveCpuCores(failedHost, cluster.getCountThreadsAsCores());
+                }
+                log.debug("VM '{}'. CPU usage: {}%, RAM required: {}MB", vm.getName(), vmCpu, vmMemory);
+
+                if (!place(failedHostIndex, vmCpu, vmMemory)) {
+                    log.info("Did not found a replacement host for VM '{}'", vm.getName());
+                    return false;
+                }
             }
-            log.debug("VM '{}'. CPU usage: {}%, RAM required: {}MB", vm.getName(), curVmCpuPercent, curVmMemSize);
+            return true;
+        }
 
-            boolean foundForCurVm = false;
-            for (Pair<Guid, Pair<Integer, Integer>> hostData : hostsUnutilizedResources) {
+        private boolean place(int failedHostIndex, int vmCpu, int vmMemory) {
+            for (int i = 0; i < freeCpu.length; i++) {
                 // Make sure not to run on the same Host as the Host we are testing
-                if (hostData.getFirst().equals(host.getId())) {
+                if (i == failedHostIndex) {
                     continue;
                 }
 
-                // Check Memory and CPU
-                if (hostData.getSecond() != null && hostData.getSecond().getSecond() != null
-                        && hostData.getSecond().getFirst() != null) {
-
-                    int memoryFree = hostData.getSecond().getSecond();
-                    int cpuFree = hostData.getSecond().getFirst();
-
-                    long additionalMemory = 0;
-                    int additionalCpu = 0;
-
-                    if (additionalHostsUtilizedResources.get(hostData.getFirst()) != null) {
-                        additionalCpu = additionalHostsUtilizedResources.get(hostData.getFirst()).getFirst();
-                        additionalMemory = additionalHostsUtilizedResources.get(hostData.getFirst()).getSecond();
-                    }
-
-                    if ((memoryFree - additionalMemory) >= curVmMemSize && (cpuFree - additionalCpu) >= curVmCpuPercent) {
-                        // Found a place for current vm, add the RAM and CPU size to additionalHostsUtilizedResources
-                        Pair<Integer, Integer> cpuRamPair = additionalHostsUtilizedResources.get(hostData.getFirst());
-                        if (cpuRamPair != null) {
-                            cpuRamPair.setFirst(cpuRamPair.getFirst() + curVmCpuPercent);
-                            cpuRamPair.setSecond(cpuRamPair.getSecond() + curVmMemSize);
-                        } else {
-                            cpuRamPair = new Pair<>(curVmCpuPercent, curVmMemSize);
-                            additionalHostsUtilizedResources.put(hostData.getFirst(), cpuRamPair);
-                        }
-
-                        foundForCurVm = true;
-                        break;
-                    }
-
+                if ((long) freeMemory[i] - placedMemory[i] >= vmMemory && freeCpu[i] - placedCpu[i] >= vmCpu) {
+                    placedCpu[i] += vmCpu;
+                    placedMemory[i] += vmMemory;
+                    return true;
                 }
-
-            }
-
-            if (!foundForCurVm) {
-                log.info("Did not found a replacement host for VM '{}'", vm.getName());
-                return false;
             }
+            return false;
+        }
+    }
 
+    private static int getRequiredMemory(VM vm) {
+        int memory = 0;
+        if (vm.getUsageMemPercent() != null) {
+            memory = (int) Math.round(vm.getMemSizeMb() * (vm.getUsageMemPercent() / 100.0));
         }
 
-        return true;
+        // Make sure we reserve at least the guaranteed amount of memory or more
+        // if the VM is using more than that.
+        return Math.max(memory, vm.getMinAllocatedMem());
     }
 
     public static Map<Guid, List<VM>> mapVmToHost(List<VM> vms) {
@@ -175,30 +179,6 @@ public class HaReservationHandling {
         return hostToHaVmsMapping;
     }
 
-    private List<Pair<Guid, Pair<Integer, Integer>>> getUnutilizedResources(List<VDS> hosts) {
-        List<Pair<Guid, Pair<Integer, Integer>>> hostsUnutilizedResources =
-                new ArrayList<>();
-        for (VDS host : hosts) {
-            Pair<Integer, Integer> innerUnutilizedCpuRamPair = new Pair<>();
-            int hostFreeCpu = 0;
-            if (host.getUsageCpuPercent() != null) {
-                hostFreeCpu = 100 - host.getUsageCpuPercent();
-            }
-            innerUnutilizedCpuRamPair.setFirst(hostFreeCpu);
-
-            // Get available memory for the Host, round down to int
-            int hostFreeMem = (int) host.getMaxSchedulingMemory()
-                    - PendingOvercommitMemory.collectForHost(pendingResourceManager, host.getId());
-            innerUnutilizedCpuRamPair.setSecond(hostFreeMem);
-
-            Pair<Guid, Pair<Integer, Integer>> outerUnutilizedCpuRamPair =
-                    new Pair<>(host.getId(), innerUnutilizedCpuRamPair);
-
-            hostsUnutilizedResources.add(outerUnutilizedCpuRamPair);
-        }
-        return hostsUnutilizedResources;
-    }
-
     public static Map<Guid, List<VM>> mapHaVmToHostByCluster(Guid clusterId) {
 
         List<VM> vms = Injector.get(VmDao.class).getAllForCluster(clusterId);
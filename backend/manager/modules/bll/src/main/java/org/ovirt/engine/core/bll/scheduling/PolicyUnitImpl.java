@@ -102,6 +102,14 @@ public abstract class PolicyUnitImpl {
         return Collections.emptyList();
     }
 
+    /**
+     * @return whether the {@link #balance(Cluster, List, Map) balancing} of this unit is based on the statistics of
+     *         the VMs, which are then polled at the regular rate from the hosts of the balanced clusters
+     */
+    public boolean isBalancingOnVmStatistics() {
+        return false;
+    }
+
     public SelectorInstance selector(Map<String, String> parameters) {
         log.error("Policy unit '{}' selector is not implemented", getPolicyUnit().getName());
         return null;
@@ -15,6 +15,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
@@ -98,6 +99,7 @@ import org.ovirt.engine.core.di.Injector;
 import org.ovirt.engine.core.utils.threadpool.ThreadPoolUtil;
 import org.ovirt.engine.core.utils.threadpool.ThreadPools;
 import org.ovirt.engine.core.vdsbroker.ResourceManager;
+import org.ovirt.engine.core.vdsbroker.monitoring.VmStatsPolling;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -149,6 +151,8 @@ public class SchedulingManager implements BackendService {
     private ManagedScheduledExecutorService executor;
     @Inject
     private VdsCpuUnitPinningHelper vdsCpuUnitPinningHelper;
+    @Inject
+    private VmStatsPolling vmStatsPolling;
 
     private PendingResourceManager pendingResourceManager;
 
@@ -1282,33 +1286,45 @@ public class SchedulingManager implements BackendService {
         List<Cluster> clusters = clusterDao.getAll();
         if (clusters != null) {
             HaReservationHandling haReservationHandling = new HaReservationHandling(getPendingResourceManager());
-            for (Cluster cluster : clusters) {
-                if (cluster.supportsHaReservation()) {
-                    List<VDS> returnedFailedHosts = new ArrayList<>();
-                    boolean clusterHaStatus =
-                            haReservationHandling.checkHaReservationStatusForCluster(cluster, returnedFailedHosts);
-                    if (!clusterHaStatus) {
-                        // create Alert using returnedFailedHosts
-                        AuditLogable logable = createEventForCluster(cluster);
-                        String failedHostsStr =
-                                returnedFailedHosts.stream().map(VDS::getName).collect(Collectors.joining(", "));
-
-                        logable.addCustomValue("Hosts", failedHostsStr);
-                        auditLogDirector.log(logable, AuditLogType.CLUSTER_ALERT_HA_RESERVATION);
-                        log.info("Cluster '{}' fail to pass HA reservation check.", cluster.getName());
-                    }
+            List<Cluster> haReservationClusters = clusters.stream()
+                    .filter(Cluster::supportsHaReservation)
+                    .collect(Collectors.toList());
 
-                    boolean clusterHaStatusFromPreviousCycle =
-                            clusterId2isHaReservationSafe.getOrDefault(cluster.getId(), true);
+            // The clusters are independent, check them concurrently and process the results in order
+            List<List<VDS>> failedHostsPerCluster = haReservationClusters.isEmpty() ? Collections.emptyList() :
+                    ThreadPoolUtil.invokeAll(haReservationClusters.stream()
+                            .<Callable<List<VDS>>> map(cluster -> () -> {
+                                List<VDS> failedHosts = new ArrayList<>();
+                                haReservationHandling.checkHaReservationStatusForCluster(cluster, failedHosts);
+                                return failedHosts;
+                            })
+                            .collect(Collectors.toList()));
+
+            for (int i = 0; i < haReservationClusters.size(); i++) {
+                Cluster cluster = haReservationClusters.get(i);
+                List<VDS> returnedFailedHosts = failedHostsPerCluster.get(i);
+                boolean clusterHaStatus = returnedFailedHosts.isEmpty();
+                if (!clusterHaStatus) {
+                    // create Alert using returnedFailedHosts
+                    AuditLogable logable = createEventForCluster(cluster);
+                    String failedHostsStr =
+                            returnedFailedHosts.stream().map(VDS::getName).collect(Collectors.joining(", "));
+
+                    logable.addCustomValue("Hosts", failedHostsStr);
+                    auditLogDirector.log(logable, AuditLogType.CLUSTER_ALERT_HA_RESERVATION);
+                    log.info("Cluster '{}' fail to pass HA reservation check.", cluster.getName());
+                }
 
-                    // Update the status map with the new status
-                    clusterId2isHaReservationSafe.put(cluster.getId(), clusterHaStatus);
+                boolean clusterHaStatusFromPreviousCycle =
+                        clusterId2isHaReservationSafe.getOrDefault(cluster.getId(), true);
 
-                    // Create Alert if the status was changed from false to true
-                    if (!clusterHaStatusFromPreviousCycle && clusterHaStatus) {
-                        AuditLogable logable = createEventForCluster(cluster);
-                        auditLogDirector.log(logable, AuditLogType.CLUSTER_ALERT_HA_RESERVATION_DOWN);
-                    }
+                // Update the status map with the new status
+                clusterId2isHaReservationSafe.put(cluster.getId(), clusterHaStatus);
+
+                // Create Alert if the status was changed from false to true
+                if (!clusterHaStatusFromPreviousCycle && clusterHaStatus) {
+                    AuditLogable logable = createEventForCluster(cluster);
+                    auditLogDirector.log(logable, AuditLogType.CLUSTER_ALERT_HA_RESERVATION_DOWN);
                 }
             }
         }
@@ -1340,6 +1356,7 @@ public class SchedulingManager implements BackendService {
             List<BalanceResult> balanceResults = Collections.emptyList();
             if (policyUnit.getPolicyUnit().isEnabled()) {
                 List<VDS> hosts = vdsDao.getAllForClusterWithoutMigrating(cluster.getId());
+                vmStatisticsConsumedByBalancing(policyUnit, hosts);
                 if (policyUnit.getPolicyUnit().isInternal()) {
                     balanceResults = internalRunBalance(policyUnit, cluster, hosts);
                 } else if (Config.<Boolean> getValue(ConfigValues.ExternalSchedulerEnabled)) {
@@ -1363,6 +1380,18 @@ public class SchedulingManager implements BackendService {
         }
     }
 
+    /**
+     * The next balancing of the cluster is based on the statistics of the VMs of its hosts, if its balancer uses them.
+     */
+    void vmStatisticsConsumedByBalancing(PolicyUnitImpl balancer, List<VDS> hosts) {
+        if (!balancer.isBalancingOnVmStatistics()) {
+            return;
+        }
+        long balancingInterval = Config.<Long> getValue(ConfigValues.VdsLoadBalancingIntervalInMinutes);
+        vmStatsPolling.statsConsumed(hosts.stream().map(VDS::getId).collect(Collectors.toList()),
+                2 * TimeUnit.MINUTES.toMillis(balancingInterval));
+    }
+
     private List<BalanceResult> internalRunBalance(PolicyUnitImpl policyUnit,
             Cluster cluster,
             List<VDS> hosts) {
@@ -0,0 +1,103 @@
+package org.ovirt.engine.core.bll.scheduling.arem;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.ovirt.engine.core.common.scheduling.AffinityGroup;
+import org.ovirt.engine.core.compat.Guid;
+
+/**
+ * Remembers the outcome of the last affinity enforcement pass of each cluster, so that the next pass evaluates
+ * only the clusters that may have changed since.
+ * <p>
+ * A cluster is evaluated again when:
+ * <ul>
+ * <li>it was never evaluated,</li>
+ * <li>the last evaluation found VMs to migrate,</li>
+ * <li>the cluster itself changed (e.g. an affinity group of the cluster was edited),</li>
+ * <li>one of the VMs that are members of its affinity groups changed (started, stopped or migrated),</li>
+ * <li>a full pass is due, because the changes could not be tracked or every {@link #FULL_PASS_PERIOD} passes.</li>
+ * </ul>
+ */
+public class AffinityRulesEnforcementIndex {
+
+    /**
+     * Number of incremental passes after which all the clusters are evaluated again, to catch changes
+     * that are not tracked (e.g. host labels, host load used by the soft affinity checks).
+     */
+    static final int FULL_PASS_PERIOD = 10;
+
+    private final Map<Guid, ClusterState> clusterStates = new HashMap<>();
+    private final Set<Guid> clustersToEvaluate = new HashSet<>();
+    private boolean fullPass = true;
+    private int passesSinceFullPass;
+
+    /**
+     * Starts a new enforcement pass.
+     *
+     * @param changesLost
+     *            whether the changes since the last pass are unknown
+     * @param changedVmIds
+     *            the VMs that changed since the last pass
+     * @param changedClusterIds
+     *            the clusters that changed since the last pass
+     */
+    public void startPass(boolean changesLost, Collection<Guid> changedVmIds, Collection<Guid> changedClusterIds) {
+        clustersToEvaluate.clear();
+        fullPass = changesLost || ++passesSinceFullPass >= FULL_PASS_PERIOD;
+        if (fullPass) {
+            passesSinceFullPass = 0;
+            return;
+        }
+
+        Set<Guid> changedVms = new HashSet<>(changedVmIds);
+        clusterStates.forEach((clusterId, state) -> {
+            if (state.hasCandidates
+                    || changedClusterIds.contains(clusterId)
+                    || !Collections.disjoint(state.memberVmIds, changedVms)) {
+                clustersToEvaluate.add(clusterId);
+            }
+        });
+    }
+
+    public boolean needsEvaluation(Guid clusterId) {
+        return fullPass || !clusterStates.containsKey(clusterId) || clustersToEvaluate.contains(clusterId);
+    }
+
+    /**
+     * Records the result of evaluating a cluster.
+     *
+     * @param clusterId
+     *            the evaluated cluster
+     * @param affinityGroups
+     *            the affinity groups of the cluster, including the ones derived from labels
+     * @param hasCandidates
+     *            whether VMs to migrate were found
+     */
+    public void clusterEvaluated(Guid clusterId, Collection<AffinityGroup> affinityGroups, boolean hasCandidates) {
+        Set<Guid> memberVmIds = new HashSet<>();
+        affinityGroups.forEach(group -> memberVmIds.addAll(group.getVmIds()));
+        clusterStates.put(clusterId, new ClusterState(memberVmIds, hasCandidates));
+    }
+
+    /**
+     * Forgets the clusters that do not exist anymore.
+     */
+    public void retainClusters(Collection<Guid> clusterIds) {
+        clusterStates.keySet().retainAll(clusterIds);
+    }
+
+    private static class ClusterState {
+        private final Set<Guid> memberVmIds;
+        private final boolean hasCandidates;
+
+        ClusterState(Set<Guid> memberVmIds, boolean hasCandidates) {
+            this.memberVmIds = memberVmIds;
+            this.hasCandidates = hasCandidates;
+        }
+    }
+}
@@ -13,6 +13,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -67,12 +68,25 @@ public class AffinityRulesEnforcer {
      * @return Iterator returning valid VMs for migration
      */
     public Iterator<VM> chooseVmsToMigrate(Cluster cluster) {
+        return chooseVmsToMigrate(cluster, groups -> {});
+    }
+
+    /**
+     * Same as {@link #chooseVmsToMigrate(Cluster)}, additionally passing the affinity groups
+     * that were considered to the given consumer.
+     *
+     * @param cluster current cluster
+     * @param affinityGroupsConsumer receives all the affinity groups of the cluster, including the label based ones
+     * @return Iterator returning valid VMs for migration
+     */
+    public Iterator<VM> chooseVmsToMigrate(Cluster cluster, Consumer<List<AffinityGroup>> affinityGroupsConsumer) {
         List<AffinityGroup> allAffinityGroups = affinityGroupDao.getAllAffinityGroupsWithFlatLabelsByClusterId(cluster.getId());
 
         if (FeatureSupported.isImplicitAffinityGroupSupported(cluster.getCompatibilityVersion())) {
             List<Label> allAffinityLabels = labelDao.getAllByClusterId(cluster.getId());
             allAffinityGroups.addAll(AffinityRulesUtils.affinityGroupsFromLabels(allAffinityLabels, cluster.getId()));
         }
+        affinityGroupsConsumer.accept(allAffinityGroups);
 
         Cache cache = new Cache(cluster, allAffinityGroups);
 
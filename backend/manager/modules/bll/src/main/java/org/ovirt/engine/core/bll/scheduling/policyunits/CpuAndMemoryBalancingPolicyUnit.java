@@ -56,6 +56,12 @@ public abstract class CpuAndMemoryBalancingPolicyUnit extends PolicyUnitImpl {
         return params;
     }
 
+    @Override
+    public boolean isBalancingOnVmStatistics() {
+        // the VMs to migrate are chosen by their CPU usage
+        return true;
+    }
+
     public CpuAndMemoryBalancingPolicyUnit(PolicyUnit policyUnit,
             PendingResourceManager pendingResourceManager) {
         super(policyUnit, pendingResourceManager);
@@ -123,7 +123,7 @@ public class VmAffinityFilterPolicyUnit extends PolicyUnitImpl {
         Guid clusterId = vmGroup.get(0).getClusterId();
 
         // Get all running VMs in cluster
-        Map<Guid, VM> runningVMsMap = vmDao.getAllRunningByCluster(clusterId).stream()
+        Map<Guid, VM> runningVMsMap = vmDao.getAllRunningByClusterForScheduling(clusterId).stream()
                 .collect(Collectors.toMap(VM::getId, vm -> vm));
 
         // Update the VM list with pending VMs
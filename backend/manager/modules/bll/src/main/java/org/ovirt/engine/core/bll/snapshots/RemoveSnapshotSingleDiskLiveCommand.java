@@ -32,6 +32,7 @@ import org.ovirt.engine.core.compat.CommandStatus;
 import org.ovirt.engine.core.compat.Guid;
 import org.ovirt.engine.core.dao.DiskImageDao;
 import org.ovirt.engine.core.dao.ImageDao;
+import org.ovirt.engine.core.utils.VolumeChain;
 import org.ovirt.engine.core.utils.transaction.TransactionSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -241,9 +242,10 @@ public class RemoveSnapshotSingleDiskLiveCommand<T extends RemoveSnapshotSingleD
     }
 
     private void syncDbRecordsMergeFailure() {
+        VolumeChain chain = imagesHandler.getVolumeChain(getDiskImage().getId());
         DiskImage curr = getDestinationDiskImage();
         while (!curr.getImageId().equals(getDiskImage().getImageId())) {
-            curr = diskImageDao.getSnapshotById(curr.getParentId());
+            curr = chain.getParent(curr);
             imageDao.updateStatus(curr.getImageId(), ImageStatus.ILLEGAL);
         }
     }
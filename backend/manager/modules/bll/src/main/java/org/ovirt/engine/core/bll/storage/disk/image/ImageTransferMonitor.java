@@ -0,0 +1,215 @@
+package org.ovirt.engine.core.bll.storage.disk.image;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.enterprise.concurrent.ManagedScheduledExecutorService;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.ovirt.engine.core.common.businessentities.storage.ImageTicketInformation;
+import org.ovirt.engine.core.common.businessentities.storage.ImageTransfer;
+import org.ovirt.engine.core.common.config.Config;
+import org.ovirt.engine.core.common.config.ConfigValues;
+import org.ovirt.engine.core.common.interfaces.VDSBrokerFrontend;
+import org.ovirt.engine.core.common.vdscommands.GetImageTicketsVDSCommandParameters;
+import org.ovirt.engine.core.common.vdscommands.VDSCommandType;
+import org.ovirt.engine.core.common.vdscommands.VDSReturnValue;
+import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.utils.threadpool.ThreadPoolUtil;
+import org.ovirt.engine.core.utils.threadpool.ThreadPools;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Polls the status of the image tickets of all the active image transfers.
+ * <p>
+ * The tickets are polled once per interval, with a single call per host, regardless of the number of transfers and
+ * of how often their commands are polled by the callbacks. The transfer status of all the transfers that changed is
+ * then written in a single batch, and the image transfer commands consume the last polled status instead of calling
+ * the host.
+ */
+@Singleton
+public class ImageTransferMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageTransferMonitor.class);
+
+    /** Transfers whose status was not requested during this many intervals are not monitored anymore */
+    private static final int IDLE_INTERVALS_BEFORE_EXPIRATION = 10;
+
+    @Inject
+    private VDSBrokerFrontend vdsBroker;
+
+    @Inject
+    private ImageTransferUpdater imageTransferUpdater;
+
+    @Inject
+    @ThreadPools(ThreadPools.ThreadPoolType.EngineScheduledThreadPool)
+    private ManagedScheduledExecutorService executor;
+
+    private final Map<Guid, MonitoredTransfer> transfers = new ConcurrentHashMap<>();
+
+    private long intervalMillis;
+
+    @PostConstruct
+    public void scheduleJob() {
+        long interval = Config.<Integer>getValue(ConfigValues.ImageTransferStatusPollingIntervalInSeconds);
+        intervalMillis = TimeUnit.SECONDS.toMillis(interval);
+        executor.scheduleWithFixedDelay(this::poll, interval, interval, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Returns the last polled status of the ticket of the given transfer, and starts monitoring it if it is not
+     * monitored yet.
+     *
+     * @return the status of the ticket, or {@code null} if it was not polled yet
+     */
+    public TicketStatus getTicketStatus(ImageTransfer entity) {
+        MonitoredTransfer transfer = transfers.compute(entity.getId(),
+                (id, monitored) -> monitored != null && monitored.isMonitoring(entity)
+                        ? monitored
+                        : new MonitoredTransfer(entity));
+        transfer.lastRequested = System.currentTimeMillis();
+        return transfer.status;
+    }
+
+    public void stopMonitoring(Guid commandId) {
+        transfers.remove(commandId);
+    }
+
+    void poll() {
+        try {
+            long expiration = System.currentTimeMillis() - IDLE_INTERVALS_BEFORE_EXPIRATION * intervalMillis;
+            transfers.values().removeIf(transfer -> transfer.lastRequested < expiration);
+            if (transfers.isEmpty()) {
+                return;
+            }
+
+            Map<Guid, List<MonitoredTransfer>> transfersByHost = transfers.values()
+                    .stream()
+                    .collect(Collectors.groupingBy(transfer -> transfer.vdsId));
+            List<Callable<List<ImageTransfer>>> hostPolls = transfersByHost.values()
+                    .stream()
+                    .map(hostTransfers -> (Callable<List<ImageTransfer>>) () -> pollHost(hostTransfers))
+                    .collect(Collectors.toList());
+
+            List<ImageTransfer> updates = new ArrayList<>();
+            ThreadPoolUtil.invokeAll(hostPolls).stream().filter(Objects::nonNull).forEach(updates::addAll);
+            if (!updates.isEmpty()) {
+                imageTransferUpdater.updateTransferStatuses(updates);
+            }
+        } catch (Throwable t) {
+            log.error("Failed to poll the status of the image transfers: {}", t.getMessage());
+            log.debug("Exception", t);
+        }
+    }
+
+    /**
+     * Polls the tickets of the given transfers, all running on the same host, in a single call to the host.
+     *
+     * @return the transfers whose status changed since the previous poll
+     */
+    private List<ImageTransfer> pollHost(Collection<MonitoredTransfer> hostTransfers) {
+        Map<Guid, ImageTicketInformation> ticketsInformation = getTicketsInformation(hostTransfers);
+        List<ImageTransfer> updates = new ArrayList<>();
+        for (MonitoredTransfer transfer : hostTransfers) {
+            TicketStatus previous = transfer.status;
+            ImageTicketInformation ticketInfo = ticketsInformation.get(transfer.ticketId);
+            if (ticketInfo == null) {
+                log.error("Could not get image ticket '{}' from host '{}', image transfer '{}'",
+                        transfer.ticketId, transfer.vdsId, transfer.commandId);
+            }
+            TicketStatus current = new TicketStatus(ticketInfo, previous);
+            transfer.status = current;
+
+            if (ticketInfo != null && current.isStatusChanged(previous)) {
+                ImageTransfer update = new ImageTransfer(transfer.commandId);
+                update.setActive(ticketInfo.isActive());
+                update.setBytesSent(ticketInfo.getTransferred());
+                updates.add(update);
+            }
+        }
+        return updates;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Guid, ImageTicketInformation> getTicketsInformation(Collection<MonitoredTransfer> hostTransfers) {
+        Guid vdsId = hostTransfers.iterator().next().vdsId;
+        List<Guid> ticketIds = hostTransfers.stream().map(transfer -> transfer.ticketId).collect(Collectors.toList());
+        try {
+            VDSReturnValue returnValue = vdsBroker.runVdsCommand(VDSCommandType.GetImageTickets,
+                    new GetImageTicketsVDSCommandParameters(vdsId, ticketIds));
+            if (returnValue != null && returnValue.getSucceeded()) {
+                return (Map<Guid, ImageTicketInformation>) returnValue.getReturnValue();
+            }
+        } catch (RuntimeException e) {
+            log.error("Could not get the image tickets from host '{}': {}", vdsId, e.getMessage());
+            log.debug("Exception", e);
+        }
+        return Collections.emptyMap();
+    }
+
+    private static class MonitoredTransfer {
+        private final Guid commandId;
+        private final Guid vdsId;
+        private final Guid ticketId;
+        private volatile long lastRequested;
+        private volatile TicketStatus status;
+
+        MonitoredTransfer(ImageTransfer entity) {
+            commandId = entity.getId();
+            vdsId = entity.getVdsId();
+            ticketId = entity.getImagedTicketId();
+        }
+
+        boolean isMonitoring(ImageTransfer entity) {
+            return vdsId.equals(entity.getVdsId()) && ticketId.equals(entity.getImagedTicketId());
+        }
+    }
+
+    /**
+     * The status of an image ticket, as returned by the last poll.
+     */
+    public static class TicketStatus {
+        private final ImageTicketInformation ticketInformation;
+        private final boolean inactiveOnPreviousPoll;
+
+        TicketStatus(ImageTicketInformation ticketInformation, TicketStatus previous) {
+            this.ticketInformation = ticketInformation;
+            this.inactiveOnPreviousPoll = previous != null
+                    && previous.ticketInformation != null
+                    && !previous.ticketInformation.isActive();
+        }
+
+        /**
+         * @return the ticket information, or {@code null} if the ticket could not be retrieved from the host
+         */
+        public ImageTicketInformation getTicketInformation() {
+            return ticketInformation;
+        }
+
+        public boolean isMissing() {
+            return ticketInformation == null;
+        }
+
+        public boolean isInactiveOnPreviousPoll() {
+            return inactiveOnPreviousPoll;
+        }
+
+        private boolean isStatusChanged(TicketStatus previous) {
+            return previous == null
+                    || previous.ticketInformation == null
+                    || previous.ticketInformation.isActive() != ticketInformation.isActive()
+                    || !Objects.equals(previous.ticketInformation.getTransferred(), ticketInformation.getTransferred());
+        }
+    }
+}
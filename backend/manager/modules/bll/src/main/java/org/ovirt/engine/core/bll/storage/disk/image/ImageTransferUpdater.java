@@ -2,8 +2,11 @@ package org.ovirt.engine.core.bll.storage.disk.image;
 
 import static java.util.Objects.requireNonNull;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
 
 import javax.inject.Inject;
@@ -106,6 +109,35 @@ public class ImageTransferUpdater {
         }
     }
 
+    /**
+     * Updates the transfer status (active and bytes sent) of the given entities in a single batch. The update of each
+     * entity is serialized with its other updates by the same lock {@link #updateEntity} takes, but the lock is not
+     * waited for: the entities which are being updated by their commands are skipped, and their status is written by
+     * the next poll.
+     */
+    public void updateTransferStatuses(Collection<ImageTransfer> updates) {
+        Date now = new Date();
+        List<ImageTransfer> lockedUpdates = new ArrayList<>();
+        List<EngineLock> locks = new ArrayList<>();
+        try {
+            for (ImageTransfer update : updates) {
+                EngineLock lock = getEntityUpdateLock(update.getId());
+                if (!lockManager.acquireLock(lock).isAcquired()) {
+                    log.debug("Image transfer '{}' is being updated, skipping its transfer status", update.getId());
+                    continue;
+                }
+                locks.add(lock);
+                update.setLastUpdated(now);
+                lockedUpdates.add(update);
+            }
+            if (!lockedUpdates.isEmpty()) {
+                imageTransferDao.updateTransferStatuses(lockedUpdates);
+            }
+        } finally {
+            locks.forEach(lockManager::releaseLock);
+        }
+    }
+
     private EngineLock getEntityUpdateLock(Guid commandId) {
         Map<String, org.ovirt.engine.core.common.utils.Pair<String, String>> lockMap =
                 Collections.singletonMap(commandId.toString(),
@@ -84,6 +84,7 @@ import org.ovirt.engine.core.dao.VdsDao;
 import org.ovirt.engine.core.dao.VmCheckpointDao;
 import org.ovirt.engine.core.dao.VmDao;
 import org.ovirt.engine.core.dao.VmDeviceDao;
+import org.ovirt.engine.core.utils.VolumeChain;
 import org.ovirt.engine.core.utils.ovf.OvfManager;
 import org.ovirt.engine.core.utils.ovf.OvfReaderException;
 import org.ovirt.engine.core.utils.transaction.TransactionSupport;
@@ -625,53 +626,19 @@ public class ImagesHandler {
         return retVal;
     }
 
+    /**
+     * Sorts the given volumes of a disk from the base volume to the leaf volume. Volumes that cannot be linked to
+     * the chain are kept, before the sorted ones.
+     */
     public static void sortImageList(List<DiskImage> images) {
-        List<DiskImage> hold = new ArrayList<>();
-        DiskImage curr = null;
-
-        // find the first image
-        for (int i = 0; i < images.size(); i++) {
-            int pos = getFirstImage(images, images.get(i));
-            if (pos == -1) {
-                curr = images.get(i);
-                hold.add(images.get(i));
-                images.remove(images.get(i));
-                break;
-            }
-        }
-
-        while (images.size() > 0) {
-            int pos = getNextImage(images, curr);
-            if (pos == -1) {
-                log.error("Image list error in SortImageList");
-                break;
-            }
-            curr = images.get(pos);
-            hold.add(images.get(pos));
-            images.remove(images.get(pos));
-        }
-
-        images.addAll(hold);
-    }
-
-    // function return the index of image that is its child
-    private static int getNextImage(List<DiskImage> images, DiskImage curr) {
-        for (int i = 0; i < images.size(); i++) {
-            if (images.get(i).getParentId().equals(curr.getImageId())) {
-                return i;
-            }
+        VolumeChain chain = VolumeChain.of(images);
+        if (!chain.isComplete()) {
+            log.error("Image list error in SortImageList");
         }
-        return -1;
-    }
 
-    // function return the index of the image that has no parent
-    private static int getFirstImage(List<DiskImage> images, DiskImage curr) {
-        for (int i = 0; i < images.size(); i++) {
-            if (curr.getParentId().equals(images.get(i).getImageId())) {
-                return i;
-            }
-        }
-        return -1;
+        images.clear();
+        images.addAll(chain.getUnlinkedImages());
+        images.addAll(chain.getImages());
     }
 
     private void removeImage(DiskImage diskImage) {
@@ -702,6 +669,13 @@ public class ImagesHandler {
         return diskSnapshots.get(diskSnapshots.size() - 1);
     }
 
+    /**
+     * Returns the chain of the volumes of the given disk.
+     */
+    public VolumeChain getVolumeChain(Guid diskId) {
+        return VolumeChain.of(diskImageDao.getAllSnapshotsForImageGroup(diskId));
+    }
+
     public List<DiskImage> getCinderLeafImages(List<Disk> disks) {
         return disks.stream().filter(DisksFilter.ONLY_CINDER).map(d -> getSnapshotLeaf(d.getId())).collect(Collectors.toList());
     }
@@ -735,8 +709,8 @@ public class ImagesHandler {
         }
     }
 
-    private static DiskImage getDiskImageById(Guid id, Collection<DiskImage> diskImages) {
-        return diskImages.stream().filter(disk -> disk.getId().equals(id)).findFirst().orElse(null);
+    private static Set<Guid> getDiskIds(Collection<DiskImage> diskImages) {
+        return diskImages.stream().map(DiskImage::getId).collect(Collectors.toSet());
     }
 
     /**
@@ -746,9 +720,10 @@ public class ImagesHandler {
      * @return the subtraction set
      */
     public static List<DiskImage> imagesSubtract(Collection<DiskImage> images, Collection<DiskImage> imagesToSubtract) {
+        Set<Guid> diskIdsToSubtract = getDiskIds(imagesToSubtract);
         return images
                 .stream()
-                .filter(image -> getDiskImageById(image.getId(), imagesToSubtract) == null).collect(Collectors.toList());
+                .filter(image -> !diskIdsToSubtract.contains(image.getId())).collect(Collectors.toList());
     }
 
     /**
@@ -758,9 +733,10 @@ public class ImagesHandler {
      * @return the intersection set
      */
     public static List<DiskImage> imagesIntersection(Collection<DiskImage> images1, Collection<DiskImage> images2) {
+        Set<Guid> diskIds2 = getDiskIds(images2);
         return images1
                 .stream()
-                .filter(image -> getDiskImageById(image.getId(), images2) != null).collect(Collectors.toList());
+                .filter(image -> diskIds2.contains(image.getId())).collect(Collectors.toList());
     }
 
     /**
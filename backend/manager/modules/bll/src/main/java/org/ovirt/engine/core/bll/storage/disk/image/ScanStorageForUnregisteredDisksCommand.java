@@ -30,7 +30,7 @@ import org.ovirt.engine.core.dao.DiskImageDao;
 import org.ovirt.engine.core.dao.UnregisteredDisksDao;
 import org.ovirt.engine.core.dao.UnregisteredOVFDataDao;
 import org.ovirt.engine.core.utils.OvfUtils;
-import org.ovirt.engine.core.utils.ovf.xml.XmlDocument;
+import org.ovirt.engine.core.utils.ovf.OvfSummary;
 
 public class ScanStorageForUnregisteredDisksCommand<T extends StorageDomainParametersBase> extends StorageDomainCommandBase<T> {
 
@@ -108,11 +108,10 @@ public class ScanStorageForUnregisteredDisksCommand<T extends StorageDomainParam
     protected void setVmsForUnregisteredDisks(List<OvfEntityData> allEntities) {
         for (OvfEntityData ovfEntity : allEntities) {
             try {
-                XmlDocument xmlDocument = new XmlDocument(ovfEntity.getOvfData());
                 ovfUtils.updateUnregisteredDisksWithVMs(unregisteredDisks,
                         ovfEntity.getEntityId(),
                         ovfEntity.getEntityName(),
-                        xmlDocument);
+                        OvfSummary.read(ovfEntity.getOvfData()).getDiskIds());
             } catch (Exception e) {
                 log.warn("Could not parse OVF data of VM");
                 continue;
@@ -5,7 +5,6 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 
 import javax.enterprise.inject.Instance;
 import javax.enterprise.inject.Typed;
@@ -70,7 +69,6 @@ import org.ovirt.engine.core.common.utils.Pair;
 import org.ovirt.engine.core.common.utils.SizeConverter;
 import org.ovirt.engine.core.common.vdscommands.AddImageTicketVDSCommandParameters;
 import org.ovirt.engine.core.common.vdscommands.ExtendImageTicketVDSCommandParameters;
-import org.ovirt.engine.core.common.vdscommands.GetImageTicketVDSCommandParameters;
 import org.ovirt.engine.core.common.vdscommands.ImageActionsVDSCommandParameters;
 import org.ovirt.engine.core.common.vdscommands.NbdServerVDSParameters;
 import org.ovirt.engine.core.common.vdscommands.PrepareImageVDSCommandParameters;
@@ -118,6 +116,8 @@ public class TransferDiskImageCommand<T extends TransferDiskImageParameters> ext
     @Inject
     private ImageTransferUpdater imageTransferUpdater;
     @Inject
+    private ImageTransferMonitor imageTransferMonitor;
+    @Inject
     private ImageDao imageDao;
     @Inject
     private VdsDao vdsDao;
@@ -806,55 +806,48 @@ public class TransferDiskImageCommand<T extends TransferDiskImageParameters> ext
             // Old engines update the transfer status in UploadImageHandler::updateBytesSent.
             return;
         }
-        ImageTicketInformation ticketInfo;
-        try {
-            ticketInfo = (ImageTicketInformation) runVdsCommand(VDSCommandType.GetImageTicket,
-                    new GetImageTicketVDSCommandParameters(
-                            context.entity.getVdsId(), context.entity.getImagedTicketId())).getReturnValue();
-        } catch (EngineException e) {
-            log.error("Could not get image ticket '{}' from vdsm, image transfer '{}': {}",
-                    context.entity.getImagedTicketId(), getCommandId(), e);
+        // The tickets of all the transfers are polled, and their status persisted, by the monitor.
+        ImageTransferMonitor.TicketStatus ticketStatus = imageTransferMonitor.getTicketStatus(context.entity);
+        if (ticketStatus == null) {
+            log.debug("Image ticket '{}' was not polled yet, image transfer '{}'",
+                    context.entity.getImagedTicketId(), getCommandId());
+            return;
+        }
+        if (ticketStatus.isMissing()) {
+            log.error("Could not get image ticket '{}' from vdsm, image transfer '{}'",
+                    context.entity.getImagedTicketId(), getCommandId());
             updateEntityPhaseToStoppedBySystem(
                     AuditLogType.TRANSFER_IMAGE_STOPPED_BY_SYSTEM_MISSING_TICKET);
             return;
         }
+        ImageTicketInformation ticketInfo = ticketStatus.getTicketInformation();
         ImageTransfer upToDateImageTransfer = updateTransferStatusWithTicketInformation(context.entity, ticketInfo);
         if (getParameters().getTransferType() == TransferType.Download) {
-            finalizeDownloadIfNecessary(context, upToDateImageTransfer);
+            finalizeDownloadIfNecessary(ticketStatus, upToDateImageTransfer);
         }
 
         // Check conditions for pausing the transfer (ie UI is MIA)
         stopTransferIfNecessary(upToDateImageTransfer, context.iterationTimestamp, ticketInfo.getIdleTime());
     }
 
-    private ImageTransfer updateTransferStatusWithTicketInformation(ImageTransfer oldImageTransfer,
+    private ImageTransfer updateTransferStatusWithTicketInformation(ImageTransfer imageTransfer,
             ImageTicketInformation ticketInfo) {
-        if (!Objects.equals(oldImageTransfer.getActive(), ticketInfo.isActive()) ||
-                !Objects.equals(oldImageTransfer.getBytesSent(), ticketInfo.getTransferred())) {
-            // At least one of the status fields (bytesSent or active) should be updated.
-            ImageTransfer updatesFromTicket = new ImageTransfer();
-            updatesFromTicket.setBytesSent(ticketInfo.getTransferred());
-            updatesFromTicket.setActive(ticketInfo.isActive());
-            ActionReturnValue returnValue = runInternalAction(ActionType.TransferImageStatus,
-                    new TransferImageStatusParameters(getCommandId(), updatesFromTicket), cloneContext().withoutLock());
-            if (returnValue == null || !returnValue.getSucceeded()) {
-                log.debug("Failed to update status for image transfer '{}'", getCommandId());
-                return oldImageTransfer;
-            }
-            return returnValue.getActionReturnValue();
-        }
-        return oldImageTransfer;
+        // The status is persisted by the monitor, only the entity of this iteration is brought up to date.
+        imageTransfer.setBytesSent(ticketInfo.getTransferred());
+        imageTransfer.setActive(ticketInfo.isActive());
+        return imageTransfer;
     }
 
-    private void finalizeDownloadIfNecessary(final StateContext context, ImageTransfer upToDateImageTransfer) {
+    private void finalizeDownloadIfNecessary(ImageTransferMonitor.TicketStatus ticketStatus,
+            ImageTransfer upToDateImageTransfer) {
         if (upToDateImageTransfer.getBytesTotal() != 0 &&
                 // Frontend flow (REST API should close the connection on its own).
                 getParameters().getTransferSize() == upToDateImageTransfer.getBytesSent() &&
                 !upToDateImageTransfer.getActive()) {
             // Heuristic - once the transfer is inactive, we want to wait another COCO iteration
             // to decrease the chances that the few last packets are still on the way to the client.
-            if (!context.entity.getActive()) { // The entity from the previous COCO iteration.
-                // This is the second COCO iteration that the transfer is inactive.
+            if (ticketStatus.isInactiveOnPreviousPoll()) {
+                // This is the second poll that the transfer is inactive.
                 ImageTransfer statusUpdate = new ImageTransfer();
                 statusUpdate.setPhase(ImageTransferPhase.FINALIZING_SUCCESS);
                 runInternalAction(ActionType.TransferImageStatus,
@@ -1385,6 +1378,8 @@ public class TransferDiskImageCommand<T extends TransferDiskImageParameters> ext
             return true;
         }
 
+        imageTransferMonitor.stopMonitoring(getCommandId());
+
         // If we failed to remove the ticket from the daemon, we must fail and
         // retry the operation again.
         if (!removeImageTicketFromDaemon(entity.getImagedTicketId(), entity.getVdsId())) {
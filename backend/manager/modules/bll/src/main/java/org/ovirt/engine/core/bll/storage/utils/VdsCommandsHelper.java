@@ -16,6 +16,7 @@ import javax.inject.Singleton;
 import org.ovirt.engine.core.bll.CommandBase;
 import org.ovirt.engine.core.bll.VdsHandler;
 import org.ovirt.engine.core.bll.interfaces.BackendInternal;
+import org.ovirt.engine.core.bll.job.JobRepository;
 import org.ovirt.engine.core.common.AuditLogType;
 import org.ovirt.engine.core.common.VdcObjectType;
 import org.ovirt.engine.core.common.businessentities.VDS;
@@ -34,7 +35,6 @@ import org.ovirt.engine.core.common.vdscommands.VdsIdVDSCommandParametersBase;
 import org.ovirt.engine.core.compat.Guid;
 import org.ovirt.engine.core.dal.dbbroker.auditloghandling.AuditLogDirector;
 import org.ovirt.engine.core.dal.job.ExecutionMessageDirector;
-import org.ovirt.engine.core.dao.StepDao;
 import org.ovirt.engine.core.dao.StepSubjectEntityDao;
 import org.ovirt.engine.core.dao.VdsDao;
 import org.ovirt.engine.core.di.Injector;
@@ -56,7 +56,7 @@ public class VdsCommandsHelper {
     private VdsDao vdsDao;
 
     @Inject
-    private StepDao stepDao;
+    private JobRepository jobRepository;
 
     @Inject
     private StepSubjectEntityDao stepSubjectEntityDao;
@@ -180,7 +180,7 @@ public class VdsCommandsHelper {
         Map<String, String> jobProperties = cmd.getJobMessageProperties();
         jobProperties.put(VdcObjectType.VDS.name().toLowerCase(), vdsDao.get(vdsForExecution).getName());
         step.setDescription(ExecutionMessageDirector.resolveStepMessage(stepEnum, jobProperties));
-        stepDao.update(step);
+        jobRepository.updateStep(step);
 
         // Add an audit log entry if a corresponding AuditLogType exists. Note that we expect an AuditLogType
         // with name equals to Step_Enum to exist. If an AuditLogType exists, the arguments in the audit
@@ -288,7 +288,7 @@ public class CommandCallbacksPoller implements BackendService {
                 log.info("The command '{}' reached its event's waiting timeout and will be moved to polling mode",
                         cmdEntity.getId());
                 commandsRepository.removeEventSubscription(cmdEntity.getId());
-                cmdEntity.setWaitingForEvent(false);
+                commandsRepository.updateCommandWaitingForEvent(cmdEntity.getId(), false);
                 return false;
             }
             log.debug("The command '{}' is waiting for event and will not be polled until event or timeout",
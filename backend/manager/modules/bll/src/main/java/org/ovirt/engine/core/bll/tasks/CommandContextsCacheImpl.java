@@ -1,5 +1,6 @@
 package org.ovirt.engine.core.bll.tasks;
 
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -16,6 +17,10 @@ import org.ovirt.engine.core.common.businessentities.CommandEntity;
 import org.ovirt.engine.core.common.utils.PersistedCommandContext;
 import org.ovirt.engine.core.compat.Guid;
 
+/**
+ * Keeps the contexts of the commands. The contexts of the commands that were persisted before the engine started are
+ * built from their persisted contexts when they are first requested.
+ */
 @Singleton
 public class CommandContextsCacheImpl implements CommandContextsCache {
 
@@ -27,12 +32,14 @@ public class CommandContextsCacheImpl implements CommandContextsCache {
 
     private ConcurrentMap<Guid, CommandContext> contextsMap;
 
+    /** The commands persisted before the engine started whose contexts were not built yet */
+    private Set<Guid> persistedCommandIds;
+
     @PostConstruct
     public void initContextsMap() {
         contextsMap = new ConcurrentHashMap<>();
-        for (Guid cmdId : commandsCache.keySet()) {
-            contextsMap.put(cmdId, buildCommandContext(commandsCache.get(cmdId)));
-        }
+        persistedCommandIds = ConcurrentHashMap.newKeySet();
+        persistedCommandIds.addAll(commandsCache.keySet());
     }
 
     private CommandContext buildCommandContext(CommandEntity cmdEntity) {
@@ -54,16 +61,27 @@ public class CommandContextsCacheImpl implements CommandContextsCache {
 
     @Override
     public CommandContext get(Guid commandId) {
-        return contextsMap.get(commandId);
+        CommandContext context = contextsMap.get(commandId);
+        if (context == null && persistedCommandIds.contains(commandId)) {
+            CommandEntity cmdEntity = commandsCache.get(commandId);
+            if (cmdEntity != null) {
+                contextsMap.putIfAbsent(commandId, buildCommandContext(cmdEntity));
+            }
+            persistedCommandIds.remove(commandId);
+            context = contextsMap.get(commandId);
+        }
+        return context;
     }
 
     @Override
     public void remove(final Guid commandId) {
+        persistedCommandIds.remove(commandId);
         contextsMap.remove(commandId);
     }
 
     @Override
     public void put(final Guid cmdId, final CommandContext context) {
+        persistedCommandIds.remove(cmdId);
         contextsMap.put(cmdId, context);
     }
 
@@ -117,6 +117,11 @@ public class CommandCoordinatorImpl implements BackendService, CommandCoordinato
         return commandsRepositoryInstance.get().getCommandEntity(commandId);
     }
 
+    @Override
+    public CommandEntity getCommandHeader(Guid commandId) {
+        return commandsRepositoryInstance.get().getCommandHeader(commandId);
+    }
+
     @Override
     public CommandEntity createCommandEntity(Guid cmdId, ActionType actionType, ActionParametersBase params) {
         return coCoAsyncTaskHelper.createCommandEntity(cmdId, actionType, params);
@@ -300,6 +300,16 @@ public class CommandCoordinatorUtil implements BackendService {
         return coco.get().getCommandEntity(commandId);
     }
 
+    /**
+     * Get the header of the command identified by the commandId, which holds its status and flags but not its
+     * parameters, and does not require reading the command from the database
+     * @param commandId The id of the command
+     * @return The header of the command, or null if there is no such command
+     */
+    public CommandEntity getCommandHeader(Guid commandId) {
+        return coco.get().getCommandHeader(commandId);
+    }
+
     /**
      * Get the command object for the command identified by command id.
      * @param commandId The id of the command
@@ -16,6 +16,17 @@ public interface CommandsCache {
 
     CommandEntity get(Guid commandId);
 
+    /**
+     * Returns the lightweight header of the command, holding its ids, type, status and callback flags, but not its
+     * context, parameters, return value and data
+     */
+    CommandEntity getHeader(Guid commandId);
+
+    /**
+     * Returns the lightweight headers of all the commands, see {@link #getHeader(Guid)}
+     */
+    Collection<CommandEntity> getHeaders();
+
     Set<Guid> keySet();
 
     void remove(Guid commandId);
@@ -38,5 +49,7 @@ public interface CommandsCache {
 
     void updateCallbackNotified(Guid commandId);
 
+    void updateCommandWaitingForEvent(Guid commandId, boolean waitingForEvent);
+
     List<CommandEntity> getChildCmdsByParentCmdId(Guid cmdId);
 }
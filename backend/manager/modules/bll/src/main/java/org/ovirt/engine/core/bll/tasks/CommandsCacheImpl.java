@@ -2,10 +2,14 @@ package org.ovirt.engine.core.bll.tasks;
 
 import java.io.Serializable;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -19,27 +23,36 @@ import org.ovirt.engine.core.compat.Guid;
 import org.ovirt.engine.core.dao.CommandEntityDao;
 import org.ovirt.engine.core.utils.transaction.TransactionSupport;
 
+/**
+ * Keeps the lightweight headers of all the commands in memory, and loads the full command entities, with their
+ * contexts, parameters, return values and data, only when they are requested. Only the recently used full entities
+ * are kept in memory, so an engine that retains many command entities does not load and hold all of them.
+ */
 @Singleton
 public class CommandsCacheImpl implements CommandsCache {
 
-    private Map<Guid, CommandEntity> commandMap;
+    static final int MAX_LOADED_ENTITIES = 5000;
+
+    private final ConcurrentMap<Guid, CommandEntity> headers = new ConcurrentHashMap<>();
+    private final Map<Guid, CommandEntity> entities =
+            Collections.synchronizedMap(new LinkedHashMap<Guid, CommandEntity>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Guid, CommandEntity> eldest) {
+                    return size() > MAX_LOADED_ENTITIES;
+                }
+            });
     private volatile boolean cacheInitialized;
     private Object LOCK = new Object();
 
     @Inject
     private CommandEntityDao commandEntityDao;
 
-    public CommandsCacheImpl() {
-        commandMap = new HashMap<>();
-    }
-
     private void initializeCache() {
         if (!cacheInitialized) {
             synchronized(LOCK) {
                 if (!cacheInitialized) {
-                    List<CommandEntity> cmdEntities = commandEntityDao.getAll();
-                    for (CommandEntity cmdEntity : cmdEntities) {
-                        commandMap.put(cmdEntity.getId(), cmdEntity);
+                    for (CommandEntity header : commandEntityDao.getAllHeaders()) {
+                        headers.put(header.getId(), header);
                     }
                     cacheInitialized = true;
                 }
@@ -50,57 +63,134 @@ public class CommandsCacheImpl implements CommandsCache {
     @Override
     public Set<Guid> keySet() {
         initializeCache();
-        return commandMap.keySet();
+        return headers.keySet();
     }
 
     @Override
     public CommandEntity get(Guid commandId) {
+        CommandEntity header = getHeader(commandId);
+        if (header == null) {
+            return null;
+        }
+
+        CommandEntity cmdEntity = entities.get(commandId);
+        if (cmdEntity == null) {
+            cmdEntity = commandEntityDao.get(commandId);
+            if (cmdEntity == null) {
+                return null;
+            }
+            // the flags that are not persisted are kept by the header
+            cmdEntity.setWaitingForEvent(header.isWaitingForEvent());
+            CommandEntity loadedCmdEntity = entities.putIfAbsent(commandId, cmdEntity);
+            if (loadedCmdEntity != null) {
+                cmdEntity = loadedCmdEntity;
+            }
+        }
+        return cmdEntity;
+    }
+
+    @Override
+    public CommandEntity getHeader(Guid commandId) {
+        initializeCache();
+        return commandId == null ? null : headers.get(commandId);
+    }
+
+    @Override
+    public Collection<CommandEntity> getHeaders() {
         initializeCache();
-        return commandMap.get(commandId);
+        return headers.values();
     }
 
     @Override
     public void remove(final Guid commandId) {
-        commandMap.remove(commandId);
+        if (commandId != null) {
+            headers.remove(commandId);
+            entities.remove(commandId);
+        }
         commandEntityDao.remove(commandId);
     }
 
     @Override
     public void put(final CommandEntity cmdEntity) {
-        commandMap.put(cmdEntity.getId(), cmdEntity);
+        initializeCache();
+        headers.put(cmdEntity.getId(), createHeader(cmdEntity));
+        entities.put(cmdEntity.getId(), cmdEntity);
         saveOrUpdateWithoutTransaction(cmdEntity);
     }
 
+    private static CommandEntity createHeader(CommandEntity cmdEntity) {
+        CommandEntity header = new CommandEntity();
+        header.setEngineSessionSeqId(cmdEntity.getEngineSessionSeqId());
+        header.setUserId(cmdEntity.getUserId());
+        header.setId(cmdEntity.getId());
+        header.setCreatedAt(cmdEntity.getCreatedAt());
+        header.setCommandType(cmdEntity.getCommandType());
+        header.setParentCommandId(cmdEntity.getParentCommandId());
+        header.setRootCommandId(cmdEntity.getRootCommandId());
+        header.setCommandStatus(cmdEntity.getCommandStatus());
+        header.setExecuted(cmdEntity.isExecuted());
+        header.setCallbackEnabled(cmdEntity.isCallbackEnabled());
+        header.setCallbackNotified(cmdEntity.isCallbackNotified());
+        header.setWaitingForEvent(cmdEntity.isWaitingForEvent());
+        return header;
+    }
+
     @Override
     public void removeAllCommandsBeforeDate(DateTime cutoff) {
-        commandEntityDao.removeAllBeforeDate(cutoff);
-        cacheInitialized = false;
         initializeCache();
+        commandEntityDao.removeAllBeforeDate(cutoff);
+        List<CommandEntity> retainedHeaders = commandEntityDao.getAllHeaders();
+        Set<Guid> retainedIds = retainedHeaders.stream().map(CommandEntity::getId).collect(Collectors.toSet());
+        // commands created after the cutoff may not have been committed when the retained ones were read
+        headers.values().removeIf(header -> header.getCreatedAt() != null
+                && header.getCreatedAt().before(cutoff)
+                && !retainedIds.contains(header.getId()));
+        synchronized (entities) {
+            entities.keySet().removeIf(commandId -> !headers.containsKey(commandId));
+        }
+        retainedHeaders.forEach(header -> headers.putIfAbsent(header.getId(), header));
     }
 
     @Override
     public void updateCommandStatus(Guid commandId, CommandStatus status) {
-        final CommandEntity cmdEntity = get(commandId);
-        if (cmdEntity != null) {
-            cmdEntity.setCommandStatus(status);
-            saveOrUpdateWithoutTransaction(cmdEntity);
+        CommandEntity header = getHeader(commandId);
+        if (header != null) {
+            header.setCommandStatus(status);
+            CommandEntity cmdEntity = entities.get(commandId);
+            if (cmdEntity != null) {
+                cmdEntity.setCommandStatus(status);
+            }
+            TransactionSupport.executeInSuppressed(() -> {
+                commandEntityDao.updateStatus(commandId, status);
+                return null;
+            });
         }
     }
 
     @Override
     public void updateCommandData(Guid commandId, Map<String, Serializable> data) {
-        final CommandEntity cmdEntity = get(commandId);
-        if (cmdEntity != null) {
-            cmdEntity.setData(data);
-            saveOrUpdateWithoutTransaction(cmdEntity);
+        CommandEntity header = getHeader(commandId);
+        if (header != null) {
+            CommandEntity cmdEntity = entities.get(commandId);
+            if (cmdEntity != null) {
+                cmdEntity.setData(data);
+            }
+            TransactionSupport.executeInSuppressed(() -> {
+                commandEntityDao.updateData(commandId, data);
+                return null;
+            });
         }
     }
 
     @Override
     public void updateCommandExecuted(final Guid commandId) {
-        CommandEntity cmdEntity = get(commandId);
-        if (cmdEntity != null) {
-            cmdEntity.setExecuted(true);
+        CommandEntity header = getHeader(commandId);
+        if (header != null) {
+            header.setExecuted(true);
+            CommandEntity cmdEntity = entities.get(commandId);
+            if (cmdEntity != null) {
+                cmdEntity.setExecuted(true);
+            }
             commandEntityDao.updateExecuted(commandId);
         }
     }
@@ -114,13 +204,29 @@ public class CommandsCacheImpl implements CommandsCache {
 
     @Override
     public void updateCallbackNotified(final Guid commandId) {
-        CommandEntity cmdEntity = get(commandId);
-        if (cmdEntity != null) {
-            cmdEntity.setCallbackNotified(true);
+        CommandEntity header = getHeader(commandId);
+        if (header != null) {
+            header.setCallbackNotified(true);
+            CommandEntity cmdEntity = entities.get(commandId);
+            if (cmdEntity != null) {
+                cmdEntity.setCallbackNotified(true);
+            }
             commandEntityDao.updateNotified(commandId);
         }
     }
 
+    @Override
+    public void updateCommandWaitingForEvent(Guid commandId, boolean waitingForEvent) {
+        CommandEntity header = getHeader(commandId);
+        if (header != null) {
+            header.setWaitingForEvent(waitingForEvent);
+            CommandEntity cmdEntity = entities.get(commandId);
+            if (cmdEntity != null) {
+                cmdEntity.setWaitingForEvent(waitingForEvent);
+            }
+        }
+    }
+
     @Override
     public void persistCommandAssociatedEntities(Collection<CommandAssociatedEntity> cmdAssociatedEntities) {
         if (CollectionUtils.isEmpty(cmdAssociatedEntities)) {
@@ -127,7 +127,7 @@ public class CommandsRepository {
         if (Guid.isNullOrEmpty(cmdEntity.getId())) {
             return;
         }
-        CommandEntity existingCmdEntity = commandsCache.get(cmdEntity.getId());
+        CommandEntity existingCmdEntity = commandsCache.getHeader(cmdEntity.getId());
         if (existingCmdEntity != null) {
             cmdEntity.setExecuted(existingCmdEntity.isExecuted());
             cmdEntity.setCallbackNotified(existingCmdEntity.isCallbackNotified());
@@ -136,8 +136,8 @@ public class CommandsRepository {
         // check if callback is enabled or if parent command has callback enabled
         if (cmdEntity.isCallbackEnabled() ||
                 !Guid.isNullOrEmpty(cmdEntity.getParentCommandId()) &&
-                        commandsCache.get(cmdEntity.getParentCommandId()) != null &&
-                        commandsCache.get(cmdEntity.getParentCommandId()).isCallbackEnabled()
+                        commandsCache.getHeader(cmdEntity.getParentCommandId()) != null &&
+                        commandsCache.getHeader(cmdEntity.getParentCommandId()).isCallbackEnabled()
                 ) {
             buildCmdHierarchy(cmdEntity);
             if (!cmdEntity.isCallbackNotified()) {
@@ -183,7 +183,7 @@ public class CommandsRepository {
     }
 
     public CommandStatus getCommandStatus(final Guid commandId) {
-        CommandEntity cmdEntity = commandsCache.get(commandId);
+        CommandEntity cmdEntity = commandsCache.getHeader(commandId);
         if (cmdEntity != null) {
             return cmdEntity.getCommandStatus();
         }
@@ -194,20 +194,27 @@ public class CommandsRepository {
         return Guid.isNullOrEmpty(commandId) ? null : commandsCache.get(commandId);
     }
 
+    public CommandEntity getCommandHeader(Guid commandId) {
+        return Guid.isNullOrEmpty(commandId) ? null : commandsCache.getHeader(commandId);
+    }
+
     public void updateCallbackNotified(final Guid commandId) {
         commandsCache.updateCallbackNotified(commandId);
     }
 
+    public void updateCommandWaitingForEvent(Guid commandId, boolean waitingForEvent) {
+        commandsCache.updateCommandWaitingForEvent(commandId, waitingForEvent);
+    }
+
     /**
      * @param onlyWithCallbackEnabled Specifies if the returned commands' callbacks are enabled or not.
-     * @return Returns commands with callback enabled or disabled, based on given parameter
+     * @return Returns the headers of the commands with callback enabled or disabled, based on given parameter, without
+     *         their contexts, parameters, return values and data
      */
     public List<CommandEntity> getCommands(boolean onlyWithCallbackEnabled) {
         List<CommandEntity> cmdEntities = new ArrayList<>();
-        CommandEntity cmdEntity;
-        for (Guid cmdId : commandsCache.keySet()) {
-            cmdEntity = commandsCache.get(cmdId);
-            if (!onlyWithCallbackEnabled || commandsCache.get(cmdId).isCallbackEnabled()) {
+        for (CommandEntity cmdEntity : commandsCache.getHeaders()) {
+            if (!onlyWithCallbackEnabled || cmdEntity.isCallbackEnabled()) {
                 cmdEntities.add(cmdEntity);
             }
         }
@@ -286,13 +293,10 @@ public class CommandsRepository {
 
     public List<Guid> getCommandIdsBySessionSeqId(long engineSessionSeqId) {
         List<Guid> cmdIds = new ArrayList<>();
-        CommandEntity cmdEntity;
-
-        for (Guid cmdId : commandsCache.keySet()) {
-            cmdEntity = commandsCache.get(cmdId);
-            if (cmdEntity != null && cmdEntity.getEngineSessionSeqId() != SsoSessionUtils.EMPTY_SESSION_SEQ_ID &&
+        for (CommandEntity cmdEntity : commandsCache.getHeaders()) {
+            if (cmdEntity.getEngineSessionSeqId() != SsoSessionUtils.EMPTY_SESSION_SEQ_ID &&
                     cmdEntity.getEngineSessionSeqId() == engineSessionSeqId) {
-                cmdIds.add(cmdId);
+                cmdIds.add(cmdEntity.getId());
             }
         }
         return cmdIds;
@@ -311,11 +315,9 @@ public class CommandsRepository {
     }
 
     public boolean hasCommandEntitiesWithRootCommandId(Guid rootCommandId) {
-        CommandEntity cmdEntity;
-        for (Guid cmdId : commandsCache.keySet()) {
-            cmdEntity = commandsCache.get(cmdId);
-            if (cmdEntity != null && !Guid.isNullOrEmpty(cmdEntity.getRootCommandId()) &&
-                    !cmdEntity.getRootCommandId().equals(cmdId) &&
+        for (CommandEntity cmdEntity : commandsCache.getHeaders()) {
+            if (!Guid.isNullOrEmpty(cmdEntity.getRootCommandId()) &&
+                    !cmdEntity.getRootCommandId().equals(cmdEntity.getId()) &&
                     cmdEntity.getRootCommandId().equals(rootCommandId)) {
                 return true;
             }
@@ -29,6 +29,8 @@ public interface CommandCRUDOperations {
 
     CommandEntity getCommandEntity(Guid commandId);
 
+    CommandEntity getCommandHeader(Guid commandId);
+
     CommandStatus getCommandStatus(Guid commandId);
 
     void persistCommand(CommandEntity cmdEntity);
@@ -1,13 +1,16 @@
 package org.ovirt.engine.core.common.utils.ansible;
 
+import javax.inject.Inject;
 import javax.inject.Singleton;
 
 @Singleton
 public class AnsibleClientFactory {
 
+    @Inject
+    private AnsibleRunnerClient runnerClient;
+
     public AnsibleRunnerClient create(AnsibleCommandConfig command) {
-        AnsibleRunnerClient client = new AnsibleRunnerClient();
-        return client;
+        return runnerClient;
     }
 
 }
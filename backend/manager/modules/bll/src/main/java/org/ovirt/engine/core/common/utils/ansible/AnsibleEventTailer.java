@@ -0,0 +1,370 @@
+/*
+ * Copyright oVirt Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.ovirt.engine.core.common.utils.ansible;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.concurrent.ManagedScheduledExecutorService;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.ovirt.engine.core.utils.threadpool.ThreadPools;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps an in-memory index of the job events written by ansible-runner for each play, so that finding the next
+ * event of a play does not require to list its whole job events directory.
+ * <p>
+ * The index is updated incrementally: while plays are being waited for, a task of the engine scheduled thread pool
+ * drains the events created in their job events directories and wakes up the threads waiting for them. When the
+ * directory cannot be watched (it does not exist yet, or the file system does not support it) the callers fall back
+ * to polling, and the directory is scanned again when an event is missing from the index. The tailing of a play is
+ * stopped by {@link #stopTailing(String)} once the play has ended, and the task is cancelled once no play is watched.
+ */
+@Singleton
+public class AnsibleEventTailer {
+    private static final Logger log = LoggerFactory.getLogger(AnsibleEventTailer.class);
+
+    /** Plays whose events were not requested for this long are not tailed anymore */
+    static final long IDLE_PLAY_EXPIRATION_MS = TimeUnit.MINUTES.toMillis(10);
+
+    private static final long WATCH_DRAIN_INTERVAL_MS = 100;
+
+    @Inject
+    @ThreadPools(ThreadPools.ThreadPoolType.EngineScheduledThreadPool)
+    private ManagedScheduledExecutorService executor;
+
+    private final Function<String, Path> jobEventsDirResolver;
+    private final Map<String, PlayEvents> plays = new ConcurrentHashMap<>();
+    private final Map<WatchKey, PlayEvents> watchedPlays = new ConcurrentHashMap<>();
+    private volatile long lastExpiration = System.currentTimeMillis();
+
+    private volatile WatchService watchService;
+    private boolean watchServiceInitialized;
+    private ScheduledFuture<?> drainTask;
+
+    public AnsibleEventTailer() {
+        // the executor is injected once the tailer is constructed
+        this(playUuid -> Paths.get(String.format("%1$s/%2$s/artifacts/%2$s/job_events/",
+                AnsibleConstants.ANSIBLE_RUNNER_PATH,
+                playUuid)),
+                null);
+    }
+
+    AnsibleEventTailer(Function<String, Path> jobEventsDirResolver, ManagedScheduledExecutorService executor) {
+        this.jobEventsDirResolver = jobEventsDirResolver;
+        this.executor = executor;
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        stopDrainTask();
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                log.debug("Failed to close the watch service of the Ansible job events: {}", e.getMessage());
+            }
+            watchService = null;
+        }
+        plays.clear();
+        watchedPlays.clear();
+    }
+
+    /**
+     * Returns the name of the file of the given event of the play, or {@code null} if the event was not written
+     * (completely) yet.
+     */
+    public String getEventFileName(String playUuid, int eventId) {
+        PlayEvents play = getPlay(playUuid);
+        String eventFileName = play.get(eventId);
+        if (eventFileName == null) {
+            refresh(play);
+            eventFileName = play.get(eventId);
+        }
+        return eventFileName;
+    }
+
+    /**
+     * Returns the number of the events of the play that were written completely.
+     */
+    public int getTotalEvents(String playUuid) {
+        PlayEvents play = getPlay(playUuid);
+        refresh(play);
+        return play.size();
+    }
+
+    /**
+     * Scans the job events directory of the play again. To be called once the play has ended, since the watch service
+     * reports the events asynchronously and may not have reported the last events of the play yet.
+     */
+    public void rescan(String playUuid) {
+        getPlay(playUuid).scan();
+    }
+
+    /**
+     * Stops tailing the events of the play, once they were all processed.
+     */
+    public void stopTailing(String playUuid) {
+        PlayEvents play = plays.remove(playUuid);
+        if (play != null) {
+            unwatch(play);
+        }
+    }
+
+    /**
+     * Waits until new events of the play are written, or until the given timeout elapses when the job events
+     * directory of the play cannot be watched.
+     */
+    public void awaitEvents(String playUuid, long timeoutMs) throws InterruptedException {
+        PlayEvents play = getPlay(playUuid);
+        watch(play);
+        play.awaitNewEvents(timeoutMs);
+    }
+
+    private PlayEvents getPlay(String playUuid) {
+        expireIdlePlays();
+        PlayEvents play = plays.computeIfAbsent(playUuid, uuid -> new PlayEvents(jobEventsDirResolver.apply(uuid)));
+        play.touch();
+        return play;
+    }
+
+    /**
+     * Brings the index of the play up to date: the events of a watched play are reported by the watch service, the
+     * directory is scanned only when it cannot be watched.
+     */
+    private void refresh(PlayEvents play) {
+        if (!play.isWatched()) {
+            watch(play);
+        }
+        if (play.isWatched()) {
+            processWatchEvents();
+        } else {
+            play.scan();
+        }
+    }
+
+    private synchronized void watch(PlayEvents play) {
+        WatchService service = getWatchService();
+        if (service == null || play.isWatched() || !Files.isDirectory(play.getJobEventsDir())) {
+            return;
+        }
+
+        try {
+            WatchKey key = play.getJobEventsDir().register(service,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+            watchedPlays.put(key, play);
+            play.setWatchKey(key);
+            if (drainTask == null) {
+                drainTask = executor.scheduleWithFixedDelay(this::processWatchEvents,
+                        WATCH_DRAIN_INTERVAL_MS,
+                        WATCH_DRAIN_INTERVAL_MS,
+                        TimeUnit.MILLISECONDS);
+            }
+            // events created before the registration are not reported by the watcher
+            play.scan();
+        } catch (IOException e) {
+            log.debug("Failed to watch '{}', polling it instead: {}", play.getJobEventsDir(), e.getMessage());
+        }
+    }
+
+    private synchronized void unwatch(PlayEvents play) {
+        WatchKey key = play.getWatchKey();
+        if (key != null) {
+            key.cancel();
+            watchedPlays.remove(key);
+            play.setWatchKey(null);
+        }
+        if (watchedPlays.isEmpty()) {
+            stopDrainTask();
+        }
+    }
+
+    private void stopDrainTask() {
+        if (drainTask != null) {
+            drainTask.cancel(false);
+            drainTask = null;
+        }
+    }
+
+    private synchronized WatchService getWatchService() {
+        if (!watchServiceInitialized) {
+            watchServiceInitialized = true;
+            try {
+                watchService = FileSystems.getDefault().newWatchService();
+            } catch (IOException | UnsupportedOperationException e) {
+                log.warn("Failed to create a watch service for the Ansible job events, polling them instead: {}",
+                        e.getMessage());
+                watchService = null;
+            }
+        }
+        return watchService;
+    }
+
+    /**
+     * Adds the events reported by the watch service so far to the index of their plays, without waiting for more.
+     */
+    private void processWatchEvents() {
+        WatchService service = watchService;
+        if (service == null) {
+            return;
+        }
+        while (true) {
+            WatchKey key;
+            try {
+                key = service.poll();
+            } catch (ClosedWatchServiceException e) {
+                return;
+            }
+            if (key == null) {
+                return;
+            }
+
+            PlayEvents play = watchedPlays.get(key);
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (play == null) {
+                    continue;
+                }
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    play.scan();
+                } else {
+                    play.add(event.context().toString());
+                }
+            }
+            if (!key.reset()) {
+                // the directory was removed
+                watchedPlays.remove(key);
+                if (play != null) {
+                    unwatch(play);
+                }
+            }
+        }
+    }
+
+    private void expireIdlePlays() {
+        long now = System.currentTimeMillis();
+        if (now - lastExpiration < IDLE_PLAY_EXPIRATION_MS) {
+            return;
+        }
+        lastExpiration = now;
+        // plays whose tailing was not stopped, e.g. of commands that were aborted
+        plays.values().removeIf(play -> {
+            if (now - play.getLastAccess() < IDLE_PLAY_EXPIRATION_MS) {
+                return false;
+            }
+            unwatch(play);
+            return true;
+        });
+    }
+
+    /**
+     * The complete events of a play, by event id.
+     */
+    private static class PlayEvents {
+        private final Path jobEventsDir;
+        private final Map<Integer, String> eventFileNames = new HashMap<>();
+        private volatile long lastAccess;
+        private volatile WatchKey watchKey;
+        private boolean newEvents;
+
+        PlayEvents(Path jobEventsDir) {
+            this.jobEventsDir = jobEventsDir;
+        }
+
+        Path getJobEventsDir() {
+            return jobEventsDir;
+        }
+
+        void touch() {
+            lastAccess = System.currentTimeMillis();
+        }
+
+        long getLastAccess() {
+            return lastAccess;
+        }
+
+        boolean isWatched() {
+            return watchKey != null;
+        }
+
+        WatchKey getWatchKey() {
+            return watchKey;
+        }
+
+        void setWatchKey(WatchKey watchKey) {
+            this.watchKey = watchKey;
+        }
+
+        synchronized String get(int eventId) {
+            return eventFileNames.get(eventId);
+        }
+
+        synchronized int size() {
+            return eventFileNames.size();
+        }
+
+        /**
+         * Adds the event files of the directory that are not in the index yet.
+         */
+        synchronized void scan() {
+            String[] fileNames = jobEventsDir.toFile().list();
+            if (fileNames != null) {
+                for (String fileName : fileNames) {
+                    add(fileName);
+                }
+            }
+        }
+
+        /**
+         * Adds the given file to the index if it is a complete event file, and wakes up the waiting threads.
+         */
+        synchronized void add(String fileName) {
+            // ignoring incomplete json files
+            if (fileName.contains("partial") || fileName.endsWith(".tmp")) {
+                return;
+            }
+            int separator = fileName.indexOf('-');
+            if (separator <= 0) {
+                return;
+            }
+            int eventId;
+            try {
+                eventId = Integer.parseInt(fileName.substring(0, separator));
+            } catch (NumberFormatException e) {
+                return;
+            }
+            if (eventFileNames.putIfAbsent(eventId, fileName) == null) {
+                newEvents = true;
+                notifyAll();
+            }
+        }
+
+        synchronized void awaitNewEvents(long timeoutMs) throws InterruptedException {
+            if (!newEvents) {
+                wait(timeoutMs);
+            }
+            newEvents = false;
+        }
+    }
+}
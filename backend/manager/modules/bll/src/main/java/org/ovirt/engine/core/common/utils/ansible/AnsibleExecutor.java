@@ -188,6 +188,7 @@ public class AnsibleExecutor {
             // Make sure all events are proccessed even in case of failure:
             if (playUuid != null && runnerClient != null && runnerLogger != null && !async) {
                 runnerClient.processEvents(ret, fn, runnerLogger);
+                runnerClient.stopTailingEvents(playUuid);
             }
         }
 
@@ -10,7 +10,6 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -19,9 +18,8 @@ import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.BiConsumer;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
+import javax.inject.Inject;
 import javax.inject.Singleton;
 
 import org.apache.commons.lang.StringUtils;
@@ -39,6 +37,9 @@ public class AnsibleRunnerClient {
     private ObjectMapper mapper;
     private static final int POLL_INTERVAL = 3000;
 
+    @Inject
+    private AnsibleEventTailer eventTailer;
+
     public AnsibleRunnerClient() {
         this.mapper = JsonMapper
                 .builder()
@@ -51,44 +52,40 @@ public class AnsibleRunnerClient {
         // get current status, but new events might have appeared since last processing
         PlaybookStatus currentPlaybookStatus = getPlaybookStatus(uuid);
         String msg = currentPlaybookStatus.getMsg();
-        return !msg.equalsIgnoreCase("running") && !(lastEventId < getTotalEvents(uuid));
+        return !msg.equalsIgnoreCase("running") && !(lastEventId < getTotalEventsOfEndedPlay(uuid));
     }
 
     public void artifactHandler(AnsibleReturnValue returnValue,
             int timeout,
             BiConsumer<String, String> fn,
             AnsibleRunnerLogger runnerLogger) throws Exception {
-        int executionTime = 0;
+        long deadline = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(timeout);
         while (!playHasEnded(returnValue.getPlayUuid(), returnValue.getLastEventId())) {
             processEvents(returnValue, fn, runnerLogger);
             if (returnValue.getLastEventId() == -1) {
                 return;
             }
-            executionTime += POLL_INTERVAL / 1000;
-            if (executionTime > timeout * 60) {
+            if (System.currentTimeMillis() > deadline) {
                 // Cancel playbook, and raise exception in case timeout occur:
                 cancelPlaybook(returnValue.getPlayUuid(), timeout);
                 throw new TimeoutException(
                         "Play execution has reached timeout");
             }
-            Thread.sleep(POLL_INTERVAL);
+            // woken up as soon as new events are written, polling when the events cannot be watched
+            eventTailer.awaitEvents(returnValue.getPlayUuid(), POLL_INTERVAL);
         }
         returnValue.setAnsibleReturnCode(AnsibleReturnCode.OK);
     }
 
     public String getEventFileName(String playUuid, int eventId) {
-        String jobEvents = getJobEventsDir(playUuid);
-        if (!Files.exists(Paths.get(jobEvents))) {
-            return null;
-        }
-        // ignoring incompleted json files, add to list only events that haven't been handles yet.
-        return Stream.of(new File(jobEvents).listFiles())
-                .map(File::getName)
-                .filter(item -> !item.contains("partial"))
-                .filter(item -> !item.endsWith(".tmp"))
-                .filter(item -> item.startsWith(eventId + "-"))
-                .findFirst()
-                .orElse(null);
+        return eventTailer.getEventFileName(playUuid, eventId);
+    }
+
+    /**
+     * Stops tailing the events of the play, to be called once all its events were processed.
+     */
+    public void stopTailingEvents(String playUuid) {
+        eventTailer.stopTailing(playUuid);
     }
 
     public String getJobEventsDir(String playUuid) {
@@ -269,24 +266,18 @@ public class AnsibleRunnerClient {
         return new PlaybookStatus(rc, status);
     }
 
-    private List<String> getEvents(String playUuid) {
-        List<String> sortedEvents = new ArrayList<>();
-        File jobEvents = new File(getJobEventsDir(playUuid));
-        if (jobEvents.exists()) {
-            sortedEvents = Stream.of(jobEvents.listFiles())
-                .map(File::getName)
-                .filter(item -> !item.contains("partial"))
-                .filter(item -> !item.endsWith(".tmp"))
-                .sorted()
-                .collect(Collectors.toList());
-        }
-        return sortedEvents;
-    }
-
     public int getTotalEvents(String playUuid) {
-        List<String> events = getEvents(playUuid);
         // if playbook artifacts directory is not yet populated, return 0
-        return events.size();
+        return eventTailer.getTotalEvents(playUuid);
+    }
+
+    /**
+     * Returns the number of the events of a play that is not running anymore, including its last events which may not
+     * have been reported by the watch service yet.
+     */
+    public int getTotalEventsOfEndedPlay(String playUuid) {
+        eventTailer.rescan(playUuid);
+        return eventTailer.getTotalEvents(playUuid);
     }
 
     private JsonNode getEvent(String eventPath) {
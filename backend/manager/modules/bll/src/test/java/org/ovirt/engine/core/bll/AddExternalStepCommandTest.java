@@ -9,12 +9,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.ovirt.engine.core.bll.job.JobRepository;
 import org.ovirt.engine.core.common.action.AddExternalStepParameters;
 import org.ovirt.engine.core.common.job.Job;
 import org.ovirt.engine.core.common.job.StepEnum;
 import org.ovirt.engine.core.compat.Guid;
 import org.ovirt.engine.core.dao.JobDao;
-import org.ovirt.engine.core.dao.StepDao;
 
 @MockitoSettings(strictness = Strictness.LENIENT)
 public class AddExternalStepCommandTest extends BaseCommandTest {
@@ -25,7 +25,7 @@ public class AddExternalStepCommandTest extends BaseCommandTest {
     @Mock
     private JobDao jobDaoMock;
     @Mock
-    private StepDao stepDaoMock;
+    private JobRepository jobRepositoryMock;
 
     @InjectMocks
     private AddExternalStepCommand<AddExternalStepParameters> command =
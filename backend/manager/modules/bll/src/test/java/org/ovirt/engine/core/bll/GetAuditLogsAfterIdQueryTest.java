@@ -0,0 +1,120 @@
+package org.ovirt.engine.core.bll;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.ovirt.engine.core.common.businessentities.AuditLog;
+import org.ovirt.engine.core.common.queries.GetAuditLogsAfterIdParameters;
+import org.ovirt.engine.core.dal.dbbroker.auditloghandling.AuditLogEventBuffer;
+import org.ovirt.engine.core.dao.AuditLogDao;
+
+/** A test case for the {@link GetAuditLogsAfterIdQuery} class. */
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class GetAuditLogsAfterIdQueryTest
+        extends AbstractUserQueryTest<GetAuditLogsAfterIdParameters, GetAuditLogsAfterIdQuery<GetAuditLogsAfterIdParameters>> {
+
+    private static final long FROM_ID = 10;
+
+    private static final int MAX = 5;
+
+    @Mock
+    private AuditLogEventBuffer eventBufferMock;
+
+    @Mock
+    private AuditLogDao auditLogDaoMock;
+
+    @Override
+    protected void setUpMockQueryParameters() {
+        super.setUpMockQueryParameters();
+        when(getQueryParameters().getId()).thenReturn(FROM_ID);
+        when(getQueryParameters().getMax()).thenReturn(MAX);
+    }
+
+    @Test
+    public void testUnfilteredEventsAreReadFromBuffer() throws InterruptedException {
+        when(getQueryParameters().isFiltered()).thenReturn(false);
+        List<AuditLog> bufferedEvents = Collections.singletonList(createEvent(FROM_ID + 1));
+        when(eventBufferMock.getAfter(eq(FROM_ID), eq(MAX), anyLong())).thenReturn(bufferedEvents);
+
+        getQuery().executeQueryCommand();
+
+        assertEquals(bufferedEvents, getQuery().getQueryReturnValue().getReturnValue());
+        verify(auditLogDaoMock, never()).getAllAfterId(anyLong(), anyInt(), eq(getUser().getId()), anyBoolean());
+    }
+
+    @Test
+    public void testFilteredEventsAreReadFromGivenId() throws InterruptedException {
+        when(eventBufferMock.getAfter(eq(FROM_ID), eq(MAX), anyLong()))
+                .thenReturn(Collections.singletonList(createEvent(FROM_ID + 5)));
+        List<AuditLog> permittedEvents = Collections.singletonList(createEvent(FROM_ID + 5));
+        when(auditLogDaoMock.getAllAfterId(FROM_ID, MAX, getUser().getId(), true)).thenReturn(permittedEvents);
+
+        getQuery().executeQueryCommand();
+
+        assertEquals(permittedEvents, getQuery().getQueryReturnValue().getReturnValue());
+    }
+
+    @Test
+    public void testFilteredUserWaitsAfterEventsNotPermitted() throws InterruptedException {
+        when(getQueryParameters().getWaitSeconds()).thenReturn(1);
+        when(eventBufferMock.getAfter(eq(FROM_ID), eq(MAX), anyLong()))
+                .thenReturn(Collections.singletonList(createEvent(FROM_ID + 5)));
+        when(eventBufferMock.getAfter(eq(FROM_ID + 5), eq(MAX), anyLong())).thenReturn(Collections.emptyList());
+        when(auditLogDaoMock.getAllAfterId(FROM_ID, MAX, getUser().getId(), true)).thenReturn(Collections.emptyList());
+
+        getQuery().executeQueryCommand();
+
+        List<AuditLog> result = getQuery().getQueryReturnValue().getReturnValue();
+        assertTrue(result.isEmpty());
+        // the wait goes on after the last buffered event, while the database is read from the given id
+        verify(eventBufferMock).getAfter(eq(FROM_ID + 5), eq(MAX), anyLong());
+        verify(auditLogDaoMock, never()).getAllAfterId(eq(FROM_ID + 5), anyInt(), eq(getUser().getId()), anyBoolean());
+    }
+
+    @Test
+    public void testWaitIsCapped() throws InterruptedException {
+        when(getQueryParameters().isFiltered()).thenReturn(false);
+        when(getQueryParameters().getWaitSeconds()).thenReturn(Integer.MAX_VALUE);
+        when(eventBufferMock.getAfter(eq(FROM_ID), eq(MAX), anyLong())).thenReturn(Collections.emptyList());
+
+        getQuery().executeQueryCommand();
+
+        ArgumentCaptor<Long> timeout = ArgumentCaptor.forClass(Long.class);
+        verify(eventBufferMock).getAfter(eq(FROM_ID), eq(MAX), timeout.capture());
+        assertTrue(timeout.getValue() <= TimeUnit.SECONDS.toMillis(GetAuditLogsAfterIdQuery.MAX_WAIT_SECONDS),
+                "The wait for events should be capped");
+    }
+
+    @Test
+    public void testEventsMissingFromBufferAreReadFromDatabase() throws InterruptedException {
+        when(eventBufferMock.getAfter(eq(FROM_ID), eq(MAX), anyLong())).thenReturn(null);
+        List<AuditLog> events = Collections.singletonList(createEvent(FROM_ID + 1));
+        when(auditLogDaoMock.getAllAfterId(FROM_ID, MAX, getUser().getId(), true)).thenReturn(events);
+
+        getQuery().executeQueryCommand();
+
+        assertEquals(events, getQuery().getQueryReturnValue().getReturnValue());
+    }
+
+    private static AuditLog createEvent(long id) {
+        AuditLog event = new AuditLog();
+        event.setAuditLogId(id);
+        return event;
+    }
+}
@@ -0,0 +1,241 @@
+package org.ovirt.engine.core.bll;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.enterprise.concurrent.ManagedScheduledExecutorService;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.mockito.verification.VerificationMode;
+import org.ovirt.engine.core.bll.interfaces.BackendInternal;
+import org.ovirt.engine.core.common.AuditLogType;
+import org.ovirt.engine.core.common.action.ActionReturnValue;
+import org.ovirt.engine.core.common.action.ActionType;
+import org.ovirt.engine.core.common.action.RunVmParams;
+import org.ovirt.engine.core.common.businessentities.VM;
+import org.ovirt.engine.core.common.businessentities.VMStatus;
+import org.ovirt.engine.core.common.businessentities.VmExitStatus;
+import org.ovirt.engine.core.common.config.ConfigValues;
+import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.dal.dbbroker.auditloghandling.AuditLogDirector;
+import org.ovirt.engine.core.dao.SnapshotDao;
+import org.ovirt.engine.core.dao.VmDao;
+import org.ovirt.engine.core.utils.MockConfigDescriptor;
+import org.ovirt.engine.core.utils.MockConfigExtension;
+import org.ovirt.engine.core.utils.lock.LockManager;
+import org.ovirt.engine.core.utils.lock.LockingResult;
+import org.ovirt.engine.core.utils.threadpool.ThreadPoolUtil;
+
+@ExtendWith({ MockitoExtension.class, MockConfigExtension.class })
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class HaAutoStartVmsRunnerTest {
+
+    private static final int MAX_PARALLEL_STARTS = 2;
+
+    @Mock
+    private AuditLogDirector auditLogDirector;
+
+    @Mock
+    private LockManager lockManager;
+
+    @Mock
+    private BackendInternal backend;
+
+    @Mock
+    private VmDao vmDao;
+
+    @Mock
+    private SnapshotDao snapshotDao;
+
+    @Mock
+    private ManagedScheduledExecutorService executor;
+
+    @InjectMocks
+    private HaAutoStartVmsRunner runner;
+
+    private ExecutorService originalExecutorService;
+
+    private ExecutorService executorService;
+
+    private Runnable iteration;
+
+    private final List<VM> vms = new ArrayList<>();
+
+    public static Stream<MockConfigDescriptor<?>> mockConfiguration() {
+        return Stream.of(
+                MockConfigDescriptor.of(ConfigValues.AutoStartVmsRunnerIntervalInSeconds, 1L),
+                MockConfigDescriptor.of(ConfigValues.AutoStartVmsRunnerMaxParallelStarts, MAX_PARALLEL_STARTS),
+                MockConfigDescriptor.of(ConfigValues.RetryToRunAutoStartVmShortIntervalInSeconds, 0),
+                MockConfigDescriptor.of(ConfigValues.RetryToRunAutoStartVmLongIntervalInSeconds, 0),
+                MockConfigDescriptor.of(ConfigValues.NumOfTriesToRunFailedAutoStartVmInShortIntervals, 10),
+                MockConfigDescriptor.of(ConfigValues.MaxNumOfSkipsBeforeAutoStartVm, 3),
+                MockConfigDescriptor.of(ConfigValues.DelayToRunAutoStartVmIntervalInSeconds, 0),
+                MockConfigDescriptor.of(ConfigValues.MaxTimeAutoStartBlockedOnPriority, 600)
+        );
+    }
+
+    @BeforeEach
+    public void setUp() {
+        originalExecutorService = ThreadPoolUtil.getExecutorService();
+        // the pool is larger than the limit, so only the runner limits the concurrent starts
+        executorService = spy(Executors.newFixedThreadPool(MAX_PARALLEL_STARTS * 3));
+        ThreadPoolUtil.setExecutorService(executorService);
+
+        when(vmDao.getAllFailedAutoStartVms()).thenReturn(Collections.emptyList());
+        when(vmDao.getVmsByIds(any())).thenAnswer(invocation -> {
+            Collection<Guid> ids = invocation.getArgument(0);
+            return vms.stream().filter(vm -> ids.contains(vm.getId())).collect(Collectors.toList());
+        });
+        when(lockManager.acquireLock(any())).thenReturn(LockingResult.success());
+        mockRunVm(true);
+
+        runner.init();
+        ArgumentCaptor<Runnable> iterationCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor).scheduleWithFixedDelay(iterationCaptor.capture(), anyLong(), anyLong(), any());
+        iteration = iterationCaptor.getValue();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executorService.shutdownNow();
+        ThreadPoolUtil.setExecutorService(originalExecutorService);
+    }
+
+    @Test
+    public void higherPriorityWaveIsStartedFirst() {
+        VM lowPriorityVm = createDownVm(1);
+        VM highPriorityVm = createDownVm(2);
+        runner.addVmsToRun(Arrays.asList(lowPriorityVm.getId(), highPriorityVm.getId()));
+
+        iteration.run();
+
+        verifyVmRun(highPriorityVm, times(1));
+        verifyVmRun(lowPriorityVm, never());
+
+        // the VM of the higher priority is up, so the next wave is not blocked anymore
+        replaceVm(highPriorityVm, VMStatus.Up);
+        iteration.run();
+
+        verifyVmRun(highPriorityVm, times(1));
+        verifyVmRun(lowPriorityVm, times(1));
+    }
+
+    @Test
+    public void startsOfWaveAreLimited() {
+        List<Guid> vmIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            vmIds.add(createDownVm(1).getId());
+        }
+        runner.addVmsToRun(vmIds);
+
+        iteration.run();
+
+        vms.forEach(vm -> verifyVmRun(vm, times(1)));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Callable<Object>>> batches = ArgumentCaptor.forClass(Collection.class);
+        verify(executorService, times(3)).invokeAll(batches.capture());
+        assertEquals(Arrays.asList(2, 2, 1),
+                batches.getAllValues().stream().map(Collection::size).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void failedStartIsRetried() {
+        VM vm = createDownVm(1);
+        mockRunVm(false);
+        runner.addVmsToRun(Collections.singletonList(vm.getId()));
+
+        iteration.run();
+
+        verifyVmRun(vm, times(1));
+        verify(auditLogDirector).log(any(), eq(AuditLogType.HA_VM_RESTART_FAILED));
+
+        mockRunVm(true);
+        iteration.run();
+
+        verifyVmRun(vm, times(2));
+    }
+
+    @Test
+    public void startThatThrowsIsRetried() {
+        VM vm = createDownVm(1);
+        doThrow(new RuntimeException()).when(backend).runInternalAction(eq(ActionType.RunVm), any(), any());
+        runner.addVmsToRun(Collections.singletonList(vm.getId()));
+
+        iteration.run();
+
+        verify(auditLogDirector).log(any(), eq(AuditLogType.HA_VM_RESTART_FAILED));
+
+        mockRunVm(true);
+        iteration.run();
+
+        verifyVmRun(vm, times(2));
+    }
+
+    private void mockRunVm(boolean succeeded) {
+        doAnswer(invocation -> {
+            ActionReturnValue returnValue = new ActionReturnValue();
+            returnValue.setSucceeded(succeeded);
+            returnValue.setActionReturnValue(succeeded ? VMStatus.WaitForLaunch : VMStatus.Down);
+            return returnValue;
+        }).when(backend).runInternalAction(eq(ActionType.RunVm), any(), any());
+    }
+
+    private void verifyVmRun(VM vm, VerificationMode mode) {
+        verify(backend, mode).runInternalAction(eq(ActionType.RunVm),
+                argThat(params -> ((RunVmParams) params).getVmId().equals(vm.getId())),
+                any());
+    }
+
+    private VM createDownVm(int priority) {
+        VM vm = new VM();
+        vm.setId(Guid.newGuid());
+        vm.setName("vm" + vms.size());
+        vm.setPriority(priority);
+        vm.setAutoStartup(true);
+        vm.setStatus(VMStatus.Down);
+        vm.setExitStatus(VmExitStatus.Error);
+        vms.add(vm);
+        return vm;
+    }
+
+    private void replaceVm(VM vm, VMStatus status) {
+        VM replacement = new VM();
+        replacement.setId(vm.getId());
+        replacement.setName(vm.getName());
+        replacement.setPriority(vm.getPriority());
+        replacement.setAutoStartup(true);
+        replacement.setStatus(status);
+        replacement.setExitStatus(status == VMStatus.Down ? VmExitStatus.Error : VmExitStatus.Normal);
+        vms.set(vms.indexOf(vm), replacement);
+    }
+}
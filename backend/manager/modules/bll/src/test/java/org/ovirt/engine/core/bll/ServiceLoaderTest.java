@@ -0,0 +1,109 @@
+package org.ovirt.engine.core.bll;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.enterprise.inject.Instance;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.ovirt.engine.core.common.BackendService;
+import org.ovirt.engine.core.utils.threadpool.ThreadPoolUtil;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class ServiceLoaderTest {
+
+    @Mock
+    private Instance<BackendService> services;
+
+    @Mock
+    private Instance<FirstService> firstServiceInstance;
+
+    @Mock
+    private Instance<SecondService> secondServiceInstance;
+
+    @InjectMocks
+    private ServiceLoader serviceLoader;
+
+    private ExecutorService previousExecutor;
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setUp() {
+        previousExecutor = ThreadPoolUtil.getExecutorService();
+        executor = Executors.newFixedThreadPool(2);
+        ThreadPoolUtil.setExecutorService(executor);
+
+        doReturn(firstServiceInstance).when(services).select(FirstService.class);
+        doReturn(secondServiceInstance).when(services).select(SecondService.class);
+        doReturn(new FirstService()).when(firstServiceInstance).get();
+        doReturn(new SecondService()).when(secondServiceInstance).get();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+        ThreadPoolUtil.setExecutorService(previousExecutor);
+    }
+
+    @Test
+    public void parallelServicesAreLoadedAndTimed() {
+        serviceLoader.loadInParallel(FirstService.class, SecondService.class);
+
+        verify(firstServiceInstance).get();
+        verify(secondServiceInstance).get();
+        assertTrue(serviceLoader.getLoadTimes().containsKey(FirstService.class.getSimpleName()));
+        assertTrue(serviceLoader.getLoadTimes().containsKey(SecondService.class.getSimpleName()));
+    }
+
+    @Test
+    public void parallelServiceFailureFailsTheStage() {
+        doThrow(new IllegalStateException()).when(firstServiceInstance).get();
+
+        assertThrows(RuntimeException.class,
+                () -> serviceLoader.loadInParallel(FirstService.class, SecondService.class));
+    }
+
+    @Test
+    public void deferredServicesAreLoadedOnlyWhenRequested() {
+        serviceLoader.defer(FirstService.class, SecondService.class);
+        verify(firstServiceInstance, never()).get();
+
+        serviceLoader.loadDeferred();
+
+        verify(firstServiceInstance, timeout(5000)).get();
+        verify(secondServiceInstance, timeout(5000)).get();
+    }
+
+    @Test
+    public void deferredServiceFailureDoesNotPreventOthers() {
+        doThrow(new IllegalStateException()).when(firstServiceInstance).get();
+        serviceLoader.defer(FirstService.class, SecondService.class);
+
+        serviceLoader.loadDeferred();
+
+        verify(secondServiceInstance, timeout(5000)).get();
+    }
+
+    private static class FirstService implements BackendService {
+    }
+
+    private static class SecondService implements BackendService {
+    }
+}
@@ -2,9 +2,19 @@ package org.ovirt.engine.core.bll;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -37,11 +47,18 @@ import org.ovirt.engine.core.common.businessentities.storage.DiskStorageType;
 import org.ovirt.engine.core.common.businessentities.storage.ImageStatus;
 import org.ovirt.engine.core.common.businessentities.storage.LunDisk;
 import org.ovirt.engine.core.common.config.ConfigValues;
+import org.ovirt.engine.core.common.locks.LockInfo;
+import org.ovirt.engine.core.common.locks.LockingGroup;
+import org.ovirt.engine.core.common.osinfo.OsRepository;
 import org.ovirt.engine.core.common.utils.VmDeviceType;
 import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.compat.Version;
 import org.ovirt.engine.core.utils.MockConfigDescriptor;
 import org.ovirt.engine.core.utils.MockConfigExtension;
 import org.ovirt.engine.core.utils.RandomUtils;
+import org.ovirt.engine.core.utils.lock.LockManager;
+import org.ovirt.engine.core.vdsbroker.ResourceManager;
+import org.ovirt.engine.core.vdsbroker.monitoring.VmStatsPolling;
 
 @ExtendWith({MockitoExtension.class, MockConfigExtension.class})
 @MockitoSettings(strictness = Strictness.LENIENT)
@@ -53,6 +70,21 @@ public class VmHandlerTest {
     @Spy
     private IsoDomainListSynchronizer isoDomainListSynchronizer;
 
+    @Mock
+    private LockManager lockManager;
+
+    @Mock
+    private ResourceManager resourceManager;
+
+    @Mock
+    private CpuFlagsManagerHandler cpuFlagsManagerHandler;
+
+    @Mock
+    private OsRepository osRepository;
+
+    @Mock
+    private VmStatsPolling vmStatsPolling;
+
     @InjectMocks
     private VmHandler vmHandler = new VmHandler();
 
@@ -60,7 +92,10 @@ public class VmHandlerTest {
     public static Stream<MockConfigDescriptor<?>> mockConfiguration() {
         return Stream.of(
                 MockConfigDescriptor.of(ConfigValues.WindowsGuestAgentUpdateCheckInternal, 180),
-                MockConfigDescriptor.of(ConfigValues.GuestToolsSetupIsoPrefix, ".*rhe?v-toolssetup_"));
+                MockConfigDescriptor.of(ConfigValues.GuestToolsSetupIsoPrefix, ".*rhe?v-toolssetup_"),
+                MockConfigDescriptor.of(ConfigValues.AgentAppName, Arrays.asList("ovirt-guest-agent-common")),
+                MockConfigDescriptor.of(ConfigValues.SpiceDriverNameInGuest,
+                        Collections.singletonMap("linux", "xorg-x11-drv-qxl")));
     }
 
     @BeforeEach
@@ -99,6 +134,43 @@ public class VmHandlerTest {
         assertFalse(vm.getManagedVmDeviceMap().containsKey(snapshotDisk.getId()));
     }
 
+    @Test
+    public void updateVmsRuntimeDataMatchesUpdatingEachVm() {
+        VM lockedVm = createVmWithRuntimeData();
+        VM unlockedVm = createVmWithRuntimeData();
+        VM singleVm = createVmWithRuntimeData();
+        LockInfo lockInfo = new LockInfo(true, Collections.singleton("locked"));
+        when(lockManager.getLockInfos(LockingGroup.VM.name()))
+                .thenReturn(Collections.singletonMap(lockedVm.getId().toString(), lockInfo));
+        when(cpuFlagsManagerHandler.getCpuId(any(), any())).thenReturn("Cascadelake-Server");
+        when(osRepository.getOsFamily(anyInt())).thenReturn("Linux");
+
+        vmHandler.updateVmsRuntimeData(Arrays.asList(lockedVm, unlockedVm));
+        vmHandler.updateVmGuestAgentVersion(singleVm);
+        vmHandler.updateConfiguredCpuVerb(singleVm);
+
+        assertSame(lockInfo, lockedVm.getLockInfo());
+        assertNull(unlockedVm.getLockInfo());
+        assertNotNull(lockedVm.getGuestAgentVersion());
+        assertEquals(singleVm.getGuestAgentVersion(), lockedVm.getGuestAgentVersion());
+        assertEquals(singleVm.getSpiceDriverVersion(), unlockedVm.getSpiceDriverVersion());
+        assertEquals(singleVm.getConfiguredCpuVerb(), unlockedVm.getConfiguredCpuVerb());
+        assertEquals(-1, unlockedVm.getBackgroundOperationProgress());
+        // the lookups shared by the VMs are done once for all of them
+        verify(lockManager, times(1)).getLockInfos(LockingGroup.VM.name());
+        verify(lockManager, never()).getLockInfo(any());
+        verify(cpuFlagsManagerHandler, times(2)).getCpuId(any(), any());
+    }
+
+    private VM createVmWithRuntimeData() {
+        VM vm = new VM();
+        vm.setId(Guid.newGuid());
+        vm.setAppList("kernel-5.14.0-70.el9,ovirt-guest-agent-common-1.0.16-1.el8,xorg-x11-drv-qxl-0.1.5-11.el8");
+        vm.setClusterCpuName("Intel Cascadelake Server Family");
+        vm.setClusterCompatibilityVersion(Version.v4_7);
+        return vm;
+    }
+
     private void populateVmWithDisks(List<Disk> disks, VM vm) {
         vmHandler.updateDisksForVm(vm, disks);
         for (Disk disk : disks) {
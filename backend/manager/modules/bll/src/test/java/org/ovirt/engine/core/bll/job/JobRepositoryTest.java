@@ -2,29 +2,44 @@ package org.ovirt.engine.core.bll.job;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
+import javax.transaction.TransactionManager;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
 import org.mockito.Mock;
-import org.mockito.MockitoAnnotations;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
 import org.ovirt.engine.core.common.VdcObjectType;
 import org.ovirt.engine.core.common.action.ActionType;
 import org.ovirt.engine.core.common.job.Job;
 import org.ovirt.engine.core.common.job.Step;
+import org.ovirt.engine.core.common.job.StepEnum;
 import org.ovirt.engine.core.compat.Guid;
 import org.ovirt.engine.core.dao.JobDao;
 import org.ovirt.engine.core.dao.JobSubjectEntityDao;
 import org.ovirt.engine.core.dao.StepDao;
 import org.ovirt.engine.core.dao.StepSubjectEntityDao;
+import org.ovirt.engine.core.utils.InjectedMock;
+import org.ovirt.engine.core.utils.InjectorExtension;
 
+@ExtendWith({MockitoExtension.class, InjectorExtension.class})
+@MockitoSettings(strictness = Strictness.LENIENT)
 public class JobRepositoryTest {
 
     private static final Map<Guid, VdcObjectType> JOB_SUBJECT_ENTITIES_MAP =
@@ -42,13 +57,16 @@ public class JobRepositoryTest {
     @Mock
     private StepSubjectEntityDao stepSubjectEntityDao;
 
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    @InjectedMock
+    public TransactionManager transactionManager;
+
     private JobRepository jobRepository;
 
     private Job job;
 
     @BeforeEach
     public void setUp() {
-        MockitoAnnotations.initMocks(this);
         jobRepository = new JobRepositoryImpl(jobDao, jobSubjectEntityDao, stepDao, stepSubjectEntityDao);
         job = createJob();
         mockDaos(job);
@@ -85,12 +103,92 @@ public class JobRepositoryTest {
         assertTrue(searchedJob.contains(job));
     }
 
+    @Test
+    public void pendingStepIsReadWithoutBeingWritten() {
+        Step step = createStep(job.getId());
+        jobRepository.saveStep(step);
+
+        assertSame(step, jobRepository.getStep(step.getId(), false));
+        assertTrue(jobRepository.getJobSteps(job.getId()).contains(step));
+        assertNotNull(jobRepository.getJob(job.getId()).getLastUpdateTime());
+        verify(stepDao, never()).save(any());
+        verify(stepDao, never()).get(any());
+    }
+
+    @Test
+    public void pendingStepReplacesPersistedStep() {
+        Step persistedStep = stepDao.getStepsByJobId(job.getId()).get(0);
+        Step updatedStep = createStep(job.getId());
+        updatedStep.setId(persistedStep.getId());
+        jobRepository.updateStep(updatedStep);
+
+        List<Step> steps = jobRepository.getJobSteps(job.getId());
+        assertEquals(1, steps.size());
+        assertSame(updatedStep, steps.get(0));
+        verify(stepDao, never()).update(any());
+    }
+
+    @Test
+    public void progressOfPendingStepIsNotWritten() {
+        Step step = createStep(job.getId());
+        jobRepository.saveStep(step);
+        jobRepository.updateStepProgress(step.getId(), 50);
+
+        assertEquals(50, (int) step.getProgress());
+        verify(stepDao, never()).updateStepProgress(any(), any());
+    }
+
+    @Test
+    public void flushedStepIsReadUntilCommitted() {
+        Step step = createStep(job.getId());
+        jobRepository.saveStep(step);
+        doAnswer(invocation -> {
+            assertSame(step, jobRepository.getStep(step.getId(), false));
+            assertTrue(jobRepository.getJobSteps(job.getId()).contains(step));
+            return null;
+        }).when(stepDao).saveAllInBatch(any());
+
+        jobRepository.flushPendingChanges();
+
+        verify(stepDao).saveAllInBatch(Collections.singletonList(step));
+        jobRepository.getStep(step.getId(), false);
+        verify(stepDao).get(step.getId());
+    }
+
+    @Test
+    public void progressUpdatedDuringFlushIsWrittenByNextFlush() {
+        Step step = createStep(job.getId());
+        jobRepository.saveStep(step);
+        doAnswer(invocation -> {
+            jobRepository.updateStepProgress(step.getId(), 70);
+            return null;
+        }).when(stepDao).saveAllInBatch(any());
+
+        jobRepository.flushPendingChanges();
+
+        verify(stepDao, never()).updateStepProgress(any(), any());
+        assertSame(step, jobRepository.getStep(step.getId(), false));
+
+        jobRepository.flushPendingChanges();
+
+        verify(stepDao).saveAllInBatch(any());
+        verify(stepDao).updateAllInBatch(Collections.singletonList(step));
+        assertEquals(70, (int) step.getProgress());
+    }
+
+    private Step createStep(Guid jobId) {
+        Step step = new Step(StepEnum.EXECUTING);
+        step.setJobId(jobId);
+        return step;
+    }
+
     private void mockJobDao(Job job) {
         when(jobDao.get(any())).thenReturn(job);
     }
 
     private void mockStepDao(Guid jobId) {
         Step step = new Step();
+        step.setId(Guid.newGuid());
         step.setJobId(jobId);
         when(stepDao.getStepsByJobId(eq(jobId))).thenReturn(Collections.singletonList(step));
     }
@@ -1,6 +1,7 @@
 package org.ovirt.engine.core.bll.scheduling;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -25,8 +26,10 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.ovirt.engine.core.bll.interfaces.BackendInternal;
 import org.ovirt.engine.core.bll.scheduling.arem.AffinityRulesEnforcer;
+import org.ovirt.engine.core.common.VdcObjectType;
 import org.ovirt.engine.core.common.action.ActionReturnValue;
 import org.ovirt.engine.core.common.businessentities.Cluster;
+import org.ovirt.engine.core.common.businessentities.EntityChanges;
 import org.ovirt.engine.core.common.businessentities.VM;
 import org.ovirt.engine.core.common.config.ConfigValues;
 import org.ovirt.engine.core.common.scheduling.ClusterPolicy;
@@ -35,6 +38,7 @@ import org.ovirt.engine.core.dal.dbbroker.auditloghandling.AuditLogDirector;
 import org.ovirt.engine.core.dao.ClusterDao;
 import org.ovirt.engine.core.utils.MockConfigDescriptor;
 import org.ovirt.engine.core.utils.MockConfigExtension;
+import org.ovirt.engine.core.vdsbroker.monitoring.EntityChangeFeed;
 
 @ExtendWith({MockitoExtension.class, MockConfigExtension.class})
 @MockitoSettings(strictness = Strictness.LENIENT)
@@ -57,6 +61,8 @@ public class AffinityRulesEnforcementManagerTest {
     @Mock
     private AffinityRulesEnforcer rulesEnforcer;
     @Mock
+    private EntityChangeFeed entityChangeFeed;
+    @Mock
     VM vm1;
     @Mock
     VM vm2;
@@ -84,13 +90,15 @@ public class AffinityRulesEnforcementManagerTest {
         cluster2 = createCluster();
         when(clusterDao.getWithoutMigratingVms()).thenReturn(Arrays.asList(cluster1, cluster2));
 
-        when(rulesEnforcer.chooseVmsToMigrate(eq(cluster1))).thenReturn(Collections.singletonList(vm1).iterator());
-        when(rulesEnforcer.chooseVmsToMigrate(eq(cluster2))).thenReturn(Collections.singletonList(vm2).iterator());
+        when(rulesEnforcer.chooseVmsToMigrate(eq(cluster1), any())).thenReturn(Collections.singletonList(vm1).iterator());
+        when(rulesEnforcer.chooseVmsToMigrate(eq(cluster2), any())).thenReturn(Collections.singletonList(vm2).iterator());
 
         ActionReturnValue returnValue = new ActionReturnValue();
         returnValue.setSucceeded(true);
 
         when(backend.runInternalAction(any(), any(), any())).thenReturn(returnValue);
+        when(entityChangeFeed.getChangesSince(any(), anyLong()))
+                .thenReturn(new EntityChanges(0, false, Collections.emptyList()));
 
         arem.wakeup();
     }
@@ -106,7 +114,7 @@ public class AffinityRulesEnforcementManagerTest {
 
     @Test
     public void shouldMigrateOneVmPerCluster() {
-        when(rulesEnforcer.chooseVmsToMigrate(eq(cluster1)))
+        when(rulesEnforcer.chooseVmsToMigrate(eq(cluster1), any()))
                 .thenReturn(Arrays.asList(vm1, mock(VM.class), mock(VM.class)).iterator());
 
         arem.refresh();
@@ -136,12 +144,31 @@ public class AffinityRulesEnforcementManagerTest {
 
     @Test
     public void shouldNotMigrateVmOnClusterTwoWhenEnforced() {
-        when(rulesEnforcer.chooseVmsToMigrate(eq(cluster2))).thenReturn(null);
+        when(rulesEnforcer.chooseVmsToMigrate(eq(cluster2), any())).thenReturn(null);
         arem.refresh();
         verify(arem).migrateVM(vm1);
         verify(arem, times(1)).migrateVM(any());
     }
 
+    @Test
+    public void shouldSkipUnchangedClusterWithoutViolations() {
+        when(rulesEnforcer.chooseVmsToMigrate(eq(cluster2), any())).thenReturn(Collections.emptyIterator());
+        arem.refresh();
+        arem.refresh();
+        verify(rulesEnforcer, times(2)).chooseVmsToMigrate(eq(cluster1), any());
+        verify(rulesEnforcer, times(1)).chooseVmsToMigrate(eq(cluster2), any());
+    }
+
+    @Test
+    public void shouldEvaluateClusterAgainWhenItChanged() {
+        when(rulesEnforcer.chooseVmsToMigrate(eq(cluster2), any())).thenReturn(Collections.emptyIterator());
+        arem.refresh();
+        when(entityChangeFeed.getChangesSince(eq(VdcObjectType.Cluster), anyLong()))
+                .thenReturn(new EntityChanges(1, false, Collections.singletonList(cluster2.getId())));
+        arem.refresh();
+        verify(rulesEnforcer, times(2)).chooseVmsToMigrate(eq(cluster2), any());
+    }
+
     @Test
     public void shouldHaveNotingToMigrate() {
         verify(arem, never()).migrateVM(any());
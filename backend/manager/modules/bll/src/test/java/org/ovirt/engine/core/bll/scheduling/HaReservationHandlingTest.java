@@ -0,0 +1,163 @@
+package org.ovirt.engine.core.bll.scheduling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ovirt.engine.core.bll.scheduling.pending.PendingResourceManager;
+import org.ovirt.engine.core.common.businessentities.Cluster;
+import org.ovirt.engine.core.common.businessentities.VDS;
+import org.ovirt.engine.core.common.businessentities.VM;
+import org.ovirt.engine.core.common.utils.VmCpuCountHelper;
+import org.ovirt.engine.core.compat.Guid;
+
+public class HaReservationHandlingTest {
+
+    private HaReservationHandling haReservationHandling;
+    private Cluster cluster;
+
+    @BeforeEach
+    public void setUp() {
+        haReservationHandling = new HaReservationHandling(new PendingResourceManager());
+        cluster = new Cluster();
+        cluster.setCountThreadsAsCores(false);
+    }
+
+    @Test
+    public void hostWithVmsThatFitElsewhereIsSafe() {
+        VDS host1 = createHost(50, 4096, 4);
+        VDS host2 = createHost(50, 4096, 4);
+        Map<Guid, List<VM>> haVms = Collections.singletonMap(host1.getId(),
+                Arrays.asList(createVm(host1, 1024, 50, 20, 1), createVm(host1, 2048, 50, 20, 1)));
+
+        assertEquals(Collections.emptyList(),
+                haReservationHandling.findHostsWithoutReplacement(cluster, Arrays.asList(host1, host2), haVms));
+    }
+
+    @Test
+    public void hostWithVmsThatDoNotFitElsewhereFails() {
+        VDS host1 = createHost(50, 4096, 4);
+        VDS host2 = createHost(50, 1024, 4);
+        Map<Guid, List<VM>> haVms = Collections.singletonMap(host1.getId(),
+                Arrays.asList(createVm(host1, 1024, 50, 20, 1), createVm(host1, 2048, 50, 20, 1)));
+
+        assertEquals(Collections.singletonList(host1),
+                haReservationHandling.findHostsWithoutReplacement(cluster, Arrays.asList(host1, host2), haVms));
+    }
+
+    @Test
+    public void sameResultsAsPairBasedAlgorithm() {
+        Random random = new Random(4242);
+        for (int scenario = 0; scenario < 300; scenario++) {
+            List<VDS> hosts = new ArrayList<>();
+            int hostsCount = 2 + random.nextInt(8);
+            for (int i = 0; i < hostsCount; i++) {
+                hosts.add(createHost(random.nextInt(101), random.nextInt(16384), 1 + random.nextInt(16)));
+            }
+
+            List<VM> vms = new ArrayList<>();
+            int vmsCount = random.nextInt(30);
+            for (int i = 0; i < vmsCount; i++) {
+                VDS host = hosts.get(random.nextInt(hostsCount));
+                vms.add(createVm(host,
+                        256 + random.nextInt(4096),
+                        random.nextBoolean() ? random.nextInt(101) : null,
+                        random.nextBoolean() ? random.nextInt(101) : null,
+                        1 + random.nextInt(4)));
+            }
+            Map<Guid, List<VM>> haVms = HaReservationHandling.mapVmToHost(vms);
+
+            assertEquals(findHostsWithoutReplacementWithPairs(hosts, haVms),
+                    haReservationHandling.findHostsWithoutReplacement(cluster, hosts, haVms),
+                    "scenario " + scenario);
+        }
+    }
+
+    private VDS createHost(Integer usageCpuPercent, float maxSchedulingMemory, int cpuCores) {
+        VDS host = mock(VDS.class);
+        Guid id = Guid.newGuid();
+        when(host.getId()).thenReturn(id);
+        when(host.getUsageCpuPercent()).thenReturn(usageCpuPercent);
+        when(host.getMaxSchedulingMemory()).thenReturn(maxSchedulingMemory);
+        when(host.getCpuCores()).thenReturn(cpuCores);
+        return host;
+    }
+
+    private VM createVm(VDS host, int memSizeMb, Integer usageMemPercent, Integer usageCpuPercent, int cpus) {
+        VM vm = new VM();
+        vm.setId(Guid.newGuid());
+        vm.setRunOnVds(host.getId());
+        vm.setVmMemSizeMb(memSizeMb);
+        vm.setMinAllocatedMem(memSizeMb / 2);
+        vm.setUsageMemPercent(usageMemPercent);
+        vm.setUsageCpuPercent(usageCpuPercent);
+        vm.setNumOfSockets(cpus);
+        vm.setCpuPerSocket(1);
+        vm.setThreadsPerCpu(1);
+        return vm;
+    }
+
+    /**
+     * The original implementation of the check, kept as a reference for the expected results.
+     */
+    private List<VDS> findHostsWithoutReplacementWithPairs(List<VDS> hosts, Map<Guid, List<VM>> hostToHaVms) {
+        List<Guid> hostIds = new ArrayList<>();
+        List<int[]> unutilized = new ArrayList<>();
+        for (VDS host : hosts) {
+            hostIds.add(host.getId());
+            unutilized.add(new int[] {
+                    host.getUsageCpuPercent() != null ? 100 - host.getUsageCpuPercent() : 0,
+                    (int) host.getMaxSchedulingMemory() });
+        }
+
+        List<VDS> failedHosts = new ArrayList<>();
+        for (VDS host : hosts) {
+            List<VM> vms = hostToHaVms.get(host.getId());
+            if (vms == null) {
+                continue;
+            }
+
+            Map<Guid, int[]> additional = new HashMap<>();
+            for (VM vm : vms) {
+                int vmMem = 0;
+                if (vm.getUsageMemPercent() != null) {
+                    vmMem = (int) Math.round(vm.getMemSizeMb() * (vm.getUsageMemPercent() / 100.0));
+                }
+                vmMem = Math.max(vmMem, vm.getMinAllocatedMem());
+                int vmCpu = 0;
+                if (vm.getUsageCpuPercent() != null) {
+                    vmCpu = vm.getUsageCpuPercent() * VmCpuCountHelper.getDynamicNumOfCpu(vm)
+                            / SlaValidator.getEffectiveCpuCores(host, cluster.getCountThreadsAsCores());
+                }
+
+                boolean found = false;
+                for (int i = 0; i < hostIds.size(); i++) {
+                    if (hostIds.get(i).equals(host.getId())) {
+                        continue;
+                    }
+                    int[] used = additional.getOrDefault(hostIds.get(i), new int[2]);
+                    if ((unutilized.get(i)[1] - (long) used[1]) >= vmMem && (unutilized.get(i)[0] - used[0]) >= vmCpu) {
+                        additional.put(hostIds.get(i), new int[] { used[0] + vmCpu, used[1] + vmMem });
+                        found = true;
+                        break;
+                    }
+                }
+                if (!found) {
+                    failedHosts.add(host);
+                    break;
+                }
+            }
+        }
+        return failedHosts;
+    }
+}
@@ -0,0 +1,75 @@
+package org.ovirt.engine.core.bll.scheduling;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.ovirt.engine.core.bll.scheduling.policyunits.EvenDistributionBalancePolicyUnit;
+import org.ovirt.engine.core.bll.scheduling.policyunits.NoneBalancePolicyUnit;
+import org.ovirt.engine.core.common.businessentities.VDS;
+import org.ovirt.engine.core.common.config.ConfigValues;
+import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.utils.MockConfigDescriptor;
+import org.ovirt.engine.core.utils.MockConfigExtension;
+import org.ovirt.engine.core.vdsbroker.monitoring.VmStatsPolling;
+
+@ExtendWith({ MockConfigExtension.class, MockitoExtension.class })
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class SchedulingManagerTest {
+
+    private static final long REFRESH_RATE = 15000;
+    private static final int IDLE_POLLING_FACTOR = 4;
+
+    public static Stream<MockConfigDescriptor<?>> mockConfiguration() {
+        return Stream.of(
+                MockConfigDescriptor.of(ConfigValues.VcpuConsumptionPercentage, 10),
+                MockConfigDescriptor.of(ConfigValues.VdsLoadBalancingIntervalInMinutes, 1L),
+                MockConfigDescriptor.of(ConfigValues.EventFirstVmMonitoring, true),
+                MockConfigDescriptor.of(ConfigValues.VmStatsIdlePollingFactor, IDLE_POLLING_FACTOR)
+        );
+    }
+
+    @Spy
+    private VmStatsPolling vmStatsPolling = new VmStatsPolling();
+
+    @InjectMocks
+    private SchedulingManager schedulingManager;
+
+    private List<VDS> hosts;
+
+    @BeforeEach
+    public void setUp() {
+        VDS host = new VDS();
+        host.setId(Guid.newGuid());
+        hosts = Collections.singletonList(host);
+    }
+
+    @Test
+    public void idleHostIsThrottledWhileLoadBalancingRuns() {
+        schedulingManager.vmStatisticsConsumedByBalancing(new NoneBalancePolicyUnit(null, null), hosts);
+
+        assertTrue(vmStatsPolling.isPollNeeded(hosts.get(0).getId(), REFRESH_RATE));
+        assertTrue(vmStatsPolling.showPollSet().get(0).contains("idle"));
+        assertTrue(vmStatsPolling.showPollSet().get(0).contains("interval " + REFRESH_RATE * IDLE_POLLING_FACTOR));
+    }
+
+    @Test
+    public void hostIsPolledAtRegularRateWhenBalancedOnVmStatistics() {
+        schedulingManager.vmStatisticsConsumedByBalancing(new EvenDistributionBalancePolicyUnit(null, null), hosts);
+
+        assertTrue(vmStatsPolling.isPollNeeded(hosts.get(0).getId(), REFRESH_RATE));
+        assertFalse(vmStatsPolling.showPollSet().get(0).contains("idle"));
+        assertTrue(vmStatsPolling.showPollSet().get(0).contains("interval " + REFRESH_RATE + " ms"));
+    }
+}
@@ -68,7 +68,7 @@ public class VmAffinityPolicyUnitTestBase {
 
         when(pendingResourceManager.pendingResources(any())).thenReturn(Collections.emptyList());
         when(affinityGroupDao.getAllAffinityGroupsWithFlatLabelsByVmId(any())).thenReturn(affinityGroups);
-        when(vmDao.getAllRunningByCluster(any())).thenReturn(runningVMs);
+        when(vmDao.getAllRunningByClusterForScheduling(any())).thenReturn(runningVMs);
     }
 
     protected VDS createHost(Cluster cluster) {
@@ -0,0 +1,200 @@
+package org.ovirt.engine.core.bll.storage.disk.image;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+import javax.enterprise.concurrent.ManagedScheduledExecutorService;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.ovirt.engine.core.common.businessentities.storage.ImageTicketInformation;
+import org.ovirt.engine.core.common.businessentities.storage.ImageTransfer;
+import org.ovirt.engine.core.common.config.ConfigValues;
+import org.ovirt.engine.core.common.interfaces.VDSBrokerFrontend;
+import org.ovirt.engine.core.common.vdscommands.GetImageTicketsVDSCommandParameters;
+import org.ovirt.engine.core.common.vdscommands.VDSCommandType;
+import org.ovirt.engine.core.common.vdscommands.VDSReturnValue;
+import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.utils.MockConfigDescriptor;
+import org.ovirt.engine.core.utils.MockConfigExtension;
+import org.ovirt.engine.core.utils.threadpool.ThreadPoolUtil;
+
+@ExtendWith({ MockitoExtension.class, MockConfigExtension.class })
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class ImageTransferMonitorTest {
+
+    private static final Guid HOST_ID = Guid.newGuid();
+
+    @Mock
+    private VDSBrokerFrontend vdsBroker;
+
+    @Mock
+    private ImageTransferUpdater imageTransferUpdater;
+
+    @Mock
+    private ManagedScheduledExecutorService executor;
+
+    @InjectMocks
+    private ImageTransferMonitor monitor;
+
+    private ExecutorService originalExecutorService;
+
+    private final Map<Guid, ImageTicketInformation> tickets = new HashMap<>();
+
+    public static Stream<MockConfigDescriptor<?>> mockConfiguration() {
+        return Stream.of(MockConfigDescriptor.of(ConfigValues.ImageTransferStatusPollingIntervalInSeconds, 5));
+    }
+
+    @BeforeEach
+    public void setUp() {
+        originalExecutorService = ThreadPoolUtil.getExecutorService();
+        ThreadPoolUtil.setExecutorService(Executors.newSingleThreadExecutor());
+        monitor.scheduleJob();
+        when(vdsBroker.runVdsCommand(eq(VDSCommandType.GetImageTickets), any())).thenAnswer(invocation -> {
+            GetImageTicketsVDSCommandParameters params = invocation.getArgument(1);
+            Map<Guid, ImageTicketInformation> hostTickets = new HashMap<>();
+            params.getTicketIds()
+                    .stream()
+                    .filter(tickets::containsKey)
+                    .forEach(id -> hostTickets.put(id, tickets.get(id)));
+            VDSReturnValue returnValue = new VDSReturnValue();
+            returnValue.setSucceeded(true);
+            returnValue.setReturnValue(hostTickets);
+            return returnValue;
+        });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadPoolUtil.getExecutorService().shutdownNow();
+        ThreadPoolUtil.setExecutorService(originalExecutorService);
+    }
+
+    @Test
+    public void statusIsUnknownBeforeFirstPoll() {
+        assertNull(monitor.getTicketStatus(createTransfer()));
+    }
+
+    @Test
+    public void statusesOfAllTransfersAreWrittenInOneBatch() {
+        ImageTransfer transfer1 = createTransfer();
+        ImageTransfer transfer2 = createTransfer();
+        mockTicket(transfer1, true, 10L);
+        mockTicket(transfer2, false, 20L);
+        monitor.getTicketStatus(transfer1);
+        monitor.getTicketStatus(transfer2);
+
+        monitor.poll();
+
+        ArgumentCaptor<Collection<ImageTransfer>> updates = ArgumentCaptor.forClass(Collection.class);
+        verify(imageTransferUpdater).updateTransferStatuses(updates.capture());
+        assertEquals(2, updates.getValue().size());
+        verify(vdsBroker, times(1)).runVdsCommand(eq(VDSCommandType.GetImageTickets), any());
+        assertEquals(10L, (long) monitor.getTicketStatus(transfer1).getTicketInformation().getTransferred());
+        assertEquals(20L, (long) monitor.getTicketStatus(transfer2).getTicketInformation().getTransferred());
+    }
+
+    @Test
+    public void unchangedStatusIsNotWrittenAgain() {
+        ImageTransfer transfer = createTransfer();
+        mockTicket(transfer, true, 10L);
+        monitor.getTicketStatus(transfer);
+
+        monitor.poll();
+        monitor.poll();
+
+        verify(imageTransferUpdater, times(1)).updateTransferStatuses(anyCollection());
+    }
+
+    @Test
+    public void inactivityIsTrackedAcrossPolls() {
+        ImageTransfer transfer = createTransfer();
+        mockTicket(transfer, false, 10L);
+        monitor.getTicketStatus(transfer);
+
+        monitor.poll();
+        assertFalse(monitor.getTicketStatus(transfer).isInactiveOnPreviousPoll());
+
+        monitor.poll();
+        assertTrue(monitor.getTicketStatus(transfer).isInactiveOnPreviousPoll());
+    }
+
+    @Test
+    public void failedTicketPollIsReportedAsMissing() {
+        ImageTransfer transfer = createTransfer();
+        VDSReturnValue returnValue = new VDSReturnValue();
+        returnValue.setSucceeded(false);
+        when(vdsBroker.runVdsCommand(eq(VDSCommandType.GetImageTickets), any())).thenReturn(returnValue);
+        monitor.getTicketStatus(transfer);
+
+        monitor.poll();
+
+        assertTrue(monitor.getTicketStatus(transfer).isMissing());
+        verify(imageTransferUpdater, never()).updateTransferStatuses(anyCollection());
+    }
+
+    @Test
+    public void ticketMissingOnHostIsReportedAsMissing() {
+        ImageTransfer transfer = createTransfer();
+        ImageTransfer missingTransfer = createTransfer();
+        mockTicket(transfer, true, 10L);
+        monitor.getTicketStatus(transfer);
+        monitor.getTicketStatus(missingTransfer);
+
+        monitor.poll();
+
+        assertFalse(monitor.getTicketStatus(transfer).isMissing());
+        assertTrue(monitor.getTicketStatus(missingTransfer).isMissing());
+    }
+
+    @Test
+    public void stoppedTransferIsNotPolled() {
+        ImageTransfer transfer = createTransfer();
+        mockTicket(transfer, true, 10L);
+        monitor.getTicketStatus(transfer);
+        monitor.stopMonitoring(transfer.getId());
+
+        monitor.poll();
+
+        verify(vdsBroker, never()).runVdsCommand(any(), any());
+    }
+
+    private ImageTransfer createTransfer() {
+        ImageTransfer transfer = new ImageTransfer(Guid.newGuid());
+        transfer.setVdsId(HOST_ID);
+        transfer.setImagedTicketId(Guid.newGuid());
+        return transfer;
+    }
+
+    private void mockTicket(ImageTransfer transfer, boolean active, long transferred) {
+        ImageTicketInformation ticketInfo = new ImageTicketInformation();
+        ticketInfo.setId(transfer.getImagedTicketId());
+        ticketInfo.setActive(active);
+        ticketInfo.setTransferred(transferred);
+        tickets.put(transfer.getImagedTicketId(), ticketInfo);
+    }
+}
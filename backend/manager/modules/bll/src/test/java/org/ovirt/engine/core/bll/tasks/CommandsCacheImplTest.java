@@ -0,0 +1,96 @@
+package org.ovirt.engine.core.bll.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.ovirt.engine.core.common.action.ActionParametersBase;
+import org.ovirt.engine.core.common.action.ActionType;
+import org.ovirt.engine.core.common.businessentities.CommandEntity;
+import org.ovirt.engine.core.compat.CommandStatus;
+import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.dao.CommandEntityDao;
+
+@ExtendWith(MockitoExtension.class)
+public class CommandsCacheImplTest {
+
+    private final Guid commandId = Guid.newGuid();
+
+    @Mock
+    private CommandEntityDao commandEntityDao;
+
+    @InjectMocks
+    private CommandsCacheImpl commandsCache;
+
+    private CommandEntity header;
+
+    @BeforeEach
+    public void setUp() {
+        header = new CommandEntity();
+        header.setId(commandId);
+        header.setCommandType(ActionType.AddDisk);
+        header.setCommandStatus(CommandStatus.ACTIVE);
+        header.setCallbackEnabled(true);
+        when(commandEntityDao.getAllHeaders()).thenReturn(Collections.singletonList(header));
+    }
+
+    @Test
+    public void headersAreServedWithoutLoadingEntities() {
+        assertEquals(Collections.singleton(commandId), commandsCache.keySet());
+        assertSame(header, commandsCache.getHeader(commandId));
+        assertTrue(commandsCache.getHeaders().contains(header));
+
+        verify(commandEntityDao, never()).get(any());
+    }
+
+    @Test
+    public void entityIsLoadedOnceWhenRequested() {
+        CommandEntity cmdEntity = fullEntity();
+        when(commandEntityDao.get(commandId)).thenReturn(cmdEntity);
+
+        assertSame(cmdEntity, commandsCache.get(commandId));
+        assertSame(cmdEntity, commandsCache.get(commandId));
+
+        verify(commandEntityDao, times(1)).get(commandId);
+    }
+
+    @Test
+    public void unknownCommandIsNotLoaded() {
+        assertNull(commandsCache.get(Guid.newGuid()));
+        assertNull(commandsCache.get(null));
+
+        verify(commandEntityDao, never()).get(any());
+    }
+
+    @Test
+    public void waitingForEventIsKeptByHeader() {
+        commandsCache.updateCommandWaitingForEvent(commandId, true);
+        when(commandEntityDao.get(commandId)).thenReturn(fullEntity());
+
+        assertTrue(commandsCache.get(commandId).isWaitingForEvent());
+    }
+
+    private CommandEntity fullEntity() {
+        CommandEntity cmdEntity = new CommandEntity();
+        cmdEntity.setId(commandId);
+        cmdEntity.setCommandType(ActionType.AddDisk);
+        cmdEntity.setCommandStatus(CommandStatus.ACTIVE);
+        cmdEntity.setCallbackEnabled(true);
+        cmdEntity.setCommandParameters(new ActionParametersBase());
+        return cmdEntity;
+    }
+}
@@ -0,0 +1,83 @@
+package org.ovirt.engine.core.bll.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.ovirt.engine.core.bll.tasks.interfaces.CommandContextsCache;
+import org.ovirt.engine.core.common.action.ActionType;
+import org.ovirt.engine.core.common.businessentities.CommandEntity;
+import org.ovirt.engine.core.compat.CommandStatus;
+import org.ovirt.engine.core.compat.Guid;
+
+@ExtendWith(MockitoExtension.class)
+public class CommandsRepositoryTest {
+
+    private final Guid commandId = Guid.newGuid();
+
+    @Mock
+    private CommandsCache commandsCache;
+
+    @Mock
+    private CommandContextsCache contextsCache;
+
+    private CommandsRepository commandsRepository;
+
+    private CommandEntity cmdEntity;
+
+    @BeforeEach
+    public void setUp() {
+        commandsRepository = new CommandsRepository(commandsCache, contextsCache);
+        cmdEntity = createCommandEntity();
+    }
+
+    @Test
+    public void persistCommandKeepsFlagsOfHeader() {
+        CommandEntity header = createCommandEntity();
+        header.setExecuted(true);
+        header.setCallbackNotified(true);
+        when(commandsCache.getHeader(commandId)).thenReturn(header);
+
+        commandsRepository.persistCommand(cmdEntity);
+
+        assertTrue(cmdEntity.isExecuted());
+        assertTrue(cmdEntity.isCallbackNotified());
+        verify(commandsCache).put(cmdEntity);
+        verify(commandsCache, never()).get(any());
+    }
+
+    @Test
+    public void persistNewCommandDoesNotLoadEntity() {
+        commandsRepository.persistCommand(cmdEntity);
+
+        assertFalse(cmdEntity.isExecuted());
+        verify(commandsCache).put(cmdEntity);
+        verify(commandsCache, never()).get(any());
+    }
+
+    @Test
+    public void commandHeaderIsServedByCache() {
+        CommandEntity header = createCommandEntity();
+        when(commandsCache.getHeader(commandId)).thenReturn(header);
+
+        assertSame(header, commandsRepository.getCommandHeader(commandId));
+        verify(commandsCache, never()).get(any());
+    }
+
+    private CommandEntity createCommandEntity() {
+        CommandEntity entity = new CommandEntity();
+        entity.setId(commandId);
+        entity.setCommandType(ActionType.AddDisk);
+        entity.setCommandStatus(CommandStatus.ACTIVE);
+        return entity;
+    }
+}
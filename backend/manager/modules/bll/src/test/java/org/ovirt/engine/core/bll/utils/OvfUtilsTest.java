@@ -1,7 +1,10 @@
 package org.ovirt.engine.core.bll.utils;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
@@ -15,14 +18,20 @@ import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.ovirt.engine.core.common.businessentities.storage.DiskImage;
 import org.ovirt.engine.core.common.businessentities.storage.UnregisteredDisk;
 import org.ovirt.engine.core.compat.Guid;
 import org.ovirt.engine.core.utils.OvfUtils;
+import org.ovirt.engine.core.utils.ovf.OvfSummary;
 import org.ovirt.engine.core.utils.ovf.xml.XmlDocument;
+import org.ovirt.engine.core.utils.ovf.xml.XmlNode;
 
 public class OvfUtilsTest {
     private static final String VM_OVF_XML_DATA = "src/test/resources/vmOvfData.xml";
+    private static final String V2V_VM_OVF_XML_DATA = "src/test/resources/vmOvfData2.xml";
+    private static final String LEASE_DOMAIN_ID = "e8d0e2f6-c5b8-4c2b-b7d4-5e6e5bb0c2a1";
 
     private OvfUtils ovfUtils;
 
@@ -75,8 +84,53 @@ public class OvfUtilsTest {
         assertTrue(!unregDisks.get(0).getVms().isEmpty(), "The VMs id is set in the unregisteterd disks");
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = { VM_OVF_XML_DATA, V2V_VM_OVF_XML_DATA })
+    public void testSummaryMatchesDocument(String ovfFile) throws Exception {
+        String ovfData = getXmlOvfData(ovfFile);
+        assertSummaryMatchesDocument(ovfData);
+    }
+
+    @Test
+    public void testSummaryMatchesDocumentOfExternalVmWithLease() throws Exception {
+        String ovfData = getXmlOvfData().replace("<Origin>0</Origin>",
+                "<Origin>4</Origin><LeaseDomainId>" + LEASE_DOMAIN_ID + "</LeaseDomainId>");
+        assertSummaryMatchesDocument(ovfData);
+        assertTrue(OvfSummary.read(ovfData).isExternalVm(), "VM should be external VM");
+        assertEquals(Guid.createGuidFromString(LEASE_DOMAIN_ID), OvfUtils.fetchLeaseDomainId(ovfData));
+    }
+
+    @Test
+    public void testSummaryOfOvfWithoutContent() throws Exception {
+        String ovfData = getXmlOvfData().replaceAll("<Content ", "<Contents ").replace("</Content>", "</Contents>");
+        assertThrows(IllegalArgumentException.class, () -> OvfSummary.read(ovfData));
+        assertNull(OvfUtils.fetchLeaseDomainId(ovfData));
+    }
+
+    private void assertSummaryMatchesDocument(String ovfData) throws Exception {
+        XmlDocument xmlDocument = new XmlDocument(ovfData);
+        OvfSummary ovfSummary = OvfSummary.read(ovfData);
+
+        assertEquals(ovfUtils.fetchVmDisks(xmlDocument), ovfSummary.getDiskIds());
+        assertEquals(ovfUtils.fetchMemoryDisks(xmlDocument), ovfSummary.getMemoryDiskIds());
+        assertEquals(ovfUtils.isExternalVM(xmlDocument), ovfSummary.isExternalVm());
+
+        XmlNode leaseDomainId = xmlDocument.selectSingleNode("//*/Content").selectSingleNode("LeaseDomainId");
+        assertEquals(leaseDomainId != null ? Guid.createGuidFromString(leaseDomainId.getInnerText()) : null,
+                ovfSummary.getLeaseDomainId());
+
+        XmlNode operatingSystem = xmlDocument.selectSingleNode(
+                "//*/Content/Section[@*[name()='xsi:type']='ovf:OperatingSystemSection_Type']/Description");
+        assertTrue(ovfSummary.hasOperatingSystemSection());
+        assertEquals(operatingSystem.getInnerText(), ovfSummary.getOperatingSystem());
+    }
+
     private String getXmlOvfData() throws IOException {
-        return new String(Files.readAllBytes(Paths.get(VM_OVF_XML_DATA)), StandardCharsets.UTF_8);
+        return getXmlOvfData(VM_OVF_XML_DATA);
+    }
+
+    private String getXmlOvfData(String ovfFile) throws IOException {
+        return new String(Files.readAllBytes(Paths.get(ovfFile)), StandardCharsets.UTF_8);
     }
 
 }
@@ -0,0 +1,129 @@
+package org.ovirt.engine.core.common.utils.ansible;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.concurrent.ManagedScheduledExecutorService;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class AnsibleEventTailerTest {
+    private static final String PLAY_UUID = "play";
+
+    @TempDir
+    Path runnerDir;
+
+    private Path jobEventsDir;
+    private ScheduledExecutorService scheduler;
+    private ScheduledFuture<?> drainTask;
+    private AnsibleEventTailer tailer;
+
+    @BeforeEach
+    public void setUp() {
+        jobEventsDir = runnerDir.resolve(PLAY_UUID).resolve("job_events");
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        ManagedScheduledExecutorService executor = mock(ManagedScheduledExecutorService.class);
+        doAnswer(invocation -> drainTask = scheduler.scheduleWithFixedDelay(invocation.<Runnable>getArgument(0),
+                invocation.<Long>getArgument(1),
+                invocation.<Long>getArgument(2),
+                invocation.<TimeUnit>getArgument(3)))
+                .when(executor).scheduleWithFixedDelay(any(), anyLong(), anyLong(), any(TimeUnit.class));
+        tailer = new AnsibleEventTailer(playUuid -> runnerDir.resolve(playUuid).resolve("job_events"), executor);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        tailer.shutdown();
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void noEventsBeforeTheDirectoryIsCreated() {
+        assertEquals(0, tailer.getTotalEvents(PLAY_UUID));
+        assertNull(tailer.getEventFileName(PLAY_UUID, 1));
+    }
+
+    @Test
+    public void incompleteEventsAreIgnored() throws IOException {
+        Files.createDirectories(jobEventsDir);
+        writeEvent("1-a.json");
+        writeEvent("2-b-partial.json");
+        writeEvent("3-c.json.tmp");
+
+        assertEquals(1, tailer.getTotalEvents(PLAY_UUID));
+        assertEquals("1-a.json", tailer.getEventFileName(PLAY_UUID, 1));
+        assertNull(tailer.getEventFileName(PLAY_UUID, 2));
+        assertNull(tailer.getEventFileName(PLAY_UUID, 3));
+    }
+
+    @Test
+    public void newEventsAreFound() throws IOException {
+        Files.createDirectories(jobEventsDir);
+        writeEvent("1-a.json");
+        assertEquals("1-a.json", tailer.getEventFileName(PLAY_UUID, 1));
+        assertNull(tailer.getEventFileName(PLAY_UUID, 2));
+
+        writeEvent("2-b.json");
+        // the watch service reports the event asynchronously
+        tailer.rescan(PLAY_UUID);
+
+        assertEquals("2-b.json", tailer.getEventFileName(PLAY_UUID, 2));
+        assertEquals(2, tailer.getTotalEvents(PLAY_UUID));
+    }
+
+    @Test
+    public void awaitingEventsIsWokenUpByNewEvent() throws Exception {
+        Files.createDirectories(jobEventsDir);
+        // registers the directory and consumes the events found so far
+        tailer.awaitEvents(PLAY_UUID, 1);
+
+        Thread writer = new Thread(() -> {
+            try {
+                Thread.sleep(200);
+                writeEvent("1-a.json");
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        writer.start();
+
+        long start = System.currentTimeMillis();
+        tailer.awaitEvents(PLAY_UUID, 30000);
+        writer.join();
+
+        assertTrue(System.currentTimeMillis() - start < 30000);
+        assertEquals("1-a.json", tailer.getEventFileName(PLAY_UUID, 1));
+    }
+
+    @Test
+    public void drainingIsStoppedOnceNoPlayIsTailed() throws Exception {
+        Files.createDirectories(jobEventsDir);
+        tailer.awaitEvents(PLAY_UUID, 1);
+        assertFalse(drainTask.isCancelled());
+
+        tailer.stopTailing(PLAY_UUID);
+
+        assertTrue(drainTask.isCancelled());
+    }
+
+    private void writeEvent(String fileName) throws IOException {
+        Files.writeString(jobEventsDir.resolve(fileName), "{}");
+    }
+}
@@ -1,6 +1,7 @@
 package org.ovirt.engine.core.utils.ovf;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -17,6 +18,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.apache.commons.collections.CollectionUtils;
@@ -279,6 +281,23 @@ public class OvfManagerTest {
                         equals(diskPair.getSecond().getDiskVmElementForVm(vm.getId())));
     }
 
+    @Test
+    public void testVmExportSummary() throws Exception {
+        VM vm = createVM();
+        vm.setLeaseStorageDomainId(Guid.newGuid());
+        ArrayList<DiskImage> disks = createDisksAndDiskVmElements(vm);
+        FullEntityOvfData fullEntityOvfDataForExport = new FullEntityOvfData(vm);
+        fullEntityOvfDataForExport.setDiskImages(disks);
+        String xml = manager.exportVm(vm, fullEntityOvfDataForExport, Version.getLast());
+
+        OvfSummary ovfSummary = OvfSummary.read(xml);
+        assertEquals(disks.stream().map(DiskImage::getId).collect(Collectors.toSet()), ovfSummary.getDiskIds());
+        assertFalse(ovfSummary.isExternalVm());
+        assertEquals(vm.getLeaseStorageDomainId(), ovfSummary.getLeaseDomainId());
+        assertTrue(ovfSummary.hasOperatingSystemSection());
+        assertEquals("os_name_b", ovfSummary.getOperatingSystem());
+    }
+
     private <T extends BusinessEntity<?>> void assertCollection(List<T> colA, List<T> colB) {
         assertCollection(colA, colB, null);
     }
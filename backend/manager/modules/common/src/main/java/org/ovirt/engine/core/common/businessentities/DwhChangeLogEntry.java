@@ -0,0 +1,98 @@
+package org.ovirt.engine.core.common.businessentities;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.Objects;
+
+import org.ovirt.engine.core.compat.Guid;
+
+/**
+ * Represents the latest change of a configuration entity in {@code dwh_change_log} table
+ */
+public class DwhChangeLogEntry implements Serializable {
+    private static final long serialVersionUID = 3127450466237856130L;
+
+    /**
+     * Version of the change
+     */
+    private long changeId;
+
+    /**
+     * Table of the changed entity
+     */
+    private String entityType;
+
+    /**
+     * Id of the changed entity
+     */
+    private Guid entityId;
+
+    /**
+     * First letter of the operation: I(nsert), U(pdate) or D(elete)
+     */
+    private String operation;
+
+    /**
+     * Date of the change
+     */
+    private Date changeDate;
+
+    public long getChangeId() {
+        return changeId;
+    }
+
+    public void setChangeId(long changeId) {
+        this.changeId = changeId;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public Guid getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Guid entityId) {
+        this.entityId = entityId;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public Date getChangeDate() {
+        return changeDate;
+    }
+
+    public void setChangeDate(Date changeDate) {
+        this.changeDate = changeDate;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof DwhChangeLogEntry)) {
+            return false;
+        }
+        DwhChangeLogEntry other = (DwhChangeLogEntry) obj;
+        return changeId == other.changeId
+                && Objects.equals(entityType, other.entityType)
+                && Objects.equals(entityId, other.entityId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(changeId, entityType, entityId);
+    }
+}
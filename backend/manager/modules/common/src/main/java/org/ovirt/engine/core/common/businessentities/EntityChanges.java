@@ -0,0 +1,59 @@
+package org.ovirt.engine.core.common.businessentities;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.ovirt.engine.core.compat.Guid;
+
+/**
+ * The changes recorded for a single entity type since a given change feed version.
+ * When {@code fullRefreshRequired} is set the feed no longer holds all the changes
+ * the caller missed and the caller has to reload the whole list.
+ */
+public class EntityChanges implements Serializable {
+
+    private static final long serialVersionUID = 2867013462093155312L;
+
+    private long version;
+    private boolean fullRefreshRequired;
+    private ArrayList<Guid> changedIds;
+
+    public EntityChanges() {
+        changedIds = new ArrayList<>();
+    }
+
+    public EntityChanges(long version, boolean fullRefreshRequired, List<Guid> changedIds) {
+        this.version = version;
+        this.fullRefreshRequired = fullRefreshRequired;
+        this.changedIds = new ArrayList<>(changedIds);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public boolean isFullRefreshRequired() {
+        return fullRefreshRequired;
+    }
+
+    public void setFullRefreshRequired(boolean fullRefreshRequired) {
+        this.fullRefreshRequired = fullRefreshRequired;
+    }
+
+    public List<Guid> getChangedIds() {
+        return changedIds;
+    }
+
+    public void setChangedIds(ArrayList<Guid> changedIds) {
+        this.changedIds = changedIds;
+    }
+
+    public boolean hasChanges() {
+        return fullRefreshRequired || !changedIds.isEmpty();
+    }
+}
@@ -279,6 +279,10 @@ public enum ConfigValues {
     EventProcessingPoolSize,
     @TypeConverterAttribute(Integer.class)
     EventPurgeTimeoutInHours,
+    @TypeConverterAttribute(Boolean.class)
+    EventFirstVmMonitoring,
+    @TypeConverterAttribute(Integer.class)
+    VmStatsIdlePollingFactor,
     @Reloadable
     @TypeConverterAttribute(String.class)
     OrganizationName,
@@ -705,6 +709,9 @@ public enum ConfigValues {
     @TypeConverterAttribute(Integer.class)
     ImageTransferPausedLogIntervalInSeconds,
 
+    @TypeConverterAttribute(Integer.class)
+    ImageTransferStatusPollingIntervalInSeconds,
+
     @TypeConverterAttribute(Integer.class)
     TransferImageClientInactivityTimeoutInSeconds(ClientAccessLevel.User),
 
@@ -1164,6 +1171,9 @@ public enum ConfigValues {
     @TypeConverterAttribute(Integer.class)
     MaxTimeAutoStartBlockedOnPriority,
 
+    @TypeConverterAttribute(Integer.class)
+    AutoStartVmsRunnerMaxParallelStarts,
+
     /**
      * Value representing maximum number of milliseconds a VM can be down during live migration.
      * Default value of 0 means this value will not be sent to VDSM at all and the currently configured value on
@@ -1443,6 +1453,9 @@ public enum ConfigValues {
     @TypeConverterAttribute(Integer.class)
     AnsibleRunnerArtifactsLifetimeInDays,
 
+    @TypeConverterAttribute(Integer.class)
+    OvaDiskConversionParallelism,
+
     /**
      * In 4.1 gluster libgfapi is supported.
      */
@@ -25,6 +25,8 @@ public enum StepEnum {
     CONVERTING_OVA,
     EXTRACTING_OVA,
     CREATING_OVA,
+    PACKING_OVA_DISK,
+    EXTRACTING_OVA_DISK,
     ADD_VM,
     UPDATE_VM,
 
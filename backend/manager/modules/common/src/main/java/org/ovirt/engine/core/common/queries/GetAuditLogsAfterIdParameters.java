@@ -0,0 +1,47 @@
+package org.ovirt.engine.core.common.queries;
+
+public class GetAuditLogsAfterIdParameters extends QueryParametersBase {
+
+    private static final long serialVersionUID = -3916402530165413425L;
+
+    private long id;
+    private int max;
+    private int waitSeconds;
+
+    public GetAuditLogsAfterIdParameters() {
+        max = Integer.MAX_VALUE;
+    }
+
+    public GetAuditLogsAfterIdParameters(long id, int max, int waitSeconds) {
+        this.id = id;
+        this.max = max;
+        this.waitSeconds = waitSeconds;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public int getMax() {
+        return max;
+    }
+
+    public void setMax(int max) {
+        this.max = max;
+    }
+
+    /**
+     * The time to wait for events when there are no events after the id
+     */
+    public int getWaitSeconds() {
+        return waitSeconds;
+    }
+
+    public void setWaitSeconds(int waitSeconds) {
+        this.waitSeconds = waitSeconds;
+    }
+}
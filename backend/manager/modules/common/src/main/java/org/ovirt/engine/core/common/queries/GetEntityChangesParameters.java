@@ -0,0 +1,35 @@
+package org.ovirt.engine.core.common.queries;
+
+import org.ovirt.engine.core.common.VdcObjectType;
+
+public class GetEntityChangesParameters extends QueryParametersBase {
+
+    private static final long serialVersionUID = -2435609386102342571L;
+
+    private VdcObjectType objectType;
+    private long sinceVersion;
+
+    public GetEntityChangesParameters() {
+    }
+
+    public GetEntityChangesParameters(VdcObjectType objectType, long sinceVersion) {
+        this.objectType = objectType;
+        this.sinceVersion = sinceVersion;
+    }
+
+    public VdcObjectType getObjectType() {
+        return objectType;
+    }
+
+    public void setObjectType(VdcObjectType objectType) {
+        this.objectType = objectType;
+    }
+
+    public long getSinceVersion() {
+        return sinceVersion;
+    }
+
+    public void setSinceVersion(long sinceVersion) {
+        this.sinceVersion = sinceVersion;
+    }
+}
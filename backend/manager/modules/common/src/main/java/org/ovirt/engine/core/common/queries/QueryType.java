@@ -299,6 +299,7 @@ public enum QueryType implements Serializable {
     GetAllAuditLogsByVMId(QueryAuthType.User),
     GetAllAuditLogsByVMTemplateId(QueryAuthType.User),
     GetAuditLogById,
+    GetAuditLogsAfterId(QueryAuthType.User),
 
     // Search queries
     Search(QueryAuthType.User),
@@ -538,6 +539,8 @@ public enum QueryType implements Serializable {
 
     GetSystemOption(QueryAuthType.User),
 
+    GetEntityChanges,
+
     // Default type instead of having to null check
     Unknown(QueryAuthType.User);
 
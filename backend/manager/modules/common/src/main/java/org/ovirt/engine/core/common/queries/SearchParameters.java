@@ -13,6 +13,7 @@ public class SearchParameters extends QueryParametersBase implements Serializabl
     private int _maxCount;
     private long searchFrom;
     private boolean caseSensitive;
+    private boolean cacheable = true;
 
     public SearchParameters() {
         this (null, SearchType.VM, true);
@@ -61,6 +62,18 @@ public class SearchParameters extends QueryParametersBase implements Serializabl
         caseSensitive = value;
     }
 
+    /**
+     * Whether the query generated for the search pattern may be cached, which is not worth it for the patterns that
+     * are not repeated, such as the searches by the ids of the changed entities
+     */
+    public boolean isCacheable() {
+        return cacheable;
+    }
+
+    public void setCacheable(boolean value) {
+        cacheable = value;
+    }
+
     @Override
     protected ToStringBuilder appendAttributes(ToStringBuilder tsb) {
         return super.appendAttributes(tsb)
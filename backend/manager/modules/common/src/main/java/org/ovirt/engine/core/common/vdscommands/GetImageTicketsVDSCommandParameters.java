@@ -0,0 +1,28 @@
+package org.ovirt.engine.core.common.vdscommands;
+
+import java.util.List;
+
+import org.ovirt.engine.core.common.utils.ToStringBuilder;
+import org.ovirt.engine.core.compat.Guid;
+
+public class GetImageTicketsVDSCommandParameters extends VdsIdVDSCommandParametersBase {
+    private List<Guid> ticketIds;
+
+    public GetImageTicketsVDSCommandParameters(Guid vdsId, List<Guid> ticketIds) {
+        super(vdsId);
+        this.ticketIds = ticketIds;
+    }
+
+    public GetImageTicketsVDSCommandParameters() {
+    }
+
+    public List<Guid> getTicketIds() {
+        return ticketIds;
+    }
+
+    @Override
+    protected ToStringBuilder appendAttributes(ToStringBuilder tsb) {
+        return super.appendAttributes(tsb)
+                .append("ticketIds", getTicketIds());
+    }
+}
@@ -143,6 +143,7 @@ public enum VDSCommandType {
     RemoveImageTicket("org.ovirt.engine.core.vdsbroker.vdsbroker"),
     ExtendImageTicket("org.ovirt.engine.core.vdsbroker.vdsbroker"),
     GetImageTicket("org.ovirt.engine.core.vdsbroker.vdsbroker"),
+    GetImageTickets("org.ovirt.engine.core.vdsbroker.vdsbroker"),
     VerifyUntrustedVolume("org.ovirt.engine.core.vdsbroker.vdsbroker"),
     MeasureVolume("org.ovirt.engine.core.vdsbroker.vdsbroker"),
     SwitchMasterStorageDomain("org.ovirt.engine.core.vdsbroker.irsbroker"),
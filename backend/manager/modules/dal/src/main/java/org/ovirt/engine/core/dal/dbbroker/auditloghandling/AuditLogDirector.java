@@ -21,6 +21,9 @@ public class AuditLogDirector {
     @Inject
     private AuditLogDao auditLogDao;
 
+    @Inject
+    private AuditLogEventBuffer eventBuffer;
+
     public void log(AuditLogable auditLogable, AuditLogType logType) {
         log(auditLogable, logType, "", false);
     }
@@ -55,6 +58,7 @@ public class AuditLogDirector {
             if (savedAuditLog == null) {
                 log.warn("Unable to create AuditLog");
             } else {
+                eventBuffer.add(savedAuditLog);
                 logMessage(savedAuditLog);
             }
         }
@@ -0,0 +1,127 @@
+package org.ovirt.engine.core.dal.dbbroker.auditloghandling;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.ovirt.engine.core.common.businessentities.AuditLog;
+
+/**
+ * Keeps the latest events logged by the {@link AuditLogDirector}, so clients following the events do not have to
+ * query the database for them.
+ * <p>
+ * The buffer holds all the events logged after the first one it received, until older events are evicted. All the
+ * buffered events are evicted once events are deleted, so the deleted events are not returned to clients.
+ */
+@Named
+@Singleton
+public class AuditLogEventBuffer {
+
+    static final int CAPACITY = 10000;
+
+    /**
+     * The clients wait for events in the threads that serve their requests, which are 16 per CPU by default, so only a
+     * quarter of them may be held waiting
+     */
+    static final int MAX_WAITING_CLIENTS = Runtime.getRuntime().availableProcessors() * 4;
+
+    private final int capacity;
+
+    private final int maxWaitingClients;
+
+    private int waitingClients;
+
+    /** The buffered events by their ids */
+    private final NavigableMap<Long, AuditLog> events = new TreeMap<>();
+
+    /** All the events with greater ids are buffered, except those that were not committed yet */
+    private long completeAfterId = Long.MAX_VALUE;
+
+    public AuditLogEventBuffer() {
+        this(CAPACITY, MAX_WAITING_CLIENTS);
+    }
+
+    AuditLogEventBuffer(int capacity, int maxWaitingClients) {
+        this.capacity = capacity;
+        this.maxWaitingClients = maxWaitingClients;
+    }
+
+    /**
+     * Adds a logged event, and wakes up the clients waiting for new events
+     */
+    public synchronized void add(AuditLog event) {
+        if (completeAfterId == Long.MAX_VALUE) {
+            completeAfterId = event.getAuditLogId() - 1;
+        }
+
+        events.put(event.getAuditLogId(), event);
+        if (events.size() > capacity) {
+            completeAfterId = Math.max(completeAfterId, events.pollFirstEntry().getKey());
+        }
+        notifyAll();
+    }
+
+    /**
+     * Evicts all the buffered events, since some of them were deleted. The clients that did not receive all of them
+     * read the events from the database then, while the clients that received them keep being served by the buffer.
+     */
+    public synchronized void evictAll() {
+        if (!events.isEmpty()) {
+            completeAfterId = Math.max(completeAfterId, events.lastKey());
+            events.clear();
+        }
+    }
+
+    /**
+     * Returns the events whose ids are greater than the given id, from the newest to the oldest, as returned by the
+     * search of events. If there are no such events, waits for them up to the given time, unless too many clients
+     * wait already.
+     *
+     * @param id
+     *            the id of the last event the client knows
+     * @param max
+     *            the maximal number of events to return
+     * @param timeoutMillis
+     *            the maximal time to wait for new events
+     * @return the events, or {@code null} if events with greater ids may be missing from the buffer
+     */
+    public synchronized List<AuditLog> getAfter(long id, int max, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (true) {
+            if (id < completeAfterId) {
+                return null;
+            }
+
+            NavigableMap<Long, AuditLog> newEvents = events.tailMap(id, false);
+            long remainingMillis = deadline - System.currentTimeMillis();
+            if (!newEvents.isEmpty() || remainingMillis <= 0 || waitingClients >= maxWaitingClients) {
+                List<AuditLog> result = new ArrayList<>();
+                for (AuditLog event : newEvents.descendingMap().values()) {
+                    if (result.size() == max) {
+                        break;
+                    }
+                    result.add(event);
+                }
+                return result;
+            }
+            waitingClients++;
+            try {
+                wait(remainingMillis);
+            } finally {
+                waitingClients--;
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return events.size();
+    }
+
+    synchronized boolean hasWaitingClients() {
+        return waitingClients > 0;
+    }
+}
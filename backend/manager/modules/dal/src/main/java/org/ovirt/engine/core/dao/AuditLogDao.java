@@ -53,6 +53,17 @@ public interface AuditLogDao extends Dao, SearchDao<AuditLog> {
      */
     List<AuditLog> getAll(Guid userID, boolean isFiltered);
 
+    /**
+     * Retrieves the entries whose ids are greater than the given id, from the newest to the oldest.
+     *
+     * @param id
+     *            the id after which to retrieve the entries
+     * @param max
+     *            the maximal number of entries to retrieve
+     * @return the list of entries
+     */
+    List<AuditLog> getAllAfterId(long id, int max, Guid userID, boolean isFiltered);
+
     /**
      * Retrieves all audit log entries for the given VM ID.
      *
@@ -131,13 +142,22 @@ public interface AuditLogDao extends Dao, SearchDao<AuditLog> {
     void remove(long id);
 
     /**
-     * Removes all entries before the specified cutoff date
+     * Removes all entries before the specified cutoff date, along with the registration of the external events and
+     * the notification history of the removed entries
      *
      * @param cutoff
      *            the cutoff date
      */
     void removeAllBeforeDate(Date cutoff);
 
+    /**
+     * Creates the daily partitions of the audit log that do not exist yet, up to the given number of days ahead
+     *
+     * @param daysAhead
+     *            the number of days after the current one to create partitions for
+     */
+    void createPartitions(int daysAhead);
+
     /**
      * Removes all entries for the given VDS id.
      *
@@ -17,6 +17,7 @@ import org.ovirt.engine.core.common.config.ConfigValues;
 import org.ovirt.engine.core.compat.Guid;
 import org.ovirt.engine.core.dal.dbbroker.DbEngineDialect;
 import org.ovirt.engine.core.dal.dbbroker.DbFacadeUtils;
+import org.ovirt.engine.core.dal.dbbroker.auditloghandling.AuditLogEventBuffer;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.simple.SimpleJdbcCall;
@@ -69,6 +70,10 @@ public class AuditLogDaoImpl extends BaseDao implements AuditLogDao {
 
     private final DbEngineDialect dbEngineDialect;
 
+    /** The events buffered for the clients following the events are evicted whenever events are deleted */
+    @Inject
+    private AuditLogEventBuffer eventBuffer;
+
     @Inject
     AuditLogDaoImpl(DbEngineDialect dbEngineDialect) {
         Objects.requireNonNull(dbEngineDialect, "dbEngineDialect cannot be null");
@@ -113,6 +118,16 @@ public class AuditLogDaoImpl extends BaseDao implements AuditLogDao {
         return getCallsHandler().executeReadList("GetAllFromAuditLog", auditLogRowMapper, parameterSource);
     }
 
+    @Override
+    public List<AuditLog> getAllAfterId(long id, int max, Guid userID, boolean isFiltered) {
+        MapSqlParameterSource parameterSource = getCustomMapSqlParameterSource()
+                .addValue("audit_log_id", id)
+                .addValue("max_results", max)
+                .addValue("user_id", userID)
+                .addValue("is_filtered", isFiltered);
+        return getCallsHandler().executeReadList("GetAuditLogAfterAuditLogId", auditLogRowMapper, parameterSource);
+    }
+
     @Override
     public List<AuditLog> getAllByVMId(Guid vmId) {
         return getAllByVMId(vmId, null, false);
@@ -159,6 +174,7 @@ public class AuditLogDaoImpl extends BaseDao implements AuditLogDao {
                         .addValue("brick_id", brickId)
                         .addValue("audit_log_type", logType);
         getCallsHandler().executeModification("RemoveAuditLogByBrickIdLogType", parameterSource);
+        eventBuffer.evictAll();
     }
 
     @Override
@@ -218,6 +234,7 @@ public class AuditLogDaoImpl extends BaseDao implements AuditLogDao {
                 .addValue("audit_log_id", id);
 
         getCallsHandler().executeModification("DeleteAuditLog", parameterSource);
+        eventBuffer.evictAll();
     }
 
     @Override
@@ -226,6 +243,15 @@ public class AuditLogDaoImpl extends BaseDao implements AuditLogDao {
                 .addValue("date", cutoff);
 
         getCallsHandler().executeModification("DeleteAuditLogOlderThenDate", parameterSource);
+        eventBuffer.evictAll();
+    }
+
+    @Override
+    public void createPartitions(int daysAhead) {
+        MapSqlParameterSource parameterSource = getCustomMapSqlParameterSource()
+                .addValue("days_ahead", daysAhead);
+
+        getCallsHandler().executeModification("CreateAuditLogPartitions", parameterSource);
     }
 
     @Override
@@ -235,6 +261,7 @@ public class AuditLogDaoImpl extends BaseDao implements AuditLogDao {
                         removeConfigAlerts);
 
         getCallsHandler().executeModification("DeleteAuditLogAlertsByVdsID", parameterSource);
+        eventBuffer.evictAll();
     }
 
     @Override
@@ -243,6 +270,7 @@ public class AuditLogDaoImpl extends BaseDao implements AuditLogDao {
                 .addValue("vds_id", id).addValue("log_type", type);
 
         getCallsHandler().executeModification("DeleteAuditAlertLogByVdsIDAndType", parameterSource);
+        eventBuffer.evictAll();
     }
 
     @Override
@@ -251,6 +279,7 @@ public class AuditLogDaoImpl extends BaseDao implements AuditLogDao {
                 .addValue("gluster_volume_id", volumeId).addValue("log_type", type);
 
         getCallsHandler().executeModification("DeleteAuditAlertLogByVolumeIDAndType", parameterSource);
+        eventBuffer.evictAll();
     }
 
     @Override
@@ -273,6 +302,7 @@ public class AuditLogDaoImpl extends BaseDao implements AuditLogDao {
     public void clearAllEvents() {
         getCallsHandler().executeModification("ClearAllAuditLogEvents",
                 getCustomMapSqlParameterSource().addValue("severity", AuditLogSeverity.ALERT));
+        eventBuffer.evictAll();
     }
 
     @Override
@@ -286,6 +316,7 @@ public class AuditLogDaoImpl extends BaseDao implements AuditLogDao {
         getCallsHandler().executeModification("SetAllAuditLogAlerts",
                 getCustomMapSqlParameterSource().addValue("severity", AuditLogSeverity.ALERT)
                         .addValue("value", true));
+        eventBuffer.evictAll();
     }
 
     @Override
@@ -298,5 +329,6 @@ public class AuditLogDaoImpl extends BaseDao implements AuditLogDao {
     @Override
     public void deleteBackupRelatedAlerts() {
         getCallsHandler().executeModification("DeleteBackupRelatedAlerts", getCustomMapSqlParameterSource());
+        eventBuffer.evictAll();
     }
 }
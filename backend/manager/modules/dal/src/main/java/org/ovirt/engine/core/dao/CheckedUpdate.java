@@ -6,7 +6,8 @@ public interface CheckedUpdate<T> {
      * Update entity but check database before update to make sure update is necessary
      * @param entity
      *            - the entity to update
+     * @return whether the entity was updated
      */
-    void updateIfNeeded(T entity);
+    boolean updateIfNeeded(T entity);
 
 }
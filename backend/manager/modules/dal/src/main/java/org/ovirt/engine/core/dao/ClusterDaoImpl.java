@@ -6,6 +6,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 
@@ -25,6 +26,7 @@ import org.ovirt.engine.core.common.network.SwitchType;
 import org.ovirt.engine.core.common.scheduling.OptimizationType;
 import org.ovirt.engine.core.compat.Guid;
 import org.ovirt.engine.core.dal.dbbroker.DbFacadeUtils;
+import org.ovirt.engine.core.dao.cache.EntityCaches;
 import org.ovirt.engine.core.utils.SerializationFactory;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.SingleColumnRowMapper;
@@ -38,9 +40,12 @@ import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 @Singleton
 public class ClusterDaoImpl extends BaseDao implements ClusterDao {
 
+    @Inject
+    private EntityCaches entityCaches;
+
     @Override
     public Cluster get(Guid id) {
-        return get(id, null, false);
+        return entityCaches.getClusters().get(id, clusterId -> get(clusterId, null, false));
     }
 
     @Override
@@ -134,11 +139,13 @@ public class ClusterDaoImpl extends BaseDao implements ClusterDao {
             cluster.setId(id);
         }
         getCallsHandler().executeModification("InsertCluster", getClusterParamSource(cluster));
+        entityCaches.getClusters().invalidate(id);
     }
 
     @Override
     public void update(Cluster cluster) {
         getCallsHandler().executeModification("UpdateCluster", getClusterParamSource(cluster));
+        entityCaches.getClusters().invalidate(cluster.getId());
     }
 
     @Override
@@ -147,6 +154,8 @@ public class ClusterDaoImpl extends BaseDao implements ClusterDao {
                 .addValue("cluster_id", id);
 
         getCallsHandler().executeModification("DeleteCluster", parameterSource);
+        entityCaches.getClusters().invalidate(id);
+        entityCaches.getClusterNetworks().invalidate(id);
     }
 
     @Override
@@ -185,6 +194,7 @@ public class ClusterDaoImpl extends BaseDao implements ClusterDao {
                 .addValue("detect_emulated_machine", detectEmulatedMachine);
 
         getCallsHandler().executeModification("UpdateClusterEmulatedMachine", parameterSource);
+        entityCaches.getClusters().invalidate(clusterId);
     }
 
     @Override
@@ -199,6 +209,7 @@ public class ClusterDaoImpl extends BaseDao implements ClusterDao {
                         "updated",
                         Types.BIT);
 
+        entityCaches.getClusters().invalidate(clusterId);
         return (Boolean) results.get("updated");
     }
 
@@ -214,6 +225,7 @@ public class ClusterDaoImpl extends BaseDao implements ClusterDao {
                         "updated",
                         Types.BIT);
 
+        entityCaches.getClusters().invalidate(clusterId);
         return (Boolean) results.get("updated");
     }
 
@@ -227,12 +239,14 @@ public class ClusterDaoImpl extends BaseDao implements ClusterDao {
                         parameterSource,
                         "updated",
                         Types.BIT);
+        entityCaches.getClusters().invalidate(clusterId);
         return (Boolean) results.get("updated");
     }
 
     @Override
     public void clearAllUpgradeRunning() {
         getCallsHandler().executeModification("ClearAllClusterUpgradeRunning", getCustomMapSqlParameterSource());
+        entityCaches.getClusters().invalidateAll();
     }
 
     @Override
@@ -1,8 +1,10 @@
 package org.ovirt.engine.core.dao;
 
+import java.io.Serializable;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 import org.ovirt.engine.core.common.businessentities.CommandAssociatedEntity;
 import org.ovirt.engine.core.common.businessentities.CommandEntity;
@@ -15,12 +17,19 @@ public interface CommandEntityDao extends GenericDao<CommandEntity, Guid> {
 
     void updateStatus(Guid command, CommandStatus status);
 
+    void updateData(Guid id, Map<String, Serializable> data);
+
     void updateExecuted(Guid id);
 
     void updateNotified(Guid id);
 
     void removeAllBeforeDate(Date cutoff);
 
+    /**
+     * Returns all the command entities without their contexts, parameters, return values and data
+     */
+    List<CommandEntity> getAllHeaders();
+
     List<CommandEntity> getCmdEntitiesByParentCmdId(Guid parentId);
 
     List<Guid> getCommandIdsByEntity(Guid entityId);
@@ -5,6 +5,7 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.inject.Named;
 import javax.inject.Singleton;
@@ -62,6 +63,22 @@ public class CommandEntityDaoImpl extends DefaultGenericDao<CommandEntity, Guid>
         return result;
     };
 
+    private static RowMapper<CommandEntity> headerMapper = (resultSet, rowNum) -> {
+        CommandEntity result = new CommandEntity();
+        result.setEngineSessionSeqId(resultSet.getLong("engine_session_seq_id"));
+        result.setUserId(Guid.createGuidFromString(resultSet.getString("user_id")));
+        result.setId(Guid.createGuidFromString(resultSet.getString("command_id")));
+        result.setCreatedAt(DbFacadeUtils.fromDate(resultSet.getTimestamp("created_at")));
+        result.setCommandType(ActionType.forValue(resultSet.getInt("command_type")));
+        result.setParentCommandId(Guid.createGuidFromString(resultSet.getString("parent_command_id")));
+        result.setRootCommandId(Guid.createGuidFromString(resultSet.getString("root_command_id")));
+        result.setCommandStatus(getCommandStatus(resultSet.getString("status")));
+        result.setExecuted(resultSet.getBoolean("executed"));
+        result.setCallbackEnabled(resultSet.getBoolean("callback_enabled"));
+        result.setCallbackNotified(resultSet.getBoolean("callback_notified"));
+        return result;
+    };
+
     private MapSqlParameterMapper<CommandAssociatedEntity> cocoCmdEntityMapper = entity -> {
         CustomMapSqlParameterSource paramSource = getCustomMapSqlParameterSource();
         paramSource.addValue("command_id", entity.getCommandId()).
@@ -153,6 +170,12 @@ public class CommandEntityDaoImpl extends DefaultGenericDao<CommandEntity, Guid>
         getCallsHandler().executeModification("UpdateCommandEntityStatus", createIdParameterMapper(id).addValue("status", status.toString()));
     }
 
+    @Override
+    public void updateData(Guid id, Map<String, Serializable> data) {
+        getCallsHandler().executeModification("UpdateCommandEntityData",
+                createIdParameterMapper(id).addValue("data", SerializationFactory.getSerializer().serialize(data)));
+    }
+
     @Override
     public void updateNotified(Guid id) {
         getCallsHandler().executeModification("UpdateCommandEntityNotified", createIdParameterMapper(id).addValue("callback_notified", true));
@@ -171,6 +194,13 @@ public class CommandEntityDaoImpl extends DefaultGenericDao<CommandEntity, Guid>
         getCallsHandler().executeModification("DeleteCommandEntitiesOlderThanDate", parameterSource);
     }
 
+    @Override
+    public List<CommandEntity> getAllHeaders() {
+        return getCallsHandler().executeReadList("GetAllCommandEntityHeaders",
+                headerMapper,
+                getCustomMapSqlParameterSource());
+    }
+
     @Override
     public List<CommandEntity> getCmdEntitiesByParentCmdId(Guid parentId) {
         MapSqlParameterSource parameterSource = getCustomMapSqlParameterSource()
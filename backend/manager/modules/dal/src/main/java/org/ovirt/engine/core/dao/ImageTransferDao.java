@@ -1,5 +1,6 @@
 package org.ovirt.engine.core.dao;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 
@@ -42,6 +43,12 @@ public interface ImageTransferDao extends GenericDao<ImageTransfer, Guid>, Searc
      */
     List<ImageTransfer> getByBackupId(Guid backupId);
 
+    /**
+     * Updates the transfer status (active and bytes sent) of the given ImageTransfer entities in a single batch,
+     * leaving the rest of their fields untouched.
+     */
+    void updateTransferStatuses(Collection<ImageTransfer> imageTransfers);
+
     /**
      * Deletes completed image transfers.
      * Successful backups have {@link ImageTransferPhase#FINISHED_SUCCESS} or
@@ -1,5 +1,6 @@
 package org.ovirt.engine.core.dao;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 
@@ -145,6 +146,17 @@ public class ImageTransferDaoImpl extends DefaultGenericDao<ImageTransfer, Guid>
         return getJdbcTemplate().query(query, createEntityRowMapper());
     }
 
+    @Override
+    public void updateTransferStatuses(Collection<ImageTransfer> imageTransfers) {
+        getCallsHandler().executeStoredProcAsBatch("UpdateImageTransferStatus",
+                imageTransfers,
+                entity -> getCustomMapSqlParameterSource()
+                        .addValue("command_id", entity.getId())
+                        .addValue("active", entity.getActive())
+                        .addValue("bytes_sent", entity.getBytesSent())
+                        .addValue("last_updated", entity.getLastUpdated()));
+    }
+
     @Override
     public void deleteCompletedImageTransfers(Date succeededImageTransfers, Date failedImageTransfers) {
         MapSqlParameterSource parameterSource = getCustomMapSqlParameterSource()
@@ -2,6 +2,7 @@ package org.ovirt.engine.core.dao;
 
 import java.util.List;
 
+import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 
@@ -11,6 +12,7 @@ import org.ovirt.engine.core.common.businessentities.StorageFormatType;
 import org.ovirt.engine.core.common.businessentities.StoragePool;
 import org.ovirt.engine.core.common.businessentities.StoragePoolStatus;
 import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.dao.cache.EntityCaches;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 
@@ -21,6 +23,9 @@ import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 @Singleton
 @SuppressWarnings("synthetic-access")
 public class StoragePoolDaoImpl extends BaseDao implements StoragePoolDao {
+    @Inject
+    private EntityCaches entityCaches;
+
     private static final RowMapper<StoragePool> mapper = (rs, rowNum) -> {
         StoragePool entity = new StoragePool();
         entity.setdescription(rs.getString("description"));
@@ -40,7 +45,7 @@ public class StoragePoolDaoImpl extends BaseDao implements StoragePoolDao {
 
     @Override
     public StoragePool get(Guid id) {
-        return get(id, null, false);
+        return entityCaches.getStoragePools().get(id, poolId -> get(poolId, null, false));
     }
 
     @Override
@@ -133,6 +138,7 @@ public class StoragePoolDaoImpl extends BaseDao implements StoragePoolDao {
 
         getCallsHandler().executeModification("Insertstorage_pool",
                 parameterSource);
+        entityCaches.getStoragePools().invalidate(pool.getId());
     }
 
     @Override
@@ -155,6 +161,7 @@ public class StoragePoolDaoImpl extends BaseDao implements StoragePoolDao {
                 .addValue("managed", pool.isManaged());
 
         getCallsHandler().executeModification("Updatestorage_pool", parameterSource);
+        invalidateWithClusters(pool.getId());
     }
 
     @Override
@@ -172,6 +179,7 @@ public class StoragePoolDaoImpl extends BaseDao implements StoragePoolDao {
                         pool.getQuotaEnforcementType().getValue());
 
         getCallsHandler().executeModification("Updatestorage_pool_partial", parameterSource);
+        invalidateWithClusters(pool.getId());
     }
 
     @Override
@@ -180,7 +188,7 @@ public class StoragePoolDaoImpl extends BaseDao implements StoragePoolDao {
                 .addValue("id", id)
                 .addValue("status", status);
         getCallsHandler().executeModification("Updatestorage_pool_status", parameterSource);
-
+        entityCaches.getStoragePools().invalidate(id);
     }
 
     @Override
@@ -189,6 +197,16 @@ public class StoragePoolDaoImpl extends BaseDao implements StoragePoolDao {
                 .addValue("id", id);
 
         getCallsHandler().executeModification("Deletestorage_pool", parameterSource);
+        invalidateWithClusters(id);
+        entityCaches.getClusterNetworks().invalidateAll();
+    }
+
+    /**
+     * The name of the data center is part of the cached clusters, so they are invalidated as well.
+     */
+    private void invalidateWithClusters(Guid id) {
+        entityCaches.getStoragePools().invalidate(id);
+        entityCaches.getClusters().invalidateAll();
     }
 
     @Override
@@ -209,7 +227,10 @@ public class StoragePoolDaoImpl extends BaseDao implements StoragePoolDao {
     public int increaseStoragePoolMasterVersion(Guid id) {
         MapSqlParameterSource parameterSource = getCustomMapSqlParameterSource()
                 .addValue("id", id);
-        return getCallsHandler().executeModificationReturnResult("IncreaseStoragePoolMasterVersion", parameterSource);
+        int masterVersion =
+                getCallsHandler().executeModificationReturnResult("IncreaseStoragePoolMasterVersion", parameterSource);
+        entityCaches.getStoragePools().invalidate(id);
+        return masterVersion;
     }
 
     @Override
@@ -366,13 +366,14 @@ public class VdsDynamicDaoImpl extends MassOperationsGenericDao<VdsDynamic, Guid
     }
 
     @Override
-    public void updateIfNeeded(VdsDynamic vdsDynamic) {
+    public boolean updateIfNeeded(VdsDynamic vdsDynamic) {
         VdsDynamic dbData = get(vdsDynamic.getId());
         if (!dbData.equals(vdsDynamic)) {
             update(vdsDynamic);
-        } else {
-            log.debug("Ignored an unneeded update of VdsDynamic");
+            return true;
         }
+        log.debug("Ignored an unneeded update of VdsDynamic");
+        return false;
     }
 
     @Override
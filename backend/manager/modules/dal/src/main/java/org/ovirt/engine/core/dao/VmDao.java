@@ -322,6 +322,12 @@ public interface VmDao extends Dao {
      */
     List<VM> getAllRunningByCluster(Guid clusterId);
 
+    /**
+     * Retrieves the placement of all the running VMs under the specified cluster, for the scheduling. Only the id,
+     * name, cluster, origin, migration support, status and host of the VMs are set.
+     */
+    List<VM> getAllRunningByClusterForScheduling(Guid clusterId);
+
     /**
      * Retrieves all VM names which contains disks on other Storage Domain other then the storageDomain GUID.
      *
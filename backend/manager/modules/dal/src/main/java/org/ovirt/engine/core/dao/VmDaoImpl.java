@@ -12,9 +12,11 @@ import javax.inject.Singleton;
 import org.ovirt.engine.core.common.businessentities.ArchitectureType;
 import org.ovirt.engine.core.common.businessentities.BiosType;
 import org.ovirt.engine.core.common.businessentities.CpuPinningPolicy;
+import org.ovirt.engine.core.common.businessentities.MigrationSupport;
 import org.ovirt.engine.core.common.businessentities.OriginType;
 import org.ovirt.engine.core.common.businessentities.QuotaEnforcementTypeEnum;
 import org.ovirt.engine.core.common.businessentities.VM;
+import org.ovirt.engine.core.common.businessentities.VMStatus;
 import org.ovirt.engine.core.common.businessentities.VmDevice;
 import org.ovirt.engine.core.common.di.interceptor.InvocationLogger;
 import org.ovirt.engine.core.common.utils.Pair;
@@ -302,6 +304,14 @@ public class VmDaoImpl extends BaseDao implements VmDao {
                         .addValue("cluster_id", clusterId));
     }
 
+    @Override
+    public List<VM> getAllRunningByClusterForScheduling(Guid clusterId) {
+        return getCallsHandler().executeReadList("GetRunningVmsForSchedulingByClusterId",
+                vmSchedulingRowMapper,
+                getCustomMapSqlParameterSource()
+                        .addValue("cluster_id", clusterId));
+    }
+
     @Override
     public List<Guid> getVmIdsForVersionUpdate(Guid baseTemplateId) {
         return getCallsHandler().executeReadList("getVmIdsForVersionUpdate",
@@ -338,6 +348,13 @@ public class VmDaoImpl extends BaseDao implements VmDao {
                 getCustomMapSqlParameterSource().addValue("host_id", hostId));
     }
 
+    /**
+     * Maps the full VM row, as read by the list, search and REST paths. There is no narrower list projection on
+     * purpose: the search consumers (the webadmin list models and the REST mappers) read nearly every field of the
+     * VM, so the cost of the mapping is kept down by skipping the per-row JSON parsing of fields which are empty for
+     * most VMs instead. The monitoring and scheduling paths, which do need only a few fields, use
+     * {@link #vmMonitoringRowMapper} and {@link #vmSchedulingRowMapper}.
+     */
     static final RowMapper<VM> vmRowMapper = (rs, rowNum) -> {
         VM entity = new VM();
         entity.setStaticData(VmStaticDaoImpl.getRowMapper().mapRow(rs, rowNum));
@@ -361,8 +378,13 @@ public class VmDaoImpl extends BaseDao implements VmDao {
         entity.setClusterArch(ArchitectureType.forValue(rs.getInt("architecture")));
         entity.setVmPoolSpiceProxy(rs.getString("vm_pool_spice_proxy"));
         entity.setClusterSpiceProxy(rs.getString("cluster_spice_proxy"));
-        entity.setNextRunConfigurationExists(rs.getBoolean("next_run_config_exists"));
-        entity.setNextRunChangedFields(SerializationFactory.getDeserializer().deserializeOrCreateNew(rs.getString("changed_fields"), HashSet.class));
+        boolean nextRunConfigurationExists = rs.getBoolean("next_run_config_exists");
+        entity.setNextRunConfigurationExists(nextRunConfigurationExists);
+        // The changed fields are only relevant (and only deserialized) when there is a next run configuration
+        entity.setNextRunChangedFields(nextRunConfigurationExists
+                ? SerializationFactory.getDeserializer()
+                        .deserializeOrCreateNew(rs.getString("changed_fields"), HashSet.class)
+                : new HashSet<>());
         entity.setPreviewSnapshot(rs.getBoolean("is_previewing_snapshot"));
         entity.setHasIllegalImages(rs.getBoolean("has_illegal_images"));
         entity.setClusterBiosType(BiosType.forValue(rs.getInt("cluster_bios_type")));
@@ -389,6 +411,19 @@ public class VmDaoImpl extends BaseDao implements VmDao {
         return entity;
     };
 
+    private static final RowMapper<VM> vmSchedulingRowMapper = (rs, rowNum) -> {
+        VM entity = new VM();
+        entity.setId(getGuidDefaultEmpty(rs, "vm_guid"));
+        entity.setName(rs.getString("vm_name"));
+        entity.setClusterId(getGuidDefaultEmpty(rs, "cluster_id"));
+        entity.setOrigin(OriginType.forValue(rs.getInt("origin")));
+        entity.setMigrationSupport(MigrationSupport.forValue(rs.getInt("migration_support")));
+        entity.setStatus(VMStatus.forValue(rs.getInt("status")));
+        entity.setRunOnVds(getGuid(rs, "run_on_vds"));
+
+        return entity;
+    };
+
     private static final RowMapper<Pair<VM, VmDevice>> vmWithPlugInfoRowMapper = (rs, rowNum) -> {
         Pair<VM, VmDevice> entity = new Pair<>();
         entity.setFirst(vmRowMapper.mapRow(rs, rowNum));
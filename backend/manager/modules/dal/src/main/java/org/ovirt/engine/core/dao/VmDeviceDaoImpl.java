@@ -1,10 +1,12 @@
 package org.ovirt.engine.core.dao;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 
@@ -13,6 +15,7 @@ import org.ovirt.engine.core.common.businessentities.VmDeviceGeneralType;
 import org.ovirt.engine.core.common.businessentities.VmDeviceId;
 import org.ovirt.engine.core.common.utils.VmDeviceType;
 import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.dao.cache.VmDeviceWriteTracker;
 import org.ovirt.engine.core.utils.SerializationFactory;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.SingleColumnRowMapper;
@@ -24,6 +27,9 @@ import org.springframework.jdbc.core.simple.SimpleJdbcCall;
 public class VmDeviceDaoImpl extends
         MassOperationsGenericDao<VmDevice, VmDeviceId> implements VmDeviceDao {
 
+    @Inject
+    private VmDeviceWriteTracker writeTracker;
+
     public VmDeviceDaoImpl() {
         super("VmDevice");
         setProcedureNameForGet("GetVmDeviceByDeviceId");
@@ -201,6 +207,42 @@ public class VmDeviceDaoImpl extends
         return vmDevice;
     };
 
+    @Override
+    public void save(VmDevice entity) {
+        super.save(entity);
+        writeTracker.written(entity.getVmId());
+    }
+
+    @Override
+    protected void update(VmDevice entity, String procedureName) {
+        super.update(entity, procedureName);
+        writeTracker.written(entity.getVmId());
+    }
+
+    @Override
+    public void remove(VmDeviceId id) {
+        super.remove(id);
+        writeTracker.written(id.getVmId());
+    }
+
+    @Override
+    public void saveAllInBatch(Collection<VmDevice> entities) {
+        super.saveAllInBatch(entities);
+        entities.forEach(entity -> writeTracker.written(entity.getVmId()));
+    }
+
+    @Override
+    public void updateAllInBatch(Collection<VmDevice> entities) {
+        super.updateAllInBatch(entities);
+        entities.forEach(entity -> writeTracker.written(entity.getVmId()));
+    }
+
+    @Override
+    public void removeAllInBatch(Collection<VmDevice> entities) {
+        super.removeAllInBatch(entities);
+        entities.forEach(entity -> writeTracker.written(entity.getVmId()));
+    }
+
     @Override
     public void removeAll(List<VmDeviceId> removedDeviceIds) {
         removedDeviceIds.forEach(this::remove);
@@ -211,6 +253,7 @@ public class VmDeviceDaoImpl extends
         MapSqlParameterSource parameterSource = getCustomMapSqlParameterSource()
                 .addValue("vm_id", vmId).addValue("type", type.getValue());
         getCallsHandler().executeModification("DeleteVmDevicesByVmIdAndType", parameterSource);
+        writeTracker.written(vmId);
     }
 
     @Override
@@ -224,6 +267,7 @@ public class VmDeviceDaoImpl extends
                 .addValue("device_id", deviceId);
 
         getCallsHandler().executeModification("clearVmDeviceAddress", parameterSource);
+        writeTracker.writtenAll();
     }
 
     @Override
@@ -232,6 +276,7 @@ public class VmDeviceDaoImpl extends
                 .addValue("vm_id", vmId);
 
         getCallsHandler().executeModification("clearAllDeviceAddressesByVmId", parameterSource);
+        writeTracker.written(vmId);
     }
 
     @Override
@@ -240,6 +285,7 @@ public class VmDeviceDaoImpl extends
                 .addValue("vm_id", vmId);
 
         getCallsHandler().executeModification("removeAllUnmanagedDevicesByVmId", parameterSource);
+        writeTracker.written(vmId);
     }
 
     private MapSqlParameterSource createParameterSourceForUpdate(VmDevice vmDevice) {
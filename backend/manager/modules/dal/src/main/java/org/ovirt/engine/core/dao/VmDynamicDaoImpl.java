@@ -238,6 +238,7 @@ public class VmDynamicDaoImpl extends MassOperationsGenericDao<VmDynamic, Guid>
     }
 
     private static ObjectMapper JSON_MAPPER = new ObjectMapper();
+    private static final String EMPTY_JSON_LIST = "[]";
     private static String toGuestContainersString(VmDynamic vm) {
         try {
             return JSON_MAPPER.writeValueAsString(vm.getGuestContainers());
@@ -248,6 +249,10 @@ public class VmDynamicDaoImpl extends MassOperationsGenericDao<VmDynamic, Guid>
 
     @SuppressWarnings("unchecked")
     private static List<GuestContainer> fromContainersString(String s) {
+        // Most VMs report no containers, there is no need to run the parser (or to fail it on null) for each row
+        if (s == null || s.isEmpty() || EMPTY_JSON_LIST.equals(s)) {
+            return new ArrayList<>();
+        }
         try {
             return (List<GuestContainer>) JSON_MAPPER.readValue(s, new TypeReference<List<GuestContainer>>() {});
         } catch(Exception e) {
@@ -0,0 +1,196 @@
+package org.ovirt.engine.core.dao.cache;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.Transaction;
+
+import org.apache.commons.lang.SerializationUtils;
+import org.ovirt.engine.core.utils.transaction.TransactionSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A read-through cache of slowly-changing entities, keyed by their id.
+ * <p>
+ * The DAOs invalidate the entries they write. Every invalidation increments the generation of the cache, and a
+ * value loaded from the database is cached only if the generation did not change while it was loaded, so a value
+ * read before a concurrent write is never cached after that write. When the write is part of a transaction, the
+ * entry is invalidated again when the transaction completes, and until then the reads of the entry bypass the cache,
+ * so uncommitted (or rolled back) values are not cached either.
+ * <p>
+ * The cached values are copies, and copies of them are returned, so the callers may freely modify the entities they
+ * get.
+ */
+public class EntityCache<K, V extends Serializable> implements EntityCacheMXBean {
+
+    private static final Logger log = LoggerFactory.getLogger(EntityCache.class);
+
+    private final String name;
+    private final boolean enabled;
+    private final Map<K, V> entries = new ConcurrentHashMap<>();
+    private final Map<K, AtomicInteger> writtenKeys = new ConcurrentHashMap<>();
+    private final AtomicInteger allWritten = new AtomicInteger();
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder bypasses = new LongAdder();
+
+    EntityCache(String name, boolean enabled) {
+        this.name = name;
+        this.enabled = enabled;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the entity with the given key, loading it with the given loader if it is not cached.
+     */
+    public V get(K key, Function<K, V> loader) {
+        if (!enabled || key == null) {
+            return loader.apply(key);
+        }
+        if (isWritten(key)) {
+            misses.increment();
+            bypasses.increment();
+            return loader.apply(key);
+        }
+
+        V cached = entries.get(key);
+        if (cached != null) {
+            hits.increment();
+            return copy(cached);
+        }
+
+        misses.increment();
+        long loadedGeneration = generation.get();
+        V value = loader.apply(key);
+        if (value != null) {
+            V copy = copy(value);
+            if (loadedGeneration == generation.get() && !isWritten(key)) {
+                entries.put(key, copy);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Invalidates the entry of the given key, to be called whenever the entity is written.
+     */
+    public void invalidate(K key) {
+        if (!enabled || key == null) {
+            return;
+        }
+        generation.incrementAndGet();
+        entries.remove(key);
+        Transaction transaction = getActiveTransaction();
+        if (transaction != null) {
+            writtenKeys.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+            registerCompletion(transaction, () -> {
+                writtenKeys.computeIfPresent(key, (k, count) -> count.decrementAndGet() == 0 ? null : count);
+                generation.incrementAndGet();
+                entries.remove(key);
+            });
+        }
+    }
+
+    /**
+     * Invalidates all the entries, to be called whenever a write may affect many entities.
+     */
+    public void invalidateAll() {
+        if (!enabled) {
+            return;
+        }
+        generation.incrementAndGet();
+        entries.clear();
+        Transaction transaction = getActiveTransaction();
+        if (transaction != null) {
+            allWritten.incrementAndGet();
+            registerCompletion(transaction, () -> {
+                allWritten.decrementAndGet();
+                generation.incrementAndGet();
+                entries.clear();
+            });
+        }
+    }
+
+    private boolean isWritten(K key) {
+        return allWritten.get() > 0 || writtenKeys.containsKey(key);
+    }
+
+    private Transaction getActiveTransaction() {
+        try {
+            Transaction transaction = TransactionSupport.current();
+            return transaction != null && transaction.getStatus() == Status.STATUS_ACTIVE ? transaction : null;
+        } catch (Exception e) {
+            log.debug("Failed to get the current transaction of entity cache '{}': {}", name, e.getMessage());
+            return null;
+        }
+    }
+
+    private void registerCompletion(Transaction transaction, Runnable onCompletion) {
+        try {
+            transaction.registerSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    onCompletion.run();
+                }
+            });
+        } catch (Exception e) {
+            // the entry was already invalidated, and will be loaded again from the database
+            log.debug("Failed to track the transaction of entity cache '{}': {}", name, e.getMessage());
+            onCompletion.run();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private V copy(V value) {
+        return (V) SerializationUtils.clone(value);
+    }
+
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public long getBypasses() {
+        return bypasses.sum();
+    }
+
+    @Override
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    @Override
+    public int getSize() {
+        return entries.size();
+    }
+
+    @Override
+    public void clear() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+}
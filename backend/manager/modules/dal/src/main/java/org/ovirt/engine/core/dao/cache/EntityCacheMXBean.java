@@ -0,0 +1,37 @@
+package org.ovirt.engine.core.dao.cache;
+
+/**
+ * The following interface is used as interface for the JMX bean of an entity cache
+ */
+public interface EntityCacheMXBean {
+
+    /**
+     * The number of reads served from the cache
+     */
+    long getHits();
+
+    /**
+     * The number of reads that were loaded from the database, including the bypassed ones
+     */
+    long getMisses();
+
+    /**
+     * The number of reads that bypassed the cache since the entity was being written by a running transaction
+     */
+    long getBypasses();
+
+    /**
+     * The ratio of the reads served from the cache, between 0 and 1
+     */
+    double getHitRatio();
+
+    /**
+     * The number of the cached entries
+     */
+    int getSize();
+
+    /**
+     * The following method will allow to clear the cache via JMX console
+     */
+    void clear();
+}
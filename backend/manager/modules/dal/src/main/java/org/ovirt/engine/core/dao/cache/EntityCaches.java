@@ -0,0 +1,108 @@
+package org.ovirt.engine.core.dao.cache;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import javax.management.ObjectName;
+
+import org.ovirt.engine.core.common.businessentities.Cluster;
+import org.ovirt.engine.core.common.businessentities.StoragePool;
+import org.ovirt.engine.core.common.businessentities.network.Network;
+import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.utils.transaction.TransactionSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The caches of the slowly-changing entities that are read by almost every flow, e.g. the cluster of a VM or a host
+ * and the networks of a cluster.
+ * <p>
+ * The entries are invalidated by the DAOs writing the entities, including the writes of other entities that are
+ * part of the cached views (e.g. the name of the data center of a cluster). The caches are disabled when there is no
+ * transaction manager to track the writes with, as in the DAO tests.
+ */
+@Named
+@Singleton
+public class EntityCaches {
+
+    private static final Logger log = LoggerFactory.getLogger(EntityCaches.class);
+
+    private EntityCache<Guid, Cluster> clusters;
+
+    private EntityCache<Guid, StoragePool> storagePools;
+
+    private EntityCache<Guid, ArrayList<Network>> clusterNetworks;
+
+    private final List<ObjectName> registeredNames = new ArrayList<>();
+
+    @PostConstruct
+    private void init() {
+        boolean enabled = isTransactionSupported();
+        clusters = new EntityCache<>("Cluster", enabled);
+        storagePools = new EntityCache<>("StoragePool", enabled);
+        clusterNetworks = new EntityCache<>("ClusterNetworks", enabled);
+        if (enabled) {
+            Arrays.asList(clusters, storagePools, clusterNetworks).forEach(this::register);
+        } else {
+            log.info("Transactions are not available, entity caches are disabled");
+        }
+    }
+
+    @PreDestroy
+    private void destroy() {
+        for (ObjectName objectName : registeredNames) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            } catch (Exception e) {
+                log.warn("Failed to unregister '{}': {}", objectName, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * The clusters by their id, as returned by {@code ClusterDao.get(Guid)}
+     */
+    public EntityCache<Guid, Cluster> getClusters() {
+        return clusters;
+    }
+
+    /**
+     * The data centers by their id, as returned by {@code StoragePoolDao.get(Guid)}
+     */
+    public EntityCache<Guid, StoragePool> getStoragePools() {
+        return storagePools;
+    }
+
+    /**
+     * The networks attached to a cluster by the cluster id, as returned by {@code NetworkDao.getAllForCluster(Guid)}
+     */
+    public EntityCache<Guid, ArrayList<Network>> getClusterNetworks() {
+        return clusterNetworks;
+    }
+
+    private static boolean isTransactionSupported() {
+        try {
+            TransactionSupport.current();
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private void register(EntityCache<?, ?> cache) {
+        try {
+            ObjectName objectName = new ObjectName("EntityCache:type=" + cache.getName());
+            ManagementFactory.getPlatformMBeanServer().registerMBean(cache, objectName);
+            registeredNames.add(objectName);
+        } catch (Exception e) {
+            log.warn("Failed to register the JMX bean of entity cache '{}': {}", cache.getName(), e.getMessage());
+            log.debug("Exception", e);
+        }
+    }
+}
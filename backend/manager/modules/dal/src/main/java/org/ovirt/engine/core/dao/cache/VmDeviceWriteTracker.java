@@ -0,0 +1,128 @@
+package org.ovirt.engine.core.dao.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.inject.Named;
+import javax.inject.Singleton;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.Transaction;
+
+import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.utils.transaction.TransactionSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tracks the writes of the VM devices, so the devices remembered by the monitoring of the VM devices are trusted only
+ * if the devices of their VM were not written since they were stored.
+ * <p>
+ * Every write increments the generation of the devices of the VM. When the write is part of a transaction, the
+ * generation is incremented again when the transaction completes, so devices remembered before the write was
+ * committed are not trusted either. The writes of the monitoring itself are made by {@link #runUntracked(Runnable)}.
+ */
+@Named
+@Singleton
+public class VmDeviceWriteTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(VmDeviceWriteTracker.class);
+
+    private final AtomicLong generation = new AtomicLong();
+    private final Map<Guid, Long> vmGenerations = new ConcurrentHashMap<>();
+    private final AtomicLong allVmsGeneration = new AtomicLong();
+    private final ThreadLocal<Boolean> untracked = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    /**
+     * Returns the current generation, to be remembered along with the devices that are read from the database
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Returns the generation of the last write of the devices of the given VM
+     */
+    public long getGeneration(Guid vmId) {
+        return Math.max(allVmsGeneration.get(), vmGenerations.getOrDefault(vmId, 0L));
+    }
+
+    /**
+     * Records a write of the devices of the given VM
+     */
+    public void written(Guid vmId) {
+        if (untracked.get()) {
+            return;
+        }
+        markWritten(vmId);
+        Transaction transaction = getActiveTransaction();
+        if (transaction != null) {
+            registerCompletion(transaction, () -> markWritten(vmId));
+        }
+    }
+
+    /**
+     * Records a write that may affect the devices of any VM
+     */
+    public void writtenAll() {
+        if (untracked.get()) {
+            return;
+        }
+        markAllWritten();
+        Transaction transaction = getActiveTransaction();
+        if (transaction != null) {
+            registerCompletion(transaction, this::markAllWritten);
+        }
+    }
+
+    /**
+     * Runs the given writes without tracking them, for the writes of the reported devices by their monitoring
+     */
+    public void runUntracked(Runnable writes) {
+        boolean wasUntracked = untracked.get();
+        untracked.set(Boolean.TRUE);
+        try {
+            writes.run();
+        } finally {
+            untracked.set(wasUntracked);
+        }
+    }
+
+    private void markWritten(Guid vmId) {
+        vmGenerations.merge(vmId, generation.incrementAndGet(), Math::max);
+    }
+
+    private void markAllWritten() {
+        allVmsGeneration.accumulateAndGet(generation.incrementAndGet(), Math::max);
+    }
+
+    private Transaction getActiveTransaction() {
+        try {
+            Transaction transaction = TransactionSupport.current();
+            return transaction != null && transaction.getStatus() == Status.STATUS_ACTIVE ? transaction : null;
+        } catch (Exception e) {
+            log.debug("Failed to get the current transaction of the VM devices write: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void registerCompletion(Transaction transaction, Runnable onCompletion) {
+        try {
+            transaction.registerSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    onCompletion.run();
+                }
+            });
+        } catch (Exception e) {
+            // the write was already recorded, and the remembered devices are not trusted since
+            log.debug("Failed to track the transaction of the VM devices write: {}", e.getMessage());
+            onCompletion.run();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package org.ovirt.engine.core.dao.dwh;
+
+import java.util.List;
+
+import org.ovirt.engine.core.common.businessentities.DwhChangeLogEntry;
+import org.ovirt.engine.core.dao.Dao;
+
+public interface DwhChangeLogDao extends Dao {
+    /**
+     * Retrieves the changes of the configuration entities sampled by DWH made after the given version
+     *
+     * @param changeId
+     *            the version of the last change already read
+     * @param maxResults
+     *            the maximum number of changes to retrieve
+     * @return the changes, in the order of their versions
+     */
+    List<DwhChangeLogEntry> getAllAfterChangeId(long changeId, int maxResults);
+}
@@ -0,0 +1,34 @@
+package org.ovirt.engine.core.dao.dwh;
+
+import java.util.List;
+
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.ovirt.engine.core.common.businessentities.DwhChangeLogEntry;
+import org.ovirt.engine.core.dal.dbbroker.DbFacadeUtils;
+import org.ovirt.engine.core.dao.BaseDao;
+import org.springframework.jdbc.core.RowMapper;
+
+@Named
+@Singleton
+public class DwhChangeLogDaoImpl extends BaseDao implements DwhChangeLogDao {
+    private static final RowMapper<DwhChangeLogEntry> dwhChangeLogMapper = (rs, rowNum) -> {
+        DwhChangeLogEntry entity = new DwhChangeLogEntry();
+        entity.setChangeId(rs.getLong("change_id"));
+        entity.setEntityType(rs.getString("entity_type"));
+        entity.setEntityId(getGuid(rs, "entity_id"));
+        entity.setOperation(rs.getString("operation"));
+        entity.setChangeDate(DbFacadeUtils.fromDate(rs.getTimestamp("change_date")));
+        return entity;
+    };
+
+    @Override
+    public List<DwhChangeLogEntry> getAllAfterChangeId(long changeId, int maxResults) {
+        return getCallsHandler().executeReadList("GetDwhChangeLogAfterChangeId",
+                dwhChangeLogMapper,
+                getCustomMapSqlParameterSource()
+                        .addValue("change_id", changeId)
+                        .addValue("max_results", maxResults));
+    }
+}
@@ -0,0 +1,52 @@
+package org.ovirt.engine.core.dao.network;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.ovirt.engine.core.common.businessentities.network.VdsNetworkInterface;
+import org.ovirt.engine.core.common.utils.Pair;
+import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.dao.Dao;
+
+/**
+ * {@code InterfaceSyncStatusDao} persists the calculated sync status of the host interfaces that carry a network.
+ * <p>
+ * A persisted status is valid as long as it exists: the database removes the statuses affected by changes of
+ * networks, cluster networks, network attachments, QoS, DNS configurations and the interfaces themselves, so the
+ * caller should calculate and save again the statuses of the interfaces that are missing.
+ * <p>
+ * Each such change also increments the generation of the affected hosts. The caller reads the generations before it
+ * reads the inputs of the calculation and passes them on save, so a status calculated from inputs which changed
+ * meanwhile is not saved.
+ */
+public interface InterfaceSyncStatusDao extends Dao {
+
+    /**
+     * Retrieves the persisted sync status of the interfaces of the hosts in the given cluster.
+     *
+     * @param clusterId
+     *            the id of the cluster
+     * @return whether the network of each interface is in sync, by interface id
+     */
+    Map<Guid, Boolean> getAllForCluster(Guid clusterId);
+
+    /**
+     * Retrieves the generation of the sync status of the hosts in the given cluster.
+     *
+     * @param clusterId
+     *            the id of the cluster
+     * @return the generation of each host which had its statuses invalidated, by host id; the generation of the
+     *         other hosts is 0
+     */
+    Map<Guid, Long> getGenerationsForCluster(Guid clusterId);
+
+    /**
+     * Saves the sync status of the given interfaces, unless the generation of their host changed since it was read.
+     *
+     * @param statuses
+     *            pairs of an interface and whether its network is in sync
+     * @param generations
+     *            the generation of the hosts of the interfaces, as read before the statuses were calculated
+     */
+    void saveAll(Collection<Pair<VdsNetworkInterface, Boolean>> statuses, Map<Guid, Long> generations);
+}
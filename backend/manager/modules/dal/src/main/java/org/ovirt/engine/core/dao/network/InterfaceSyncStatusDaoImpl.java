@@ -0,0 +1,60 @@
+package org.ovirt.engine.core.dao.network;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.ovirt.engine.core.common.businessentities.network.VdsNetworkInterface;
+import org.ovirt.engine.core.common.utils.Pair;
+import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.dao.BaseDao;
+
+@Named
+@Singleton
+public class InterfaceSyncStatusDaoImpl extends BaseDao implements InterfaceSyncStatusDao {
+
+    @Override
+    public Map<Guid, Boolean> getAllForCluster(Guid clusterId) {
+        List<Pair<Guid, Boolean>> statuses = getCallsHandler().executeReadList("GetInterfaceSyncStatusByClusterId",
+                (rs, rowNum) -> new Pair<>(getGuidDefaultEmpty(rs, "vds_interface_id"), rs.getBoolean("in_sync")),
+                getCustomMapSqlParameterSource().addValue("cluster_id", clusterId));
+
+        Map<Guid, Boolean> inSyncByInterfaceId = new HashMap<>();
+        statuses.forEach(status -> inSyncByInterfaceId.put(status.getFirst(), status.getSecond()));
+        return inSyncByInterfaceId;
+    }
+
+    @Override
+    public Map<Guid, Long> getGenerationsForCluster(Guid clusterId) {
+        List<Pair<Guid, Long>> generations = getCallsHandler().executeReadList("GetInterfaceSyncGenerationByClusterId",
+                (rs, rowNum) -> new Pair<>(getGuidDefaultEmpty(rs, "vds_id"), rs.getLong("generation")),
+                getCustomMapSqlParameterSource().addValue("cluster_id", clusterId));
+
+        Map<Guid, Long> generationByHostId = new HashMap<>();
+        generations.forEach(generation -> generationByHostId.put(generation.getFirst(), generation.getSecond()));
+        return generationByHostId;
+    }
+
+    @Override
+    public void saveAll(Collection<Pair<VdsNetworkInterface, Boolean>> statuses, Map<Guid, Long> generations) {
+        // Saving a status locks the generation of its host. The hosts are locked in the order the database
+        // invalidates them (the textual order of the ids), to avoid deadlocks
+        List<Pair<VdsNetworkInterface, Boolean>> statusesByHost = statuses.stream()
+                .sorted(Comparator.comparing(status -> status.getFirst().getVdsId().toString()))
+                .collect(Collectors.toList());
+        getCallsHandler().executeStoredProcAsBatch("SaveInterfaceSyncStatus",
+                statusesByHost,
+                status -> getCustomMapSqlParameterSource()
+                        .addValue("vds_interface_id", status.getFirst().getId())
+                        .addValue("vds_id", status.getFirst().getVdsId())
+                        .addValue("network_name", status.getFirst().getNetworkName())
+                        .addValue("in_sync", status.getSecond())
+                        .addValue("generation", generations.getOrDefault(status.getFirst().getVdsId(), 0L)));
+    }
+}
@@ -2,6 +2,7 @@ package org.ovirt.engine.core.dao.network;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -24,6 +25,7 @@ import org.ovirt.engine.core.common.businessentities.network.NetworkStatus;
 import org.ovirt.engine.core.common.businessentities.network.ProviderNetwork;
 import org.ovirt.engine.core.compat.Guid;
 import org.ovirt.engine.core.dao.DefaultGenericDao;
+import org.ovirt.engine.core.dao.cache.EntityCaches;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.SingleColumnRowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
@@ -35,6 +37,9 @@ public class NetworkDaoImpl extends DefaultGenericDao<Network, Guid> implements
     @Inject
     private DnsResolverConfigurationDao dnsResolverConfigurationDao;
 
+    @Inject
+    private EntityCaches entityCaches;
+
     private NetworkClusterRowMapper networkClusterRowMapper;
 
     private NetworkRowMapper networkRowMapper;
@@ -113,7 +118,8 @@ public class NetworkDaoImpl extends DefaultGenericDao<Network, Guid> implements
         if (id == null) {
             return Collections.emptyList();
         }
-        return getAllForCluster(id, null, false);
+        return entityCaches.getClusterNetworks()
+                .get(id, clusterId -> new ArrayList<>(getAllForCluster(clusterId, null, false)));
     }
 
     @Override
@@ -220,12 +226,14 @@ public class NetworkDaoImpl extends DefaultGenericDao<Network, Guid> implements
             }
         }
         super.update(entity);
+        entityCaches.getClusterNetworks().invalidateAll();
     }
 
     @Override
     public void remove(Guid guid) {
         dnsResolverConfigurationDao.removeByNetworkId(guid);
         super.remove(guid);
+        entityCaches.getClusterNetworks().invalidateAll();
     }
 
     @Override
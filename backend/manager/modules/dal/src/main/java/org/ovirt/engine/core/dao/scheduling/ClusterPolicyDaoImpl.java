@@ -18,6 +18,7 @@ import org.ovirt.engine.core.common.scheduling.PolicyUnitType;
 import org.ovirt.engine.core.common.utils.Pair;
 import org.ovirt.engine.core.compat.Guid;
 import org.ovirt.engine.core.dao.DefaultGenericDao;
+import org.ovirt.engine.core.dao.cache.EntityCaches;
 import org.ovirt.engine.core.utils.SerializationFactory;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
@@ -29,6 +30,9 @@ public class ClusterPolicyDaoImpl extends DefaultGenericDao<ClusterPolicy, Guid>
     @Inject
     private PolicyUnitDao policyUnitDao;
 
+    @Inject
+    private EntityCaches entityCaches;
+
     public ClusterPolicyDaoImpl() {
         super("ClusterPolicy");
     }
@@ -51,6 +55,14 @@ public class ClusterPolicyDaoImpl extends DefaultGenericDao<ClusterPolicy, Guid>
         if (clusterPolicyUnits != null) {
             clusterPolicyUnits.forEach(this::saveClusterPolicyUnit);
         }
+        // the name of the cluster policy is part of the cached clusters
+        entityCaches.getClusters().invalidateAll();
+    }
+
+    @Override
+    public void remove(Guid id) {
+        super.remove(id);
+        entityCaches.getClusters().invalidateAll();
     }
 
     @Override
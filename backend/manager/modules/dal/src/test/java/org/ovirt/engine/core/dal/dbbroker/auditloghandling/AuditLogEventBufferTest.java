@@ -0,0 +1,113 @@
+package org.ovirt.engine.core.dal.dbbroker.auditloghandling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ovirt.engine.core.common.businessentities.AuditLog;
+
+public class AuditLogEventBufferTest {
+
+    private AuditLogEventBuffer buffer;
+
+    @BeforeEach
+    public void setUp() {
+        buffer = new AuditLogEventBuffer(3, 1);
+    }
+
+    @Test
+    public void emptyBufferDoesNotHoldEvents() throws InterruptedException {
+        assertNull(buffer.getAfter(0, Integer.MAX_VALUE, 0));
+    }
+
+    @Test
+    public void eventsAfterIdAreReturnedNewestFirst() throws InterruptedException {
+        add(10, 11, 13, 12);
+
+        assertEquals(List.of(13L, 12L), ids(buffer.getAfter(11, Integer.MAX_VALUE, 0)));
+        assertEquals(List.of(13L), ids(buffer.getAfter(11, 1, 0)));
+        assertTrue(buffer.getAfter(13, Integer.MAX_VALUE, 0).isEmpty());
+    }
+
+    @Test
+    public void eventsBeforeFirstEventAreNotHeld() throws InterruptedException {
+        add(10);
+
+        assertEquals(List.of(10L), ids(buffer.getAfter(9, Integer.MAX_VALUE, 0)));
+        assertNull(buffer.getAfter(8, Integer.MAX_VALUE, 0));
+    }
+
+    @Test
+    public void evictedEventsAreNotHeld() throws InterruptedException {
+        add(10, 11, 12, 13);
+
+        assertEquals(3, buffer.size());
+        assertNull(buffer.getAfter(9, Integer.MAX_VALUE, 0));
+        assertEquals(List.of(13L, 12L, 11L), ids(buffer.getAfter(10, Integer.MAX_VALUE, 0)));
+    }
+
+    @Test
+    public void eventsAreNotHeldOnceDeleted() throws InterruptedException {
+        add(10, 11);
+        buffer.evictAll();
+
+        assertNull(buffer.getAfter(10, Integer.MAX_VALUE, 0));
+        assertTrue(buffer.getAfter(11, Integer.MAX_VALUE, 0).isEmpty());
+        add(12);
+        assertEquals(List.of(12L), ids(buffer.getAfter(11, Integer.MAX_VALUE, 0)));
+    }
+
+    @Test
+    public void clientDoesNotWaitWhenTooManyClientsWait() throws Exception {
+        add(10);
+        CompletableFuture<List<AuditLog>> waitingEvents = CompletableFuture.supplyAsync(() -> {
+            try {
+                return buffer.getAfter(10, Integer.MAX_VALUE, TimeUnit.MINUTES.toMillis(1));
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        while (!buffer.hasWaitingClients()) {
+            Thread.sleep(10);
+        }
+
+        assertTrue(buffer.getAfter(10, Integer.MAX_VALUE, TimeUnit.MINUTES.toMillis(1)).isEmpty());
+        add(11);
+        assertEquals(List.of(11L), ids(waitingEvents.get(1, TimeUnit.MINUTES)));
+    }
+
+    @Test
+    public void waitingClientGetsNewEvent() throws Exception {
+        add(10);
+
+        CompletableFuture<List<AuditLog>> events = CompletableFuture.supplyAsync(() -> {
+            try {
+                return buffer.getAfter(10, Integer.MAX_VALUE, TimeUnit.MINUTES.toMillis(1));
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        add(11);
+
+        assertEquals(List.of(11L), ids(events.get(1, TimeUnit.MINUTES)));
+    }
+
+    private void add(long... ids) {
+        for (long id : ids) {
+            AuditLog event = new AuditLog();
+            event.setAuditLogId(id);
+            buffer.add(event);
+        }
+    }
+
+    private static List<Long> ids(List<AuditLog> events) {
+        return events.stream().map(AuditLog::getAuditLogId).collect(Collectors.toList());
+    }
+}
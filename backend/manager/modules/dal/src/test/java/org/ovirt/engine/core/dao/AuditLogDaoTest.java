@@ -4,11 +4,13 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,6 +20,7 @@ import org.ovirt.engine.core.common.AuditLogType;
 import org.ovirt.engine.core.common.businessentities.AuditLog;
 import org.ovirt.engine.core.compat.Guid;
 import org.ovirt.engine.core.utils.MockConfigExtension;
+import org.springframework.dao.DuplicateKeyException;
 
 /**
  * {@code AuditLogDaoTest} performs tests against the {@link AuditLogDao} type.
@@ -244,6 +247,19 @@ public class AuditLogDaoTest extends BaseDaoTestCase<AuditLogDao> {
         assertEquals(1, result.size());
     }
 
+    @Test
+    public void testRemoveAllBeforeDateKeepsLaterPartitions() {
+        long now = System.currentTimeMillis();
+        dao.createPartitions(3);
+        newAuditLog.setLogTime(new Date(now + TimeUnit.DAYS.toMillis(2)));
+        dao.save(newAuditLog);
+
+        dao.removeAllBeforeDate(new Date(now + TimeUnit.DAYS.toMillis(1)));
+        List<AuditLog> result = dao.getAll(null, false);
+        assertEquals(1, result.size());
+        assertEquals(newAuditLog.getAuditLogId(), result.get(0).getAuditLogId());
+    }
+
     @Test
     public void testRemoveAllForVds() {
         dao.removeAllForVds(FixturesTool.VDS_RHEL6_NFS_SPM, true);
@@ -294,6 +310,24 @@ public class AuditLogDaoTest extends BaseDaoTestCase<AuditLogDao> {
         assertEquals(newExternalEvent.getEventFloodInSec(), result.getEventFloodInSec());
     }
 
+    @Test
+    public void testSaveDuplicateExternalEvent() {
+        AuditLog duplicateExternalEvent = new AuditLog();
+        duplicateExternalEvent.setLogType(AuditLogType.EXTERNAL_EVENT_NORMAL);
+        duplicateExternalEvent.setExternal(true);
+        duplicateExternalEvent.setOrigin(externalAuditLog.getOrigin());
+        duplicateExternalEvent.setCustomEventId(externalAuditLog.getCustomEventId());
+        duplicateExternalEvent.setMessage("Duplicate");
+
+        assertThrows(DuplicateKeyException.class, () -> dao.save(duplicateExternalEvent));
+    }
+
+    @Test
+    public void testRemoveAllBeforeDateRemovesExternalEvents() throws Exception {
+        dao.removeAllBeforeDate(EXPECTED_DATE_FORMAT.parse("2010-12-21 00:00:00"));
+        assertNull(dao.getByOriginAndCustomEventId(externalAuditLog.getOrigin(), externalAuditLog.getCustomEventId()));
+    }
+
     /**
      * Ensures that removing an AuditLog works as expected.
      */
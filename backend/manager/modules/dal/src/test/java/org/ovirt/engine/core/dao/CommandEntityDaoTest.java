@@ -80,6 +80,39 @@ public class CommandEntityDaoTest extends BaseGenericDaoTestCase<Guid, CommandEn
         assertTrue(cmds.size() > 0);
     }
 
+    @Test
+    public void testGetAllHeaders() {
+        CommandEntity cmdEntity = generateNewEntity();
+        dao.save(cmdEntity);
+
+        List<CommandEntity> headers = dao.getAllHeaders();
+
+        assertEquals(getEntitiesTotalCount() + 1, headers.size());
+        CommandEntity header = headers.stream()
+                .filter(h -> h.getId().equals(cmdEntity.getId()))
+                .findFirst()
+                .orElse(null);
+        assertNotNull(header);
+        assertEquals(ActionType.AddCluster, header.getCommandType());
+        assertEquals(CommandStatus.ACTIVE, header.getCommandStatus());
+        assertNull(header.getCommandParameters());
+        assertTrue(header.getData().isEmpty());
+    }
+
+    @Test
+    public void testUpdateData() {
+        CommandEntity cmdEntity = generateNewEntity();
+        dao.save(cmdEntity);
+        Map<String, Serializable> data = new HashMap<>();
+        data.put("NEXT_COMMAND_TYPE", ActionType.AddDisk);
+
+        dao.updateData(cmdEntity.getId(), data);
+
+        CommandEntity updated = dao.get(cmdEntity.getId());
+        assertEquals(data, updated.getData());
+        assertNotNull(updated.getCommandParameters());
+    }
+
     @Test
     public void testGetCommandIdsByEntity() {
         Guid storageId = Guid.newGuid();
@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
@@ -81,4 +82,20 @@ public class ImageTransferDaoTest extends BaseGenericDaoTestCase<Guid, ImageTran
                         .allMatch(imageTransfer -> imageTransfer.getVdsId().equals(FixturesTool.HOST_ID)),
                 "Transfers must be associated with the specified host");
     }
+
+    @Test
+    public void testUpdateTransferStatuses() {
+        ImageTransfer status = new ImageTransfer(existingEntity.getId());
+        status.setActive(!existingEntity.getActive());
+        status.setBytesSent(existingEntity.getBytesSent() + SizeConverter.BYTES_IN_MB);
+        status.setLastUpdated(new Date());
+
+        dao.updateTransferStatuses(Collections.singletonList(status));
+
+        ImageTransfer result = dao.get(existingEntity.getId());
+        assertEquals(status.getActive(), result.getActive());
+        assertEquals(status.getBytesSent(), result.getBytesSent());
+        assertEquals(existingEntity.getPhase(), result.getPhase());
+        assertEquals(existingEntity.getDiskId(), result.getDiskId());
+    }
 }
@@ -10,6 +10,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -21,6 +22,9 @@ import org.junit.jupiter.api.Test;
 import org.ovirt.engine.core.common.businessentities.BiosType;
 import org.ovirt.engine.core.common.businessentities.OriginType;
 import org.ovirt.engine.core.common.businessentities.QuotaEnforcementTypeEnum;
+import org.ovirt.engine.core.common.businessentities.Snapshot;
+import org.ovirt.engine.core.common.businessentities.Snapshot.SnapshotStatus;
+import org.ovirt.engine.core.common.businessentities.Snapshot.SnapshotType;
 import org.ovirt.engine.core.common.businessentities.VM;
 import org.ovirt.engine.core.common.businessentities.VMStatus;
 import org.ovirt.engine.core.common.businessentities.VmDynamic;
@@ -38,6 +42,8 @@ public class VmDaoTest extends BaseDaoTestCase<VmDao> {
     private VmDynamicDao vmDynamicDao;
     @Inject
     private VmStatisticsDao vmStatisticsDao;
+    @Inject
+    private SnapshotDao snapshotDao;
 
     @BeforeEach
     @Override
@@ -515,6 +521,28 @@ public class VmDaoTest extends BaseDaoTestCase<VmDao> {
         assertFalse(result.isEmpty());
     }
 
+    /**
+     * Ensures that the projection of the running VMs for scheduling reads the same VMs and their placement
+     */
+    @Test
+    public void testAllRunningByClusterForScheduling() {
+        Map<Guid, VM> expected = dao.getAllRunningByCluster(FixturesTool.CLUSTER_RHEL6_ISCSI).stream()
+                .collect(Collectors.toMap(VM::getId, vm -> vm));
+
+        List<VM> result = dao.getAllRunningByClusterForScheduling(FixturesTool.CLUSTER_RHEL6_ISCSI);
+
+        assertEquals(expected.keySet(), result.stream().map(VM::getId).collect(Collectors.toSet()));
+        for (VM vm : result) {
+            VM fullVm = expected.get(vm.getId());
+            assertEquals(fullVm.getName(), vm.getName());
+            assertEquals(fullVm.getClusterId(), vm.getClusterId());
+            assertEquals(fullVm.getOrigin(), vm.getOrigin());
+            assertEquals(fullVm.getMigrationSupport(), vm.getMigrationSupport());
+            assertEquals(fullVm.getStatus(), vm.getStatus());
+            assertEquals(fullVm.getRunOnVds(), vm.getRunOnVds());
+        }
+    }
+
     @Test
     public void testGetVmIdsForVersionUpdate() {
         List<Guid> vmIdsToUpdate = dao.getVmIdsForVersionUpdate(FixturesTool.VM_TEMPLATE_RHEL5);
@@ -619,4 +647,37 @@ public class VmDaoTest extends BaseDaoTestCase<VmDao> {
                         FixturesTool.VM_WITH_NO_ATTACHED_DISKS);
     }
 
+    /**
+     * Ensures the changed fields of a VM without a next run configuration are empty.
+     */
+    @Test
+    public void testGetWithoutNextRunConfiguration() {
+        VM result = dao.get(existingVm.getId());
+
+        assertFalse(result.isNextRunConfigurationExists());
+        assertTrue(result.getNextRunChangedFields().isEmpty());
+    }
+
+    /**
+     * Ensures the changed fields of a VM are read when it has a next run configuration.
+     */
+    @Test
+    public void testGetWithNextRunConfiguration() {
+        Snapshot nextRun = new Snapshot(Guid.newGuid(),
+                SnapshotStatus.OK,
+                existingVm.getId(),
+                "",
+                SnapshotType.NEXT_RUN,
+                "Next Run configuration snapshot",
+                new Date(),
+                "");
+        nextRun.setChangedFields(Collections.singleton("memSizeMb"));
+        snapshotDao.save(nextRun);
+
+        VM result = dao.get(existingVm.getId());
+
+        assertTrue(result.isNextRunConfigurationExists());
+        assertEquals(Collections.singleton("memSizeMb"), result.getNextRunChangedFields());
+    }
+
 }
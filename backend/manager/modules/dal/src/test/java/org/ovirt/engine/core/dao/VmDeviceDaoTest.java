@@ -10,6 +10,8 @@ import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import javax.inject.Inject;
+
 import org.apache.commons.lang.StringUtils;
 import org.junit.jupiter.api.Test;
 import org.ovirt.engine.core.common.businessentities.VmDevice;
@@ -17,6 +19,7 @@ import org.ovirt.engine.core.common.businessentities.VmDeviceGeneralType;
 import org.ovirt.engine.core.common.businessentities.VmDeviceId;
 import org.ovirt.engine.core.common.utils.VmDeviceType;
 import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.dao.cache.VmDeviceWriteTracker;
 
 /**
  * Unit tests to validate {@link VmDeviceDao}.
@@ -33,6 +36,9 @@ public class VmDeviceDaoTest extends BaseGenericDaoTestCase<VmDeviceId, VmDevice
     private static final int TOTAL_HOST_DEVICES = 3;
     private static final int TOTAL_DEVICES_FOR_EXISTING_VM = 8;
 
+    @Inject
+    private VmDeviceWriteTracker writeTracker;
+
     @Override
     protected VmDeviceId generateNonExistingId() {
         return new VmDeviceId(Guid.newGuid(), Guid.newGuid());
@@ -190,6 +196,41 @@ public class VmDeviceDaoTest extends BaseGenericDaoTestCase<VmDeviceId, VmDevice
         assertTrue(dao.existsVmDeviceByVmIdAndType(EXISTING_VM_ID_2, VmDeviceGeneralType.HOSTDEV));
     }
 
+    @Test
+    public void testUpdateIsTracked() {
+        long generation = writeTracker.getGeneration(EXISTING_VM_ID);
+        VmDevice vmDevice = dao.get(getExistingEntityId());
+        vmDevice.setAddress("");
+        dao.update(vmDevice);
+
+        assertTrue(writeTracker.getGeneration(EXISTING_VM_ID) > generation);
+        assertEquals(generation, writeTracker.getGeneration(EXISTING_VM_ID_2));
+    }
+
+    @Test
+    public void testRemoveAllInBatchIsTracked() {
+        long generation = writeTracker.getGeneration(EXISTING_VM_ID);
+        dao.removeAllInBatch(dao.getVmDeviceByVmIdAndType(EXISTING_VM_ID, VmDeviceGeneralType.HOSTDEV));
+
+        assertTrue(writeTracker.getGeneration(EXISTING_VM_ID) > generation);
+    }
+
+    @Test
+    public void testClearDeviceAddressIsTrackedForAllVms() {
+        long generation = writeTracker.getGeneration(EXISTING_VM_ID_2);
+        dao.clearDeviceAddress(getExistingEntityId().getDeviceId());
+
+        assertTrue(writeTracker.getGeneration(EXISTING_VM_ID_2) > generation);
+    }
+
+    @Test
+    public void testUntrackedWriteIsNotTracked() {
+        long generation = writeTracker.getGeneration(EXISTING_VM_ID);
+        writeTracker.runUntracked(() -> dao.clearAllDeviceAddressesByVmId(EXISTING_VM_ID));
+
+        assertEquals(generation, writeTracker.getGeneration(EXISTING_VM_ID));
+    }
+
     private VmDevice createVmDevice(Guid vmGuid) {
         return new VmDevice(new VmDeviceId(Guid.newGuid(), vmGuid),
                 VmDeviceGeneralType.DISK,
@@ -8,12 +8,14 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
 import org.ovirt.engine.core.common.businessentities.ActionGroup;
 import org.ovirt.engine.core.common.businessentities.BusinessEntity;
 import org.ovirt.engine.core.common.businessentities.GuestAgentStatus;
+import org.ovirt.engine.core.common.businessentities.GuestContainer;
 import org.ovirt.engine.core.common.businessentities.VMStatus;
 import org.ovirt.engine.core.common.businessentities.VmDynamic;
 import org.ovirt.engine.core.compat.Guid;
@@ -151,4 +153,31 @@ public class VmDynamicDaoTest extends BaseGenericDaoTestCase<Guid, VmDynamic, Vm
         assertTrue(result.isEmpty());
     }
 
+    /**
+     * Ensures that a VM which reports no guest containers is read with an empty list of them.
+     */
+    @Test
+    public void testGetWithoutGuestContainers() {
+        VmDynamic vmDynamic = dao.get(getExistingEntityId());
+
+        assertNotNull(vmDynamic.getGuestContainers());
+        assertTrue(vmDynamic.getGuestContainers().isEmpty());
+    }
+
+    /**
+     * Ensures that the guest containers reported by a VM are read back.
+     */
+    @Test
+    public void testGuestContainers() {
+        List<GuestContainer> containers = Collections.singletonList(new GuestContainer("container-1",
+                Collections.singletonList("web"),
+                "nginx:latest",
+                "nginx -g 'daemon off;'",
+                "Up"));
+        existingEntity.setGuestContainers(containers);
+        dao.update(existingEntity);
+
+        assertEquals(containers, dao.get(getExistingEntityId()).getGuestContainers());
+    }
+
 }
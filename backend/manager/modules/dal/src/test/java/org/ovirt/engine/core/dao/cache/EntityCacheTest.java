@@ -0,0 +1,102 @@
+package org.ovirt.engine.core.dao.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ovirt.engine.core.common.businessentities.Cluster;
+import org.ovirt.engine.core.compat.Guid;
+
+public class EntityCacheTest {
+
+    private static final Guid CLUSTER_ID = Guid.newGuid();
+
+    private EntityCache<Guid, Cluster> cache;
+
+    private AtomicInteger loads;
+
+    @BeforeEach
+    public void setUp() {
+        cache = new EntityCache<>("Cluster", true);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    public void cachedEntityIsLoadedOnce() {
+        cache.get(CLUSTER_ID, this::load);
+        Cluster cluster = cache.get(CLUSTER_ID, this::load);
+
+        assertEquals(1, loads.get());
+        assertEquals(CLUSTER_ID, cluster.getId());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(0.5, cache.getHitRatio());
+    }
+
+    @Test
+    public void cachedEntityIsCopied() {
+        Cluster first = cache.get(CLUSTER_ID, this::load);
+        first.setName("changed");
+        Cluster second = cache.get(CLUSTER_ID, this::load);
+
+        assertNotSame(first, second);
+        assertEquals("cluster", second.getName());
+    }
+
+    @Test
+    public void invalidatedEntityIsLoadedAgain() {
+        cache.get(CLUSTER_ID, this::load);
+        cache.invalidate(CLUSTER_ID);
+        cache.get(CLUSTER_ID, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void entityInvalidatedWhileLoadedIsNotCached() {
+        cache.get(CLUSTER_ID, id -> {
+            cache.invalidate(id);
+            return load(id);
+        });
+        assertEquals(0, cache.getSize());
+
+        cache.get(CLUSTER_ID, this::load);
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.getSize());
+    }
+
+    @Test
+    public void missingEntityIsNotCached() {
+        Function<Guid, Cluster> loader = id -> {
+            loads.incrementAndGet();
+            return null;
+        };
+        assertNull(cache.get(CLUSTER_ID, loader));
+        assertNull(cache.get(CLUSTER_ID, loader));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void disabledCacheAlwaysLoads() {
+        cache = new EntityCache<>("Cluster", false);
+        cache.get(CLUSTER_ID, this::load);
+        cache.get(CLUSTER_ID, this::load);
+
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.getSize());
+    }
+
+    private Cluster load(Guid id) {
+        loads.incrementAndGet();
+        Cluster cluster = new Cluster();
+        cluster.setId(id);
+        cluster.setName("cluster");
+        return cluster;
+    }
+}
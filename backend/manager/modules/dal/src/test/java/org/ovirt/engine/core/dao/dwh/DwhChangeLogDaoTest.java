@@ -0,0 +1,72 @@
+package org.ovirt.engine.core.dao.dwh;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+
+import javax.inject.Inject;
+
+import org.junit.jupiter.api.Test;
+import org.ovirt.engine.core.common.businessentities.DwhChangeLogEntry;
+import org.ovirt.engine.core.common.businessentities.aaa.DbUser;
+import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.dao.BaseDaoTestCase;
+import org.ovirt.engine.core.dao.DbUserDao;
+
+/**
+ * {@link DwhChangeLogDao} tests
+ */
+public class DwhChangeLogDaoTest extends BaseDaoTestCase<DwhChangeLogDao> {
+    @Inject
+    private DbUserDao dbUserDao;
+
+    /**
+     * Tests the changes of the fixtures are read in the order of their versions, limited to the given number
+     */
+    @Test
+    public void getAllAfterChangeIdIsOrderedAndLimited() {
+        List<DwhChangeLogEntry> changes = dao.getAllAfterChangeId(0, 3);
+
+        assertEquals(3, changes.size());
+        for (int i = 1; i < changes.size(); i++) {
+            assertTrue(changes.get(i - 1).getChangeId() < changes.get(i).getChangeId());
+        }
+
+        List<DwhChangeLogEntry> nextChanges = dao.getAllAfterChangeId(changes.get(0).getChangeId(), 2);
+        assertEquals(changes.subList(1, 3), nextChanges);
+    }
+
+    /**
+     * Tests a saved entity is read as the latest change
+     */
+    @Test
+    public void getAllAfterChangeIdReadsNewChange() {
+        long lastChangeId = getLastChangeId();
+        DbUser user = new DbUser();
+        user.setId(Guid.newGuid());
+        user.setExternalId("0");
+        user.setLoginName("dwhuser");
+        user.setDomain("domain");
+        user.setNamespace("*");
+        user.setGroupNames(new LinkedList<>(Collections.singletonList("groups")));
+
+        dbUserDao.save(user);
+
+        List<DwhChangeLogEntry> changes = dao.getAllAfterChangeId(lastChangeId, Integer.MAX_VALUE);
+        assertEquals(1, changes.size());
+        DwhChangeLogEntry change = changes.get(0);
+        assertEquals("users", change.getEntityType());
+        assertEquals(user.getId(), change.getEntityId());
+        assertEquals("I", change.getOperation());
+        assertNotNull(change.getChangeDate());
+    }
+
+    private long getLastChangeId() {
+        List<DwhChangeLogEntry> changes = dao.getAllAfterChangeId(0, Integer.MAX_VALUE);
+        return changes.isEmpty() ? 0 : changes.get(changes.size() - 1).getChangeId();
+    }
+}
@@ -0,0 +1,134 @@
+package org.ovirt.engine.core.dao.network;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import javax.inject.Inject;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ovirt.engine.core.common.businessentities.network.Network;
+import org.ovirt.engine.core.common.businessentities.network.VdsNetworkInterface;
+import org.ovirt.engine.core.common.utils.Pair;
+import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.dao.BaseDaoTestCase;
+import org.ovirt.engine.core.dao.FixturesTool;
+
+public class InterfaceSyncStatusDaoTest extends BaseDaoTestCase<InterfaceSyncStatusDao> {
+    @Inject
+    private InterfaceDao interfaceDao;
+
+    @Inject
+    private NetworkDao networkDao;
+
+    private VdsNetworkInterface engineIface;
+    private VdsNetworkInterface otherIface;
+
+    @BeforeEach
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        engineIface = interfaceDao.get(FixturesTool.VDS_NETWORK_INTERFACE);
+        otherIface = interfaceDao.get(FixturesTool.VDS_NETWORK_INTERFACE_WITHOUT_QOS);
+        dao.saveAll(Arrays.asList(new Pair<>(engineIface, true), new Pair<>(otherIface, false)),
+                dao.getGenerationsForCluster(FixturesTool.CLUSTER_RHEL6_ISCSI));
+    }
+
+    /**
+     * Ensures the saved statuses are returned for the cluster of the host
+     */
+    @Test
+    public void testGetAllForCluster() {
+        Map<Guid, Boolean> result = dao.getAllForCluster(FixturesTool.CLUSTER_RHEL6_ISCSI);
+
+        assertEquals(2, result.size());
+        assertEquals(true, result.get(engineIface.getId()));
+        assertEquals(false, result.get(otherIface.getId()));
+    }
+
+    /**
+     * Ensures no statuses are returned for a cluster without calculated statuses
+     */
+    @Test
+    public void testGetAllForOtherCluster() {
+        assertTrue(dao.getAllForCluster(FixturesTool.CLUSTER_NO_RUNNING_VMS).isEmpty());
+    }
+
+    /**
+     * Ensures a saved status is overwritten
+     */
+    @Test
+    public void testSaveExistingStatus() {
+        dao.saveAll(Collections.singletonList(new Pair<>(engineIface, false)),
+                dao.getGenerationsForCluster(FixturesTool.CLUSTER_RHEL6_ISCSI));
+
+        assertEquals(false, dao.getAllForCluster(FixturesTool.CLUSTER_RHEL6_ISCSI).get(engineIface.getId()));
+    }
+
+    /**
+     * Ensures a status calculated before its host was invalidated is not saved
+     */
+    @Test
+    public void testSaveStatusCalculatedBeforeInvalidation() {
+        Map<Guid, Long> generations = dao.getGenerationsForCluster(FixturesTool.CLUSTER_RHEL6_ISCSI);
+        otherIface.setMtu(otherIface.getMtu() + 1);
+        interfaceDao.updateInterfaceForVds(otherIface);
+
+        dao.saveAll(Collections.singletonList(new Pair<>(engineIface, true)), generations);
+
+        assertTrue(dao.getAllForCluster(FixturesTool.CLUSTER_RHEL6_ISCSI).isEmpty());
+    }
+
+    /**
+     * Ensures the generation of the host is incremented when its statuses are invalidated
+     */
+    @Test
+    public void testGenerationIncrementedOnInvalidation() {
+        long generation = dao.getGenerationsForCluster(FixturesTool.CLUSTER_RHEL6_ISCSI)
+                .getOrDefault(otherIface.getVdsId(), 0L);
+        otherIface.setMtu(otherIface.getMtu() + 1);
+        interfaceDao.updateInterfaceForVds(otherIface);
+
+        assertEquals(generation + 1,
+                (long) dao.getGenerationsForCluster(FixturesTool.CLUSTER_RHEL6_ISCSI).get(otherIface.getVdsId()));
+    }
+
+    /**
+     * Ensures the statuses of the interfaces carrying a network are invalidated when the network changes
+     */
+    @Test
+    public void testStatusInvalidatedOnNetworkUpdate() {
+        Network network = networkDao.get(FixturesTool.NETWORK_ENGINE);
+        network.setMtu(network.getMtu() + 1);
+        networkDao.update(network);
+
+        assertFalse(dao.getAllForCluster(FixturesTool.CLUSTER_RHEL6_ISCSI).containsKey(engineIface.getId()));
+    }
+
+    /**
+     * Ensures the statuses of the host are invalidated when one of its interfaces changes
+     */
+    @Test
+    public void testStatusInvalidatedOnInterfaceUpdate() {
+        otherIface.setMtu(otherIface.getMtu() + 1);
+        interfaceDao.updateInterfaceForVds(otherIface);
+
+        assertTrue(dao.getAllForCluster(FixturesTool.CLUSTER_RHEL6_ISCSI).isEmpty());
+    }
+
+    /**
+     * Ensures the statuses of the host are kept when an interface is saved without a change that affects them
+     */
+    @Test
+    public void testStatusKeptOnInterfaceSpeedUpdate() {
+        otherIface.setSpeed(otherIface.getSpeed() == null ? 1000 : otherIface.getSpeed() + 1);
+        interfaceDao.updateInterfaceForVds(otherIface);
+
+        assertEquals(2, dao.getAllForCluster(FixturesTool.CLUSTER_RHEL6_ISCSI).size());
+    }
+}
@@ -0,0 +1,71 @@
+package org.ovirt.engine.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.ovirt.engine.core.utils.OvfUtils;
+import org.ovirt.engine.core.utils.ovf.OvfSummary;
+import org.ovirt.engine.core.utils.ovf.xml.XmlDocument;
+import org.ovirt.engine.core.utils.ovf.xml.XmlNode;
+
+/**
+ * <p> Benchmarks reading the values which are needed to list an entity of an OVF store from its OVF: the disks, the
+ * origin and the operating system of the entity.</p>
+ * <p> The <b>document</b> benchmark parses the OVF into an {@link XmlDocument} and queries it, as the listing did
+ * before, while the <b>streaming</b> benchmark reads the values by a single pass of {@link OvfSummary}.<br/>
+ * The OVF is the OVF of a VM with a disk, a LUN and a snapshot with memory.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OvfSummaryBenchmark {
+
+    @Benchmark
+    public void document(BenchmarkState state, Blackhole blackhole) throws Exception {
+        XmlDocument xmlDocument = new XmlDocument(state.ovfData);
+        blackhole.consume(state.ovfUtils.isExternalVM(xmlDocument));
+        blackhole.consume(state.ovfUtils.fetchVmDisks(xmlDocument));
+        for (XmlNode section : xmlDocument.selectSingleNode("//*/Content").selectNodes("Section")) {
+            if ("ovf:OperatingSystemSection_Type".equals(section.attributes.get("xsi:type").getValue())) {
+                blackhole.consume(section.selectSingleNode("Description"));
+                break;
+            }
+        }
+    }
+
+    @Benchmark
+    public void streaming(BenchmarkState state, Blackhole blackhole) throws Exception {
+        OvfSummary ovfSummary = OvfSummary.read(state.ovfData);
+        blackhole.consume(ovfSummary.isExternalVm());
+        blackhole.consume(ovfSummary.getDiskIds());
+        blackhole.consume(ovfSummary.getOperatingSystem());
+    }
+
+    @State(Scope.Benchmark)
+    public static class BenchmarkState {
+
+        private String ovfData;
+        private OvfUtils ovfUtils;
+
+        @Setup
+        public void setup() throws IOException {
+            try (InputStream ovf = ClassLoader.getSystemResourceAsStream("vmOvfData.xml")) {
+                ovfData = new String(ovf.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            ovfUtils = new OvfUtils();
+        }
+    }
+}
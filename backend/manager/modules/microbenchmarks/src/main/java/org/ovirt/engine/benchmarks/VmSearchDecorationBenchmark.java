@@ -0,0 +1,166 @@
+package org.ovirt.engine.benchmarks;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.ovirt.engine.core.bll.CpuFlagsManagerHandler;
+import org.ovirt.engine.core.bll.LockMessagesMatchUtil;
+import org.ovirt.engine.core.bll.VmHandler;
+import org.ovirt.engine.core.bll.lock.InMemoryLockManager;
+import org.ovirt.engine.core.common.businessentities.VM;
+import org.ovirt.engine.core.common.config.Config;
+import org.ovirt.engine.core.common.config.ConfigValues;
+import org.ovirt.engine.core.common.config.IConfigUtilsInterface;
+import org.ovirt.engine.core.common.errors.EngineMessage;
+import org.ovirt.engine.core.common.locks.LockingGroup;
+import org.ovirt.engine.core.common.osinfo.OsRepository;
+import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.compat.Version;
+import org.ovirt.engine.core.utils.MemoizingSupplier;
+import org.ovirt.engine.core.utils.lock.EngineLock;
+import org.ovirt.engine.core.vdsbroker.ResourceManager;
+import org.ovirt.engine.core.vdsbroker.monitoring.VmStatsPolling;
+
+/**
+ * <p> Benchmarks the decoration of the VMs returned by a VM search with the data which is not loaded from the
+ * database, done by {@link VmHandler}.</p>
+ * <p> The <b>perVm</b> benchmark decorates each of the VMs on its own, as the search did before, while the
+ * <b>bulk</b> benchmark decorates the whole result set by {@link VmHandler#updateVmsRuntimeData}.<br/>
+ * The VMs are synthetic, with application lists, a share of them is locked, and the collaborators of
+ * {@link VmHandler} are in-memory instances, so only the decoration itself is measured.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class VmSearchDecorationBenchmark {
+
+    @Benchmark
+    public void perVm(BenchmarkState state, Blackhole blackhole) {
+        VmHandler vmHandler = state.vmHandler;
+        MemoizingSupplier<Function<String, Integer>> javaZoneIdToOffset =
+                vmHandler.getJavaZoneIdToOffsetFuncSupplier();
+        for (VM vm : state.vms) {
+            vmHandler.updateVmGuestAgentVersion(vm);
+            vmHandler.updateVmLock(vm);
+            vmHandler.updateOperationProgress(vm);
+            vmHandler.updateVmStatistics(vm);
+            vmHandler.updateConfiguredCpuVerb(vm);
+            vmHandler.updateIsDifferentTimeZone(vm, javaZoneIdToOffset);
+        }
+        blackhole.consume(state.vms);
+    }
+
+    @Benchmark
+    public void bulk(BenchmarkState state, Blackhole blackhole) {
+        state.vmHandler.updateVmsRuntimeData(state.vms);
+        blackhole.consume(state.vms);
+    }
+
+    @State(Scope.Benchmark)
+    public static class BenchmarkState {
+
+        private static final String APP_LIST =
+                "kernel-5.14.0-70.el9,qemu-guest-agent-6.2.0,xorg-x11-drv-qxl-0.1.5,ovirt-guest-agent-common-1.0.16";
+
+        @Param({ "10000" })
+        private int numberOfVms;
+
+        /** One of each this number of VMs is locked */
+        @Param({ "20" })
+        private int lockedVmsRatio;
+
+        private List<VM> vms;
+        private VmHandler vmHandler;
+        private IConfigUtilsInterface previousConfigUtils;
+
+        @Setup
+        public void setup() throws ReflectiveOperationException {
+            previousConfigUtils = Config.getConfigUtils();
+            Config.setConfigUtils(createConfig());
+
+            InMemoryLockManager lockManager = new InMemoryLockManager();
+            vmHandler = new VmHandler();
+            inject(vmHandler, "lockManager", lockManager);
+            inject(vmHandler, "resourceManager", new ResourceManager());
+            inject(vmHandler, "cpuFlagsManagerHandler", new CpuFlagsManagerHandler());
+            inject(vmHandler, "osRepository", createOsRepository());
+            inject(vmHandler, "vmStatsPolling", new VmStatsPolling());
+
+            vms = new ArrayList<>(numberOfVms);
+            for (int i = 0; i < numberOfVms; i++) {
+                VM vm = new VM();
+                vm.setId(Guid.newGuid());
+                vm.setAppList(APP_LIST);
+                vm.setVmOs(i % 3);
+                vm.setClusterCpuName("Intel Cascadelake Server Family");
+                vm.setClusterCompatibilityVersion(i % 2 == 0 ? Version.v4_6 : Version.v4_7);
+                vms.add(vm);
+
+                if (i % lockedVmsRatio == 0) {
+                    lockManager.acquireLock(new EngineLock(Collections.singletonMap(vm.getId().toString(),
+                            LockMessagesMatchUtil.makeLockingPair(LockingGroup.VM,
+                                    EngineMessage.ACTION_TYPE_FAILED_VM_IS_LOCKED))));
+                }
+            }
+        }
+
+        @TearDown
+        public void teardown() {
+            Config.setConfigUtils(previousConfigUtils);
+        }
+
+        private static void inject(Object target, String fieldName, Object value) throws ReflectiveOperationException {
+            Field field = target.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(target, value);
+        }
+
+        private static IConfigUtilsInterface createConfig() {
+            Map<ConfigValues, Object> values = new HashMap<>();
+            values.put(ConfigValues.AgentAppName, Arrays.asList("ovirt-guest-agent-common", "qemu-guest-agent"));
+            values.put(ConfigValues.SpiceDriverNameInGuest,
+                    Collections.singletonMap("linux", "xorg-x11-drv-qxl"));
+            values.put(ConfigValues.EventProcessingPoolSize, 10);
+            values.put(ConfigValues.EventPurgeTimeoutInHours, 3);
+            return (IConfigUtilsInterface) Proxy.newProxyInstance(IConfigUtilsInterface.class.getClassLoader(),
+                    new Class<?>[] { IConfigUtilsInterface.class },
+                    (proxy, method, args) -> "getValue".equals(method.getName()) ? values.get(args[0]) : null);
+        }
+
+        private static OsRepository createOsRepository() {
+            return (OsRepository) Proxy.newProxyInstance(OsRepository.class.getClassLoader(),
+                    new Class<?>[] { OsRepository.class },
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                        case "getOsFamily":
+                            return "Linux";
+                        case "isWindows":
+                            return false;
+                        default:
+                            return null;
+                        }
+                    });
+        }
+    }
+}
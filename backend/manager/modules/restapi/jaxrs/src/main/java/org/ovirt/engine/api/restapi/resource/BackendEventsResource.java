@@ -11,12 +11,15 @@ import org.ovirt.engine.api.resource.ActionResource;
 import org.ovirt.engine.api.resource.EventResource;
 import org.ovirt.engine.api.resource.EventsResource;
 import org.ovirt.engine.api.restapi.types.ExternalStatusMapper;
+import org.ovirt.engine.api.restapi.util.ParametersHelper;
+import org.ovirt.engine.api.restapi.util.QueryHelper;
 import org.ovirt.engine.core.common.action.ActionParametersBase;
 import org.ovirt.engine.core.common.action.ActionType;
 import org.ovirt.engine.core.common.action.AddExternalEventParameters;
 import org.ovirt.engine.core.common.businessentities.AuditLog;
 import org.ovirt.engine.core.common.interfaces.SearchType;
 import org.ovirt.engine.core.common.queries.GetAuditLogByIdParameters;
+import org.ovirt.engine.core.common.queries.GetAuditLogsAfterIdParameters;
 import org.ovirt.engine.core.common.queries.QueryParametersBase;
 import org.ovirt.engine.core.common.queries.QueryType;
 
@@ -24,6 +27,12 @@ public class BackendEventsResource
     extends AbstractBackendCollectionResource<Event, AuditLog>
     implements EventsResource {
 
+    /**
+     * The time to wait for events after the one given by the {@code from} parameter, when there are none yet. The
+     * request returns right away when too many clients wait for events already.
+     */
+    public static final String WAIT_PARAMETER = "wait";
+
     public BackendEventsResource() {
         super(Event.class, AuditLog.class);
     }
@@ -52,6 +61,16 @@ public class BackendEventsResource
     }
 
     private List<AuditLog> getBackendCollection() {
+        // clients following the events are served by the events kept in memory, unless they search for events
+        int from = ParametersHelper.getIntegerParameter(httpHeaders, uriInfo, FROM_CONSTRAINT_PARAMETER, -1, -1);
+        String search = ParametersHelper.getParameter(httpHeaders, uriInfo, QueryHelper.CONSTRAINT_PARAMETER);
+        if (from != -1 && search == null) {
+            int max = ParametersHelper.getIntegerParameter(httpHeaders, uriInfo, MAX, Integer.MAX_VALUE,
+                    Integer.MAX_VALUE);
+            int wait = ParametersHelper.getIntegerParameter(httpHeaders, uriInfo, WAIT_PARAMETER, 0, 0);
+            return getBackendCollection(QueryType.GetAuditLogsAfterId,
+                    new GetAuditLogsAfterIdParameters(from, max, wait));
+        }
         if (isFiltered()) {
             return getBackendCollection(QueryType.GetAllEventMessages, new QueryParametersBase(), SearchType.AuditLog);
         } else {
@@ -5,8 +5,11 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
@@ -25,6 +28,7 @@ import org.ovirt.engine.core.common.action.AddExternalEventParameters;
 import org.ovirt.engine.core.common.businessentities.AuditLog;
 import org.ovirt.engine.core.common.interfaces.SearchType;
 import org.ovirt.engine.core.common.queries.GetAuditLogByIdParameters;
+import org.ovirt.engine.core.common.queries.GetAuditLogsAfterIdParameters;
 import org.ovirt.engine.core.common.queries.QueryType;
 
 @MockitoSettings(strictness = Strictness.LENIENT)
@@ -125,6 +129,27 @@ public class BackendEventsResourceTest extends AbstractBackendCollectionResource
         collection.setUriInfo(uriInfo);
         verifyCollection(getCollection());
     }
+
+    @Test
+    public void testListFrom() throws Exception {
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put(AbstractBackendCollectionResource.FROM_CONSTRAINT_PARAMETER, "2");
+        parameters.put(BackendEventsResource.WAIT_PARAMETER, "5");
+        UriInfo uriInfo = addMatrixParameterExpectations(setUpBasicUriExpectations(), parameters);
+
+        List<AuditLog> entities = new ArrayList<>();
+        for (int i = 0; i < NAMES.length; i++) {
+            entities.add(getEntity(i));
+        }
+        setUpEntityQueryExpectations(QueryType.GetAuditLogsAfterId,
+                GetAuditLogsAfterIdParameters.class,
+                new String[] { "Id", "Max", "WaitSeconds" },
+                new Object[] { 2L, Integer.MAX_VALUE, 5 },
+                entities);
+        collection.setUriInfo(uriInfo);
+        verifyCollection(getCollection());
+    }
+
     @Override
     protected List<org.ovirt.engine.api.model.Event> getCollection() {
         return collection.list().getEvents();
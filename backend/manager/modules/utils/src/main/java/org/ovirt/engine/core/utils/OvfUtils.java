@@ -27,6 +27,7 @@ import org.ovirt.engine.core.common.osinfo.OsRepository;
 import org.ovirt.engine.core.compat.Guid;
 import org.ovirt.engine.core.utils.archivers.tar.TarInMemoryExport;
 import org.ovirt.engine.core.utils.ovf.OvfInfoFileConstants;
+import org.ovirt.engine.core.utils.ovf.OvfSummary;
 import org.ovirt.engine.core.utils.ovf.xml.XmlDocument;
 import org.ovirt.engine.core.utils.ovf.xml.XmlNode;
 import org.ovirt.engine.core.utils.ovf.xml.XmlNodeList;
@@ -149,7 +150,7 @@ public class OvfUtils {
                     while (snapshotIter.hasNext()) {
                         XmlNode memorySnapshot = snapshotIter.next().selectSingleNode("Memory");
                         if (memorySnapshot != null) {
-                            List<Guid> guids = Guid.createGuidListFromString(memorySnapshot.innerText);
+                            List<Guid> guids = Guid.createGuidListFromString(memorySnapshot.getInnerText());
                             memoryDiskIds.add(guids.get(2));
                             memoryDiskIds.add(guids.get(4));
                         }
@@ -206,9 +207,9 @@ public class OvfUtils {
         Guid entityId = getEntityId(fileEntry.getKey());
         String vmName = getEntityName(ovfData);
         try {
-            XmlDocument xmlDocument = new XmlDocument(ovfData);
-            archType = getOsSection(xmlDocument);
-            if (isExternalVM(xmlDocument)) {
+            OvfSummary ovfSummary = OvfSummary.read(ovfData);
+            archType = getArchitecture(ovfSummary);
+            if (ovfSummary.isExternalVm()) {
                 log.warn(
                         "Retrieve an external OVF Entity from storage domain ID '{}' for entity ID '{}'," +
                                 " entity name '{}' and VM Type of '{}'." +
@@ -219,7 +220,7 @@ public class OvfUtils {
                         vmType.name());
                 return;
             }
-            updateUnregisteredDisksWithVMs(unregisteredDisks, entityId, vmName, xmlDocument);
+            updateUnregisteredDisksWithVMs(unregisteredDisks, entityId, vmName, ovfSummary.getDiskIds());
         } catch (Exception e) {
             log.error("Could not parse VM's disks or architecture, file name: {}, content size: {}, error: {}",
                     fileEntry.getKey(),
@@ -261,11 +262,7 @@ public class OvfUtils {
     public static Guid fetchLeaseDomainId(String ovfData) {
         Guid leaseDomainId = null;
         try {
-            XmlDocument xmlDocument = new XmlDocument(ovfData);
-            XmlNode xmlNode = xmlDocument.selectSingleNode("//*/Content").selectSingleNode("LeaseDomainId");
-            if (xmlNode != null) {
-                leaseDomainId = Guid.createGuidFromString(xmlNode.innerText);
-            }
+            leaseDomainId = OvfSummary.read(ovfData).getLeaseDomainId();
         } catch (Exception e) {
             log.debug("failed to parse a given ovf configuration: \n" + ovfData, e);
         }
@@ -276,7 +273,14 @@ public class OvfUtils {
             Guid entityId,
             String vmName,
             XmlDocument xmlDocument) {
-        for (Guid diskId : fetchVmDisks(xmlDocument)) {
+        updateUnregisteredDisksWithVMs(unregisteredDisks, entityId, vmName, fetchVmDisks(xmlDocument));
+    }
+
+    public void updateUnregisteredDisksWithVMs(List<UnregisteredDisk> unregisteredDisks,
+            Guid entityId,
+            String vmName,
+            Set<Guid> diskIds) {
+        for (Guid diskId : diskIds) {
             UnregisteredDisk unregisterDisk = unregisteredDisks.stream()
                     .filter(unregrDisk -> diskId.equals(unregrDisk.getDiskId()))
                     .findAny()
@@ -290,30 +294,14 @@ public class OvfUtils {
         }
     }
 
-    private ArchitectureType getOsSection(XmlDocument xmlDocument) {
-        ArchitectureType archType = null;
-        XmlNode content = xmlDocument.selectSingleNode("//*/Content");
-        XmlNodeList nodeList = content.selectNodes("Section");
-        XmlNode selectedSection = null;
-        if (nodeList != null) {
-            for (XmlNode section : nodeList) {
-                String value = section.attributes.get("xsi:type").getValue();
-
-                if (value.equals("ovf:OperatingSystemSection_Type")) {
-                    selectedSection = section;
-                    break;
-                }
-            }
-            if (selectedSection != null) {
-                XmlNode node = selectedSection.selectSingleNode("Description");
-                if (node != null) {
-                    int osId = osRepository.getOsIdByUniqueName(node.innerText);
-                    archType = osRepository.getArchitectureFromOS(osId);
-                } else {
-                    archType = ArchitectureType.undefined;
-                }
-            }
+    private ArchitectureType getArchitecture(OvfSummary ovfSummary) {
+        if (!ovfSummary.hasOperatingSystemSection()) {
+            return null;
+        }
+        if (ovfSummary.getOperatingSystem() == null) {
+            return ArchitectureType.undefined;
         }
-        return archType;
+        int osId = osRepository.getOsIdByUniqueName(ovfSummary.getOperatingSystem());
+        return osRepository.getArchitectureFromOS(osId);
     }
 }
@@ -0,0 +1,113 @@
+package org.ovirt.engine.core.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.ovirt.engine.core.common.businessentities.storage.DiskImage;
+import org.ovirt.engine.core.compat.Guid;
+
+/**
+ * The volumes of a disk, ordered from the base volume to the leaf volume.
+ * <p>
+ * The chain is built in linear time by indexing the volumes by their image id and by their parent id, instead of
+ * searching the list for the parent or the child of each volume. When the volumes do not form a single chain (a
+ * volume is missing, or two volumes share the same parent) the chain ends at the last volume that could be linked,
+ * and the rest of the volumes are available by {@link #getUnlinkedImages()}.
+ */
+public class VolumeChain {
+    private final List<DiskImage> images;
+    private final List<DiskImage> unlinkedImages;
+    private final Map<Guid, DiskImage> imagesById;
+    private final Map<Guid, DiskImage> childrenByParentId;
+
+    private VolumeChain(Collection<DiskImage> volumes) {
+        imagesById = new HashMap<>();
+        childrenByParentId = new HashMap<>();
+        for (DiskImage volume : volumes) {
+            imagesById.putIfAbsent(volume.getImageId(), volume);
+            childrenByParentId.putIfAbsent(volume.getParentId(), volume);
+        }
+
+        images = new ArrayList<>(volumes.size());
+        Set<DiskImage> linked = Collections.newSetFromMap(new IdentityHashMap<>());
+        DiskImage current = volumes.stream()
+                .filter(volume -> !imagesById.containsKey(volume.getParentId()))
+                .findFirst()
+                .orElse(null);
+        while (current != null && linked.add(current)) {
+            images.add(current);
+            current = childrenByParentId.get(current.getImageId());
+        }
+
+        unlinkedImages = new ArrayList<>(volumes.size() - images.size());
+        for (DiskImage volume : volumes) {
+            if (!linked.contains(volume)) {
+                unlinkedImages.add(volume);
+            }
+        }
+    }
+
+    /**
+     * Builds the chain of the given volumes, all belonging to the same disk, in any order.
+     */
+    public static VolumeChain of(Collection<DiskImage> volumes) {
+        return new VolumeChain(volumes);
+    }
+
+    /**
+     * @return the linked volumes, from the base volume to the leaf volume
+     */
+    public List<DiskImage> getImages() {
+        return Collections.unmodifiableList(images);
+    }
+
+    /**
+     * @return the volumes that could not be linked to the chain, in their original order
+     */
+    public List<DiskImage> getUnlinkedImages() {
+        return Collections.unmodifiableList(unlinkedImages);
+    }
+
+    /**
+     * @return whether all the volumes were linked into a single chain
+     */
+    public boolean isComplete() {
+        return unlinkedImages.isEmpty();
+    }
+
+    public DiskImage getBase() {
+        return images.isEmpty() ? null : images.get(0);
+    }
+
+    public DiskImage getLeaf() {
+        return images.isEmpty() ? null : images.get(images.size() - 1);
+    }
+
+    public DiskImage get(Guid imageId) {
+        return imagesById.get(imageId);
+    }
+
+    public boolean contains(Guid imageId) {
+        return imagesById.containsKey(imageId);
+    }
+
+    /**
+     * @return the parent of the given volume, or {@code null} if the parent is not part of the chain
+     */
+    public DiskImage getParent(DiskImage volume) {
+        return imagesById.get(volume.getParentId());
+    }
+
+    /**
+     * @return the child of the given volume, or {@code null} if the given volume is the leaf
+     */
+    public DiskImage getChild(DiskImage volume) {
+        return childrenByParentId.get(volume.getImageId());
+    }
+}
@@ -1,5 +1,7 @@
 package org.ovirt.engine.core.utils.lock;
 
+import java.util.Map;
+
 import org.ovirt.engine.core.common.locks.LockInfo;
 
 /**
@@ -43,6 +45,13 @@ public interface LockManager {
      */
     LockInfo getLockInfo(String key);
 
+    /**
+     * Query for all the locks of a given locking group at once
+     * @param group - the name of the locking group the locks belong to
+     * @return the locks of the group, mapped by the key of the locked object without the group name
+     */
+    Map<String, LockInfo> getLockInfos(String group);
+
     /**
      * <pre>
      * Query whether an exclusive lock is present in the {@link LockManager}.
@@ -271,7 +271,7 @@ public abstract class OvfOvaReader extends OvfReader {
 
     protected void readDiskImageItem(XmlNode node) {
         XmlNode hostResourceNode = selectSingleNode(node, "rasd:HostResource", _xmlNS);
-        String hostResourceText = hostResourceNode.innerText;
+        String hostResourceText = hostResourceNode.getInnerText();
         String diskId = hostResourceText.substring(hostResourceText.lastIndexOf('/') + 1);
         DiskImage image = _images.stream()
                 .filter(d -> d.getDescription().equals(diskId))
@@ -297,7 +297,7 @@ public abstract class OvfOvaReader extends OvfReader {
     protected void updateSingleNic(XmlNode node, VmNetworkInterface iface, int nicIdx) {
         super.updateSingleNic(node, iface, nicIdx);
         XmlNode macNode = selectSingleNode(node, "rasd:MACAddress", _xmlNS);
-        iface.setMacAddress(macNode != null ? macNode.innerText : null);
+        iface.setMacAddress(macNode != null ? macNode.getInnerText() : null);
     }
 
     @Override
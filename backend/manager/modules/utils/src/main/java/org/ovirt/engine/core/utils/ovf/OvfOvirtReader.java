@@ -154,7 +154,7 @@ public abstract class OvfOvirtReader extends OvfReader {
             candidateNode = selectSingleNode(node, "rasd:InstanceID", _xmlNS);
         }
 
-        return candidateNode.innerText;
+        return candidateNode.getInnerText();
     }
 
     protected void readSnapshotsSection(@SuppressWarnings("unused") XmlNode section) {
@@ -180,7 +180,7 @@ public abstract class OvfOvirtReader extends OvfReader {
         Map<String, Set<String>> userToRoles = new HashMap<>();
         for (XmlNode node : list) {
             String userDomain =
-                    selectSingleNode(node, OvfProperties.USER_DOMAIN, _xmlNS).innerText;
+                    selectSingleNode(node, OvfProperties.USER_DOMAIN, _xmlNS).getInnerText();
             DbUser dbUser = new DbUser();
             dbUser.setLoginName(userDomain.split("@")[0]);
             dbUser.setDomain(userDomain.split("@")[1]);
@@ -189,7 +189,7 @@ public abstract class OvfOvirtReader extends OvfReader {
             XmlNodeList roleNodes = selectNodes(rolesElement, OvfProperties.ROLE_NAME);
             Set<String> roleNames = new HashSet<>();
             for (XmlNode roleNode : roleNodes) {
-                String roleName = roleNode.innerText;
+                String roleName = roleNode.getInnerText();
                 roleNames.add(roleName);
             }
             userToRoles.put(dbUser.getLoginName(), roleNames);
@@ -204,7 +204,7 @@ public abstract class OvfOvirtReader extends OvfReader {
         XmlNodeList list = selectNodes(section, OvfProperties.VM_EXTERNAL_DATA_ITEM);
         for (XmlNode node : list) {
             String kind = node.attributes.get(OvfProperties.VM_EXTERNAL_DATA_KIND).getValue();
-            String data = selectSingleNode(node, OvfProperties.VM_EXTERNAL_DATA_CONTENT).innerText;
+            String data = selectSingleNode(node, OvfProperties.VM_EXTERNAL_DATA_CONTENT).getInnerText();
             vmExternalData.put(VmExternalDataKind.fromExternal(kind), new SecretValue<String>(data));
         }
     }
@@ -324,8 +324,8 @@ public abstract class OvfOvirtReader extends OvfReader {
         fullEntityOvfData.getVmBase().setId(new Guid(section.attributes.get("ovf:id").getValue()));
         XmlNode node = selectSingleNode(section, "Description");
         if (node != null) {
-            int osId = osRepository.getOsIdByUniqueName(node.innerText);
-            if ("Alma Linux 8+".equals(node.innerText)) {
+            int osId = osRepository.getOsIdByUniqueName(node.getInnerText());
+            if ("Alma Linux 8+".equals(node.getInnerText())) {
                 // map AlmaLinux 8+ that was dropped to Other Linux (kernel 4.x)
                 osId = 33;
             }
@@ -349,9 +349,9 @@ public abstract class OvfOvirtReader extends OvfReader {
 
         image.setId(OvfParser.getImageGroupIdFromImageFile(selectSingleNode(node,
                 "rasd:HostResource",
-                _xmlNS).innerText));
-        if (StringUtils.isNotEmpty(selectSingleNode(node, "rasd:Parent", _xmlNS).innerText)) {
-            image.setParentId(new Guid(selectSingleNode(node, "rasd:Parent", _xmlNS).innerText));
+                _xmlNS).getInnerText()));
+        if (StringUtils.isNotEmpty(selectSingleNode(node, "rasd:Parent", _xmlNS).getInnerText())) {
+            image.setParentId(new Guid(selectSingleNode(node, "rasd:Parent", _xmlNS).getInnerText()));
         }
 
         super.readDiskImageItem(node, image);
@@ -38,8 +38,8 @@ public class OvfParser {
         String id2 = "2";
 
         XmlNode node = _document.selectSingleNode("//*/Content/TemplateId");
-        if (!StringUtils.isBlank(node.innerText)) {
-            id1 = node.innerText;
+        if (!StringUtils.isBlank(node.getInnerText())) {
+            id1 = node.getInnerText();
         }
 
         XmlNodeList list = _document.selectNodes("//*/Content/Section");
@@ -263,29 +263,30 @@ public abstract class OvfReader implements IOvfBuilder {
         VmDevice vmDevice = new VmDevice();
         vmDevice.setId(new VmDeviceId(deviceId, vmBase.getId()));
         if (selectSingleNode(node, VMD_ADDRESS, _xmlNS) != null
-                && !StringUtils.isEmpty(selectSingleNode(node, VMD_ADDRESS, _xmlNS).innerText)) {
-            vmDevice.setAddress(String.valueOf(selectSingleNode(node, VMD_ADDRESS, _xmlNS).innerText));
+                && !StringUtils.isEmpty(selectSingleNode(node, VMD_ADDRESS, _xmlNS).getInnerText())) {
+            vmDevice.setAddress(String.valueOf(selectSingleNode(node, VMD_ADDRESS, _xmlNS).getInnerText()));
         } else {
             vmDevice.setAddress("");
         }
         if (selectSingleNode(node, VMD_ALIAS, _xmlNS) != null
-                && !StringUtils.isEmpty(selectSingleNode(node, VMD_ALIAS, _xmlNS).innerText)) {
-            vmDevice.setAlias(String.valueOf(selectSingleNode(node, VMD_ALIAS, _xmlNS).innerText));
+                && !StringUtils.isEmpty(selectSingleNode(node, VMD_ALIAS, _xmlNS).getInnerText())) {
+            vmDevice.setAlias(String.valueOf(selectSingleNode(node, VMD_ALIAS, _xmlNS).getInnerText()));
         } else {
             vmDevice.setAlias("");
         }
         XmlNode specParamsNode = selectSingleNode(node, VMD_SPEC_PARAMS, _xmlNS);
         if (specParamsNode != null
-                && !StringUtils.isEmpty(specParamsNode.innerText)) {
+                && !StringUtils.isEmpty(specParamsNode.getInnerText())) {
             vmDevice.setSpecParams(getMapNode(specParamsNode));
         } else {
             // Empty map
             vmDevice.setSpecParams(Collections.emptyMap());
         }
         if (selectSingleNode(node, VMD_TYPE, _xmlNS) != null
-                && !StringUtils.isEmpty(selectSingleNode(node, VMD_TYPE, _xmlNS).innerText)) {
+                && !StringUtils.isEmpty(selectSingleNode(node, VMD_TYPE, _xmlNS).getInnerText())) {
             vmDevice.setType(
-                    VmDeviceGeneralType.forValue(String.valueOf(selectSingleNode(node, VMD_TYPE, _xmlNS).innerText)));
+                    VmDeviceGeneralType.forValue(
+                            String.valueOf(selectSingleNode(node, VMD_TYPE, _xmlNS).getInnerText())));
         } else {
             int resourceType = getResourceType(node, VMD_RESOURCE_TYPE);
             vmDevice.setType(VmDeviceGeneralType.forValue(VmDeviceType.getoVirtDevice(resourceType)));
@@ -294,34 +295,35 @@ public abstract class OvfReader implements IOvfBuilder {
             hasBalloonDevice = true;
         }
         if (selectSingleNode(node, VMD_DEVICE, _xmlNS) != null
-                && !StringUtils.isEmpty(selectSingleNode(node, VMD_DEVICE, _xmlNS).innerText)) {
-            vmDevice.setDevice(String.valueOf(selectSingleNode(node, VMD_DEVICE, _xmlNS).innerText));
+                && !StringUtils.isEmpty(selectSingleNode(node, VMD_DEVICE, _xmlNS).getInnerText())) {
+            vmDevice.setDevice(String.valueOf(selectSingleNode(node, VMD_DEVICE, _xmlNS).getInnerText()));
         } else {
             setDeviceByResource(node, vmDevice);
         }
         if (selectSingleNode(node, VMD_IS_PLUGGED, _xmlNS) != null
-                && !StringUtils.isEmpty(selectSingleNode(node, VMD_IS_PLUGGED, _xmlNS).innerText)) {
-            vmDevice.setPlugged(Boolean.valueOf(selectSingleNode(node, VMD_IS_PLUGGED, _xmlNS).innerText));
+                && !StringUtils.isEmpty(selectSingleNode(node, VMD_IS_PLUGGED, _xmlNS).getInnerText())) {
+            vmDevice.setPlugged(Boolean.valueOf(selectSingleNode(node, VMD_IS_PLUGGED, _xmlNS).getInnerText()));
         } else {
             vmDevice.setPlugged(Boolean.TRUE);
         }
         if (selectSingleNode(node, VMD_IS_READONLY, _xmlNS) != null
-                && !StringUtils.isEmpty(selectSingleNode(node, VMD_IS_READONLY, _xmlNS).innerText)) {
-            vmDevice.setReadOnly(Boolean.valueOf(selectSingleNode(node, VMD_IS_READONLY, _xmlNS).innerText));
+                && !StringUtils.isEmpty(selectSingleNode(node, VMD_IS_READONLY, _xmlNS).getInnerText())) {
+            vmDevice.setReadOnly(Boolean.valueOf(selectSingleNode(node, VMD_IS_READONLY, _xmlNS).getInnerText()));
         } else {
             vmDevice.setReadOnly(Boolean.FALSE);
         }
         if (selectSingleNode(node, VMD_CUSTOM_PROP, _xmlNS) != null
-                && StringUtils.isNotEmpty(selectSingleNode(node, VMD_CUSTOM_PROP, _xmlNS).innerText)) {
+                && StringUtils.isNotEmpty(selectSingleNode(node, VMD_CUSTOM_PROP, _xmlNS).getInnerText())) {
             vmDevice.setCustomProperties(DevicePropertiesUtils.getInstance().convertProperties(
-                    String.valueOf(selectSingleNode(node, VMD_CUSTOM_PROP, _xmlNS).innerText)));
+                    String.valueOf(selectSingleNode(node, VMD_CUSTOM_PROP, _xmlNS).getInnerText())));
         } else {
             vmDevice.setCustomProperties(null);
         }
 
         if (selectSingleNode(node, VMD_SNAPSHOT_PROP, _xmlNS) != null
-                && StringUtils.isNotEmpty(selectSingleNode(node, VMD_SNAPSHOT_PROP, _xmlNS).innerText)) {
-            vmDevice.setSnapshotId(new Guid(String.valueOf(selectSingleNode(node, VMD_CUSTOM_PROP, _xmlNS).innerText)));
+                && StringUtils.isNotEmpty(selectSingleNode(node, VMD_SNAPSHOT_PROP, _xmlNS).getInnerText())) {
+            vmDevice.setSnapshotId(
+                    new Guid(String.valueOf(selectSingleNode(node, VMD_CUSTOM_PROP, _xmlNS).getInnerText())));
         }
 
         return vmDevice;
@@ -349,7 +351,7 @@ public abstract class OvfReader implements IOvfBuilder {
 
         int nicIdx = 0;
         for (XmlNode item : selectNodes(section, "Item")) {
-            String resourceType = selectSingleNode(item, "rasd:ResourceType", _xmlNS).innerText;
+            String resourceType = selectSingleNode(item, "rasd:ResourceType", _xmlNS).getInnerText();
             resourceType = adjustHardwareResourceType(resourceType);
             switch (resourceType) {
             case OvfHardware.CPU:
@@ -395,7 +397,7 @@ public abstract class OvfReader implements IOvfBuilder {
 
             case OvfHardware.OTHER:
                 final VmDeviceGeneralType type = VmDeviceGeneralType
-                        .forValue(String.valueOf(selectSingleNode(item, VMD_TYPE, _xmlNS).innerText));
+                        .forValue(String.valueOf(selectSingleNode(item, VMD_TYPE, _xmlNS).getInnerText()));
                 final VmDevice vmDevice = type == VmDeviceGeneralType.TPM
                         ? readManagedVmDevice(item, readDeviceId(item))
                         : readOtherHardwareItem(item, type);
@@ -417,41 +419,43 @@ public abstract class OvfReader implements IOvfBuilder {
 
     protected void readDiskImageItem(XmlNode node, DiskImage image) {
         XmlNode templateNode = selectSingleNode(node, "rasd:Template", _xmlNS);
-        if (templateNode != null && StringUtils.isNotEmpty(templateNode.innerText)) {
-            image.setImageTemplateId(new Guid(templateNode.innerText));
+        if (templateNode != null && StringUtils.isNotEmpty(templateNode.getInnerText())) {
+            image.setImageTemplateId(new Guid(templateNode.getInnerText()));
         }
 
         XmlNode applicationsNode = selectSingleNode(node, "rasd:ApplicationList", _xmlNS);
         if (applicationsNode != null) {
-            image.setAppList(applicationsNode.innerText);
+            image.setAppList(applicationsNode.getInnerText());
         }
 
         XmlNodeList storageNodes = selectNodes(node, "rasd:StorageId", _xmlNS);
         if (storageNodes.iterator().hasNext()) {
             for (XmlNode storageIdNode : storageNodes) {
-                if (storageIdNode != null && StringUtils.isNotEmpty(storageIdNode.innerText)) {
+                if (storageIdNode != null && StringUtils.isNotEmpty(storageIdNode.getInnerText())) {
                     if (image.getStorageIds() == null) {
                         image.setStorageIds(new LinkedList<>());
                     }
-                    image.getStorageIds().add(new Guid(storageIdNode.innerText));
+                    image.getStorageIds().add(new Guid(storageIdNode.getInnerText()));
                 }
             }
         }
 
         XmlNode storagePoolNode = selectSingleNode(node, "rasd:StoragePoolId", _xmlNS);
-        if (storagePoolNode != null && StringUtils.isNotEmpty(storagePoolNode.innerText)) {
-            image.setStoragePoolId(new Guid(storagePoolNode.innerText));
+        if (storagePoolNode != null && StringUtils.isNotEmpty(storagePoolNode.getInnerText())) {
+            image.setStoragePoolId(new Guid(storagePoolNode.getInnerText()));
         }
 
         XmlNode creationDateNode = selectSingleNode(node, "rasd:CreationDate", _xmlNS);
-        Date creationDate = creationDateNode != null ? OvfParser.utcDateStringToLocalDate(creationDateNode.innerText)
+        Date creationDate = creationDateNode != null
+                ? OvfParser.utcDateStringToLocalDate(creationDateNode.getInnerText())
                 : null;
         if (creationDate != null) {
             image.setCreationDate(creationDate);
         }
 
         XmlNode lastModifiedNode = selectSingleNode(node, "rasd:LastModified", _xmlNS);
-        Date lastModified = lastModifiedNode != null ? OvfParser.utcDateStringToLocalDate(lastModifiedNode.innerText)
+        Date lastModified = lastModifiedNode != null
+                ? OvfParser.utcDateStringToLocalDate(lastModifiedNode.getInnerText())
                 : null;
         if (lastModified != null) {
             image.setLastModified(lastModified);
@@ -459,7 +463,7 @@ public abstract class OvfReader implements IOvfBuilder {
 
         XmlNode lastModifiedDateNode = selectSingleNode(node, "rasd:last_modified_date", _xmlNS);
         Date last_modified_date = lastModifiedDateNode != null ?
-                OvfParser.utcDateStringToLocalDate(lastModifiedDateNode.innerText) : null;
+                OvfParser.utcDateStringToLocalDate(lastModifiedDateNode.getInnerText()) : null;
         if (last_modified_date != null) {
             image.setLastModifiedDate(last_modified_date);
         }
@@ -470,32 +474,32 @@ public abstract class OvfReader implements IOvfBuilder {
 
     protected void readMonitorItem(XmlNode node) {
         vmBase.setNumOfMonitors(
-                Integer.parseInt(selectSingleNode(node, "rasd:VirtualQuantity", _xmlNS).innerText));
+                Integer.parseInt(selectSingleNode(node, "rasd:VirtualQuantity", _xmlNS).getInnerText()));
 
         readManagedVmDevice(node, readDeviceId(node));
     }
 
     protected void readCpuItem(XmlNode node) {
         XmlNode sockets = selectSingleNode(node, "rasd:num_of_sockets", _xmlNS);
-        if (sockets == null || StringUtils.isEmpty(sockets.innerText)) {
+        if (sockets == null || StringUtils.isEmpty(sockets.getInnerText())) {
             sockets = selectSingleNode(node, "rasd:VirtualQuantity", _xmlNS);
         }
-        vmBase.setNumOfSockets(Integer.parseInt(sockets.innerText));
+        vmBase.setNumOfSockets(Integer.parseInt(sockets.getInnerText()));
 
         XmlNode cpuPerSocket = selectSingleNode(node, "rasd:cpu_per_socket", _xmlNS);
-        if (cpuPerSocket != null && StringUtils.isNotEmpty(cpuPerSocket.innerText)) {
-            vmBase.setCpuPerSocket(Integer.parseInt(cpuPerSocket.innerText));
+        if (cpuPerSocket != null && StringUtils.isNotEmpty(cpuPerSocket.getInnerText())) {
+            vmBase.setCpuPerSocket(Integer.parseInt(cpuPerSocket.getInnerText()));
         }
 
         XmlNode threadsPerCpu = selectSingleNode(node, "rasd:threads_per_cpu", _xmlNS);
-        if (threadsPerCpu != null && StringUtils.isNotEmpty(threadsPerCpu.innerText)) {
-            vmBase.setThreadsPerCpu(Integer.parseInt(threadsPerCpu.innerText));
+        if (threadsPerCpu != null && StringUtils.isNotEmpty(threadsPerCpu.getInnerText())) {
+            vmBase.setThreadsPerCpu(Integer.parseInt(threadsPerCpu.getInnerText()));
         }
     }
 
     private void readMemoryItem(XmlNode node) {
         vmBase.setMemSizeMb(
-                Integer.parseInt(selectSingleNode(node, "rasd:VirtualQuantity", _xmlNS).innerText));
+                Integer.parseInt(selectSingleNode(node, "rasd:VirtualQuantity", _xmlNS).getInnerText()));
     }
 
     private void readCdItem(XmlNode node) {
@@ -510,14 +514,15 @@ public abstract class OvfReader implements IOvfBuilder {
 
     private void readUsbItem(XmlNode node) {
         XmlNode usbPolicy = selectSingleNode(node, "rasd:UsbPolicy", _xmlNS);
-        vmBase.setUsbPolicy(usbPolicy != null ? UsbPolicy.forStringValue(usbPolicy.innerText) : UsbPolicy.ENABLED_NATIVE);
+        vmBase.setUsbPolicy(
+                usbPolicy != null ? UsbPolicy.forStringValue(usbPolicy.getInnerText()) : UsbPolicy.ENABLED_NATIVE);
     }
 
     private VmDevice readOtherHardwareItem(XmlNode node, VmDeviceGeneralType type) {
         boolean managed = false;
         if (selectSingleNode(node, VMD_TYPE, _xmlNS) != null
-                && StringUtils.isNotEmpty(selectSingleNode(node, VMD_TYPE, _xmlNS).innerText)) {
-            String device = selectSingleNode(node, VMD_DEVICE, _xmlNS).innerText;
+                && StringUtils.isNotEmpty(selectSingleNode(node, VMD_TYPE, _xmlNS).getInnerText())) {
+            String device = selectSingleNode(node, VMD_DEVICE, _xmlNS).getInnerText();
             // special devices are treated as managed devices but still have the OTHER OVF ResourceType
             managed = OvfReaderWriterUtils.isSpecialDevice(device, type, true);
         }
@@ -528,8 +533,8 @@ public abstract class OvfReader implements IOvfBuilder {
 
     private Guid readDeviceId(XmlNode node) {
         if (selectSingleNode(node, VMD_ID, _xmlNS) != null
-                && StringUtils.isNotEmpty(selectSingleNode(node, VMD_TYPE, _xmlNS).innerText)) {
-            return new Guid(String.valueOf(selectSingleNode(node, VMD_ID, _xmlNS).innerText));
+                && StringUtils.isNotEmpty(selectSingleNode(node, VMD_TYPE, _xmlNS).getInnerText())) {
+            return new Guid(String.valueOf(selectSingleNode(node, VMD_ID, _xmlNS).getInnerText()));
         }
         return Guid.newGuid();
     }
@@ -557,13 +562,13 @@ public abstract class OvfReader implements IOvfBuilder {
 
         XmlNode node = selectSingleNode(content, CUSTOM_COMPATIBILITY_VERSION);
         if (node != null) {
-            vmBase.setCustomCompatibilityVersion(new Version(node.innerText));
+            vmBase.setCustomCompatibilityVersion(new Version(node.getInnerText()));
         }
 
         Version originVersion = new Version(getVersion()); // the originating ENGINE version
         node = selectSingleNode(content, CLUSTER_COMPATIBILITY_VERSION);
         if (node != null) {
-            originVersion = new Version(node.innerText);
+            originVersion = new Version(node.getInnerText());
         }
         vmBase.setClusterCompatibilityVersionOrigin(originVersion);
 
@@ -715,8 +720,8 @@ public abstract class OvfReader implements IOvfBuilder {
     }
 
     private void acceptNode(Consumer<String> then, Runnable orElse, XmlNode node) {
-        if (node != null && StringUtils.isNotEmpty(node.innerText)) {
-            then.accept(node.innerText);
+        if (node != null && StringUtils.isNotEmpty(node.getInnerText())) {
+            then.accept(node.getInnerText());
             return;
         }
         if (orElse != null) {
@@ -727,8 +732,8 @@ public abstract class OvfReader implements IOvfBuilder {
     private void readDedicatedHostsList(XmlNode content) {
         vmBase.setDedicatedVmForVdsList(new LinkedList<>()); // initialize to empty list
         for (XmlNode hostNode : selectNodes(content, DEDICATED_VM_FOR_VDS)) {
-            if (hostNode != null && StringUtils.isNotEmpty(hostNode.innerText)) {
-                vmBase.getDedicatedVmForVdsList().add(Guid.createGuidFromString(hostNode.innerText));
+            if (hostNode != null && StringUtils.isNotEmpty(hostNode.getInnerText())) {
+                vmBase.getDedicatedVmForVdsList().add(Guid.createGuidFromString(hostNode.getInnerText()));
             }
         }
     }
@@ -757,7 +762,7 @@ public abstract class OvfReader implements IOvfBuilder {
         if (virtioScsiMultiQueuesNode == null) {
             return;
         }
-        boolean isVirtioMultiQueuesEnabled = Boolean.parseBoolean(virtioScsiMultiQueuesNode.innerText);
+        boolean isVirtioMultiQueuesEnabled = Boolean.parseBoolean(virtioScsiMultiQueuesNode.getInnerText());
         if (isVirtioMultiQueuesEnabled) {
             XmlAttribute virtioScsiMultiQueuesNodeNumberAttribute =
                     virtioScsiMultiQueuesNode.attributes.get("ovf:queues");
@@ -816,33 +821,33 @@ public abstract class OvfReader implements IOvfBuilder {
     }
 
     protected void updateSingleNic(XmlNode node, VmNetworkInterface iface, int nicIdx) {
-        String networkName = selectSingleNode(node, VMD_CONNECTION, _xmlNS).innerText;
+        String networkName = selectSingleNode(node, VMD_CONNECTION, _xmlNS).getInnerText();
         iface.setRemoteNetworkName(networkName);
         iface.setNetworkName(StringUtils.defaultIfEmpty(networkName, null));
 
         XmlNode vnicProfileNameNode = selectSingleNode(node, VMD_VNIC_PROFILE_NAME, _xmlNS);
         iface.setVnicProfileName(vnicProfileNameNode == null ? null
-                : StringUtils.defaultIfEmpty(vnicProfileNameNode.innerText, null));
+                : StringUtils.defaultIfEmpty(vnicProfileNameNode.getInnerText(), null));
 
         XmlNode linkedNode = selectSingleNode(node, VMD_LINKED, _xmlNS);
-        iface.setLinked(linkedNode == null ? true : Boolean.valueOf(linkedNode.innerText));
+        iface.setLinked(linkedNode == null ? true : Boolean.valueOf(linkedNode.getInnerText()));
 
         XmlNode nameNode = selectSingleNode(node, VMD_NAME, _xmlNS);
-        iface.setName(nameNode != null ? nameNode.innerText : String.format("nic%d", nicIdx));
+        iface.setName(nameNode != null ? nameNode.getInnerText() : String.format("nic%d", nicIdx));
 
         XmlNode resourceSubTypeNode = selectSingleNode(node, "rasd:ResourceSubType", _xmlNS);
         iface.setType(getVmInterfaceType(resourceSubTypeNode));
 
         XmlNode speed = selectSingleNode(node, "rasd:speed", _xmlNS);
-        iface.setSpeed(speed != null ? Integer.parseInt(speed.innerText) : VmInterfaceType.forValue(iface.getType())
-                .getSpeed());
+        iface.setSpeed(speed != null ? Integer.parseInt(speed.getInnerText())
+                : VmInterfaceType.forValue(iface.getType()).getSpeed());
 
     }
 
     protected abstract void buildFileReference();
 
     private int getVmInterfaceType(XmlNode resourceSubTypeNode) {
-        String resourceSubType = resourceSubTypeNode != null ? resourceSubTypeNode.innerText : null;
+        String resourceSubType = resourceSubTypeNode != null ? resourceSubTypeNode.getInnerText() : null;
         if (StringUtils.isNotEmpty(resourceSubType)) {
             try {
                 return Integer.parseInt(resourceSubType);
@@ -859,14 +864,14 @@ public abstract class OvfReader implements IOvfBuilder {
 
     private int getResourceType(XmlNode node, String resource) {
         if (selectSingleNode(node, resource, _xmlNS) != null
-                && !StringUtils.isEmpty(selectSingleNode(node, resource, _xmlNS).innerText)) {
-            return Integer.parseInt(selectSingleNode(node, resource, _xmlNS).innerText);
+                && !StringUtils.isEmpty(selectSingleNode(node, resource, _xmlNS).getInnerText())) {
+            return Integer.parseInt(selectSingleNode(node, resource, _xmlNS).getInnerText());
         }
         return -1;
     }
 
     private void setDeviceByResource(XmlNode node, VmDevice vmDevice) {
-        String resourceType = selectSingleNode(node, VMD_RESOURCE_TYPE, _xmlNS).innerText;
+        String resourceType = selectSingleNode(node, VMD_RESOURCE_TYPE, _xmlNS).getInnerText();
         XmlNode resourceSubTypeNode = selectSingleNode(node, VMD_SUB_RESOURCE_TYPE, _xmlNS);
         if (resourceSubTypeNode == null) {
             // we need special handling for Monitor to define it as vnc or spice
@@ -875,10 +880,10 @@ public abstract class OvfReader implements IOvfBuilder {
                 if (selectSingleNode(node, VMD_VIRTUAL_QUANTITY, _xmlNS) != null
                         && !StringUtils.isEmpty(selectSingleNode(node,
                                 VMD_VIRTUAL_QUANTITY,
-                                _xmlNS).innerText)) {
+                                _xmlNS).getInnerText())) {
                     int virtualQuantity =
                             Integer.parseInt(
-                                    selectSingleNode(node, VMD_VIRTUAL_QUANTITY, _xmlNS).innerText);
+                                    selectSingleNode(node, VMD_VIRTUAL_QUANTITY, _xmlNS).getInnerText());
                     if (virtualQuantity > 1) {
                         vmDevice.setDevice(VmDeviceType.QXL.getName());
                     } else {
@@ -990,15 +995,15 @@ public abstract class OvfReader implements IOvfBuilder {
             VmNumaNode vmNumaNode = new VmNumaNode();
             XmlNode id = selectSingleNode(node, "id", _xmlNS);
             if (id != null) {
-                vmNumaNode.setId(new Guid(id.innerText));
+                vmNumaNode.setId(new Guid(id.getInnerText()));
             }
-            vmNumaNode.setIndex(Integer.valueOf(selectSingleNode(node, NUMA_INDEX, _xmlNS).innerText));
+            vmNumaNode.setIndex(Integer.valueOf(selectSingleNode(node, NUMA_INDEX, _xmlNS).getInnerText()));
             vmNumaNode.setCpuIds(readIntegerList(node, NUMA_CPU_ID_LIST));
             vmNumaNode.setVdsNumaNodeList(readNUMAPinning ? readIntegerList(node, NUMA_VDS_NUMA_LIST) : new ArrayList<>());
-            vmNumaNode.setMemTotal(Long.valueOf(selectSingleNode(node, NUMA_TOTAL_MEMORY, _xmlNS).innerText));
+            vmNumaNode.setMemTotal(Long.valueOf(selectSingleNode(node, NUMA_TOTAL_MEMORY, _xmlNS).getInnerText()));
             XmlNode numaTuneMode = selectSingleNode(node, NUMA_TUNE_MODE, _xmlNS);
             if (numaTuneMode != null) {
-                vmNumaNode.setNumaTuneMode(NumaTuneMode.forValue(numaTuneMode.innerText));
+                vmNumaNode.setNumaTuneMode(NumaTuneMode.forValue(numaTuneMode.getInnerText()));
             }
             vmNumaNodes.add(vmNumaNode);
         }
@@ -1009,7 +1014,7 @@ public abstract class OvfReader implements IOvfBuilder {
         List<Integer> integerList = new ArrayList<>();
         XmlNode xmlNode = selectSingleNode(node, label, _xmlNS);
         if (xmlNode != null) {
-            String valueList = xmlNode.innerText;
+            String valueList = xmlNode.getInnerText();
             if (valueList != null && !valueList.isEmpty()) {
                 String[] values = valueList.split(",");
                 for (String value : values) {
@@ -0,0 +1,282 @@
+package org.ovirt.engine.core.utils.ovf;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.commons.lang.StringUtils;
+import org.ovirt.engine.core.common.businessentities.OriginType;
+import org.ovirt.engine.core.compat.Guid;
+
+/**
+ * The values of an OVF which are needed to list the entities of an OVF store: the disks, the origin, the operating
+ * system and the lease domain of the entity.
+ * <p>
+ * Importing a storage domain lists all the OVFs of its OVF stores before any entity is registered, so the values are
+ * read by a single streaming pass over each OVF, which stops once the References and Content elements were read,
+ * instead of parsing the whole OVF into a document and querying it. The values are looked up like the document
+ * queries of {@link org.ovirt.engine.core.utils.OvfUtils} look them up, and converted only once they are requested,
+ * so a malformed value fails the same callers the document queries failed.
+ */
+public class OvfSummary {
+
+    private static final int GUID_LENGTH = Guid.Empty.toString().length();
+
+    private static final String REFERENCES = "References";
+    private static final String FILE = "File";
+    private static final String CONTENT = "Content";
+    private static final String ORIGIN = "Origin";
+    private static final String LEASE_DOMAIN_ID = "LeaseDomainId";
+    private static final String SECTION = "Section";
+    private static final String SNAPSHOT = "Snapshot";
+    private static final String MEMORY = "Memory";
+    private static final String DESCRIPTION = "Description";
+    private static final String SNAPSHOTS_SECTION_TYPE = "ovf:SnapshotsSection_Type";
+    private static final String OPERATING_SYSTEM_SECTION_TYPE = "ovf:OperatingSystemSection_Type";
+
+    /** Creating the factory looks up its implementation, so it is done once per thread */
+    private static final ThreadLocal<XMLInputFactory> inputFactory = ThreadLocal.withInitial(() -> {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    });
+
+    private final Set<Guid> fileDiskIds = new HashSet<>();
+    private final List<String> memoryVolumes = new ArrayList<>();
+    private String origin;
+    private boolean operatingSystemSection;
+    private String operatingSystem;
+    private String leaseDomainId;
+
+    private OvfSummary() {
+    }
+
+    /**
+     * Reads the summary of the given OVF.
+     *
+     * @throws XMLStreamException if the OVF is not well formed
+     * @throws IllegalArgumentException if the OVF has no References or no Content element
+     */
+    public static OvfSummary read(String ovfData) throws XMLStreamException {
+        OvfSummary summary = new OvfSummary();
+        XMLStreamReader reader = inputFactory.get().createXMLStreamReader(new StringReader(ovfData));
+        try {
+            summary.readDocument(reader);
+        } finally {
+            reader.close();
+        }
+        return summary;
+    }
+
+    /**
+     * @return the ids of the disks referenced by the OVF, including the disks of the memory of its snapshots
+     */
+    public Set<Guid> getDiskIds() {
+        Set<Guid> diskIds = new HashSet<>(fileDiskIds);
+        diskIds.addAll(getMemoryDiskIds());
+        return diskIds;
+    }
+
+    public Set<Guid> getMemoryDiskIds() {
+        Set<Guid> memoryDiskIds = new HashSet<>();
+        for (String memoryVolume : memoryVolumes) {
+            List<Guid> guids = Guid.createGuidListFromString(memoryVolume);
+            memoryDiskIds.add(guids.get(2));
+            memoryDiskIds.add(guids.get(4));
+        }
+        return memoryDiskIds;
+    }
+
+    public boolean isExternalVm() {
+        return origin != null && OriginType.EXTERNAL == OriginType.forValue(Integer.valueOf(origin));
+    }
+
+    public boolean hasOperatingSystemSection() {
+        return operatingSystemSection;
+    }
+
+    /**
+     * @return the unique name of the operating system, or {@code null} if the OVF has no operating system section or
+     *         the section has no description
+     */
+    public String getOperatingSystem() {
+        return operatingSystem;
+    }
+
+    public Guid getLeaseDomainId() {
+        return leaseDomainId != null ? Guid.createGuidFromString(leaseDomainId) : null;
+    }
+
+    private void readDocument(XMLStreamReader reader) throws XMLStreamException {
+        boolean referencesRead = false;
+        boolean contentRead = false;
+        int depth = 0;
+        while (!(referencesRead && contentRead) && reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            } else if (event == XMLStreamConstants.START_ELEMENT) {
+                // the elements are looked up below the root element, the first one of each is read
+                if (depth > 0 && !referencesRead && isElement(reader, REFERENCES)) {
+                    readReferences(reader);
+                    referencesRead = true;
+                } else if (depth > 0 && !contentRead && isElement(reader, CONTENT)) {
+                    readContent(reader);
+                    contentRead = true;
+                } else {
+                    depth++;
+                }
+            }
+        }
+        if (!referencesRead || !contentRead) {
+            throw new IllegalArgumentException("The OVF has no " + (referencesRead ? CONTENT : REFERENCES));
+        }
+    }
+
+    private void readReferences(XMLStreamReader reader) throws XMLStreamException {
+        while (nextChild(reader)) {
+            if (isElement(reader, FILE)) {
+                // we assume that all files in OVFs that are generated by oVirt are disks
+                String href = getAttribute(reader, "ovf", "href");
+                fileDiskIds.add(Guid.createGuidFromString(href.substring(0, GUID_LENGTH)));
+            }
+            skipElement(reader);
+        }
+    }
+
+    private void readContent(XMLStreamReader reader) throws XMLStreamException {
+        boolean leaseDomainIdRead = false;
+        while (nextChild(reader)) {
+            if (origin == null && isElement(reader, ORIGIN)) {
+                origin = StringUtils.defaultIfEmpty(readText(reader), null);
+            } else if (!leaseDomainIdRead && isElement(reader, LEASE_DOMAIN_ID)) {
+                leaseDomainId = readText(reader);
+                leaseDomainIdRead = true;
+            } else if (isElement(reader, SECTION)) {
+                String type = getAttribute(reader, "xsi", "type");
+                if (SNAPSHOTS_SECTION_TYPE.equals(type)) {
+                    readSnapshotsSection(reader);
+                } else if (!operatingSystemSection && OPERATING_SYSTEM_SECTION_TYPE.equals(type)) {
+                    readOperatingSystemSection(reader);
+                } else {
+                    skipElement(reader);
+                }
+            } else {
+                skipElement(reader);
+            }
+        }
+    }
+
+    private void readSnapshotsSection(XMLStreamReader reader) throws XMLStreamException {
+        while (nextChild(reader)) {
+            if (isElement(reader, SNAPSHOT)) {
+                readSnapshot(reader);
+            } else {
+                skipElement(reader);
+            }
+        }
+    }
+
+    private void readSnapshot(XMLStreamReader reader) throws XMLStreamException {
+        boolean memoryRead = false;
+        while (nextChild(reader)) {
+            if (!memoryRead && isElement(reader, MEMORY)) {
+                memoryVolumes.add(readText(reader));
+                memoryRead = true;
+            } else {
+                skipElement(reader);
+            }
+        }
+    }
+
+    private void readOperatingSystemSection(XMLStreamReader reader) throws XMLStreamException {
+        operatingSystemSection = true;
+        while (nextChild(reader)) {
+            if (operatingSystem == null && isElement(reader, DESCRIPTION)) {
+                operatingSystem = readText(reader);
+            } else {
+                skipElement(reader);
+            }
+        }
+    }
+
+    /**
+     * Moves to the next child of the current element, or to the end of the current element if it has no more children.
+     *
+     * @return {@code true} if the reader is at the start of a child element
+     */
+    private static boolean nextChild(XMLStreamReader reader) throws XMLStreamException {
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                return true;
+            }
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    /**
+     * Reads the text of the current element and of all its descendants, like the text content of a document node.
+     */
+    private static String readText(XMLStreamReader reader) throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+        int depth = 1;
+        while (depth > 0) {
+            switch (reader.next()) {
+            case XMLStreamConstants.START_ELEMENT:
+                depth++;
+                break;
+            case XMLStreamConstants.END_ELEMENT:
+                depth--;
+                break;
+            case XMLStreamConstants.CHARACTERS:
+            case XMLStreamConstants.CDATA:
+            case XMLStreamConstants.SPACE:
+                text.append(reader.getText());
+                break;
+            default:
+                break;
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Matches the elements the unqualified names of the document queries match, which are not in any namespace.
+     */
+    private static boolean isElement(XMLStreamReader reader, String localName) {
+        return localName.equals(reader.getLocalName()) && StringUtils.isEmpty(reader.getNamespaceURI());
+    }
+
+    private static String getAttribute(XMLStreamReader reader, String prefix, String localName) {
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            if (localName.equals(reader.getAttributeLocalName(i)) && prefix.equals(reader.getAttributePrefix(i))) {
+                return reader.getAttributeValue(i);
+            }
+        }
+        return null;
+    }
+}
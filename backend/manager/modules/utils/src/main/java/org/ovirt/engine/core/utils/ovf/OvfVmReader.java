@@ -5,6 +5,8 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.lang.StringUtils;
@@ -45,7 +47,7 @@ public class OvfVmReader extends OvfOvirtReader {
     protected void updateSingleNic(XmlNode node, VmNetworkInterface iface, int nicIdx) {
         super.updateSingleNic(node, iface, nicIdx);
         XmlNode macAddress = selectSingleNode(node, "rasd:MACAddress", _xmlNS);
-        iface.setMacAddress(macAddress != null ? macAddress.innerText : null);
+        iface.setMacAddress(macAddress != null ? macAddress.getInnerText() : null);
     }
 
     @Override
@@ -92,12 +94,12 @@ public class OvfVmReader extends OvfOvirtReader {
         consumeReadProperty(content, APPLICATIONS_LIST, val -> _vm.setAppList(val), () -> {
             // if no app list in VM, get it from one of the leafs
             if (_images != null && _images.size() > 0) {
-                int root = getFirstImage(_images, _images.get(0));
-                if (root != -1) {
-                    for (int i = 0; i < _images.size(); i++) {
-                        int x = getNextImage(_images, _images.get(i));
-                        if (x == -1) {
-                            _vm.setAppList(_images.get(i).getAppList());
+                Set<Guid> imageIds = _images.stream().map(DiskImage::getImageId).collect(Collectors.toSet());
+                if (imageIds.contains(_images.get(0).getParentId())) {
+                    Set<Guid> parentIds = _images.stream().map(DiskImage::getParentId).collect(Collectors.toSet());
+                    for (DiskImage image : _images) {
+                        if (!parentIds.contains(image.getImageId())) {
+                            _vm.setAppList(image.getAppList());
                         }
                     }
                 } else {
@@ -117,32 +119,12 @@ public class OvfVmReader extends OvfOvirtReader {
         return VM_DEFAULT_DISPLAY_TYPE;
     }
 
-    // function returns the index of the image that has no parent
-    private static int getFirstImage(List<DiskImage> images, DiskImage curr) {
-        for (int i = 0; i < images.size(); i++) {
-            if (curr.getParentId().equals(images.get(i).getImageId())) {
-                return i;
-            }
-        }
-        return -1;
-    }
-
-    // function returns the index of image that is it's child
-    private static int getNextImage(List<DiskImage> images, DiskImage curr) {
-        for (int i = 0; i < images.size(); i++) {
-            if (images.get(i).getParentId().equals(curr.getImageId())) {
-                return i;
-            }
-        }
-        return -1;
-    }
-
     private String readEventLogValue(XmlNode content, String name) {
         StringBuilder fullNameSB = new StringBuilder(EXPORT_ONLY_PREFIX);
         fullNameSB.append(name);
         XmlNode node = selectSingleNode(content, fullNameSB.toString());
         if (node != null) {
-            return node.innerText;
+            return node.getInnerText();
         }
         return null;
     }
@@ -163,18 +145,18 @@ public class OvfVmReader extends OvfOvirtReader {
             Snapshot snapshot = new Snapshot(vmConfiguration != null);
             snapshot.setId(new Guid(node.attributes.get("ovf:id").getValue()));
             snapshot.setVmId(_vm.getId());
-            snapshot.setType(SnapshotType.valueOf(selectSingleNode(node, "Type", _xmlNS).innerText));
+            snapshot.setType(SnapshotType.valueOf(selectSingleNode(node, "Type", _xmlNS).getInnerText()));
             snapshot.setStatus(SnapshotStatus.OK);
-            snapshot.setDescription(selectSingleNode(node, "Description", _xmlNS).innerText);
+            snapshot.setDescription(selectSingleNode(node, "Description", _xmlNS).getInnerText());
             XmlNode memory = selectSingleNode(node, "Memory", _xmlNS);
             if (memory != null) {
-                List<Guid> guids = Guid.createGuidListFromString(memory.innerText);
+                List<Guid> guids = Guid.createGuidListFromString(memory.getInnerText());
                 snapshot.setMemoryDiskId(guids.get(2));
                 snapshot.setMetadataDiskId(guids.get(4));
             }
 
             final Date creationDate =
-                    OvfParser.utcDateStringToLocalDate(selectSingleNode(node, "CreationDate", _xmlNS).innerText);
+                    OvfParser.utcDateStringToLocalDate(selectSingleNode(node, "CreationDate", _xmlNS).getInnerText());
             if (creationDate != null) {
                 snapshot.setCreationDate(creationDate);
             }
@@ -182,11 +164,11 @@ public class OvfVmReader extends OvfOvirtReader {
             setDiskImageActiveBySnapshotType(snapshotIdToDiskImagesMap, snapshot);
 
             snapshot.setVmConfiguration(vmConfiguration == null
-                    ? null : new String(Base64.decodeBase64(vmConfiguration.innerText)));
+                    ? null : new String(Base64.decodeBase64(vmConfiguration.getInnerText())));
 
             XmlNode appList = selectSingleNode(node, "ApplicationList", _xmlNS);
             if (appList != null) {
-                snapshot.setAppList(appList.innerText);
+                snapshot.setAppList(appList.getInnerText());
             }
 
             snapshots.add(snapshot);
@@ -210,7 +192,7 @@ public class OvfVmReader extends OvfOvirtReader {
         XmlNodeList list = selectNodes(section, OvfProperties.AFFINITY_GROUP);
         List<AffinityGroup> affinityGroups = new ArrayList<>();
         for (XmlNode node : list) {
-            String affinityGroupName = node.attributes.get("ovf:name").innerText;
+            String affinityGroupName = node.attributes.get("ovf:name").getInnerText();
             AffinityGroup affinityGroup = new AffinityGroup();
             affinityGroup.setName(affinityGroupName);
             affinityGroups.add(affinityGroup);
@@ -224,7 +206,7 @@ public class OvfVmReader extends OvfOvirtReader {
         XmlNodeList list = selectNodes(section, OvfProperties.AFFINITY_LABEL);
         List<Label> affinityLabels = new ArrayList<>();
         for (XmlNode node : list) {
-            String affinityLabelName = node.attributes.get("ovf:name").innerText;
+            String affinityLabelName = node.attributes.get("ovf:name").getInnerText();
             LabelBuilder builder = new LabelBuilder();
             Label label = builder.name(affinityLabelName).build();
             affinityLabels.add(label);
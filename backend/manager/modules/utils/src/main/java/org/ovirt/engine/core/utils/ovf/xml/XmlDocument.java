@@ -5,14 +5,13 @@ import java.io.StringWriter;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
-import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
-import javax.xml.xpath.XPathFactory;
 
 import org.ovirt.engine.core.uutils.xml.SecureDocumentBuilderFactory;
 import org.w3c.dom.Document;
@@ -23,8 +22,21 @@ import org.xml.sax.InputSource;
 
 public class XmlDocument {
 
+    /**
+     * The builders are reused by the documents parsed by the same thread, as creating the factory of the builders
+     * looks up its implementation.
+     */
+    private static final ThreadLocal<DocumentBuilder> documentBuilder = ThreadLocal.withInitial(() -> {
+        DocumentBuilderFactory fact = SecureDocumentBuilderFactory.newDocumentBuilderFactory();
+        fact.setNamespaceAware(true);
+        try {
+            return fact.newDocumentBuilder();
+        } catch (ParserConfigurationException e) {
+            throw new RuntimeException("Failed to initialize xml parser: ", e);
+        }
+    });
+
     private String outerXml;
-    public XmlNode[] childNodes;
 
     private Document doc;
 
@@ -37,65 +49,32 @@ public class XmlDocument {
 
     private void loadXml(String ovfstring) throws Exception {
         // load doc
-        DocumentBuilderFactory fact = SecureDocumentBuilderFactory.newDocumentBuilderFactory();
-        fact.setNamespaceAware(true);
-        DocumentBuilder builder = fact.newDocumentBuilder();
-        doc = builder.parse(new InputSource(new StringReader(ovfstring)));
-
-        // initialize all the child nodes
-        NodeList list = doc.getElementsByTagName("*");
-        childNodes = new XmlNode[list.getLength()];
-        for (int i = 0; i < list.getLength(); i++) {
-            childNodes[i] = new XmlNode(list.item(i));
+        DocumentBuilder builder = documentBuilder.get();
+        try {
+            doc = builder.parse(new InputSource(new StringReader(ovfstring)));
+        } finally {
+            builder.reset();
         }
 
         outerXml = ovfstring;
     }
 
     public XmlNode selectSingleNode(String string) {
-        try {
-            XPathFactory factory = XPathFactory.newInstance();
-            XPath xPath = factory.newXPath();
-            Object o = xPath.evaluate(string, doc, XPathConstants.NODE);
-            return o != null ? new XmlNode((Node) o) : null;
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to evaluate xpath: " + string, e);
-        }
+        Object o = XmlXPath.evaluate(string, doc, null, XPathConstants.NODE);
+        return o != null ? new XmlNode((Node) o) : null;
     }
 
     public XmlNode selectSingleNode(String string, XmlNamespaceManager _xmlns) {
-        try {
-            XPathFactory factory = XPathFactory.newInstance();
-            XPath xPath = factory.newXPath();
-            xPath.setNamespaceContext(_xmlns);
-            Object o = xPath.evaluate(string, doc, XPathConstants.NODE);
-            return o != null ? new XmlNode((Node) o) : null;
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to evaluate xpath: " + string, e);
-        }
+        Object o = XmlXPath.evaluate(string, doc, _xmlns, XPathConstants.NODE);
+        return o != null ? new XmlNode((Node) o) : null;
     }
 
     public XmlNodeList selectNodes(String string) {
-        try {
-            XPathFactory factory = XPathFactory.newInstance();
-            XPath xPath = factory.newXPath();
-            Object o = xPath.evaluate(string, doc, XPathConstants.NODESET);
-            return new XmlNodeList((NodeList) o);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to evaluate xpath: " + string, e);
-        }
+        return new XmlNodeList((NodeList) XmlXPath.evaluate(string, doc, null, XPathConstants.NODESET));
     }
 
     public XmlNodeList selectNodes(String string, XmlNamespaceManager _xmlns) {
-        try {
-            XPathFactory factory = XPathFactory.newInstance();
-            XPath xPath = factory.newXPath();
-            xPath.setNamespaceContext(_xmlns);
-            Object o = xPath.evaluate(string, doc, XPathConstants.NODESET);
-            return new XmlNodeList((NodeList) o);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to evaluate xpath: " + string, e);
-        }
+        return new XmlNodeList((NodeList) XmlXPath.evaluate(string, doc, _xmlns, XPathConstants.NODESET));
     }
 
     public Element createElement(String name) {
@@ -1,69 +1,48 @@
 package org.ovirt.engine.core.utils.ovf.xml;
 
-import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
-import javax.xml.xpath.XPathFactory;
 
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
 public class XmlNode {
 
-    public String innerText;
     public XmlAttributeCollection attributes;
     protected Node node;
+    private String innerText;
 
     public XmlNode(Node node) {
         this.node = node;
-        this.innerText = node.getTextContent();
         attributes = new XmlAttributeCollection(node.getAttributes());
+    }
 
+    /**
+     * The text content of the node and its descendants. It is evaluated on first use, as most of the nodes are only
+     * traversed and the text of an element that contains other elements is the text of its whole subtree.
+     */
+    public String getInnerText() {
+        if (innerText == null) {
+            innerText = node.getTextContent();
+        }
+        return innerText;
     }
 
     public XmlNode selectSingleNode(String string, XmlNamespaceManager _xmlns) {
-        try {
-            XPathFactory factory = XPathFactory.newInstance();
-            XPath xPath = factory.newXPath();
-            xPath.setNamespaceContext(_xmlns);
-            Object o = xPath.evaluate(string, node, XPathConstants.NODE);
-            return o != null ? new XmlNode((Node) o) : null;
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to evaluate xpath: " + string, e);
-        }
+        Object o = XmlXPath.evaluate(string, node, _xmlns, XPathConstants.NODE);
+        return o != null ? new XmlNode((Node) o) : null;
     }
 
     public XmlNode selectSingleNode(String string) {
-        try {
-            XPathFactory factory = XPathFactory.newInstance();
-            XPath xPath = factory.newXPath();
-            Object o = xPath.evaluate(string, node, XPathConstants.NODE);
-            return o != null ? new XmlNode((Node) o) : null;
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to evaluate xpath: " + string, e);
-        }
+        Object o = XmlXPath.evaluate(string, node, null, XPathConstants.NODE);
+        return o != null ? new XmlNode((Node) o) : null;
     }
 
     public XmlNodeList selectNodes(String string) {
-        try {
-            XPathFactory factory = XPathFactory.newInstance();
-            XPath xPath = factory.newXPath();
-            Object o = xPath.evaluate(string, node, XPathConstants.NODESET);
-            return new XmlNodeList((NodeList) o);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to evaluate xpath: " + string, e);
-        }
+        return new XmlNodeList((NodeList) XmlXPath.evaluate(string, node, null, XPathConstants.NODESET));
     }
 
     public XmlNodeList selectNodes(String string, XmlNamespaceManager xmlns) {
-        try {
-            XPathFactory factory = XPathFactory.newInstance();
-            XPath xPath = factory.newXPath();
-            xPath.setNamespaceContext(xmlns);
-            Object o = xPath.evaluate(string, node, XPathConstants.NODESET);
-            return new XmlNodeList((NodeList) o);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to evaluate xpath: " + string, e);
-        }
+        return new XmlNodeList((NodeList) XmlXPath.evaluate(string, node, xmlns, XPathConstants.NODESET));
     }
 
     public NodeList getChildNodes() {
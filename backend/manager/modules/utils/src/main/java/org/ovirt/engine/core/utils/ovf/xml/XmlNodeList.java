@@ -1,8 +1,7 @@
 package org.ovirt.engine.core.utils.ovf.xml;
 
 import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.NoSuchElementException;
 
 import org.w3c.dom.NodeList;
 
@@ -16,10 +15,21 @@ public class XmlNodeList implements Iterable<XmlNode> {
 
     @Override
     public Iterator<XmlNode> iterator() {
-        List<XmlNode> list = new LinkedList<>();
-        for (int i = 0; i < nodeList.getLength(); i++) {
-            list.add(new XmlNode(nodeList.item(i)));
-        }
-        return list.iterator();
+        return new Iterator<XmlNode>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < nodeList.getLength();
+            }
+
+            @Override
+            public XmlNode next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return new XmlNode(nodeList.item(index++));
+            }
+        };
     }
 }
@@ -10,14 +10,17 @@ import javax.xml.stream.XMLStreamWriter;
 
 public class XmlTextWriter {
 
+    /** Creating the factory looks up its implementation, so it is done once per thread */
+    private static final ThreadLocal<XMLOutputFactory> outputFactory =
+            ThreadLocal.withInitial(XMLOutputFactory::newInstance);
+
     private XMLStreamWriter writer;
     private StringWriter stream;
 
     public XmlTextWriter() {
         stream = new StringWriter();
         try {
-            XMLOutputFactory factory = XMLOutputFactory.newInstance();
-            writer = factory.createXMLStreamWriter(stream);
+            writer = outputFactory.get().createXMLStreamWriter(stream);
             writer.writeStartDocument("UTF-8", "1.0");
         } catch (Exception e) {
             throw new RuntimeException("Failed to initialize xml writer: ", e);
@@ -0,0 +1,32 @@
+package org.ovirt.engine.core.utils.ovf.xml;
+
+import javax.xml.namespace.QName;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathFactory;
+
+/**
+ * Evaluates the XPath expressions of the XML wrappers.
+ * <p>
+ * Looking up an {@link XPathFactory} implementation is much more expensive than evaluating a simple expression, and
+ * the readers evaluate dozens of expressions per OVF, so the factory is created once per thread (the factories are
+ * not thread safe).
+ */
+final class XmlXPath {
+
+    private static final ThreadLocal<XPathFactory> xPathFactory = ThreadLocal.withInitial(XPathFactory::newInstance);
+
+    private XmlXPath() {
+    }
+
+    static Object evaluate(String expression, Object item, XmlNamespaceManager xmlns, QName returnType) {
+        try {
+            XPath xPath = xPathFactory.get().newXPath();
+            if (xmlns != null) {
+                xPath.setNamespaceContext(xmlns);
+            }
+            return xPath.evaluate(expression, item, returnType);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to evaluate xpath: " + expression, e);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package org.ovirt.engine.core.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.ovirt.engine.core.common.businessentities.storage.DiskImage;
+import org.ovirt.engine.core.compat.Guid;
+
+public class VolumeChainTest {
+
+    @Test
+    public void emptyChain() {
+        VolumeChain chain = VolumeChain.of(Collections.emptyList());
+
+        assertTrue(chain.getImages().isEmpty());
+        assertTrue(chain.isComplete());
+        assertNull(chain.getBase());
+        assertNull(chain.getLeaf());
+    }
+
+    @Test
+    public void unorderedVolumesAreSortedFromBaseToLeaf() {
+        List<DiskImage> volumes = createChain(Guid.Empty, 5);
+        List<DiskImage> shuffled = new ArrayList<>(volumes);
+        Collections.reverse(shuffled);
+        Collections.swap(shuffled, 1, 3);
+
+        VolumeChain chain = VolumeChain.of(shuffled);
+
+        assertEquals(volumes, chain.getImages());
+        assertTrue(chain.isComplete());
+        assertSame(volumes.get(0), chain.getBase());
+        assertSame(volumes.get(4), chain.getLeaf());
+        assertSame(volumes.get(1), chain.getParent(volumes.get(2)));
+        assertSame(volumes.get(3), chain.getChild(volumes.get(2)));
+        assertNull(chain.getParent(volumes.get(0)));
+        assertNull(chain.getChild(volumes.get(4)));
+        assertSame(volumes.get(2), chain.get(volumes.get(2).getImageId()));
+    }
+
+    @Test
+    public void chainBasedOnTemplate() {
+        List<DiskImage> volumes = createChain(Guid.newGuid(), 3);
+
+        VolumeChain chain = VolumeChain.of(volumes);
+
+        assertEquals(volumes, chain.getImages());
+        assertFalse(chain.contains(volumes.get(0).getParentId()));
+    }
+
+    @Test
+    public void volumesAfterMissingVolumeAreUnlinked() {
+        List<DiskImage> volumes = createChain(Guid.Empty, 4);
+        List<DiskImage> broken = new ArrayList<>(volumes);
+        broken.remove(2);
+
+        VolumeChain chain = VolumeChain.of(broken);
+
+        assertFalse(chain.isComplete());
+        assertEquals(Arrays.asList(volumes.get(0), volumes.get(1)), chain.getImages());
+        assertEquals(Collections.singletonList(volumes.get(3)), chain.getUnlinkedImages());
+    }
+
+    private static List<DiskImage> createChain(Guid baseParentId, int length) {
+        Guid diskId = Guid.newGuid();
+        List<DiskImage> volumes = new ArrayList<>();
+        Guid parentId = baseParentId;
+        for (int i = 0; i < length; i++) {
+            DiskImage volume = new DiskImage();
+            volume.setId(diskId);
+            volume.setImageId(Guid.newGuid());
+            volume.setParentId(parentId);
+            volumes.add(volume);
+            parentId = volume.getImageId();
+        }
+        return volumes;
+    }
+}
@@ -0,0 +1,74 @@
+package org.ovirt.engine.core.utils.ovf.xml;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class XmlDocumentTest {
+
+    private static final String OVF_URI = "http://schemas.dmtf.org/ovf/envelope/1/";
+
+    private static final String XML = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+            + "<ovf:Envelope xmlns:ovf=\"" + OVF_URI + "\">"
+            + "<Content ovf:id=\"out\"><Name>vm1</Name><Item>a</Item><Item>b</Item></Content>"
+            + "</ovf:Envelope>";
+
+    @Test
+    public void selectNodes() throws Exception {
+        XmlDocument document = new XmlDocument(XML);
+
+        List<String> items = new ArrayList<>();
+        document.selectNodes("//*/Content/Item").forEach(node -> items.add(node.getInnerText()));
+
+        assertEquals(List.of("a", "b"), items);
+        assertEquals("vm1", document.selectSingleNode("//*/Content/Name").getInnerText());
+        assertEquals("vm1ab", document.selectSingleNode("//*/Content").getInnerText());
+        assertNull(document.selectSingleNode("//*/Content/Description"));
+    }
+
+    @Test
+    public void selectNodesWithNamespace() throws Exception {
+        XmlNamespaceManager xmlns = new XmlNamespaceManager();
+        xmlns.addNamespace("ovf", OVF_URI);
+        XmlNode content = new XmlDocument(XML).selectSingleNode("//*/Content");
+
+        assertEquals("out", content.attributes.get("ovf:id").getValue());
+        assertEquals("vm1", content.selectSingleNode("Name", xmlns).getInnerText());
+        assertEquals(1, count(new XmlDocument(XML).selectNodes("ovf:Envelope", xmlns)));
+    }
+
+    @Test
+    public void documentIsParsedAfterInvalidDocument() throws Exception {
+        assertThrows(Exception.class, () -> new XmlDocument("<Envelope>"));
+
+        assertEquals("vm1", new XmlDocument(XML).selectSingleNode("//*/Content/Name").getInnerText());
+    }
+
+    @Test
+    public void writerOutputIsParsed() throws Exception {
+        XmlTextWriter writer = new XmlTextWriter();
+        writer.setPrefix("ovf", OVF_URI);
+        writer.writeStartElement(OVF_URI, "Envelope");
+        writer.writeNamespace("ovf", OVF_URI);
+        writer.writeStartElement("Content");
+        writer.writeElement("Name", "vm<1>");
+        writer.writeEndElement();
+
+        XmlDocument document = new XmlDocument(writer.getStringXML());
+
+        assertEquals("vm<1>", document.selectSingleNode("//*/Content/Name").getInnerText());
+    }
+
+    private static int count(XmlNodeList nodes) {
+        int count = 0;
+        for (XmlNode ignored : nodes) {
+            count++;
+        }
+        return count;
+    }
+}
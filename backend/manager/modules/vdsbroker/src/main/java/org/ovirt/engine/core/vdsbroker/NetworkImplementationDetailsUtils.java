@@ -1,11 +1,13 @@
 package org.ovirt.engine.core.vdsbroker;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.inject.Inject;
@@ -20,11 +22,13 @@ import org.ovirt.engine.core.common.businessentities.network.Network;
 import org.ovirt.engine.core.common.businessentities.network.NetworkAttachment;
 import org.ovirt.engine.core.common.businessentities.network.VdsNetworkInterface;
 import org.ovirt.engine.core.common.businessentities.network.VdsNetworkInterface.NetworkImplementationDetails;
+import org.ovirt.engine.core.common.utils.Pair;
 import org.ovirt.engine.core.compat.Guid;
 import org.ovirt.engine.core.dao.ClusterDao;
 import org.ovirt.engine.core.dao.VdsStaticDao;
 import org.ovirt.engine.core.dao.network.DnsResolverConfigurationDao;
 import org.ovirt.engine.core.dao.network.InterfaceDao;
+import org.ovirt.engine.core.dao.network.InterfaceSyncStatusDao;
 import org.ovirt.engine.core.dao.network.NetworkAttachmentDao;
 import org.ovirt.engine.core.dao.network.NetworkDao;
 import org.ovirt.engine.core.utils.NetworkInSyncWithVdsNetworkInterface;
@@ -40,6 +44,7 @@ public class NetworkImplementationDetailsUtils {
     private final NetworkDao networkDao;
     private final DnsResolverConfigurationDao dnsResolverConfigurationDao;
     private final CalculateBaseNic calculateBaseNic;
+    private final InterfaceSyncStatusDao interfaceSyncStatusDao;
 
     @Inject
     public NetworkImplementationDetailsUtils(EffectiveHostNetworkQos effectiveHostNetworkQos,
@@ -50,7 +55,8 @@ public class NetworkImplementationDetailsUtils {
             NetworkDao networkDao,
             DnsResolverConfigurationDao dnsResolverConfigurationDao,
             CalculateBaseNic calculateBaseNic,
-            DefaultRouteUtil defaultRouteUtil) {
+            DefaultRouteUtil defaultRouteUtil,
+            InterfaceSyncStatusDao interfaceSyncStatusDao) {
 
         this.effectiveHostNetworkQos = Objects.requireNonNull(effectiveHostNetworkQos);
         this.vdsStaticDao = Objects.requireNonNull(vdsStaticDao);
@@ -61,30 +67,66 @@ public class NetworkImplementationDetailsUtils {
         this.calculateBaseNic = Objects.requireNonNull(calculateBaseNic);
         this.networkAttachmentDao = Objects.requireNonNull(networkAttachmentDao);
         this.defaultRouteUtil = Objects.requireNonNull(defaultRouteUtil);
+        this.interfaceSyncStatusDao = Objects.requireNonNull(interfaceSyncStatusDao);
     }
 
+    /**
+     * Finds the interfaces of the cluster hosts whose network is out of sync. The sync status persisted by
+     * {@link InterfaceSyncStatusDao} is used where it is still valid, only the interfaces whose status was
+     * invalidated by a change are calculated (and persisted) again.
+     */
     public Set<VdsNetworkInterface> getAllInterfacesOutOfSync(Guid clusterId) {
+        // Read before the inputs of the calculation, so the statuses are not saved if any of them changes meanwhile
+        Map<Guid, Long> generations = interfaceSyncStatusDao.getGenerationsForCluster(clusterId);
         Map<String, Network> clusterNetworksByName = networkDao.getNetworksForCluster(clusterId);
-        Map<Guid, HostNetworkQos> qosByNetworkId = calcQosByNetworkIdMap(clusterNetworksByName.values());
-        Cluster cluster = clusterDao.get(clusterId);
-        return interfaceDao.getAllInterfacesByClusterId(clusterId)
+        List<VdsNetworkInterface> clusterNetworkInterfaces = interfaceDao.getAllInterfacesByClusterId(clusterId)
                 .stream()
                 .filter(iface -> clusterNetworksByName.get(iface.getNetworkName()) != null)
-                .filter(iface -> {
-                    Network network = clusterNetworksByName.get(iface.getNetworkName());
-                    HostNetworkQos qos = qosByNetworkId.get(network.getId());
-                    return isNetworkOutOfSync(iface, network, cluster, qos);
-                })
+                .collect(Collectors.toList());
+
+        Map<Guid, Boolean> inSyncByInterfaceId = interfaceSyncStatusDao.getAllForCluster(clusterId);
+        List<VdsNetworkInterface> interfacesToCalculate = clusterNetworkInterfaces.stream()
+                .filter(iface -> !inSyncByInterfaceId.containsKey(iface.getId()))
+                .collect(Collectors.toList());
+        if (!interfacesToCalculate.isEmpty()) {
+            inSyncByInterfaceId.putAll(
+                    calculateAndSaveSyncStatus(clusterId, clusterNetworksByName, interfacesToCalculate, generations));
+        }
+
+        return clusterNetworkInterfaces.stream()
+                .filter(iface -> !inSyncByInterfaceId.get(iface.getId()))
                 .collect(Collectors.toSet());
+    }
+
+    private Map<Guid, Boolean> calculateAndSaveSyncStatus(Guid clusterId,
+            Map<String, Network> clusterNetworksByName,
+            List<VdsNetworkInterface> interfaces,
+            Map<Guid, Long> generations) {
+        Map<Guid, HostNetworkQos> qosByNetworkId = calcQosByNetworkIdMap(clusterNetworksByName.values());
+        Cluster cluster = clusterDao.get(clusterId);
 
+        List<Pair<VdsNetworkInterface, Boolean>> statuses = new ArrayList<>(interfaces.size());
+        Map<Guid, Boolean> inSyncByInterfaceId = new HashMap<>();
+        for (VdsNetworkInterface iface : interfaces) {
+            Network network = clusterNetworksByName.get(iface.getNetworkName());
+            boolean inSync = !isNetworkOutOfSync(iface, network, cluster, qosByNetworkId.get(network.getId()));
+            statuses.add(new Pair<>(iface, inSync));
+            inSyncByInterfaceId.put(iface.getId(), inSync);
+        }
+        interfaceSyncStatusDao.saveAll(statuses, generations);
+        return inSyncByInterfaceId;
     }
 
     private Map<Guid, HostNetworkQos> calcQosByNetworkIdMap(Collection<Network> networks) {
+        Map<Guid, HostNetworkQos> qosById = effectiveHostNetworkQos.getAll()
+                .stream()
+                .collect(Collectors.toMap(HostNetworkQos::getId, Function.identity(), (first, second) -> first));
         Map<Guid, HostNetworkQos> qosByNetworkId = new HashMap<>();
-        List<HostNetworkQos> allQos = effectiveHostNetworkQos.getAll();
         networks.forEach(net -> {
-            var netQos = allQos.stream().filter(qos -> qos.getId().equals(net.getQosId())).findFirst();
-            netQos.ifPresent(qos -> qosByNetworkId.put(net.getId(), qos));
+            HostNetworkQos netQos = net.getQosId() == null ? null : qosById.get(net.getQosId());
+            if (netQos != null) {
+                qosByNetworkId.put(net.getId(), netQos);
+            }
         });
         return qosByNetworkId;
     }
@@ -6,8 +6,10 @@ import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import javax.annotation.PostConstruct;
@@ -37,6 +39,7 @@ import org.ovirt.engine.core.common.di.interceptor.InvocationLogger;
 import org.ovirt.engine.core.common.interfaces.FutureVDSCall;
 import org.ovirt.engine.core.common.qualifiers.VmDeleted;
 import org.ovirt.engine.core.common.utils.Pair;
+import org.ovirt.engine.core.common.vdscommands.BrokerCommandCallback;
 import org.ovirt.engine.core.common.vdscommands.FutureVDSCommandType;
 import org.ovirt.engine.core.common.vdscommands.VDSAsyncReturnValue;
 import org.ovirt.engine.core.common.vdscommands.VDSCommandType;
@@ -413,6 +416,40 @@ public class ResourceManager implements BackendService {
         return null;
     }
 
+    /**
+     * Runs a VDS command whose verb is sent with a callback, i.e. one of the *Async commands, without holding a thread
+     * while the verb is in flight. The returned future is completed by the callback of the command, on the thread of
+     * the json-rpc client, so the actions chained to it should not block.
+     *
+     * @return a future completed with the return value of the command, or exceptionally if the command failed or did
+     *         not respond within the VDS timeout
+     */
+    public <P extends VDSParametersBase> CompletableFuture<VDSReturnValue> runVdsCommandAsync(
+            VDSCommandType commandType,
+            P parameters) {
+        CompletableFuture<VDSReturnValue> future = new CompletableFuture<>();
+        parameters.withCallback(new BrokerCommandCallback() {
+            @Override
+            public void onResponse(Map<String, Object> response) {
+                future.complete((VDSReturnValue) response.get("result"));
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+
+        try {
+            if (runVdsCommand(commandType, parameters) == null) {
+                future.completeExceptionally(new IllegalStateException("Unable to create command " + commandType));
+            }
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future.orTimeout(Config.<Integer> getValue(ConfigValues.vdsTimeout), TimeUnit.SECONDS);
+    }
+
     public <P extends VDSParametersBase> VDSAsyncReturnValue runAsyncVdsCommand(VDSCommandType commandType,
             P parameters) {
         VDSCommandBase<P> command = createCommand(commandType, parameters);
@@ -7,9 +7,11 @@ import org.ovirt.engine.core.common.config.Config;
 import org.ovirt.engine.core.common.config.ConfigValues;
 import org.ovirt.engine.core.vdsbroker.irsbroker.IIrsServer;
 import org.ovirt.engine.core.vdsbroker.jsonrpc.JsonRpcIIrsServer;
+import org.ovirt.engine.core.vdsbroker.jsonrpc.JsonRpcRequestPipeline;
 import org.ovirt.engine.core.vdsbroker.jsonrpc.JsonRpcUtils;
 import org.ovirt.engine.core.vdsbroker.jsonrpc.JsonRpcVdsServer;
 import org.ovirt.engine.core.vdsbroker.vdsbroker.IVdsServer;
+import org.ovirt.vdsm.jsonrpc.client.JsonRpcClient;
 
 public class TransportFactory {
     public static IIrsServer createIrsServer(
@@ -48,22 +50,23 @@ public class TransportFactory {
                 Config.getValue(ConfigValues.MaxTotalConnections));
 
         String eventQueue = Config.getValue(ConfigValues.EventQueueName);
-        return new JsonRpcVdsServer(
-                JsonRpcUtils.createStompClient(
-                        hostname,
-                        port,
-                        connectionTimeOut,
-                        clientTimeOut,
-                        clientRetries,
-                        heartbeat,
-                        Config.getValue(ConfigValues.EncryptHostCommunication),
-                        Config.getValue(ConfigValues.VdsmSSLProtocol),
-                        Config.getValue(ConfigValues.EventProcessingPoolSize),
-                        Config.getValue(ConfigValues.EventPurgeTimeoutInHours),
-                        Config.getValue(ConfigValues.VdsRequestQueueName),
-                        Config.getValue(ConfigValues.VdsResponseQueueName),
-                        eventQueue,
-                        executorService)
-                , client);
+        JsonRpcClient jsonRpcClient = JsonRpcUtils.createStompClient(
+                hostname,
+                port,
+                connectionTimeOut,
+                clientTimeOut,
+                clientRetries,
+                heartbeat,
+                Config.getValue(ConfigValues.EncryptHostCommunication),
+                Config.getValue(ConfigValues.VdsmSSLProtocol),
+                Config.getValue(ConfigValues.EventProcessingPoolSize),
+                Config.getValue(ConfigValues.EventPurgeTimeoutInHours),
+                Config.getValue(ConfigValues.VdsRequestQueueName),
+                Config.getValue(ConfigValues.VdsResponseQueueName),
+                eventQueue,
+                executorService);
+        return new JsonRpcVdsServer(jsonRpcClient,
+                client,
+                new JsonRpcRequestPipeline(jsonRpcClient, executorService));
     }
 }
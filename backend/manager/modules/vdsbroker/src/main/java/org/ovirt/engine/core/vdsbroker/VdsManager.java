@@ -22,7 +22,9 @@ import javax.inject.Inject;
 
 import org.apache.commons.lang.exception.ExceptionUtils;
 import org.ovirt.engine.core.common.AuditLogType;
+import org.ovirt.engine.core.common.VdcObjectType;
 import org.ovirt.engine.core.common.businessentities.CpuPinningPolicy;
+import org.ovirt.engine.core.common.businessentities.EntityChanges;
 import org.ovirt.engine.core.common.businessentities.NonOperationalReason;
 import org.ovirt.engine.core.common.businessentities.SELinuxMode;
 import org.ovirt.engine.core.common.businessentities.V2VJobInfo;
@@ -69,14 +71,17 @@ import org.ovirt.engine.core.utils.crypt.EngineEncryptionUtils;
 import org.ovirt.engine.core.utils.lock.EngineLock;
 import org.ovirt.engine.core.utils.lock.LockManager;
 import org.ovirt.engine.core.utils.threadpool.ThreadPools;
+import org.ovirt.engine.core.utils.transaction.TransactionSuccessListener;
 import org.ovirt.engine.core.utils.transaction.TransactionSupport;
 import org.ovirt.engine.core.vdsbroker.irsbroker.IRSErrorException;
 import org.ovirt.engine.core.vdsbroker.irsbroker.IrsProxy;
 import org.ovirt.engine.core.vdsbroker.irsbroker.IrsProxyManager;
 import org.ovirt.engine.core.vdsbroker.kubevirt.PrometheusUrlResolver;
+import org.ovirt.engine.core.vdsbroker.monitoring.EntityChangeFeed;
 import org.ovirt.engine.core.vdsbroker.monitoring.HostConnectionRefresherInterface;
 import org.ovirt.engine.core.vdsbroker.monitoring.HostMonitoring;
 import org.ovirt.engine.core.vdsbroker.monitoring.HostMonitoringInterface;
+import org.ovirt.engine.core.vdsbroker.monitoring.HostMonitoringScheduler;
 import org.ovirt.engine.core.vdsbroker.monitoring.MonitoringStrategy;
 import org.ovirt.engine.core.vdsbroker.monitoring.MonitoringStrategyFactory;
 import org.ovirt.engine.core.vdsbroker.monitoring.RefresherFactory;
@@ -154,6 +159,12 @@ public class VdsManager {
     @Inject
     private PrometheusUrlResolver prometheusUrlResolver;
 
+    @Inject
+    private EntityChangeFeed entityChangeFeed;
+
+    @Inject
+    private HostMonitoringScheduler hostMonitoringScheduler;
+
     private final AtomicInteger unrespondedAttempts;
     private final Guid vdsId;
     private final VdsMonitor vdsMonitor = new VdsMonitor();
@@ -161,7 +172,8 @@ public class VdsManager {
     private long lastUpdate;
     private long updateStartTime;
     private long nextMaintenanceAttemptTime;
-    private List<ScheduledFuture> registeredJobs;
+    private long changeFeedVersion = -1;
+    private int refreshesSinceReload;
     private volatile boolean isSetNonOperationalExecuted;
     private MonitoringStrategy monitoringStrategy;
     private EngineLock monitoringLock;
@@ -203,7 +215,6 @@ public class VdsManager {
         monitoringStrategy = monitoringStrategyFactory.getMonitoringStrategyForVds(cachedVds);
         monitoringLock = new EngineLock(Collections.singletonMap(vdsId.toString(),
                 new Pair<>(LockingGroup.VDS_INIT.name(), "")), null);
-        registeredJobs = new ArrayList<>();
         handlePreviousStatus();
         handleSecureSetup();
         initVdsBroker();
@@ -235,11 +246,7 @@ public class VdsManager {
     public void scheduleJobs() {
         long refreshRate = Config.<Long> getValue(ConfigValues.VdsRefreshRate) * 1000;
 
-        registeredJobs.add(executor.scheduleWithFixedDelay(
-                this::refresh,
-                refreshRate,
-                refreshRate,
-                TimeUnit.MILLISECONDS));
+        hostMonitoringScheduler.schedule(this, refreshRate);
 
         vmsRefresher = getRefresherFactory().createVmStatsRefresher(this, resourceManager);
         vmsRefresher.startMonitoring();
@@ -416,8 +423,29 @@ public class VdsManager {
         }
     }
 
+    /**
+     * The data of an up host is maintained in memory by its monitoring, so it is reloaded only when the host or its
+     * cluster was changed by a command, and once every few refreshes for the changes made by other flows. Changes are
+     * published to the feed only after their transaction is committed, so a reload triggered by the feed always sees
+     * them.
+     */
     private void refreshCachedVds() {
-        cachedVds = vdsDao.get(getVdsId());
+        EntityChanges hostChanges = entityChangeFeed.getChangesSince(VdcObjectType.VDS, changeFeedVersion);
+        EntityChanges clusterChanges = entityChangeFeed.getChangesSince(VdcObjectType.Cluster, changeFeedVersion);
+        changeFeedVersion = Math.min(hostChanges.getVersion(), clusterChanges.getVersion());
+        refreshesSinceReload++;
+
+        if (cachedVds == null
+                || cachedVds.getStatus() != VDSStatus.Up
+                || refreshesSinceReload >= NUMBER_HOST_REFRESHES_BEFORE_SAVE
+                || hostChanges.isFullRefreshRequired()
+                || clusterChanges.isFullRefreshRequired()
+                || hostChanges.getChangedIds().contains(getVdsId())
+                // the host carries the data of its cluster, such as its compatibility version and CPU
+                || clusterChanges.getChangedIds().contains(cachedVds.getClusterId())) {
+            cachedVds = vdsDao.get(getVdsId());
+            refreshesSinceReload = 0;
+        }
     }
 
     /**
@@ -526,8 +554,25 @@ public class VdsManager {
      * Save dynamic data to cache and DB.
      */
     public void updateDynamicData(VdsDynamic dynamicData) {
-        vdsDynamicDao.updateIfNeeded(dynamicData);
+        boolean updated = vdsDynamicDao.updateIfNeeded(dynamicData);
         cachedVds.setDynamicData(dynamicData);
+        if (updated) {
+            publishVdsChange();
+            hostMonitoringScheduler.reportChange(getVdsId());
+        }
+    }
+
+    /**
+     * The change is published only once it is committed, otherwise the monitoring of the host could reload the row
+     * before the change is visible and keep the stale data in {@link #cachedVds} until its next periodic reload.
+     */
+    private void publishVdsChange() {
+        if (TransactionSupport.current() != null) {
+            TransactionSupport.registerRollbackHandler(
+                    (TransactionSuccessListener) () -> entityChangeFeed.publish(VdcObjectType.VDS, getVdsId()));
+        } else {
+            entityChangeFeed.publish(VdcObjectType.VDS, getVdsId());
+        }
     }
 
     public void updatePartialDynamicData(NonOperationalReason nonOperationalReason, String maintenanceReason) {
@@ -670,37 +715,20 @@ public class VdsManager {
         // Verify that this VDS also supports the specific cluster level. Otherwise getHardwareInfo
         // API won't exist for the host and an exception will be raised by VDSM.
         if (hostVersions != null && hostVersions.contains(clusterCompatibility)) {
-            resourceManager.runVdsCommand(VDSCommandType.GetHardwareInfoAsync,
-                    new VdsIdAndVdsVDSCommandParametersBase(vds).withCallback(new HardwareInfoCallback(vds)));
+            resourceManager.runVdsCommandAsync(VDSCommandType.GetHardwareInfoAsync,
+                    new VdsIdAndVdsVDSCommandParametersBase(vds))
+                    .whenComplete((ret, t) -> handleHardwareInfoResponse(vds, ret, t));
         }
     }
 
-    class HardwareInfoCallback implements BrokerCommandCallback {
-
-        private VDS vds;
-
-        HardwareInfoCallback(VDS vds) {
-            this.vds = vds;
-        }
-
-        @Override
-        public void onResponse(Map<String, Object> response) {
-            try {
-                VDSReturnValue ret = (VDSReturnValue) response.get("result");
-                if (!ret.getSucceeded()) {
-                    AuditLogable logable = createAuditLogableForHost(vds);
-                    logable.updateCallStackFromThrowable(ret.getExceptionObject());
-                    auditLogDirector.log(logable, AuditLogType.VDS_FAILED_TO_GET_HOST_HARDWARE_INFO);
-                }
-            } catch (Throwable t) {
-                onFailure(t);
-            }
-        }
-
-        @Override
-        public void onFailure(Throwable t) {
+    void handleHardwareInfoResponse(VDS vds, VDSReturnValue ret, Throwable t) {
+        if (t != null) {
             log.error("Unable to GetHardwareInfo: {}", ExceptionUtils.getRootCauseMessage(t));
             log.debug("Exception", t);
+        } else if (!ret.getSucceeded()) {
+            AuditLogable logable = createAuditLogableForHost(vds);
+            logable.updateCallStackFromThrowable(ret.getExceptionObject());
+            auditLogDirector.log(logable, AuditLogType.VDS_FAILED_TO_GET_HOST_HARDWARE_INFO);
         }
     }
 
@@ -723,6 +751,7 @@ public class VdsManager {
                 if (this.cachedVds != null) {
                     this.cachedVds.setPreviousStatus(vds.getStatus());
                  }
+                hostMonitoringScheduler.reportChange(getVdsId());
             }
             // update to new status
             vds.setStatus(status);
@@ -1026,9 +1055,7 @@ public class VdsManager {
     public void dispose() {
         log.info("vdsManager::disposing");
 
-        for (ScheduledFuture job : registeredJobs) {
-            job.cancel(true);
-        }
+        hostMonitoringScheduler.unschedule(getVdsId());
 
         if (vmsRefresher != null) {
             vmsRefresher.stopMonitoring();
@@ -35,6 +35,7 @@ public class FutureMap implements Map<String, Object> {
     private static final long DEFAULT_RESPONSE_WAIT = 1;
     private static final Logger log = LoggerFactory.getLogger(FutureMap.class);
     private final JsonRpcClient client;
+    private final JsonRpcRequestPipeline pipeline;
     private final Lock lock = new ReentrantLock();
     private final Future<JsonRpcResponse> response;
     private Map<String, Object> responseMap = new HashMap<>();
@@ -70,6 +71,7 @@ public class FutureMap implements Map<String, Object> {
         try {
             this.response = client.call(request);
             this.client = client;
+            this.pipeline = null;
         } catch (ClientConnectionException e) {
             throw new TransportRunTimeException("Connection issues during send request", e);
         }
@@ -92,11 +94,25 @@ public class FutureMap implements Map<String, Object> {
             this.response = client.call(request);
             this.cleanOnTimeout = cleanOnTimeout;
             this.client = client;
+            this.pipeline = null;
         } catch (ClientConnectionException e) {
             throw new TransportRunTimeException("Connection issues during send request", e);
         }
     }
 
+    /**
+     * During creation request is added to the batch which is gathered by the pipeline and <code>Future</code> for a
+     * response is held. The request is sent together with the other requests of the batch.
+     *
+     * @param pipeline - Pipeline which coalesces the requests to the host.
+     * @param request - Request to be sent.
+     */
+    public FutureMap(JsonRpcRequestPipeline pipeline, JsonRpcRequest request) {
+        this.response = pipeline.submit(request);
+        this.client = pipeline.getClient();
+        this.pipeline = pipeline;
+    }
+
     /**
      * Whenever any method is executed to obtain value of response during the first invocation it gets real response
      * from the <code>Future</code> and decompose it to object of provided type and structure.
@@ -119,7 +135,11 @@ public class FutureMap implements Map<String, Object> {
                 } catch (TimeoutException e) {
                     this.responseMap.put(STATUS, TIMEOUT_STATUS);
                     if (cleanOnTimeout) {
-                        client.removeCall(this.response);
+                        if (pipeline != null) {
+                            pipeline.removeCall(this.response);
+                        } else {
+                            client.removeCall(this.response);
+                        }
                     }
                 }
             }
@@ -196,7 +216,10 @@ public class FutureMap implements Map<String, Object> {
     }
 
     public boolean isDone() {
-        lazyEval(DEFAULT_RESPONSE_WAIT);
+        // the response is not waited for unless it arrived, so checking many pending requests is not blocking
+        if (isRequestCompleted()) {
+            lazyEval(DEFAULT_RESPONSE_WAIT);
+        }
         return !this.responseMap.isEmpty();
     }
 
@@ -0,0 +1,336 @@
+package org.ovirt.engine.core.vdsbroker.jsonrpc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang.exception.ExceptionUtils;
+import org.ovirt.engine.core.vdsbroker.TransportRunTimeException;
+import org.ovirt.vdsm.jsonrpc.client.ClientConnectionException;
+import org.ovirt.vdsm.jsonrpc.client.JsonRpcClient;
+import org.ovirt.vdsm.jsonrpc.client.JsonRpcRequest;
+import org.ovirt.vdsm.jsonrpc.client.JsonRpcResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Coalesces the requests which are sent concurrently to the same host into JSON-RPC batches.
+ * <p>
+ * A request submitted to a host which had no other request submitted within the last
+ * {@link #DEFAULT_WINDOW_IN_MILLIS} is sent right away. A request submitted while the host is busy waits up to that
+ * window for other requests to the host, and all the requests gathered within the window are sent as a single
+ * JSON-RPC batch array, so they share a single round trip and STOMP frame. A batch is sent once its window elapses,
+ * once it reaches {@link #DEFAULT_MAX_BATCH_SIZE} requests, or once its responses are waited for after the window
+ * elapsed. A batch of a single request is sent as a plain request.
+ * <p>
+ * The responses of a batch are correlated back to the callers by the ids of their requests. The pipeline is meant
+ * for short, read-only verbs, since the responses of a batch are received together, once the slowest of them is
+ * ready; requests which must be sent right away, which are long-running or whose responses are large should be sent
+ * directly by the client.
+ */
+public class JsonRpcRequestPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(JsonRpcRequestPipeline.class);
+
+    static final long DEFAULT_WINDOW_IN_MILLIS = 5;
+    static final int DEFAULT_MAX_BATCH_SIZE = 20;
+
+    private final JsonRpcClient client;
+    private final ScheduledExecutorService executor;
+    private final long windowInMillis;
+    private final int maxBatchSize;
+    private final Object lock = new Object();
+    private Batch currentBatch;
+    private long lastSubmitTime;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong maxSentBatchSize = new AtomicLong();
+    private volatile long lastReset;
+
+    public JsonRpcRequestPipeline(JsonRpcClient client, ScheduledExecutorService executor) {
+        this(client, executor, DEFAULT_WINDOW_IN_MILLIS, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    JsonRpcRequestPipeline(JsonRpcClient client,
+            ScheduledExecutorService executor,
+            long windowInMillis,
+            int maxBatchSize) {
+        this.client = client;
+        this.executor = executor;
+        this.windowInMillis = windowInMillis;
+        this.maxBatchSize = maxBatchSize;
+        this.lastReset = System.currentTimeMillis();
+    }
+
+    public JsonRpcClient getClient() {
+        return client;
+    }
+
+    public String getHostname() {
+        return client.getHostname();
+    }
+
+    /**
+     * Sends the request right away if no other request was submitted to the host recently, otherwise adds it to
+     * the batch which is currently gathered for the host.
+     *
+     * @param request - Request to be sent.
+     * @return <code>Future</code> of the response to the request.
+     */
+    public Future<JsonRpcResponse> submit(JsonRpcRequest request) {
+        Batch batch;
+        boolean sendNow;
+        synchronized (lock) {
+            long now = System.currentTimeMillis();
+            boolean idle = currentBatch == null && now - lastSubmitTime >= windowInMillis;
+            lastSubmitTime = now;
+            if (idle) {
+                // no other request is likely to join, waiting for the window would only delay the request
+                batch = new Batch();
+                batch.requests.add(request);
+                sendNow = true;
+            } else {
+                if (currentBatch == null) {
+                    currentBatch = new Batch();
+                    scheduleSend(currentBatch);
+                }
+                batch = currentBatch;
+                batch.requests.add(request);
+                sendNow = batch.requests.size() >= maxBatchSize;
+                if (sendNow) {
+                    currentBatch = null;
+                }
+            }
+        }
+        requests.incrementAndGet();
+        if (sendNow) {
+            batch.send();
+        }
+        return new PipelinedResponse(batch, request);
+    }
+
+    /**
+     * Sends the batch which is currently gathered without waiting for its window to elapse.
+     */
+    public void flush() {
+        Batch batch = detachCurrentBatch();
+        if (batch != null) {
+            batch.send();
+        }
+    }
+
+    /**
+     * Removes the tracking of the given response, if it was not received in time. The client tracks a batch by a
+     * single call which is shared by all its requests, so the call is removed only once all the requests of the batch
+     * were removed, and the other requests of the batch may still receive their responses until then.
+     */
+    public void removeCall(Future<JsonRpcResponse> response) {
+        if (response instanceof PipelinedResponse) {
+            ((PipelinedResponse) response).batch.removeCall();
+        } else {
+            client.removeCall(response);
+        }
+    }
+
+    private void scheduleSend(Batch batch) {
+        try {
+            executor.schedule(() -> {
+                if (detachBatch(batch)) {
+                    batch.send();
+                }
+            }, windowInMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // the batch is sent by the first caller that waits for its response
+            log.debug("Failed to schedule sending the requests to host '{}': {}", getHostname(), e.getMessage());
+        }
+    }
+
+    private Batch detachCurrentBatch() {
+        synchronized (lock) {
+            Batch batch = currentBatch;
+            currentBatch = null;
+            return batch;
+        }
+    }
+
+    private boolean detachBatch(Batch batch) {
+        synchronized (lock) {
+            if (currentBatch == batch) {
+                currentBatch = null;
+            }
+            return !batch.isSent();
+        }
+    }
+
+    private void updateStatistics(int batchSize) {
+        batches.incrementAndGet();
+        maxSentBatchSize.accumulateAndGet(batchSize, Math::max);
+    }
+
+    /**
+     * @return the number of requests submitted per second since the statistics were last reset
+     */
+    public double getRequestRate() {
+        long elapsed = Math.max(1, System.currentTimeMillis() - lastReset);
+        return requests.get() * 1000.0 / elapsed;
+    }
+
+    public long getRequestsCount() {
+        return requests.get();
+    }
+
+    public long getBatchesCount() {
+        return batches.get();
+    }
+
+    public double getAverageBatchSize() {
+        long sentBatches = batches.get();
+        return sentBatches == 0 ? 0 : (double) requests.get() / sentBatches;
+    }
+
+    public long getMaxBatchSize() {
+        return maxSentBatchSize.get();
+    }
+
+    public void resetStatistics() {
+        requests.set(0);
+        batches.set(0);
+        maxSentBatchSize.set(0);
+        lastReset = System.currentTimeMillis();
+    }
+
+    /**
+     * The requests gathered within a single window, and the response to them once they are sent.
+     */
+    private class Batch {
+        private final long deadline = System.currentTimeMillis() + windowInMillis;
+        private final List<JsonRpcRequest> requests = new ArrayList<>();
+        private final CountDownLatch sentLatch = new CountDownLatch(1);
+        private volatile Future<?> sent;
+        private volatile ClientConnectionException failure;
+        private int sentRequests;
+        private int removedCalls;
+
+        boolean isSent() {
+            return sentLatch.getCount() == 0;
+        }
+
+        void awaitSent() throws InterruptedException {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining > 0 && sentLatch.await(remaining, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+            if (detachBatch(this)) {
+                send();
+            }
+            sentLatch.await();
+        }
+
+        void send() {
+            List<JsonRpcRequest> toSend;
+            synchronized (this) {
+                if (isSent()) {
+                    return;
+                }
+                synchronized (lock) {
+                    toSend = new ArrayList<>(requests);
+                }
+                sentRequests = toSend.size();
+                try {
+                    sent = toSend.size() == 1 ? client.call(toSend.get(0)) : client.batchCall(toSend);
+                } catch (ClientConnectionException e) {
+                    failure = e;
+                    log.debug("Failed to send {} requests to host '{}': {}",
+                            toSend.size(),
+                            getHostname(),
+                            ExceptionUtils.getRootCauseMessage(e));
+                } finally {
+                    sentLatch.countDown();
+                }
+            }
+            updateStatistics(toSend.size());
+        }
+
+        @SuppressWarnings("unchecked")
+        void removeCall() {
+            synchronized (this) {
+                if (sent == null || ++removedCalls < sentRequests) {
+                    return;
+                }
+            }
+            client.removeCall((Future<JsonRpcResponse>) sent);
+        }
+
+        JsonRpcResponse getResponse(JsonRpcRequest request, Object response) throws ExecutionException {
+            if (response instanceof JsonRpcResponse) {
+                return (JsonRpcResponse) response;
+            }
+            for (Object batchResponse : (List<?>) response) {
+                JsonRpcResponse jsonRpcResponse = (JsonRpcResponse) batchResponse;
+                if (request.getId().equals(jsonRpcResponse.getId())) {
+                    return jsonRpcResponse;
+                }
+            }
+            throw new ExecutionException(new IllegalStateException(
+                    "No response to request " + request.getId() + " in the batch response"));
+        }
+    }
+
+    /**
+     * The response to a single request of a batch.
+     */
+    private class PipelinedResponse implements Future<JsonRpcResponse> {
+        private final Batch batch;
+        private final JsonRpcRequest request;
+
+        PipelinedResponse(Batch batch, JsonRpcRequest request) {
+            this.batch = batch;
+            this.request = request;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return false;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return batch.isSent() && batch.sent != null && batch.sent.isCancelled();
+        }
+
+        @Override
+        public boolean isDone() {
+            return batch.isSent() && (batch.sent == null || batch.sent.isDone());
+        }
+
+        @Override
+        public JsonRpcResponse get() throws InterruptedException, ExecutionException {
+            batch.awaitSent();
+            return batch.getResponse(request, sentOrFail().get());
+        }
+
+        @Override
+        public JsonRpcResponse get(long timeout, TimeUnit unit)
+                throws InterruptedException, ExecutionException, TimeoutException {
+            long start = System.nanoTime();
+            batch.awaitSent();
+            long remaining = unit.toNanos(timeout) - (System.nanoTime() - start);
+            return batch.getResponse(request, sentOrFail().get(Math.max(0, remaining), TimeUnit.NANOSECONDS));
+        }
+
+        private Future<?> sentOrFail() {
+            if (batch.failure != null) {
+                throw new TransportRunTimeException("Connection issues during send request", batch.failure);
+            }
+            return batch.sent;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package org.ovirt.engine.core.vdsbroker.jsonrpc;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps track of the request pipelines of the hosts and reports their statistics via JMX.
+ */
+public final class JsonRpcRequestPipelineMonitor implements JsonRpcRequestPipelineMonitorMXBean {
+
+    private static final Logger log = LoggerFactory.getLogger(JsonRpcRequestPipelineMonitor.class);
+    private static final JsonRpcRequestPipelineMonitor instance = new JsonRpcRequestPipelineMonitor();
+
+    private final Set<JsonRpcRequestPipeline> pipelines = ConcurrentHashMap.newKeySet();
+
+    private JsonRpcRequestPipelineMonitor() {
+        registerInJMX();
+    }
+
+    public static JsonRpcRequestPipelineMonitor getInstance() {
+        return instance;
+    }
+
+    private void registerInJMX() {
+        try {
+            ObjectName objectName = new ObjectName("JsonRpcRequestPipelineMonitor:type=" + getClass().getName());
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        } catch (Exception e) {
+            log.warn("Failed to register JSON-RPC request pipeline monitor in JMX: {}", e.getMessage());
+            log.debug("Exception", e);
+        }
+    }
+
+    public void register(JsonRpcRequestPipeline pipeline) {
+        pipelines.add(pipeline);
+    }
+
+    public void unregister(JsonRpcRequestPipeline pipeline) {
+        pipelines.remove(pipeline);
+    }
+
+    @Override
+    public List<String> showPipelineStatistics() {
+        return pipelines.stream()
+                .map(pipeline -> String.format("%s: requestRate=%.2f/s, requests=%d, batches=%d, "
+                        + "averageBatchSize=%.2f, maxBatchSize=%d",
+                        pipeline.getHostname(),
+                        pipeline.getRequestRate(),
+                        pipeline.getRequestsCount(),
+                        pipeline.getBatchesCount(),
+                        pipeline.getAverageBatchSize(),
+                        pipeline.getMaxBatchSize()))
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void resetPipelineStatistics() {
+        pipelines.forEach(JsonRpcRequestPipeline::resetStatistics);
+    }
+
+    @Override
+    public int getPipelinesCount() {
+        return pipelines.size();
+    }
+}
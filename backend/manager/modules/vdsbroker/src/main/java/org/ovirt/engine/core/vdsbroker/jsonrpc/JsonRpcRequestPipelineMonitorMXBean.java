@@ -0,0 +1,25 @@
+package org.ovirt.engine.core.vdsbroker.jsonrpc;
+
+import java.util.List;
+
+/**
+ * The following interface is used as interface for JMX bean
+ */
+public interface JsonRpcRequestPipelineMonitorMXBean {
+
+    /**
+     * The following method will return, for each host, the rate of the requests sent through its pipeline, the
+     * number of batches they were sent in, and the average and largest batch size
+     */
+    List<String> showPipelineStatistics();
+
+    /**
+     * The following method will allow to reset the pipeline statistics via JMX console
+     */
+    void resetPipelineStatistics();
+
+    /**
+     * The following method will return the number of hosts which have a request pipeline
+     */
+    int getPipelinesCount();
+}
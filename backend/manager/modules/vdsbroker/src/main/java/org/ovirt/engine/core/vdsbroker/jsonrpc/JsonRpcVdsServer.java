@@ -112,14 +112,31 @@ public class JsonRpcVdsServer implements IVdsServer {
     private static final Logger logger = LoggerFactory.getLogger(JsonRpcVdsServer.class);
     private final JsonRpcClient client;
     private final CloseableHttpClient httpClient;
+    private final JsonRpcRequestPipeline pipeline;
 
     public JsonRpcVdsServer(JsonRpcClient client, CloseableHttpClient httpClient) {
+        this(client, httpClient, null);
+    }
+
+    /**
+     * @param pipeline - Pipeline which coalesces the short monitoring requests to the host into batches, or
+     *            <code>null</code> to send each request on its own.
+     */
+    public JsonRpcVdsServer(JsonRpcClient client, CloseableHttpClient httpClient, JsonRpcRequestPipeline pipeline) {
         this.client = client;
         this.httpClient = httpClient;
+        this.pipeline = pipeline;
+        if (pipeline != null) {
+            JsonRpcRequestPipelineMonitor.getInstance().register(pipeline);
+        }
     }
 
     @Override
     public void close() {
+        if (pipeline != null) {
+            JsonRpcRequestPipelineMonitor.getInstance().unregister(pipeline);
+            pipeline.flush();
+        }
         HttpUtils.shutDownConnection(this.httpClient);
         this.client.close();
     }
@@ -140,6 +157,16 @@ public class JsonRpcVdsServer implements IVdsServer {
         return this.httpClient;
     }
 
+    /**
+     * Creates the response map of a short, read-only request, which is coalesced with the other such requests to the
+     * host if pipelining is enabled. Requests with large responses, such as the full list or the statistics of all the
+     * VMs of the host, are sent on their own so they do not delay the responses of the short requests batched with
+     * them.
+     */
+    private FutureMap pipelinedFutureMap(JsonRpcRequest request) {
+        return pipeline != null ? new FutureMap(pipeline, request) : new FutureMap(this.client, request);
+    }
+
     @SuppressWarnings("rawtypes")
     private String getVmId(Map map) {
         return (String) map.get(VdsProperties.vm_guid);
@@ -287,7 +314,7 @@ public class JsonRpcVdsServer implements IVdsServer {
                 new RequestBuilder("Host.getVMList").withOptionalParameterAsList("vmList",
                         new ArrayList<>(Arrays.asList(new String[]{}))).withParameter("onlyUUID", false).build();
         Map<String, Object> response =
-                new FutureMap(this.client, request).withResponseKey("vmList")
+                pipelinedFutureMap(request).withResponseKey("vmList")
                         .withResponseType(Object[].class);
         return new VMListReturn(response);
     }
@@ -342,7 +369,7 @@ public class JsonRpcVdsServer implements IVdsServer {
     public VDSInfoReturn getVdsStats() {
         JsonRpcRequest request = new RequestBuilder("Host.getStats").build();
         Map<String, Object> response =
-                new FutureMap(this.client, request).withResponseKey("info");
+                pipelinedFutureMap(request).withResponseKey("info");
         return new VDSInfoReturn(response);
     }
 
@@ -390,7 +417,7 @@ public class JsonRpcVdsServer implements IVdsServer {
     public VMInfoListReturn getVmStats(String vmId) {
         JsonRpcRequest request = new RequestBuilder("VM.getStats").withParameter("vmID", vmId).build();
         Map<String, Object> response =
-                new FutureMap(this.client, request).withResponseKey("statsList");
+                pipelinedFutureMap(request).withResponseKey("statsList");
         return new VMInfoListReturn(response);
     }
 
@@ -905,7 +932,7 @@ public class JsonRpcVdsServer implements IVdsServer {
         JsonRpcRequest request = new RequestBuilder("Host.getJobs").withOptionalParameter("job_type", jobType).
                 withOptionalParameterAsList("job_ids", jobIds).build();
         Map<String, Object> response =
-                new FutureMap(this.client, request).withResponseKey("jobs");
+                pipelinedFutureMap(request).withResponseKey("jobs");
         return new HostJobsReturn(response);
     }
 
@@ -1926,11 +1953,27 @@ public class JsonRpcVdsServer implements IVdsServer {
                 new RequestBuilder("Host.get_image_ticket")
                         .withParameter("uuid", ticketId)
                         .build();
-        Map<String, Object> response = new FutureMap(this.client, request)
+        Map<String, Object> response = pipelinedFutureMap(request)
                 .withResponseKey("result");
         return new ImageTicketInformationReturn(response);
     }
 
+    @Override
+    public List<ImageTicketInformationReturn> getImageTickets(List<String> ticketIds) {
+        // all the requests are submitted before any response is waited for, so they are sent in a single batch
+        List<Map<String, Object>> responses = new ArrayList<>(ticketIds.size());
+        for (String ticketId : ticketIds) {
+            JsonRpcRequest request =
+                    new RequestBuilder("Host.get_image_ticket")
+                            .withParameter("uuid", ticketId)
+                            .build();
+            responses.add(pipelinedFutureMap(request).withResponseKey("result"));
+        }
+        List<ImageTicketInformationReturn> ticketInformationReturns = new ArrayList<>(responses.size());
+        responses.forEach(response -> ticketInformationReturns.add(new ImageTicketInformationReturn(response)));
+        return ticketInformationReturns;
+    }
+
     @Override
     public PrepareImageReturn prepareImage(String spID, String sdID, String imageID,
             String volumeID, boolean allowIllegal) {
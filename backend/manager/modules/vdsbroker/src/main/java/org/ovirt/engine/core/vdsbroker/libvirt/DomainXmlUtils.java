@@ -79,7 +79,7 @@ public class DomainXmlUtils {
 
     public static String parseMemSize(XmlNode node) {
         return node != null ?
-                Integer.toString(Integer.parseInt(node.innerText) / 1024)
+                Integer.toString(Integer.parseInt(node.getInnerText()) / 1024)
                 : "1024"; // should never get here, memory should be set
     }
 
@@ -87,7 +87,7 @@ public class DomainXmlUtils {
         return node != null ?
                 Collections.singletonMap(
                         VdsProperties.maxMemSize,
-                        Integer.toString(Integer.parseInt(node.innerText) / 1024))
+                        Integer.toString(Integer.parseInt(node.getInnerText()) / 1024))
                 : Collections.emptyMap();
     }
 
@@ -39,13 +39,13 @@ public class VmConverter {
 
     private Map<String, Object> extractCoreGeneralInfo(XmlNode domain) {
         Map<String, Object> info = new HashMap<>();
-        info.put(VdsProperties.vm_name, domain.selectSingleNode("name").innerText);
-        info.put(VdsProperties.vm_guid, domain.selectSingleNode("uuid").innerText);
+        info.put(VdsProperties.vm_name, domain.selectSingleNode("name").getInnerText());
+        info.put(VdsProperties.vm_guid, domain.selectSingleNode("uuid").getInnerText());
         XmlNode cpusTopology = domain.selectSingleNode("cpu").selectSingleNode("topology");
         if (cpusTopology != null) {
-            info.put(VdsProperties.num_of_cpus, cpusTopology.attributes.get("sockets").innerText);
+            info.put(VdsProperties.num_of_cpus, cpusTopology.attributes.get("sockets").getInnerText());
         } else { // fallback when no topology is specified (ignoring offline CPUs)
-            info.put(VdsProperties.num_of_cpus, domain.selectSingleNode("vcpu").innerText);
+            info.put(VdsProperties.num_of_cpus, domain.selectSingleNode("vcpu").getInnerText());
         }
         info.put(VdsProperties.mem_size_mb, DomainXmlUtils.parseMemSize(domain.selectSingleNode("memory")));
         info.putAll(DomainXmlUtils.parseMaxMemSize(domain.selectSingleNode("maxMemory")));
@@ -97,14 +97,14 @@ public class VmDevicesConverter {
                 XmlNode lunId = node.selectSingleNode("ovirt-vm:GUID", xmlNS);
                 if (lunId != null) {
                     // direct LUN
-                    result.put(diskLunMapDao.getDiskIdByLunId(lunId.innerText).getDiskId().toString(),
-                            Collections.singletonMap(VdsProperties.Name, guestNameNode.innerText));
+                    result.put(diskLunMapDao.getDiskIdByLunId(lunId.getInnerText()).getDiskId().toString(),
+                            Collections.singletonMap(VdsProperties.Name, guestNameNode.getInnerText()));
                 } else {
                     XmlNode imageId = node.selectSingleNode("ovirt-vm:imageID", xmlNS);
                     if (imageId != null) {
                         // regular disk
-                        result.put(imageId.innerText,
-                                Collections.singletonMap(VdsProperties.Name, guestNameNode.innerText));
+                        result.put(imageId.getInnerText(),
+                                Collections.singletonMap(VdsProperties.Name, guestNameNode.getInnerText()));
                     }
                 }
             }
@@ -256,8 +256,8 @@ public class VmDevicesConverter {
             } else {
                 dev.put(VdsProperties.DeviceId, Guid.newGuid().toString());
                 Map<String, Object> specParams = new HashMap<>();
-                specParams.put(SPEC_PARAM_NODE, target.selectSingleNode(NODE).innerText);
-                specParams.put(SPEC_PARAM_SIZE, kiloBytesToMegaBytes(target.selectSingleNode(SIZE).innerText));
+                specParams.put(SPEC_PARAM_NODE, target.selectSingleNode(NODE).getInnerText());
+                specParams.put(SPEC_PARAM_SIZE, kiloBytesToMegaBytes(target.selectSingleNode(SIZE).getInnerText()));
                 dev.put(VdsProperties.SpecParams, specParams);
             }
 
@@ -285,7 +285,7 @@ public class VmDevicesConverter {
                 log.warn("No <path> found in NVDIMM device XML");
                 continue;
             }
-            HostDevice hostDevice = pathToHostDeviceSupplier.get().get(path.innerText);
+            HostDevice hostDevice = pathToHostDeviceSupplier.get().get(path.getInnerText());
             if (hostDevice == null) {
                 log.warn("NVDIMM device of '{}' could not be matched with any known device", path);
                 continue;
@@ -0,0 +1,85 @@
+package org.ovirt.engine.core.vdsbroker.monitoring;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import javax.inject.Singleton;
+
+import org.ovirt.engine.core.common.VdcObjectType;
+import org.ovirt.engine.core.common.businessentities.EntityChanges;
+import org.ovirt.engine.core.compat.Guid;
+
+/**
+ * A bounded, in-memory feed of entity changes. Every recorded change gets a new, monotonically increasing version,
+ * so clients that remember the version they last saw can ask only for the entities that changed since then instead
+ * of re-running their full search.
+ * <p>
+ * The feed is fed by the monitoring (VM and host dynamic data) and by command completion. Only the last
+ * {@link #CAPACITY} changes are retained; clients that fell further behind are told to perform a full refresh.
+ */
+@Singleton
+public class EntityChangeFeed {
+
+    static final int CAPACITY = 16384;
+
+    private final VdcObjectType[] types = new VdcObjectType[CAPACITY];
+    private final Guid[] ids = new Guid[CAPACITY];
+
+    /** The version of the last recorded change, 0 when nothing was recorded yet */
+    private long version;
+
+    public synchronized void publish(VdcObjectType type, Guid id) {
+        if (type == null || id == null) {
+            return;
+        }
+        record(type, id);
+    }
+
+    public synchronized void publish(VdcObjectType type, Collection<Guid> changedIds) {
+        if (type == null) {
+            return;
+        }
+        changedIds.stream().filter(id -> id != null).forEach(id -> record(type, id));
+    }
+
+    private void record(VdcObjectType type, Guid id) {
+        version++;
+        int slot = slotOf(version);
+        types[slot] = type;
+        ids[slot] = id;
+    }
+
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the distinct ids of the entities of the given type that changed after the given version.
+     *
+     * @param type
+     *            the type of the entities the caller is interested in
+     * @param sinceVersion
+     *            the last version the caller has seen, or a negative number if it has not seen any
+     */
+    public synchronized EntityChanges getChangesSince(VdcObjectType type, long sinceVersion) {
+        long oldestRetained = Math.max(1, version - CAPACITY + 1);
+        if (sinceVersion < 0 || sinceVersion > version || sinceVersion + 1 < oldestRetained) {
+            return new EntityChanges(version, true, new ArrayList<>());
+        }
+
+        Set<Guid> changed = new LinkedHashSet<>();
+        for (long v = sinceVersion + 1; v <= version; v++) {
+            int slot = slotOf(v);
+            if (types[slot] == type) {
+                changed.add(ids[slot]);
+            }
+        }
+        return new EntityChanges(version, false, new ArrayList<>(changed));
+    }
+
+    private static int slotOf(long version) {
+        return (int) (version % CAPACITY);
+    }
+}
@@ -36,8 +36,8 @@ public class EventVmStatsRefresher extends VmStatsRefresher {
 
     public EventVmStatsRefresher(VdsManager manager, ResourceManager resourceManager) {
         super(manager);
-        // we still want to fetch GetAllVmStats as we did before
-        allVmStatsOnlyRefresher = Injector.injectMembers(new PollVmStatsRefresher(vdsManager));
+        // we still want to fetch GetAllVmStats, at the rate decided by VmStatsPolling
+        allVmStatsOnlyRefresher = Injector.injectMembers(new PollVmStatsRefresher(vdsManager, true));
         this.resourceManager = resourceManager;
     }
 
@@ -0,0 +1,227 @@
+package org.ovirt.engine.core.vdsbroker.monitoring;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.concurrent.ManagedScheduledExecutorService;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.management.ObjectName;
+
+import org.ovirt.engine.core.common.businessentities.VDSStatus;
+import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.utils.threadpool.ThreadPools;
+import org.ovirt.engine.core.vdsbroker.VdsManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Schedules the periodic refresh of the hosts.
+ * <p>
+ * The first refreshes of the hosts are spread over the refresh interval, and every following refresh is shifted by a
+ * random jitter, so the refreshes of many hosts do not align into bursts that saturate the thread pool and the
+ * database. Hosts in a stable status whose data did not change for a while are refreshed less often, until they
+ * change again.
+ */
+@Singleton
+public class HostMonitoringScheduler implements HostMonitoringSchedulerMXBean {
+
+    private static final Logger log = LoggerFactory.getLogger(HostMonitoringScheduler.class);
+
+    /** The maximal shift of a refresh from its interval, as a fraction of the interval */
+    static final double JITTER = 0.1;
+
+    /** The number of refreshes without a change after which a host in a stable status is refreshed less often */
+    static final int UNCHANGED_REFRESHES_BEFORE_SLOWDOWN = 10;
+
+    /** The factor by which the refresh interval of an unchanged host in a stable status is extended */
+    static final int SLOWDOWN_FACTOR = 2;
+
+    /** Hosts in other statuses are in transition, and are always refreshed at the configured rate */
+    private static final Set<VDSStatus> STABLE_STATUSES = EnumSet.of(VDSStatus.Up,
+            VDSStatus.Maintenance,
+            VDSStatus.Down,
+            VDSStatus.InstallFailed,
+            VDSStatus.PendingApproval);
+
+    @Inject
+    @ThreadPools(ThreadPools.ThreadPoolType.EngineScheduledThreadPool)
+    private ManagedScheduledExecutorService executor;
+
+    private final ConcurrentMap<Guid, HostSchedule> schedules = new ConcurrentHashMap<>();
+    private ObjectName objectName;
+
+    @PostConstruct
+    private void init() {
+        registerInJMX();
+    }
+
+    @PreDestroy
+    private void destroy() {
+        if (objectName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            } catch (Exception e) {
+                log.warn("Failed to unregister host monitoring scheduler from JMX: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void registerInJMX() {
+        try {
+            objectName = new ObjectName("HostMonitoringScheduler:type=" + getClass().getName());
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        } catch (Exception e) {
+            objectName = null;
+            log.warn("Failed to register host monitoring scheduler in JMX: {}", e.getMessage());
+            log.debug("Exception", e);
+        }
+    }
+
+    /**
+     * Starts refreshing the host of the given manager
+     *
+     * @param refreshRate
+     *            the configured interval between the refreshes of the host, in milliseconds
+     */
+    public void schedule(VdsManager vdsManager, long refreshRate) {
+        HostSchedule schedule = new HostSchedule(vdsManager, refreshRate);
+        HostSchedule previous = schedules.put(vdsManager.getVdsId(), schedule);
+        if (previous != null) {
+            previous.cancel();
+        }
+        schedule.scheduleNext(ThreadLocalRandom.current().nextLong(refreshRate));
+    }
+
+    /**
+     * Stops refreshing the given host, interrupting its refresh if it is running
+     */
+    public void unschedule(Guid vdsId) {
+        HostSchedule schedule = schedules.remove(vdsId);
+        if (schedule != null) {
+            schedule.cancel();
+        }
+    }
+
+    /**
+     * Notifies that the data of the given host changed, so it is refreshed at the configured rate again
+     */
+    public void reportChange(Guid vdsId) {
+        HostSchedule schedule = schedules.get(vdsId);
+        if (schedule != null) {
+            schedule.changed();
+        }
+    }
+
+    @Override
+    public List<String> showMonitoringLag() {
+        return schedules.values().stream().map(HostSchedule::toString).collect(Collectors.toList());
+    }
+
+    @Override
+    public void resetMonitoringLag() {
+        schedules.values().forEach(HostSchedule::resetLag);
+    }
+
+    @Override
+    public int getScheduledHostsCount() {
+        return schedules.size();
+    }
+
+    static long getInterval(long refreshRate, VDSStatus status, int unchangedRefreshes) {
+        if (STABLE_STATUSES.contains(status) && unchangedRefreshes >= UNCHANGED_REFRESHES_BEFORE_SLOWDOWN) {
+            return refreshRate * SLOWDOWN_FACTOR;
+        }
+        return refreshRate;
+    }
+
+    /**
+     * @param random
+     *            a random number between -1 and 1
+     */
+    static long withJitter(long interval, double random) {
+        return interval + Math.round(interval * JITTER * random);
+    }
+
+    private class HostSchedule implements Runnable {
+
+        private final VdsManager vdsManager;
+        private final long refreshRate;
+        private final AtomicInteger unchangedRefreshes = new AtomicInteger();
+        private ScheduledFuture<?> future;
+        private boolean cancelled;
+        private volatile long dueTime;
+        private volatile long interval;
+        private volatile long lastLag;
+        private volatile long maxLag;
+
+        HostSchedule(VdsManager vdsManager, long refreshRate) {
+            this.vdsManager = vdsManager;
+            this.refreshRate = refreshRate;
+            this.interval = refreshRate;
+        }
+
+        @Override
+        public void run() {
+            lastLag = Math.max(0, System.currentTimeMillis() - dueTime);
+            maxLag = Math.max(maxLag, lastLag);
+            try {
+                vdsManager.refresh();
+            } finally {
+                interval = getInterval(refreshRate, vdsManager.getStatus(), unchangedRefreshes.getAndIncrement());
+                scheduleNext(withJitter(interval, ThreadLocalRandom.current().nextDouble(-1, 1)));
+            }
+        }
+
+        synchronized void scheduleNext(long delay) {
+            if (cancelled) {
+                return;
+            }
+            dueTime = System.currentTimeMillis() + delay;
+            future = executor.schedule(this, delay, TimeUnit.MILLISECONDS);
+        }
+
+        synchronized void cancel() {
+            cancelled = true;
+            if (future != null) {
+                future.cancel(true);
+            }
+        }
+
+        synchronized void changed() {
+            unchangedRefreshes.set(0);
+            // a slowed down host that changed is refreshed as if it was not slowed down
+            if (future != null && future.getDelay(TimeUnit.MILLISECONDS) > refreshRate && future.cancel(false)) {
+                interval = refreshRate;
+                scheduleNext(withJitter(refreshRate, ThreadLocalRandom.current().nextDouble(-1, 1)));
+            }
+        }
+
+        void resetLag() {
+            lastLag = 0;
+            maxLag = 0;
+        }
+
+        @Override
+        public String toString() {
+            long lastUpdate = vdsManager.getLastUpdate();
+            return String.format("Host %s: interval %d ms, last lag %d ms, max lag %d ms, last updated %s",
+                    vdsManager.getVdsId(),
+                    interval,
+                    lastLag,
+                    maxLag,
+                    lastUpdate == 0 ? "never" : (System.currentTimeMillis() - lastUpdate) + " ms ago");
+        }
+    }
+}
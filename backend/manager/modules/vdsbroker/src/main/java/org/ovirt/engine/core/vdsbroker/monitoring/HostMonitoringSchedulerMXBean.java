@@ -0,0 +1,25 @@
+package org.ovirt.engine.core.vdsbroker.monitoring;
+
+import java.util.List;
+
+/**
+ * The following interface is used as interface for JMX bean
+ */
+public interface HostMonitoringSchedulerMXBean {
+
+    /**
+     * The following method will return, for each host, its current refresh interval, how late its last refresh
+     * started, the longest such delay, and how long ago the host was last updated successfully
+     */
+    List<String> showMonitoringLag();
+
+    /**
+     * The following method will allow to reset the monitoring lag counters via JMX console
+     */
+    void resetMonitoringLag();
+
+    /**
+     * The following method will return the number of hosts whose refresh is scheduled
+     */
+    int getScheduledHostsCount();
+}
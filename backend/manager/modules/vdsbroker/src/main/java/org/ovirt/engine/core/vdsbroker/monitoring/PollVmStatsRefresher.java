@@ -44,15 +44,28 @@ public class PollVmStatsRefresher extends VmStatsRefresher {
     private ResourceManager resourceManager;
     @Inject
     protected VmDynamicDao vmDynamicDao;
+    @Inject
+    private VmStatsPolling vmStatsPolling;
     private ScheduledFuture vmsMonitoringJob;
+    private final boolean complementsEvents;
 
     public PollVmStatsRefresher(VdsManager vdsManager) {
+        this(vdsManager, false);
+    }
+
+    /**
+     * @param complementsEvents
+     *            whether the VM status events of the host are monitored as well, so the polls may be skipped by
+     *            {@link VmStatsPolling} while the VM statistics of the host are not consumed
+     */
+    public PollVmStatsRefresher(VdsManager vdsManager, boolean complementsEvents) {
         super(vdsManager);
+        this.complementsEvents = complementsEvents;
     }
 
     public void poll() {
         try {
-            if (isMonitoringNeeded(vdsManager.getStatus())) {
+            if (isMonitoringNeeded(vdsManager.getStatus()) && isPollNeeded()) {
                 long fetchTime = System.nanoTime();
                 List<Pair<VmDynamic, VdsmVm>> fetchedVms = fetchVms();
                 if (fetchedVms == null) {
@@ -103,6 +116,13 @@ public class PollVmStatsRefresher extends VmStatsRefresher {
         } catch (Throwable t) {
             log.debug("Exception stopping VM monitoring: {}", ExceptionUtils.getRootCauseMessage(t));
         }
+        if (complementsEvents) {
+            vmStatsPolling.removeHost(vdsManager.getVdsId());
+        }
+    }
+
+    private boolean isPollNeeded() {
+        return !complementsEvents || vmStatsPolling.isPollNeeded(vdsManager.getVdsId(), getRefreshRate());
     }
 
     /* visible for testing only */
@@ -70,6 +70,9 @@ public class VmAnalyzer {
 
     private final VmDynamic dbVm;
     private final VdsmVm vdsmVm;
+    private final VMStatus dbStatus;
+    private final Guid dbRunOnVds;
+    private final String dbIp;
 
     private VmDynamic vmDynamicToSave;
     private boolean movedToDown;
@@ -124,6 +127,9 @@ public class VmAnalyzer {
             VmNetworkInterfaceDao vmNetworkInterfaceDao) {
         this.dbVm = dbVm;
         this.vdsmVm = vdsmVm;
+        this.dbStatus = dbVm != null ? dbVm.getStatus() : null;
+        this.dbRunOnVds = dbVm != null ? dbVm.getRunOnVds() : null;
+        this.dbIp = dbVm != null ? dbVm.getIp() : null;
         this.updateStatistics = updateStatistics;
         this.vdsManager = vdsManager;
         this.auditLogDirector = auditLogDirector;
@@ -459,6 +465,17 @@ public class VmAnalyzer {
         return vmDynamicToSave;
     }
 
+    /**
+     * @return true if the dynamic data to save changes the status, the host or the addresses of the VM, which are
+     * the data that is shown in the lists of VMs, rather than only the runtime data reported by the guest
+     */
+    public boolean isVmDynamicChangeVisible() {
+        return vmDynamicToSave != null
+                && (vmDynamicToSave.getStatus() != dbStatus
+                || !Objects.equals(vmDynamicToSave.getRunOnVds(), dbRunOnVds)
+                || !Objects.equals(vmDynamicToSave.getIp(), dbIp));
+    }
+
     public List<VmNetworkStatistics> getVmNetworkStatistics() {
         return ifaces != null ?
                 ifaces.stream().map(VmNetworkInterface::getStatistics).collect(Collectors.toList())
@@ -1,10 +1,12 @@
 package org.ovirt.engine.core.vdsbroker.monitoring;
 
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -12,15 +14,18 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.enterprise.event.Observes;
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import javax.management.ObjectName;
 
 import org.apache.commons.lang.StringUtils;
 import org.ovirt.engine.core.common.businessentities.Entities;
@@ -37,6 +42,7 @@ import org.ovirt.engine.core.compat.TransactionScopeOption;
 import org.ovirt.engine.core.dao.VmDeviceDao;
 import org.ovirt.engine.core.dao.VmDynamicDao;
 import org.ovirt.engine.core.dao.VmStaticDao;
+import org.ovirt.engine.core.dao.cache.VmDeviceWriteTracker;
 import org.ovirt.engine.core.utils.transaction.TransactionSupport;
 import org.ovirt.engine.core.vdsbroker.ResourceManager;
 import org.ovirt.engine.core.vdsbroker.vdsbroker.VdsProperties;
@@ -44,7 +50,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 @Singleton
-public class VmDevicesMonitoring {
+public class VmDevicesMonitoring implements VmDevicesMonitoringMXBean {
 
     private enum DevicesChange {
         NOT_CHANGED,
@@ -70,6 +76,11 @@ public class VmDevicesMonitoring {
      *     </li>
      * </ul>
      * After adding all the changes, call {@link #flush} to process them and store the result in the DB.
+     * <p>
+     * The devices reported for each VM are remembered by {@link VmDevicesMonitoring}, so a <code>FullList</code>
+     * that reports the same devices again is not compared to the DB, and a <code>FullList</code> that reports only
+     * changes of known devices reads and updates just the changed devices. The remembered devices are forgotten
+     * once the engine writes the devices of their VM, as tracked by {@link VmDeviceWriteTracker}.
      */
     public class Change {
 
@@ -82,6 +93,7 @@ public class VmDevicesMonitoring {
         private List<VmDevice> devicesToUpdate;
         private List<VmDeviceId> deviceIdsToRemove;
         private List<Guid> vmsToSaveHash;
+        private Map<Guid, ReportedDevices> reportedDevicesToSave;
 
         private Deque<Guid> touchedVms = new LinkedList<>();
 
@@ -158,12 +170,28 @@ public class VmDevicesMonitoring {
             vmsToSaveHash = addToOptionalList(vmsToSaveHash, vmId);
         }
 
+        private Map<Guid, ReportedDevices> getReportedDevicesToSave() {
+            return reportedDevicesToSave != null ? reportedDevicesToSave : Collections.emptyMap();
+        }
+
+        private void addReportedDevicesToSave(Guid vmId, ReportedDevices devices) {
+            if (reportedDevicesToSave == null) {
+                reportedDevicesToSave = new HashMap<>();
+            }
+            reportedDevicesToSave.put(vmId, devices);
+        }
+
         /**
          * Add the VM to the list of VMs to be checked for device updates, if device information hash passed in
          * <code>vdsmHash</code> parameter is more recent (in terms of <code>fetchTime</code>) and differs from
          * the hash remembered by {@link VmDevicesMonitoring}. The new hash is remembered after that.
          */
         public void updateVm(Guid vmId, String vdsmHash) {
+            if (EMPTY_HASH.equals(vdsmHash)) {
+                // the devices are reset by the engine, so they must be compared to the DB once reported again
+                lockTouchedVm(vmId);
+                reportedDevices.remove(vmId);
+            }
             DevicesChange devicesChange = isVmDevicesChanged(vmId, vdsmHash, fetchTime);
             switch(devicesChange) {
             case CHANGED:
@@ -206,12 +234,30 @@ public class VmDevicesMonitoring {
             }
 
             lockTouchedVm(vmId);
-            processVmDevices(this, vmInfo);
+            long generation = writeTracker.getGeneration();
+            Map<String, ReportedDevice> devices = getReportedDevices(vmInfo);
+            ReportedDevices previous = getTrustedReportedDevices(vmId);
+            Map<String, ReportedDevice> previousDevices = previous != null ? previous.devices : null;
+            if (devices.equals(previousDevices)) {
+                log.debug("VM '{}' devices were not changed", vmId);
+                if (vdsId != null) {
+                    getDeviceChurn(vdsId).unchangedVms.incrementAndGet();
+                }
+                // the DB was not read, so the devices are trusted as long as the previous ones were
+                addReportedDevicesToSave(vmId, previous);
+                return;
+            }
+
+            if (!processChangedDevices(this, vmId, previousDevices, devices)) {
+                processVmDevices(this, vmInfo);
+            }
+            addReportedDevicesToSave(vmId, new ReportedDevices(devices, generation));
         }
 
         public void updateDevice(VmDevice device) {
             if (isVmDeviceChanged(device.getId(), fetchTime)) {
                 lockTouchedVm(device.getVmId());
+                reportedDevices.remove(device.getVmId());
                 addDeviceToProcess(device);
             }
         }
@@ -219,6 +265,7 @@ public class VmDevicesMonitoring {
         public void removeDevice(VmDeviceId deviceId) {
             if (isVmDeviceChanged(deviceId, fetchTime)) {
                 lockTouchedVm(deviceId.getVmId());
+                reportedDevices.remove(deviceId.getVmId());
                 addDeviceIdToRemove(deviceId);
             }
         }
@@ -234,8 +281,13 @@ public class VmDevicesMonitoring {
                     Stream.of(vmInfos).forEach(this::processFullList);
                 }
                 getDevicesToProcess().forEach(device -> processDevice(this, device));
-                saveDevicesToDb(this);
+                writeTracker.runUntracked(() -> saveDevicesToDb(this));
+                reportedDevices.putAll(getReportedDevicesToSave());
+                if (vdsId != null) {
+                    getDeviceChurn(vdsId).add(this);
+                }
             } catch (RuntimeException ex) {
+                getReportedDevicesToSave().keySet().forEach(reportedDevices::remove);
                 log.error("Failed during vm devices monitoring on host {} error is: {}", vdsId, ex);
                 log.error("Exception:", ex);
             } finally {
@@ -285,11 +337,118 @@ public class VmDevicesMonitoring {
 
     }
 
+    /**
+     * The attributes of a device reported by VDSM that are stored in the DB by the monitoring.
+     */
+    private static class ReportedDevice {
+
+        private final Guid deviceId;
+        private final String device;
+        private final String address;
+        private final String alias;
+        private final String logicalName;
+        private final String hostDevice;
+
+        public ReportedDevice(Guid deviceId,
+                String device,
+                String address,
+                String alias,
+                String logicalName,
+                String hostDevice) {
+            this.deviceId = deviceId;
+            this.device = device;
+            this.address = address;
+            this.alias = alias;
+            this.logicalName = logicalName;
+            this.hostDevice = hostDevice;
+        }
+
+        /**
+         * Devices that are not known to the engine have no ID, these are identified by their alias or address.
+         */
+        public String getKey() {
+            if (deviceId != null) {
+                return deviceId.toString();
+            }
+            return StringUtils.isNotEmpty(alias) ? "alias:" + alias : "address:" + address;
+        }
+
+        public void applyTo(VmDevice dbDevice) {
+            dbDevice.setPlugged(Boolean.TRUE);
+            dbDevice.setAddress(address);
+            dbDevice.setAlias(alias);
+            dbDevice.setLogicalName(logicalName);
+            dbDevice.setHostDevice(hostDevice);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(deviceId, device, address, alias, logicalName, hostDevice);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ReportedDevice)) {
+                return false;
+            }
+            ReportedDevice other = (ReportedDevice) obj;
+            return Objects.equals(deviceId, other.deviceId)
+                    && Objects.equals(device, other.device)
+                    && Objects.equals(address, other.address)
+                    && Objects.equals(alias, other.alias)
+                    && Objects.equals(logicalName, other.logicalName)
+                    && Objects.equals(hostDevice, other.hostDevice);
+        }
+    }
+
+    /**
+     * The devices last reported for a VM, along with the generation of the VM devices writes they were stored at.
+     */
+    private static class ReportedDevices {
+
+        private final Map<String, ReportedDevice> devices;
+        private final long generation;
+
+        public ReportedDevices(Map<String, ReportedDevice> devices, long generation) {
+            this.devices = devices;
+            this.generation = generation;
+        }
+    }
+
+    /**
+     * The number of device changes stored in the DB by the monitoring of a host.
+     */
+    private static class DeviceChurn {
+
+        private final AtomicLong added = new AtomicLong();
+        private final AtomicLong updated = new AtomicLong();
+        private final AtomicLong removed = new AtomicLong();
+        private final AtomicLong unchangedVms = new AtomicLong();
+
+        private void add(Change change) {
+            added.addAndGet(change.getDevicesToAdd().size());
+            updated.addAndGet(change.getDevicesToUpdate().size());
+            removed.addAndGet(change.getDeviceIdsToRemove().size());
+        }
+
+        @Override
+        public String toString() {
+            return String.format("added=%d, updated=%d, removed=%d, unchangedVms=%d",
+                    added.get(), updated.get(), removed.get(), unchangedVms.get());
+        }
+    }
+
     private static final Logger log = LoggerFactory.getLogger(VmDevicesMonitoring.class);
 
     public static final String EMPTY_HASH = "";
     public static final String UPDATE_HASH = "UPDATE_HASH";
 
+    /** The maximal number of VMs whose reported devices are remembered, the least recently monitored are evicted */
+    private static final int MAX_REPORTED_DEVICES_VMS = 10000;
+
     @Inject
     private FullListAdapter fullListAdapter;
 
@@ -305,13 +464,69 @@ public class VmDevicesMonitoring {
     @Inject
     private ResourceManager resourceManager;
 
+    @Inject
+    private VmDeviceWriteTracker writeTracker;
+
     private ConcurrentMap<Guid, DevicesStatus> vmDevicesStatuses = new ConcurrentHashMap<>();
     private ConcurrentMap<Guid, ReentrantLock> vmDevicesLocks = new ConcurrentHashMap<>();
     private final Object devicesStatusesLock = new Object();
+    private final Map<Guid, ReportedDevices> reportedDevices =
+            Collections.synchronizedMap(new LinkedHashMap<Guid, ReportedDevices>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Guid, ReportedDevices> eldest) {
+                    return size() > MAX_REPORTED_DEVICES_VMS;
+                }
+            });
+    private final ConcurrentMap<Guid, DeviceChurn> deviceChurns = new ConcurrentHashMap<>();
+    private ObjectName objectName;
 
     @PostConstruct
     private void init() {
         initDevicesStatuses(System.nanoTime());
+        registerInJMX();
+    }
+
+    @PreDestroy
+    private void destroy() {
+        if (objectName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            } catch (Exception e) {
+                log.warn("Failed to unregister VM devices monitoring from JMX: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void registerInJMX() {
+        try {
+            objectName = new ObjectName("VmDevicesMonitoring:type=" + getClass().getName());
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        } catch (Exception e) {
+            objectName = null;
+            log.warn("Failed to register VM devices monitoring in JMX: {}", e.getMessage());
+            log.debug("Exception", e);
+        }
+    }
+
+    @Override
+    public List<String> showDeviceChurn() {
+        return deviceChurns.entrySet().stream()
+                .map(entry -> String.format("Host %s: %s", entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void resetDeviceChurn() {
+        deviceChurns.clear();
+    }
+
+    @Override
+    public int getReportedDevicesCacheSize() {
+        return reportedDevices.size();
+    }
+
+    private DeviceChurn getDeviceChurn(Guid vdsId) {
+        return deviceChurns.computeIfAbsent(vdsId, id -> new DeviceChurn());
     }
 
     void initDevicesStatuses(long fetchTime) {
@@ -321,6 +536,29 @@ public class VmDevicesMonitoring {
 
     public void refreshVmDevices(Guid vmId) {
         vmDevicesStatuses.remove(vmId);
+        reportedDevices.remove(vmId);
+    }
+
+    /**
+     * Forgets the devices last reported for the VM, so the devices reported next are compared to the DB. To be called
+     * when the VM starts or goes down, since its devices are changed by the engine then.
+     */
+    public void forgetReportedDevices(Guid vmId) {
+        reportedDevices.remove(vmId);
+    }
+
+    /**
+     * Returns the devices last reported for the VM, unless its devices were written by the engine since they were
+     * stored, in which case they are forgotten.
+     */
+    private ReportedDevices getTrustedReportedDevices(Guid vmId) {
+        ReportedDevices previous = reportedDevices.get(vmId);
+        if (previous != null && writeTracker.getGeneration(vmId) > previous.generation) {
+            log.debug("VM '{}' devices were written since they were reported", vmId);
+            reportedDevices.remove(vmId);
+            return null;
+        }
+        return previous;
     }
 
     VmDeviceDao getVmDeviceDao() {
@@ -448,6 +686,7 @@ public class VmDevicesMonitoring {
 
     private void onVmDelete(@Observes @VmDeleted Guid vmId) {
         vmDevicesStatuses.remove(vmId);
+        reportedDevices.remove(vmId);
         removeLock(vmId);
     }
 
@@ -507,6 +746,65 @@ public class VmDevicesMonitoring {
         handleRemovedDevices(change, vmId, processedDeviceIds, dbDevices);
     }
 
+    /**
+     * Gets the devices with an address reported in the FullList VDSM command result by their key.
+     */
+    private Map<String, ReportedDevice> getReportedDevices(Map<String, Object> vmInfo) {
+        Map<String, ReportedDevice> devices = new HashMap<>();
+        for (Object o: (Object[]) vmInfo.get(VdsProperties.Devices)) {
+            Map<String, Object> vdsmDevice = (Map<String, Object>) o;
+            if (vdsmDevice.get(VdsProperties.Address) == null) {
+                continue;
+            }
+
+            ReportedDevice device = new ReportedDevice(getDeviceId(vdsmDevice),
+                    (String) vdsmDevice.get(VdsProperties.Device),
+                    vdsmDevice.get(VdsProperties.Address).toString(),
+                    StringUtils.defaultString((String) vdsmDevice.get(VdsProperties.Alias)),
+                    getDeviceLogicalName(vmInfo, vdsmDevice),
+                    StringUtils.defaultString((String) vdsmDevice.get(VdsProperties.HostDev)));
+            devices.put(device.getKey(), device);
+        }
+        return devices;
+    }
+
+    /**
+     * Updates only the devices whose attributes changed since the previous report of the VM devices, if no device
+     * was added or removed since then and all the changed devices are stored in the DB by their reported ID.
+     *
+     * @return true, if the changed devices were processed, false if all the VM devices need to be processed
+     */
+    private boolean processChangedDevices(Change change,
+            Guid vmId,
+            Map<String, ReportedDevice> previousDevices,
+            Map<String, ReportedDevice> devices) {
+        if (previousDevices == null || !previousDevices.keySet().equals(devices.keySet())) {
+            return false;
+        }
+
+        List<VmDevice> changedDevices = new ArrayList<>();
+        for (ReportedDevice device : devices.values()) {
+            if (device.equals(previousDevices.get(device.getKey()))) {
+                continue;
+            }
+            if (device.deviceId == null) {
+                return false;
+            }
+
+            List<VmDevice> dbDevices = getVmDeviceDao().getVmDevicesByDeviceId(device.deviceId, vmId);
+            if (dbDevices.isEmpty()) {
+                return false;
+            }
+            VmDevice dbDevice = dbDevices.get(0);
+            device.applyTo(dbDevice);
+            changedDevices.add(dbDevice);
+        }
+
+        log.debug("VM '{}' has {} changed devices", vmId, changedDevices.size());
+        changedDevices.forEach(change::addDeviceToUpdate);
+        return true;
+    }
+
     /**
      * Some of the devices need special treatment:
      * virtio-serial: this device was unmanaged before 3.6 and since 3.6 it is managed.
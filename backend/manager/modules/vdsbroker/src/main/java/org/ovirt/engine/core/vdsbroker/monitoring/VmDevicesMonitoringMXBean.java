@@ -0,0 +1,25 @@
+package org.ovirt.engine.core.vdsbroker.monitoring;
+
+import java.util.List;
+
+/**
+ * The following interface is used as interface for JMX bean
+ */
+public interface VmDevicesMonitoringMXBean {
+
+    /**
+     * The following method will return the number of devices added, updated and removed by the monitoring of each
+     * host, and the number of VMs whose changed devices hash did not involve any device change
+     */
+    List<String> showDeviceChurn();
+
+    /**
+     * The following method will allow to reset the device churn counters via JMX console
+     */
+    void resetDeviceChurn();
+
+    /**
+     * The following method will return the number of VMs whose reported devices are kept in memory
+     */
+    int getReportedDevicesCacheSize();
+}
@@ -0,0 +1,188 @@
+package org.ovirt.engine.core.vdsbroker.monitoring;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Singleton;
+import javax.management.ObjectName;
+
+import org.ovirt.engine.core.common.config.Config;
+import org.ovirt.engine.core.common.config.ConfigValues;
+import org.ovirt.engine.core.compat.Guid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decides when the full statistics of the VMs that run on a host are polled.
+ * <p>
+ * With event-first VM monitoring, the VM status events of the hosts are the primary source of VM state changes, and
+ * the full statistics of the VMs of a host are polled at the regular rate only while they are consumed, e.g. by the
+ * clients that show them or by the load balancing of the cluster. Otherwise they are polled at the idle rate, which is
+ * {@link ConfigValues#VmStatsIdlePollingFactor} times slower, and which also reconciles VM state changes whose events
+ * were missed. Without event-first VM monitoring, the statistics of all the hosts are polled at the regular rate.
+ */
+@Singleton
+public class VmStatsPolling implements VmStatsPollingMXBean {
+
+    private static final Logger log = LoggerFactory.getLogger(VmStatsPolling.class);
+
+    /** The time the statistics of a host are considered consumed after they were last read */
+    static final long DEFAULT_CONSUMPTION_LEASE_IN_MILLIS = TimeUnit.MINUTES.toMillis(2);
+
+    private final ConcurrentMap<Guid, HostPolling> hosts = new ConcurrentHashMap<>();
+    private ObjectName objectName;
+
+    @PostConstruct
+    private void init() {
+        registerInJMX();
+    }
+
+    @PreDestroy
+    private void destroy() {
+        if (objectName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            } catch (Exception e) {
+                log.warn("Failed to unregister VM statistics polling from JMX: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void registerInJMX() {
+        try {
+            objectName = new ObjectName("VmStatsPolling:type=" + getClass().getName());
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        } catch (Exception e) {
+            objectName = null;
+            log.warn("Failed to register VM statistics polling in JMX: {}", e.getMessage());
+            log.debug("Exception", e);
+        }
+    }
+
+    /**
+     * Marks the VM statistics of the given hosts as consumed for the default lease time.
+     *
+     * @param hostIds
+     *            the hosts that run the VMs whose statistics were read
+     */
+    public void statsConsumed(Collection<Guid> hostIds) {
+        statsConsumed(hostIds, DEFAULT_CONSUMPTION_LEASE_IN_MILLIS);
+    }
+
+    /**
+     * Marks the VM statistics of the given hosts as consumed for the given lease time.
+     *
+     * @param hostIds
+     *            the hosts that run the VMs whose statistics were read
+     * @param leaseInMillis
+     *            the time in which the statistics are expected to be read again
+     */
+    public void statsConsumed(Collection<Guid> hostIds, long leaseInMillis) {
+        long consumedUntil = System.currentTimeMillis() + leaseInMillis;
+        for (Guid hostId : hostIds) {
+            if (hostId != null) {
+                HostPolling hostPolling = hosts.computeIfAbsent(hostId, HostPolling::new);
+                hostPolling.consumedUntil.accumulateAndGet(consumedUntil, Math::max);
+            }
+        }
+    }
+
+    /**
+     * Decides whether the VM statistics of the given host are to be polled now, and records the decision.
+     *
+     * @param hostId
+     *            the polled host
+     * @param refreshRate
+     *            the regular polling interval of the VM statistics
+     * @return whether the VM statistics of the host are to be polled now
+     */
+    public boolean isPollNeeded(Guid hostId, long refreshRate) {
+        return isPollNeeded(hostId, refreshRate, System.currentTimeMillis());
+    }
+
+    boolean isPollNeeded(Guid hostId, long refreshRate, long now) {
+        HostPolling hostPolling = hosts.computeIfAbsent(hostId, HostPolling::new);
+        if (!isEventFirstVmMonitoring()) {
+            hostPolling.polled(refreshRate, now);
+            return true;
+        }
+
+        int idlePollingFactor = Config.<Integer> getValue(ConfigValues.VmStatsIdlePollingFactor);
+        boolean consumed = hostPolling.consumedUntil.get() > now;
+        long interval = consumed ? refreshRate : refreshRate * Math.max(1, idlePollingFactor);
+        // the polls are scheduled at the regular rate, so a poll which is nearly due is not skipped
+        if (hostPolling.lastPoll == 0 || now - hostPolling.lastPoll >= interval - refreshRate / 2) {
+            hostPolling.polled(interval, now);
+            return true;
+        }
+        hostPolling.skipped.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Stops tracking the VM statistics polling of the given host, when its monitoring stops.
+     */
+    public void removeHost(Guid hostId) {
+        hosts.remove(hostId);
+    }
+
+    @Override
+    public boolean isEventFirstVmMonitoring() {
+        return Config.<Boolean> getValue(ConfigValues.EventFirstVmMonitoring);
+    }
+
+    @Override
+    public List<String> showPollSet() {
+        return hosts.values().stream().map(HostPolling::toString).collect(Collectors.toList());
+    }
+
+    @Override
+    public void resetPollCounters() {
+        hosts.values().forEach(HostPolling::resetCounters);
+    }
+
+    private static class HostPolling {
+        private final Guid hostId;
+        private final AtomicLong consumedUntil = new AtomicLong();
+        private final AtomicLong polls = new AtomicLong();
+        private final AtomicLong skipped = new AtomicLong();
+        private volatile long lastPoll;
+        private volatile long interval;
+
+        HostPolling(Guid hostId) {
+            this.hostId = hostId;
+        }
+
+        void polled(long interval, long now) {
+            this.interval = interval;
+            lastPoll = now;
+            polls.incrementAndGet();
+        }
+
+        void resetCounters() {
+            polls.set(0);
+            skipped.set(0);
+        }
+
+        @Override
+        public String toString() {
+            long now = System.currentTimeMillis();
+            long consumedFor = consumedUntil.get() - now;
+            return String.format("Host %s: %s, interval %d ms, last polled %s, %d polls, %d skipped",
+                    hostId,
+                    consumedFor > 0 ? "consumed for another " + consumedFor + " ms" : "idle",
+                    interval,
+                    lastPoll == 0 ? "never" : (now - lastPoll) + " ms ago",
+                    polls.get(),
+                    skipped.get());
+        }
+    }
+}
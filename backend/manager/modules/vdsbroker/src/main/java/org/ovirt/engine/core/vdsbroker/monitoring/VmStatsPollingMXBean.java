@@ -0,0 +1,26 @@
+package org.ovirt.engine.core.vdsbroker.monitoring;
+
+import java.util.List;
+
+/**
+ * The following interface is used as interface for JMX bean
+ */
+public interface VmStatsPollingMXBean {
+
+    /**
+     * The following method will return, for each host whose VM statistics are polled, whether its statistics are
+     * currently consumed, its current polling interval, when it was last polled, and the number of polls done and
+     * skipped
+     */
+    List<String> showPollSet();
+
+    /**
+     * The following method will allow to reset the poll counters via JMX console
+     */
+    void resetPollCounters();
+
+    /**
+     * The following method will return whether the VM status events are the primary source of VM state changes
+     */
+    boolean isEventFirstVmMonitoring();
+}
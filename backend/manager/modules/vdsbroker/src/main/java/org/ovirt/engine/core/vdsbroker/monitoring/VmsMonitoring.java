@@ -11,6 +11,7 @@ import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import org.ovirt.engine.core.common.VdcObjectType;
 import org.ovirt.engine.core.common.businessentities.IVdsEventListener;
 import org.ovirt.engine.core.common.businessentities.VmDynamic;
 import org.ovirt.engine.core.common.businessentities.VmStatistics;
@@ -50,7 +51,11 @@ public class VmsMonitoring {
     @Inject
     private LunDisksMonitoring lunDisksMonitoring;
     @Inject
+    private VmDevicesMonitoring vmDevicesMonitoring;
+    @Inject
     private VmJobsMonitoring vmJobsMonitoring;
+    @Inject
+    private EntityChangeFeed entityChangeFeed;
 
     @Inject
     private DiskImageDynamicDao diskImageDynamicDao;
@@ -214,6 +219,7 @@ public class VmsMonitoring {
             if (vmAnalyzer.isSuccededToRun()) {
                 vdsManager.succeededToRunVm(vmAnalyzer.getVmId());
                 succeededToRunVms.add(vmAnalyzer.getVmId());
+                vmDevicesMonitoring.forgetReportedDevices(vmAnalyzer.getVmId());
             }
 
             // Refrain from auto-start HA VM during its re-run attempts.
@@ -232,6 +238,7 @@ public class VmsMonitoring {
 
             if (vmAnalyzer.isMovedToDown()) {
                 movedToDownVms.add(vmAnalyzer.getVmId());
+                vmDevicesMonitoring.forgetReportedDevices(vmAnalyzer.getVmId());
             }
 
             if (vmAnalyzer.isRemoveFromAsync()) {
@@ -303,9 +310,16 @@ public class VmsMonitoring {
     }
 
     private void saveVmDynamic(List<VmAnalyzer> vmAnalyzers) {
-        vmDynamicDao.updateAllInBatch(vmAnalyzers.stream()
+        List<VmDynamic> vmDynamicToSave = vmAnalyzers.stream()
                 .map(VmAnalyzer::getVmDynamicToSave)
                 .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        vmDynamicDao.updateAllInBatch(vmDynamicToSave);
+        // the runtime data reported by the guests changes on almost every cycle, publishing it would force the
+        // clients to refresh all the VMs over and over
+        entityChangeFeed.publish(VdcObjectType.VM, vmAnalyzers.stream()
+                .filter(VmAnalyzer::isVmDynamicChangeVisible)
+                .map(VmAnalyzer::getVmId)
                 .collect(Collectors.toList()));
     }
 
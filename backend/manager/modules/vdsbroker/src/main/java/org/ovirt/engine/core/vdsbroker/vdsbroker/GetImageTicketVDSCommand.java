@@ -41,7 +41,7 @@ public class GetImageTicketVDSCommand<P extends GetImageTicketVDSCommandParamete
         imageTicketInformationReturn = getBroker().getImageTicket(getParameters().getTicketId().toString());
 
         proceedProxyReturnValue();
-        setReturnValue(parseImageTicketInformationReturn());
+        setReturnValue(parseImageTicketInformation(imageTicketInformationReturn.getImageTicketInformation()));
     }
 
     @Override
@@ -54,9 +54,8 @@ public class GetImageTicketVDSCommand<P extends GetImageTicketVDSCommandParamete
         return imageTicketInformationReturn;
     }
 
-    private ImageTicketInformation parseImageTicketInformationReturn() {
+    static ImageTicketInformation parseImageTicketInformation(Map<String, Object> ticketInfoMap) {
         ImageTicketInformation ticketInfo = new ImageTicketInformation();
-        Map<String, Object> ticketInfoMap = imageTicketInformationReturn.getImageTicketInformation();
 
         if (ticketInfoMap.containsKey(UUID)) {
             ticketInfo.setId(Guid.createGuidFromString((String) ticketInfoMap.get(UUID)));
@@ -0,0 +1,63 @@
+package org.ovirt.engine.core.vdsbroker.vdsbroker;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.ovirt.engine.core.common.businessentities.storage.ImageTicketInformation;
+import org.ovirt.engine.core.common.errors.EngineError;
+import org.ovirt.engine.core.common.vdscommands.GetImageTicketsVDSCommandParameters;
+import org.ovirt.engine.core.compat.Guid;
+
+/**
+ * Retrieves several image tickets of the host at once. The requests for the tickets are sent together, and the
+ * result contains the information of each ticket that was retrieved, by ticket id. A ticket that could not be
+ * retrieved, e.g. since it was already removed, is missing from the result and does not fail the command.
+ */
+public class GetImageTicketsVDSCommand<P extends GetImageTicketsVDSCommandParameters> extends VdsBrokerCommand<P> {
+
+    private List<ImageTicketInformationReturn> imageTicketInformationReturns;
+
+    public GetImageTicketsVDSCommand(P parameters) {
+        super(parameters);
+    }
+
+    @Override
+    protected void executeVdsBrokerCommand() {
+        List<Guid> ticketIds = getParameters().getTicketIds();
+        imageTicketInformationReturns = getBroker().getImageTickets(ticketIds.stream()
+                .map(Guid::toString)
+                .collect(Collectors.toList()));
+
+        Map<Guid, ImageTicketInformation> ticketsInformation = new HashMap<>();
+        for (int i = 0; i < ticketIds.size(); i++) {
+            ImageTicketInformationReturn ticketInformationReturn = imageTicketInformationReturns.get(i);
+            if (getReturnValueFromStatus(ticketInformationReturn.getStatus()) == EngineError.Done) {
+                ticketsInformation.put(ticketIds.get(i),
+                        GetImageTicketVDSCommand.parseImageTicketInformation(
+                                ticketInformationReturn.getImageTicketInformation()));
+            } else {
+                log.debug("Could not get image ticket '{}' from host '{}': {}",
+                        ticketIds.get(i),
+                        getParameters().getVdsId(),
+                        ticketInformationReturn.getStatus());
+            }
+        }
+        setReturnValue(ticketsInformation);
+    }
+
+    @Override
+    protected Status getReturnStatus() {
+        // the tickets are handled one by one, the command fails only if the host could not be reached
+        Status status = new Status();
+        status.code = EngineError.Done.getValue();
+        status.message = EngineError.Done.name();
+        return status;
+    }
+
+    @Override
+    protected Object getReturnValueFromBroker() {
+        return imageTicketInformationReturns;
+    }
+}
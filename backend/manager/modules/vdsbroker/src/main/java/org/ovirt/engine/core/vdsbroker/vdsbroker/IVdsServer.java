@@ -107,6 +107,8 @@ public interface IVdsServer {
 
     ImageTicketInformationReturn getImageTicket(String ticketId);
 
+    List<ImageTicketInformationReturn> getImageTickets(List<String> ticketIds);
+
     StatusOnlyReturn desktopLogin(String vmId, String domain, String user, String password);
 
     StatusOnlyReturn desktopLogoff(String vmId, String force);
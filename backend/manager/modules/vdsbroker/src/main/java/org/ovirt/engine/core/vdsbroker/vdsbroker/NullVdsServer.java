@@ -167,6 +167,10 @@ public class NullVdsServer implements IVdsServer {
         return null;
     }
 
+    @Override public List<ImageTicketInformationReturn> getImageTickets(List<String> ticketIds) {
+        return null;
+    }
+
     @Override public StatusOnlyReturn desktopLogin(String vmId, String domain, String user, String password) {
         return null;
     }
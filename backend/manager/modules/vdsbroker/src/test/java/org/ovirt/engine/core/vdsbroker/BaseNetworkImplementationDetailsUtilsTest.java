@@ -3,9 +3,15 @@ package org.ovirt.engine.core.vdsbroker;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -24,6 +30,7 @@ import org.ovirt.engine.core.common.businessentities.network.NetworkAttachment;
 import org.ovirt.engine.core.common.businessentities.network.VdsNetworkInterface;
 import org.ovirt.engine.core.common.config.ConfigValues;
 import org.ovirt.engine.core.common.network.SwitchType;
+import org.ovirt.engine.core.common.utils.Pair;
 import org.ovirt.engine.core.compat.Guid;
 import org.ovirt.engine.core.compat.Version;
 import org.ovirt.engine.core.dao.ClusterDao;
@@ -32,6 +39,7 @@ import org.ovirt.engine.core.dao.VdsStaticDao;
 import org.ovirt.engine.core.dao.network.DnsResolverConfigurationDao;
 import org.ovirt.engine.core.dao.network.HostNetworkQosDao;
 import org.ovirt.engine.core.dao.network.InterfaceDao;
+import org.ovirt.engine.core.dao.network.InterfaceSyncStatusDao;
 import org.ovirt.engine.core.dao.network.NetworkAttachmentDao;
 import org.ovirt.engine.core.dao.network.NetworkDao;
 import org.ovirt.engine.core.utils.MockConfigDescriptor;
@@ -78,6 +86,9 @@ public abstract class BaseNetworkImplementationDetailsUtilsTest {
     @Mock
     private DefaultRouteUtil defaultRouteUtil;
 
+    @Mock
+    private InterfaceSyncStatusDao interfaceSyncStatusDaoMock;
+
     private Guid VDS_ID = Guid.newGuid();
     private Guid CLUSTER_ID = Guid.newGuid();
     private Cluster cluster;
@@ -120,7 +131,8 @@ public abstract class BaseNetworkImplementationDetailsUtilsTest {
                 networkDaoMock,
                 dnsResolverConfigurationDaoMock,
                 calculateBaseNic,
-                this.defaultRouteUtil);
+                this.defaultRouteUtil,
+                interfaceSyncStatusDaoMock);
     }
 
     @Test
@@ -240,6 +252,43 @@ public abstract class BaseNetworkImplementationDetailsUtilsTest {
             network);
     }
 
+    @Test
+    public void getAllInterfacesOutOfSyncUsesPersistedStatus() {
+        Network network = createNetwork(testIface.isBridged(), testIface.getMtu(), testIface.getVlanId());
+        mockClusterInterfaces(network);
+        Map<Guid, Boolean> persistedStatuses = new HashMap<>();
+        persistedStatuses.put(testIface.getId(), false);
+        when(interfaceSyncStatusDaoMock.getAllForCluster(CLUSTER_ID)).thenReturn(persistedStatuses);
+
+        assertEquals(Collections.singleton(testIface),
+                networkImplementationDetailsUtils.getAllInterfacesOutOfSync(CLUSTER_ID));
+        verify(interfaceSyncStatusDaoMock, never()).saveAll(any(), any());
+        verify(clusterDaoMock, never()).get(any());
+    }
+
+    @Test
+    public void getAllInterfacesOutOfSyncCalculatesAndSavesMissingStatus() {
+        Network network = createNetwork(testIface.isBridged(), testIface.getMtu() + 1, testIface.getVlanId());
+        mockClusterInterfaces(network);
+        initMocksForNetworkImplementationDetailsUtils(network, qosA, testIface);
+        when(interfaceSyncStatusDaoMock.getAllForCluster(CLUSTER_ID)).thenReturn(new HashMap<>());
+        Map<Guid, Long> generations = Collections.singletonMap(testIface.getVdsId(), 3L);
+        when(interfaceSyncStatusDaoMock.getGenerationsForCluster(CLUSTER_ID)).thenReturn(generations);
+
+        assertEquals(Collections.singleton(testIface),
+                networkImplementationDetailsUtils.getAllInterfacesOutOfSync(CLUSTER_ID));
+        verify(interfaceSyncStatusDaoMock)
+                .saveAll(Collections.singletonList(new Pair<>(testIface, false)), generations);
+    }
+
+    private void mockClusterInterfaces(Network network) {
+        network.setName(networkName);
+        when(networkDaoMock.getNetworksForCluster(CLUSTER_ID))
+                .thenReturn(Collections.singletonMap(networkName, network));
+        when(interfaceDaoMock.getAllInterfacesByClusterId(CLUSTER_ID))
+                .thenReturn(Collections.singletonList(testIface));
+    }
+
     private void calculateNetworkImplementationDetailsAndAssertManaged(VdsNetworkInterface iface,
         boolean expectManaged,
         Network network) {
@@ -0,0 +1,117 @@
+package org.ovirt.engine.core.vdsbroker;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.ovirt.engine.core.common.config.ConfigValues;
+import org.ovirt.engine.core.common.vdscommands.VDSCommandType;
+import org.ovirt.engine.core.common.vdscommands.VDSParametersBase;
+import org.ovirt.engine.core.common.vdscommands.VDSReturnValue;
+import org.ovirt.engine.core.common.vdscommands.VdsIdVDSCommandParametersBase;
+import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.utils.MockConfigDescriptor;
+import org.ovirt.engine.core.utils.MockConfigExtension;
+
+@ExtendWith(MockConfigExtension.class)
+public class ResourceManagerTest {
+
+    private ResourceManager resourceManager;
+
+    private VdsIdVDSCommandParametersBase parameters;
+
+    public static Stream<MockConfigDescriptor<?>> mockConfiguration() {
+        return Stream.of(
+                MockConfigDescriptor.of(ConfigValues.EventProcessingPoolSize, 10),
+                MockConfigDescriptor.of(ConfigValues.EventPurgeTimeoutInHours, 3),
+                MockConfigDescriptor.of(ConfigValues.vdsTimeout, 180)
+        );
+    }
+
+    @BeforeEach
+    public void setUp() {
+        resourceManager = spy(new ResourceManager());
+        parameters = new VdsIdVDSCommandParametersBase(Guid.newGuid());
+    }
+
+    @Test
+    public void testRunVdsCommandAsyncCompletesOnResponse() throws Exception {
+        VDSReturnValue returnValue = new VDSReturnValue();
+        doAnswer(invocation -> {
+            VDSParametersBase params = invocation.getArgument(1);
+            params.getCallback().onResponse(Collections.singletonMap("result", returnValue));
+            return new VDSReturnValue();
+        }).when(resourceManager).runVdsCommand(eq(VDSCommandType.GetHardwareInfoAsync), any());
+
+        CompletableFuture<VDSReturnValue> future =
+                resourceManager.runVdsCommandAsync(VDSCommandType.GetHardwareInfoAsync, parameters);
+
+        assertSame(returnValue, future.get());
+    }
+
+    @Test
+    public void testRunVdsCommandAsyncIsPendingUntilResponse() {
+        doReturn(new VDSReturnValue()).when(resourceManager)
+                .runVdsCommand(eq(VDSCommandType.GetHardwareInfoAsync), any());
+
+        CompletableFuture<VDSReturnValue> future =
+                resourceManager.runVdsCommandAsync(VDSCommandType.GetHardwareInfoAsync, parameters);
+
+        assertFalse(future.isDone());
+        VDSReturnValue returnValue = new VDSReturnValue();
+        parameters.getCallback().onResponse(Collections.singletonMap("result", returnValue));
+        assertSame(returnValue, future.getNow(null));
+    }
+
+    @Test
+    public void testRunVdsCommandAsyncCompletesExceptionallyOnFailure() {
+        RuntimeException failure = new RuntimeException();
+        doAnswer(invocation -> {
+            VDSParametersBase params = invocation.getArgument(1);
+            params.getCallback().onFailure(failure);
+            return new VDSReturnValue();
+        }).when(resourceManager).runVdsCommand(eq(VDSCommandType.GetHardwareInfoAsync), any());
+
+        CompletableFuture<VDSReturnValue> future =
+                resourceManager.runVdsCommandAsync(VDSCommandType.GetHardwareInfoAsync, parameters);
+
+        assertTrue(future.isCompletedExceptionally());
+        assertSame(failure, assertThrows(ExecutionException.class, future::get).getCause());
+    }
+
+    @Test
+    public void testRunVdsCommandAsyncCompletesExceptionallyWhenSendingFails() {
+        RuntimeException failure = new RuntimeException();
+        doThrow(failure).when(resourceManager).runVdsCommand(eq(VDSCommandType.GetHardwareInfoAsync), any());
+
+        CompletableFuture<VDSReturnValue> future =
+                resourceManager.runVdsCommandAsync(VDSCommandType.GetHardwareInfoAsync, parameters);
+
+        assertSame(failure, assertThrows(ExecutionException.class, future::get).getCause());
+    }
+
+    @Test
+    public void testRunVdsCommandAsyncCompletesExceptionallyWhenCommandIsMissing() {
+        doReturn(null).when(resourceManager).runVdsCommand(eq(VDSCommandType.GetHardwareInfoAsync), any());
+
+        CompletableFuture<VDSReturnValue> future =
+                resourceManager.runVdsCommandAsync(VDSCommandType.GetHardwareInfoAsync, parameters);
+
+        assertTrue(future.isCompletedExceptionally());
+    }
+}
@@ -0,0 +1,149 @@
+package org.ovirt.engine.core.vdsbroker.jsonrpc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.ovirt.engine.core.vdsbroker.TransportRunTimeException;
+import org.ovirt.vdsm.jsonrpc.client.ClientConnectionException;
+import org.ovirt.vdsm.jsonrpc.client.JsonRpcClient;
+import org.ovirt.vdsm.jsonrpc.client.JsonRpcRequest;
+import org.ovirt.vdsm.jsonrpc.client.JsonRpcResponse;
+import org.ovirt.vdsm.jsonrpc.client.RequestBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class JsonRpcRequestPipelineTest {
+
+    private static final long WINDOW_IN_MILLIS = 50;
+    private static final int MAX_BATCH_SIZE = 2;
+
+    @Mock
+    private JsonRpcClient client;
+
+    @Mock
+    private ScheduledExecutorService executor;
+
+    private JsonRpcRequestPipeline pipeline;
+
+    @BeforeEach
+    public void setUp() {
+        doReturn("host").when(client).getHostname();
+        pipeline = new JsonRpcRequestPipeline(client, executor, WINDOW_IN_MILLIS, MAX_BATCH_SIZE);
+    }
+
+    @Test
+    public void concurrentRequestsAreSentInOneBatch() throws Exception {
+        submitLeadingRequest();
+        JsonRpcRequest statsRequest = new RequestBuilder("Host.getStats").build();
+        JsonRpcRequest vmStatsRequest = new RequestBuilder("Host.getAllVmStats").build();
+        JsonRpcResponse statsResponse = response(statsRequest);
+        JsonRpcResponse vmStatsResponse = response(vmStatsRequest);
+        // the responses of a batch are not necessarily in the order of the requests
+        doReturn(CompletableFuture.completedFuture(Arrays.asList(vmStatsResponse, statsResponse)))
+                .when(client).batchCall(anyList());
+
+        Future<JsonRpcResponse> statsFuture = pipeline.submit(statsRequest);
+        Future<JsonRpcResponse> vmStatsFuture = pipeline.submit(vmStatsRequest);
+
+        assertEquals(statsResponse, statsFuture.get());
+        assertEquals(vmStatsResponse, vmStatsFuture.get());
+        verify(client).batchCall(Arrays.asList(statsRequest, vmStatsRequest));
+        assertEquals(3, pipeline.getRequestsCount());
+        assertEquals(2, pipeline.getBatchesCount());
+        assertEquals(2, pipeline.getMaxBatchSize());
+    }
+
+    @Test
+    public void requestToIdleHostIsSentRightAway() throws Exception {
+        JsonRpcRequest request = new RequestBuilder("Host.getStats").build();
+        JsonRpcResponse response = response(request);
+        doReturn(CompletableFuture.completedFuture(response)).when(client).call(request);
+
+        Future<JsonRpcResponse> future = pipeline.submit(request);
+
+        assertTrue(future.isDone());
+        assertEquals(response, future.get());
+        verify(client, never()).batchCall(anyList());
+        assertEquals(1, pipeline.getBatchesCount());
+    }
+
+    @Test
+    public void fullBatchIsSentWithoutWaitingForResponses() throws Exception {
+        submitLeadingRequest();
+        doReturn(new CompletableFuture<List<JsonRpcResponse>>()).when(client).batchCall(anyList());
+
+        pipeline.submit(new RequestBuilder("Host.getStats").build());
+        pipeline.submit(new RequestBuilder("Host.getAllVmStats").build());
+        Future<JsonRpcResponse> nextBatchResponse = pipeline.submit(new RequestBuilder("Host.getJobs").build());
+
+        verify(client).batchCall(anyList());
+        assertEquals(2, pipeline.getBatchesCount());
+        assertFalse(nextBatchResponse.isDone());
+    }
+
+    @Test
+    public void batchCallIsRemovedOnceAllItsRequestsAreRemoved() throws Exception {
+        submitLeadingRequest();
+        Future<List<JsonRpcResponse>> batchResponse = new CompletableFuture<>();
+        doReturn(batchResponse).when(client).batchCall(anyList());
+
+        Future<JsonRpcResponse> statsFuture = pipeline.submit(new RequestBuilder("Host.getStats").build());
+        Future<JsonRpcResponse> jobsFuture = pipeline.submit(new RequestBuilder("Host.getJobs").build());
+
+        pipeline.removeCall(statsFuture);
+        verify(client, never()).removeCall(any());
+        pipeline.removeCall(jobsFuture);
+        verify(client).removeCall(batchResponse);
+    }
+
+    @Test
+    public void connectionFailureIsReportedToCallers() throws Exception {
+        submitLeadingRequest();
+        doThrow(new ClientConnectionException("Connection refused")).when(client).batchCall(anyList());
+
+        Future<JsonRpcResponse> statsFuture = pipeline.submit(new RequestBuilder("Host.getStats").build());
+        Future<JsonRpcResponse> vmStatsFuture = pipeline.submit(new RequestBuilder("Host.getAllVmStats").build());
+
+        assertThrows(TransportRunTimeException.class, statsFuture::get);
+        assertThrows(TransportRunTimeException.class, vmStatsFuture::get);
+    }
+
+    /**
+     * Submits a request to the idle host, which is sent right away, so the requests submitted right after it are
+     * gathered into a batch.
+     */
+    private void submitLeadingRequest() throws Exception {
+        JsonRpcRequest request = new RequestBuilder("Host.getCapabilities").build();
+        doReturn(CompletableFuture.completedFuture(response(request))).when(client).call(request);
+        pipeline.submit(request);
+    }
+
+    private static JsonRpcResponse response(JsonRpcRequest request) throws Exception {
+        String json = "{\"jsonrpc\": \"2.0\", \"id\": \"" + request.getId().asText()
+                + "\", \"result\": {\"method\": \"" + request.getMethod() + "\"}}";
+        return JsonRpcResponse.fromJsonNode(new ObjectMapper().readTree(json));
+    }
+}
@@ -0,0 +1,75 @@
+package org.ovirt.engine.core.vdsbroker.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ovirt.engine.core.common.VdcObjectType;
+import org.ovirt.engine.core.common.businessentities.EntityChanges;
+import org.ovirt.engine.core.compat.Guid;
+
+public class EntityChangeFeedTest {
+
+    private EntityChangeFeed feed;
+
+    @BeforeEach
+    public void setUp() {
+        feed = new EntityChangeFeed();
+    }
+
+    @Test
+    public void unknownVersionRequiresFullRefresh() {
+        feed.publish(VdcObjectType.VM, Guid.newGuid());
+
+        EntityChanges changes = feed.getChangesSince(VdcObjectType.VM, -1);
+
+        assertTrue(changes.isFullRefreshRequired());
+        assertEquals(1, changes.getVersion());
+    }
+
+    @Test
+    public void returnsDistinctChangesOfRequestedType() {
+        Guid vm1 = Guid.newGuid();
+        Guid vm2 = Guid.newGuid();
+        long since = feed.getVersion();
+        feed.publish(VdcObjectType.VM, Arrays.asList(vm1, vm2));
+        feed.publish(VdcObjectType.VDS, Guid.newGuid());
+        feed.publish(VdcObjectType.VM, vm1);
+
+        EntityChanges changes = feed.getChangesSince(VdcObjectType.VM, since);
+
+        assertFalse(changes.isFullRefreshRequired());
+        assertEquals(Arrays.asList(vm1, vm2), changes.getChangedIds());
+        assertEquals(4, changes.getVersion());
+    }
+
+    @Test
+    public void noChangesSinceCurrentVersion() {
+        feed.publish(VdcObjectType.VM, Guid.newGuid());
+
+        EntityChanges changes = feed.getChangesSince(VdcObjectType.VM, feed.getVersion());
+
+        assertFalse(changes.hasChanges());
+        assertEquals(Collections.emptyList(), changes.getChangedIds());
+    }
+
+    @Test
+    public void overwrittenChangesRequireFullRefresh() {
+        long since = feed.getVersion();
+        for (int i = 0; i <= EntityChangeFeed.CAPACITY; i++) {
+            feed.publish(VdcObjectType.VM, Guid.newGuid());
+        }
+
+        assertTrue(feed.getChangesSince(VdcObjectType.VM, since).isFullRefreshRequired());
+    }
+
+    @Test
+    public void versionFromPreviousEngineRunRequiresFullRefresh() {
+        assertTrue(feed.getChangesSince(VdcObjectType.VM, 42).isFullRefreshRequired());
+    }
+}
@@ -0,0 +1,117 @@
+package org.ovirt.engine.core.vdsbroker.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.concurrent.ManagedScheduledExecutorService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.ovirt.engine.core.common.businessentities.VDSStatus;
+import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.vdsbroker.VdsManager;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class HostMonitoringSchedulerTest {
+
+    private static final long REFRESH_RATE = 3000;
+
+    private final Guid vdsId = Guid.newGuid();
+
+    @Mock
+    private ManagedScheduledExecutorService executor;
+
+    @Mock
+    private ScheduledFuture<?> future;
+
+    @Mock
+    private VdsManager vdsManager;
+
+    @InjectMocks
+    private HostMonitoringScheduler scheduler;
+
+    @BeforeEach
+    public void setUp() {
+        when(vdsManager.getVdsId()).thenReturn(vdsId);
+        when(vdsManager.getStatus()).thenReturn(VDSStatus.Up);
+        doReturn(future).when(executor).schedule(any(Runnable.class), anyLong(), any());
+    }
+
+    @Test
+    public void unchangedStableHostIsRefreshedLessOften() {
+        assertEquals(REFRESH_RATE, HostMonitoringScheduler.getInterval(REFRESH_RATE, VDSStatus.Up,
+                HostMonitoringScheduler.UNCHANGED_REFRESHES_BEFORE_SLOWDOWN - 1));
+        assertEquals(REFRESH_RATE * HostMonitoringScheduler.SLOWDOWN_FACTOR,
+                HostMonitoringScheduler.getInterval(REFRESH_RATE, VDSStatus.Up,
+                        HostMonitoringScheduler.UNCHANGED_REFRESHES_BEFORE_SLOWDOWN));
+    }
+
+    @Test
+    public void hostInTransitionIsRefreshedAtConfiguredRate() {
+        assertEquals(REFRESH_RATE, HostMonitoringScheduler.getInterval(REFRESH_RATE, VDSStatus.NonResponsive,
+                HostMonitoringScheduler.UNCHANGED_REFRESHES_BEFORE_SLOWDOWN));
+    }
+
+    @Test
+    public void jitterIsBounded() {
+        long maxJitter = Math.round(REFRESH_RATE * HostMonitoringScheduler.JITTER);
+        assertEquals(REFRESH_RATE - maxJitter, HostMonitoringScheduler.withJitter(REFRESH_RATE, -1));
+        assertEquals(REFRESH_RATE, HostMonitoringScheduler.withJitter(REFRESH_RATE, 0));
+        assertEquals(REFRESH_RATE + maxJitter, HostMonitoringScheduler.withJitter(REFRESH_RATE, 1));
+    }
+
+    @Test
+    public void firstRefreshIsWithinInterval() {
+        scheduler.schedule(vdsManager, REFRESH_RATE);
+
+        ArgumentCaptor<Long> delay = ArgumentCaptor.forClass(Long.class);
+        verify(executor).schedule(any(Runnable.class), delay.capture(), eq(TimeUnit.MILLISECONDS));
+        assertTrue(delay.getValue() >= 0 && delay.getValue() < REFRESH_RATE);
+        assertEquals(1, scheduler.getScheduledHostsCount());
+    }
+
+    @Test
+    public void refreshSchedulesNextRefresh() {
+        scheduler.schedule(vdsManager, REFRESH_RATE);
+        ArgumentCaptor<Runnable> refresh = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor).schedule(refresh.capture(), anyLong(), any());
+
+        refresh.getValue().run();
+
+        verify(vdsManager).refresh();
+        verify(executor, times(2)).schedule(any(Runnable.class), anyLong(), any());
+        assertEquals(1, scheduler.showMonitoringLag().size());
+    }
+
+    @Test
+    public void unscheduledHostIsNotRefreshedAgain() {
+        scheduler.schedule(vdsManager, REFRESH_RATE);
+        ArgumentCaptor<Runnable> refresh = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor).schedule(refresh.capture(), anyLong(), any());
+
+        scheduler.unschedule(vdsId);
+        refresh.getValue().run();
+
+        verify(future).cancel(true);
+        verify(executor, times(1)).schedule(any(Runnable.class), anyLong(), any());
+        assertEquals(0, scheduler.getScheduledHostsCount());
+    }
+}
@@ -28,6 +28,7 @@ import org.mockito.Answers;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
@@ -40,6 +41,7 @@ import org.ovirt.engine.core.compat.Guid;
 import org.ovirt.engine.core.compat.Version;
 import org.ovirt.engine.core.dao.VmDeviceDao;
 import org.ovirt.engine.core.dao.VmDynamicDao;
+import org.ovirt.engine.core.dao.cache.VmDeviceWriteTracker;
 import org.ovirt.engine.core.utils.InjectedMock;
 import org.ovirt.engine.core.utils.InjectorExtension;
 import org.ovirt.engine.core.utils.MockConfigExtension;
@@ -63,6 +65,8 @@ public class VmDevicesMonitoringTest {
     private FullListAdapter fullListAdapter;
     @Mock
     private ResourceManager resourceManager;
+    @Spy
+    private VmDeviceWriteTracker writeTracker = new VmDeviceWriteTracker();
 
     @InjectMocks
     private VmDevicesMonitoring vmDevicesMonitoring;
@@ -433,4 +437,161 @@ public class VmDevicesMonitoringTest {
         verify(vmDynamicDao, times(1)).updateDevicesHashes(any());
     }
 
+    @Test
+    public void testUnchangedDevicesAreNotReadAgain() {
+        initDevices(
+                getVmDevice(VIDEO_DEVICE_ID, VM_ID, VmDeviceGeneralType.VIDEO, "vga", true),
+                getVmDevice(CDROM_DEVICE_ID, VM_ID, VmDeviceGeneralType.DISK, "cdrom", true)
+        );
+        initDumpXmls(
+                getDeviceInfo(VIDEO_DEVICE_ID, "video", "vga", VIDEO_DEVICE_ADDRESS),
+                getDeviceInfo(CDROM_DEVICE_ID, "disk", "cdrom", CDROM_DEVICE_ADDRESS)
+        );
+
+        vmDevicesMonitoring.initDevicesStatuses(1L);
+
+        VmDevicesMonitoring.Change change = vmDevicesMonitoring.createChange(VDS_ID, 2L);
+        change.updateVm(VM_ID, NEW_HASH);
+        change.flush();
+
+        change = vmDevicesMonitoring.createChange(VDS_ID, 3L);
+        change.updateVm(VM_ID, INITIAL_HASH);
+        change.flush();
+
+        verify(fullListAdapter, times(2)).getVmFullList(any(), any(), anyBoolean());
+        verify(vmDeviceDao, times(1)).getVmDeviceByVmId(VM_ID);
+        verify(vmDeviceDao, times(1)).updateAllInBatch(any());
+        verify(vmDynamicDao, times(2)).updateDevicesHashes(any());
+        assertEquals(1, vmDevicesMonitoring.getReportedDevicesCacheSize());
+    }
+
+    @Test
+    public void testOnlyChangedDeviceIsUpdated() {
+        initDevices(
+                getVmDevice(VIDEO_DEVICE_ID, VM_ID, VmDeviceGeneralType.VIDEO, "vga", true),
+                getVmDevice(CDROM_DEVICE_ID, VM_ID, VmDeviceGeneralType.DISK, "cdrom", true)
+        );
+        initDumpXmls(
+                getDeviceInfo(VIDEO_DEVICE_ID, "video", "vga", VIDEO_DEVICE_ADDRESS),
+                getDeviceInfo(CDROM_DEVICE_ID, "disk", "cdrom", CDROM_DEVICE_ADDRESS)
+        );
+
+        vmDevicesMonitoring.initDevicesStatuses(1L);
+
+        VmDevicesMonitoring.Change change = vmDevicesMonitoring.createChange(VDS_ID, 2L);
+        change.updateVm(VM_ID, NEW_HASH);
+        change.flush();
+
+        initDumpXmls(
+                getDeviceInfo(VIDEO_DEVICE_ID, "video", "vga", VIDEO_DEVICE_ADDRESS),
+                getDeviceInfo(CDROM_DEVICE_ID, "disk", "cdrom", SERIAL_DEVICE_ADDRESS)
+        );
+
+        change = vmDevicesMonitoring.createChange(VDS_ID, 3L);
+        change.updateVm(VM_ID, INITIAL_HASH);
+        change.flush();
+
+        verify(vmDeviceDao, times(1)).getVmDeviceByVmId(VM_ID);
+        verify(vmDeviceDao, never()).getVmDevicesByDeviceId(VIDEO_DEVICE_ID, VM_ID);
+
+        ArgumentCaptor<Collection> updateCaptor = ArgumentCaptor.forClass(Collection.class);
+        verify(vmDeviceDao, times(2)).updateAllInBatch(updateCaptor.capture());
+        Collection updatedDevices = updateCaptor.getAllValues().get(1);
+        assertEquals(1, updatedDevices.size());
+        VmDevice device = (VmDevice) updatedDevices.iterator().next();
+        assertEquals(CDROM_DEVICE_ID, device.getDeviceId());
+        assertEquals(SERIAL_DEVICE_ADDRESS, device.getAddress());
+    }
+
+    private void initReportedDevices() {
+        initDevices(
+                getVmDevice(VIDEO_DEVICE_ID, VM_ID, VmDeviceGeneralType.VIDEO, "vga", true),
+                getVmDevice(CDROM_DEVICE_ID, VM_ID, VmDeviceGeneralType.DISK, "cdrom", true)
+        );
+        initDumpXmls(
+                getDeviceInfo(VIDEO_DEVICE_ID, "video", "vga", VIDEO_DEVICE_ADDRESS),
+                getDeviceInfo(CDROM_DEVICE_ID, "disk", "cdrom", CDROM_DEVICE_ADDRESS)
+        );
+
+        vmDevicesMonitoring.initDevicesStatuses(1L);
+
+        VmDevicesMonitoring.Change change = vmDevicesMonitoring.createChange(VDS_ID, 2L);
+        change.updateVm(VM_ID, NEW_HASH);
+        change.flush();
+    }
+
+    private void reportSameDevices(long fetchTime) {
+        VmDevicesMonitoring.Change change = vmDevicesMonitoring.createChange(VDS_ID, fetchTime);
+        change.updateVm(VM_ID, INITIAL_HASH);
+        change.flush();
+    }
+
+    @Test
+    public void testDevicesAreReadAgainAfterWrite() {
+        initReportedDevices();
+
+        writeTracker.written(VM_ID);
+        reportSameDevices(3L);
+
+        verify(vmDeviceDao, times(2)).getVmDeviceByVmId(VM_ID);
+        assertEquals(1, vmDevicesMonitoring.getReportedDevicesCacheSize());
+    }
+
+    @Test
+    public void testDevicesAreReadAgainAfterWriteOfAllVms() {
+        initReportedDevices();
+
+        writeTracker.writtenAll();
+        reportSameDevices(3L);
+
+        verify(vmDeviceDao, times(2)).getVmDeviceByVmId(VM_ID);
+    }
+
+    @Test
+    public void testDevicesAreNotReadAgainAfterWriteOfOtherVm() {
+        initReportedDevices();
+
+        writeTracker.written(Guid.newGuid());
+        reportSameDevices(3L);
+
+        verify(vmDeviceDao, times(1)).getVmDeviceByVmId(VM_ID);
+    }
+
+    @Test
+    public void testDevicesAreReadAgainAfterHashReset() {
+        initReportedDevices();
+
+        VmDevicesMonitoring.Change change = vmDevicesMonitoring.createChange(3L);
+        change.updateVm(VM_ID, VmDevicesMonitoring.EMPTY_HASH);
+        change.flush();
+        assertEquals(0, vmDevicesMonitoring.getReportedDevicesCacheSize());
+
+        reportSameDevices(4L);
+
+        verify(vmDeviceDao, times(2)).getVmDeviceByVmId(VM_ID);
+    }
+
+    @Test
+    public void testForgottenDevicesAreReadAgain() {
+        initReportedDevices();
+
+        vmDevicesMonitoring.forgetReportedDevices(VM_ID);
+        reportSameDevices(3L);
+
+        verify(vmDeviceDao, times(2)).getVmDeviceByVmId(VM_ID);
+    }
+
+    @Test
+    public void testUnchangedDevicesAfterWriteAreReadAgain() {
+        initReportedDevices();
+        reportSameDevices(3L);
+
+        writeTracker.written(VM_ID);
+        VmDevicesMonitoring.Change change = vmDevicesMonitoring.createChange(VDS_ID, 4L);
+        change.updateVm(VM_ID, NEW_HASH);
+        change.flush();
+
+        verify(vmDeviceDao, times(2)).getVmDeviceByVmId(VM_ID);
+    }
+
 }
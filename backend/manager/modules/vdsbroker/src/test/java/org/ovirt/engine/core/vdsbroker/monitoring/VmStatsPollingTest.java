@@ -0,0 +1,83 @@
+package org.ovirt.engine.core.vdsbroker.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.ovirt.engine.core.common.config.ConfigValues;
+import org.ovirt.engine.core.compat.Guid;
+import org.ovirt.engine.core.utils.MockConfigDescriptor;
+import org.ovirt.engine.core.utils.MockConfigExtension;
+
+@ExtendWith(MockConfigExtension.class)
+public class VmStatsPollingTest {
+
+    private static final long REFRESH_RATE = 15000;
+    private static final int IDLE_POLLING_FACTOR = 4;
+
+    private final Guid hostId = Guid.newGuid();
+    private VmStatsPolling vmStatsPolling;
+    private long start;
+
+    public static Stream<MockConfigDescriptor<?>> mockConfiguration() {
+        return Stream.of(
+                MockConfigDescriptor.of(ConfigValues.EventFirstVmMonitoring, true),
+                MockConfigDescriptor.of(ConfigValues.VmStatsIdlePollingFactor, IDLE_POLLING_FACTOR)
+        );
+    }
+
+    @BeforeEach
+    public void setup() {
+        vmStatsPolling = new VmStatsPolling();
+        start = System.currentTimeMillis();
+    }
+
+    @Test
+    public void idleHostIsPolledAtIdleRate() {
+        assertTrue(isPollNeededAfter(0));
+        assertFalse(isPollNeededAfter(1));
+        assertFalse(isPollNeededAfter(2));
+        assertFalse(isPollNeededAfter(3));
+        assertTrue(isPollNeededAfter(IDLE_POLLING_FACTOR));
+    }
+
+    @Test
+    public void consumedHostIsPolledAtRegularRate() {
+        assertTrue(isPollNeededAfter(0));
+        vmStatsPolling.statsConsumed(Collections.singleton(hostId));
+
+        assertTrue(isPollNeededAfter(1));
+        assertTrue(isPollNeededAfter(2));
+    }
+
+    @Test
+    public void hostIsIdleOnceConsumptionLeaseExpires() {
+        vmStatsPolling.statsConsumed(Collections.singleton(hostId), REFRESH_RATE);
+
+        assertTrue(isPollNeededAfter(0));
+        assertFalse(isPollNeededAfter(2));
+        assertFalse(isPollNeededAfter(3));
+    }
+
+    @Test
+    public void pollSetShowsPolledHosts() {
+        isPollNeededAfter(0);
+        isPollNeededAfter(1);
+
+        assertEquals(1, vmStatsPolling.showPollSet().size());
+        assertTrue(vmStatsPolling.showPollSet().get(0).contains("1 polls, 1 skipped"));
+
+        vmStatsPolling.removeHost(hostId);
+        assertTrue(vmStatsPolling.showPollSet().isEmpty());
+    }
+
+    private boolean isPollNeededAfter(int refreshes) {
+        return vmStatsPolling.isPollNeeded(hostId, REFRESH_RATE, start + refreshes * REFRESH_RATE);
+    }
+}
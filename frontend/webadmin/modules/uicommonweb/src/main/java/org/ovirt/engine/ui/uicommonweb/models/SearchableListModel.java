@@ -4,16 +4,27 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.SortedSet;
 import java.util.logging.Logger;
 
+import org.ovirt.engine.core.common.VdcObjectType;
+import org.ovirt.engine.core.common.businessentities.EntityChanges;
 import org.ovirt.engine.core.common.businessentities.Queryable;
+import org.ovirt.engine.core.common.interfaces.SearchType;
+import org.ovirt.engine.core.common.queries.GetEntityChangesParameters;
+import org.ovirt.engine.core.common.queries.IdQueryParameters;
 import org.ovirt.engine.core.common.queries.QueryParametersBase;
 import org.ovirt.engine.core.common.queries.QueryReturnValue;
 import org.ovirt.engine.core.common.queries.QueryType;
+import org.ovirt.engine.core.common.queries.SearchParameters;
+import org.ovirt.engine.core.compat.Guid;
 import org.ovirt.engine.core.searchbackend.ISyntaxChecker;
 import org.ovirt.engine.core.searchbackend.SyntaxChecker;
 import org.ovirt.engine.core.searchbackend.SyntaxContainer;
@@ -57,10 +68,22 @@ public abstract class SearchableListModel<E, T> extends SortedListModel<T> imple
     };
 
     private static final int UnknownInteger = -1;
+    private static final long UnknownChangeVersion = -1;
+    /**
+     * Number of timer ticks without reported changes after which a full search is performed anyway, to refresh
+     * the data that is not tracked by the change feed (statistics, storage domain space, etc.).
+     */
+    private static final int MaxTicksWithoutFullSearch = 6;
+    /**
+     * Maximal number of changed items which are fetched one by one rather than by a full search.
+     */
+    private static final int MaxChangedItemsToRefresh = 20;
     private static final Logger logger = Logger.getLogger(SearchableListModel.class.getName());
 
     private UICommand privateSearchCommand;
     private HandlerRegistration timerChangeHandler;
+    private long lastChangeVersion = UnknownChangeVersion;
+    private int ticksWithoutFullSearch;
 
     public UICommand getSearchCommand() {
         return privateSearchCommand;
@@ -359,8 +382,146 @@ public abstract class SearchableListModel<E, T> extends SortedListModel<T> imple
      * expires.
      */
     protected void doGridTimerExecute() {
-        logger.fine(SearchableListModel.this.getClass().getName() + ": Executing search"); //$NON-NLS-1$
-        syncSearch();
+        if (getChangeFeedObjectType() == null) {
+            logger.fine(SearchableListModel.this.getClass().getName() + ": Executing search"); //$NON-NLS-1$
+            syncSearch();
+            return;
+        }
+
+        Frontend.getInstance().runQuery(QueryType.GetEntityChanges,
+                new GetEntityChangesParameters(getChangeFeedObjectType(), lastChangeVersion),
+                new AsyncQuery<QueryReturnValue>(returnValue -> {
+                    EntityChanges changes = returnValue.getReturnValue();
+                    lastChangeVersion = changes != null ? changes.getVersion() : UnknownChangeVersion;
+                    if (changes == null || changes.isFullRefreshRequired()
+                            || changes.hasChanges() && !canRefreshChangedItems(changes.getChangedIds())
+                            || !changes.hasChanges() && ++ticksWithoutFullSearch >= MaxTicksWithoutFullSearch) {
+                        logger.fine(SearchableListModel.this.getClass().getName() + ": Executing search"); //$NON-NLS-1$
+                        ticksWithoutFullSearch = 0;
+                        syncSearch();
+                    } else if (changes.hasChanges()) {
+                        refreshChangedItems(changes.getChangedIds());
+                    }
+                }));
+    }
+
+    /**
+     * The changed items can be fetched one by one only if all of them are already shown by the list, items which
+     * are added to the list or which move to another page require a full search.
+     */
+    private boolean canRefreshChangedItems(Collection<Guid> changedIds) {
+        if (getChangedItemQueryType() == null && getChangedItemsSearchType() == null || getItems() == null
+                || changedIds.size() > MaxChangedItemsToRefresh) {
+            return false;
+        }
+        Set<Object> shownIds = new HashSet<>();
+        for (T item : getItems()) {
+            shownIds.add(((Queryable) item).getQueryableId());
+        }
+        return shownIds.containsAll(changedIds);
+    }
+
+    private void refreshChangedItems(Collection<Guid> changedIds) {
+        logger.fine(SearchableListModel.this.getClass().getName() + ": Refreshing changed items"); //$NON-NLS-1$
+        if (getChangedItemsSearchType() != null) {
+            searchChangedItems(changedIds);
+            return;
+        }
+
+        List<QueryType> queryTypes = new ArrayList<>();
+        List<QueryParametersBase> queryParams = new ArrayList<>();
+        for (Guid changedId : changedIds) {
+            queryTypes.add(getChangedItemQueryType());
+            queryParams.add(new IdQueryParameters(changedId));
+        }
+
+        Frontend.getInstance().runMultipleQueries(queryTypes, queryParams, result -> {
+            List<T> changedItems = new ArrayList<>();
+            for (QueryReturnValue returnValue : result.getReturnValues()) {
+                T item = returnValue.getReturnValue();
+                if (returnValue.getSucceeded() && item != null) {
+                    changedItems.add(item);
+                }
+            }
+            replaceChangedItems(changedIds, changedItems);
+        });
+    }
+
+    /**
+     * Fetches the changed items by a search of their ids, so they are filled the same way as by the full search.
+     */
+    private void searchChangedItems(Collection<Guid> changedIds) {
+        StringBuilder searchString = new StringBuilder(getDefaultSearchString());
+        String separator = " "; //$NON-NLS-1$
+        for (Guid changedId : changedIds) {
+            searchString.append(separator).append("id = ").append(changedId); //$NON-NLS-1$
+            separator = " or "; //$NON-NLS-1$
+        }
+        SearchParameters params = new SearchParameters(searchString.toString(), getChangedItemsSearchType());
+        params.setMaxCount(changedIds.size());
+        params.setCacheable(false);
+
+        Frontend.getInstance().runQuery(QueryType.Search, params,
+                new AsyncQuery<QueryReturnValue>(returnValue -> {
+                    if (!returnValue.getSucceeded()) {
+                        syncSearch();
+                        return;
+                    }
+                    Collection<T> changedItems = returnValue.getReturnValue();
+                    replaceChangedItems(changedIds, changedItems);
+                }));
+    }
+
+    private void replaceChangedItems(Collection<Guid> changedIds, Collection<T> changedItems) {
+        Map<Object, T> changedItemsById = new HashMap<>();
+        for (T item : changedItems) {
+            changedItemsById.put(((Queryable) item).getQueryableId(), item);
+        }
+        // items which are gone are dropped from the list, the rest are replaced in place
+        List<T> items = new ArrayList<>();
+        for (T item : getItems()) {
+            Object id = ((Queryable) item).getQueryableId();
+            if (!changedIds.contains(id)) {
+                items.add(item);
+            } else if (changedItemsById.containsKey(id)) {
+                items.add(changedItemsById.get(id));
+            }
+        }
+        setItems(items);
+    }
+
+    /**
+     * Sub classes whose items are tracked by the backend change feed return the type of their items here. The grid
+     * timer then asks the backend whether any item of that type changed since the last refresh and skips the full
+     * search when nothing did.
+     *
+     * @return the type of the items of this list, or {@code null} to always perform a full search on refresh.
+     */
+    protected VdcObjectType getChangeFeedObjectType() {
+        return null;
+    }
+
+    /**
+     * Sub classes which return a {@link #getChangeFeedObjectType() change feed type} may also return the query that
+     * fetches a single item by its id, in which case the items reported as changed are fetched one by one instead of
+     * performing a full search.
+     *
+     * @return the query fetching an item of this list by its id, or {@code null} to perform a full search whenever
+     * any item changed.
+     */
+    protected QueryType getChangedItemQueryType() {
+        return null;
+    }
+
+    /**
+     * Sub classes whose full search fills in their items beyond what the query of a single item does return the
+     * search type of their items here, in which case the changed items are fetched by a search of their ids instead.
+     *
+     * @return the search type of the items of this list, or {@code null} to fetch the changed items by
+     * {@link #getChangedItemQueryType()}.
+     */
+    protected SearchType getChangedItemsSearchType() {
+        return null;
     }
 
     /**
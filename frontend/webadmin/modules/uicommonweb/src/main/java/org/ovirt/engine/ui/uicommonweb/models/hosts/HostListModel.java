@@ -1997,6 +1997,16 @@ public class HostListModel<E> extends ListWithSimpleDetailsModel<E, VDS> impleme
         return "HostListModel"; //$NON-NLS-1$
     }
 
+    @Override
+    protected VdcObjectType getChangeFeedObjectType() {
+        return VdcObjectType.VDS;
+    }
+
+    @Override
+    protected SearchType getChangedItemsSearchType() {
+        return SearchType.VDS;
+    }
+
     private boolean isHeSystem() {
         boolean isRunningHeVm = false;
 
@@ -9,6 +9,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.ovirt.engine.core.common.VdcObjectType;
 import org.ovirt.engine.core.common.action.ActionParametersBase;
 import org.ovirt.engine.core.common.action.ActionReturnValue;
 import org.ovirt.engine.core.common.action.ActionType;
@@ -2056,6 +2057,16 @@ public class StorageListModel extends ListWithSimpleDetailsModel<Void, StorageDo
         return "StorageListModel"; //$NON-NLS-1$
     }
 
+    @Override
+    protected VdcObjectType getChangeFeedObjectType() {
+        return VdcObjectType.Storage;
+    }
+
+    @Override
+    protected QueryType getChangedItemQueryType() {
+        return QueryType.GetStorageDomainById;
+    }
+
     private UICommand createCancelCommand(String commandName) {
         return UICommand.createCancelUiCommand(commandName, this);
     }
@@ -11,6 +11,7 @@ import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import org.ovirt.engine.core.common.ActionUtils;
+import org.ovirt.engine.core.common.VdcObjectType;
 import org.ovirt.engine.core.common.action.ActionParametersBase;
 import org.ovirt.engine.core.common.action.ActionReturnValue;
 import org.ovirt.engine.core.common.action.ActionType;
@@ -2455,6 +2456,16 @@ public class VmListModel<E> extends VmBaseListModel<E, VM>
         return "VmListModel"; //$NON-NLS-1$
     }
 
+    @Override
+    protected VdcObjectType getChangeFeedObjectType() {
+        return VdcObjectType.VM;
+    }
+
+    @Override
+    protected SearchType getChangedItemsSearchType() {
+        return SearchType.VM;
+    }
+
     @Override
     public boolean supportsServerSideSorting() {
         return true;
@@ -4,6 +4,7 @@ import mmap
 import os
 import pwd
 import sys
+import threading
 import time
 
 
@@ -18,6 +19,7 @@ import yaml
 
 NUL = b"\0"
 TAR_BLOCK_SIZE = 512
+MiB = 1024 * 1024
 
 python2 = sys.version_info < (3, 0)
 
@@ -27,7 +29,8 @@ def from_bytes(string):
             if isinstance(string, six.binary_type) else string)
 
 
-def extract_disk(ova_path, offset, image_path, image_format):
+def extract_disk(ova_path, offset, size, image_path, image_format):
+    print("extracting disk: %s, offset %s" % (image_path, offset))
     start_time = time.time()
     while True:
         try:
@@ -46,9 +49,15 @@ def extract_disk(ova_path, offset, image_path, image_format):
     vdsm_user = pwd.getpwnam('vdsm')
     os.chown(loop, vdsm_user.pw_uid, vdsm_user.pw_gid)
     try:
+        conversion_start_time = time.time()
         qemu_cmd = ("qemu-img convert -O %s '%s' '%s'"
                     % (image_format, loop, image_path))
         check_call(['su', '-p', '-c', qemu_cmd, 'vdsm'])
+        elapsed = time.time() - conversion_start_time
+        print("extracted disk: path=%s size=%d time=%.1fs "
+              "throughput=%.1fMiB/s"
+              % (image_path, size, elapsed,
+                 size / float(MiB) / max(elapsed, 0.1)))
     except CalledProcessError as exc:
         print("qemu-img conversion failed with error: ", exc.returncode)
         raise
@@ -92,7 +101,12 @@ def nti(s):
     return n
 
 
-def extract_disks(ova_path, image_paths_and_formats, image_mappings):
+def find_disks(ova_path, image_paths_and_formats, image_mappings):
+    """
+    Returns the offset, size, image path and image format of each disk
+    in the OVA.
+    """
+    disks = []
     try:
         fd = os.open(ova_path, os.O_RDONLY | os.O_DIRECT)
     except OSError:
@@ -128,14 +142,48 @@ def extract_disks(ova_path, image_paths_and_formats, image_mappings):
                     image_path = image_path_and_format[0]
                     image_format = image_path_and_format[1]
                     if image_guid in image_path:
-                        extract_disk(ova_path, ova_file.tell(), image_path,
-                                     image_format)
+                        disks.append((ova_file.tell(), size, image_path,
+                                      image_format))
                         ova_file.seek(size, 1)
                         break
+    return disks
+
+
+def extract_disks(ova_path, image_paths_and_formats, image_mappings,
+                  parallelism):
+    pending = find_disks(ova_path, image_paths_and_formats, image_mappings)
+    errors = []
+    lock = threading.Lock()
+
+    def extract_pending_disks():
+        while True:
+            with lock:
+                if not pending or errors:
+                    return
+                offset, size, image_path, image_format = pending.pop(0)
+            try:
+                extract_disk(ova_path, offset, size, image_path,
+                             image_format)
+            except Exception as exc:
+                with lock:
+                    errors.append(exc)
+
+    # each disk is extracted to its own image, so the disks can be
+    # extracted concurrently
+    threads = [threading.Thread(target=extract_pending_disks)
+               for _ in range(max(1, min(parallelism, len(pending))))]
+    for thread in threads:
+        thread.start()
+    for thread in threads:
+        thread.join()
+    if errors:
+        raise errors[0]
 
 
 if len(sys.argv) < 4:
-    print("Usage: extract_ova.py ova_path disks_paths image_mappings")
+    print("Usage: extract_ova.py ova_path disks_paths image_mappings"
+          " [parallelism]")
     sys.exit(2)
 
-extract_disks(sys.argv[1], json.loads(sys.argv[2]), yaml.load(sys.argv[3]))
+extract_disks(sys.argv[1], json.loads(sys.argv[2]), yaml.load(sys.argv[3]),
+              int(sys.argv[4]) if len(sys.argv) > 4 else 1)
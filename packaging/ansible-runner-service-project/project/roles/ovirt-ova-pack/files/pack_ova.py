@@ -4,6 +4,7 @@ import os
 import pwd
 import sys
 import tarfile
+import threading
 import time
 
 
@@ -16,6 +17,7 @@ import six
 
 TAR_BLOCK_SIZE = 512
 FS_BLOCK_SIZE = 4096
+MiB = 1024 * 1024
 NUL = b"\0"
 
 python2 = sys.version_info < (3, 0)
@@ -88,36 +90,72 @@ def pad_to_fs_block_size(ova_file):
         write_padding_file(ova_file, FS_BLOCK_SIZE - remainder)
 
 
-def convert_disks(ova_path):
-    for path, offset in six.iteritems(path_to_offset):
-        print("converting disk: %s, offset %s" % (path, offset))
-        start_time = time.time()
+def convert_disk(ova_path, path, offset, size):
+    print("converting disk: %s, offset %s" % (path, offset))
+    start_time = time.time()
+    while True:
+        try:
+            output = check_output(['losetup', '--find', '--show', '-o',
+                                   offset, ova_path])
+        except CalledProcessError:
+            if time.time() - start_time > 10:
+                raise
+            time.sleep(1)
+        else:
+            break
+
+    loop = from_bytes(output.splitlines()[0])
+    loop_stat = os.stat(loop)
+    call(['udevadm', 'settle'])
+    vdsm_user = pwd.getpwnam('vdsm')
+    os.chown(loop, vdsm_user.pw_uid, vdsm_user.pw_gid)
+    try:
+        conversion_start_time = time.time()
+        qemu_cmd = ("qemu-img convert -p -T none -O qcow2 '%s' '%s'"
+                    % (path, loop))
+        check_call(['su', '-p', '-c', qemu_cmd, 'vdsm'])
+        print_throughput(path, size, time.time() - conversion_start_time)
+    except CalledProcessError as exc:
+        print("qemu-img conversion failed with error: ", exc.returncode)
+        raise
+    finally:
+        os.chown(loop, loop_stat.st_uid, loop_stat.st_gid)
+        call(['losetup', '-d', loop])
+
+
+def print_throughput(path, size, elapsed):
+    # parsed by the engine to report the throughput of each disk
+    print("converted disk: path=%s size=%d time=%.1fs throughput=%.1fMiB/s"
+          % (path, size, elapsed, size / float(MiB) / max(elapsed, 0.1)))
+
+
+def convert_disks(ova_path, disks_info, parallelism):
+    pending = list(six.iteritems(path_to_offset))
+    errors = []
+    lock = threading.Lock()
+
+    def convert_pending_disks():
         while True:
+            with lock:
+                if not pending or errors:
+                    return
+                path, offset = pending.pop(0)
             try:
-                output = check_output(['losetup', '--find', '--show', '-o',
-                                       offset, ova_path])
-            except CalledProcessError:
-                if time.time() - start_time > 10:
-                    raise
-                time.sleep(1)
-            else:
-                break
-
-        loop = from_bytes(output.splitlines()[0])
-        loop_stat = os.stat(loop)
-        call(['udevadm', 'settle'])
-        vdsm_user = pwd.getpwnam('vdsm')
-        os.chown(loop, vdsm_user.pw_uid, vdsm_user.pw_gid)
-        try:
-            qemu_cmd = ("qemu-img convert -p -T none -O qcow2 '%s' '%s'"
-                        % (path, loop))
-            check_call(['su', '-p', '-c', qemu_cmd, 'vdsm'])
-        except CalledProcessError as exc:
-            print("qemu-img conversion failed with error: ", exc.returncode)
-            raise
-        finally:
-            os.chown(loop, loop_stat.st_uid, loop_stat.st_gid)
-            call(['losetup', '-d', loop])
+                convert_disk(ova_path, path, offset, disks_info[path])
+            except Exception as exc:
+                with lock:
+                    errors.append(exc)
+
+    # each disk is written to its own region of the OVA, so the disks can
+    # be converted concurrently
+    threads = [threading.Thread(target=convert_pending_disks)
+               for _ in range(max(1, min(parallelism, len(pending))))]
+    for thread in threads:
+        thread.start()
+    for thread in threads:
+        thread.join()
+    if errors:
+        raise errors[0]
 
 
 def write_disk_headers(ova_file, disks_info):
@@ -140,7 +178,7 @@ def write_null_blocks(ova_file):
 
 if len(sys.argv) < 3:
     print("Usage: pack_ova.py <vm/template> output_path ovf"
-          " [disks_info [tpm_data] [nvram_data] [padding]]")
+          " [disks_info [tpm_data] [nvram_data] [padding] [parallelism]]")
     sys.exit(2)
 
 entity = sys.argv[1]
@@ -150,13 +188,15 @@ disks_info = sys.argv[4]
 tpm_data = sys.argv[5]
 nvram_data = sys.argv[6]
 padding = sys.argv[7]
+parallelism = int(sys.argv[8]) if len(sys.argv) > 8 else 1
+disks = json.loads(disks_info)
 with io.open(ova_path, "wb") as ova_file:
     write_ovf(entity, ova_file, ovf)
     if len(tpm_data) > 0:
         write_file("tpm.dat", ova_file, tpm_data)
     if len(nvram_data) > 0:
         write_file("nvram.dat", ova_file, nvram_data)
-    write_disk_headers(ova_file, json.loads(disks_info))
+    write_disk_headers(ova_file, disks)
     # write two null blocks at the end of the file
     write_null_blocks(ova_file)
-convert_disks(ova_path)
+convert_disks(ova_path, disks, parallelism)
@@ -3,6 +3,36 @@
 ----------------------------------------------------------------
 -- [audit_log] Table
 --
+-- Registers an external event by its origin and custom event id, an external event that was registered already fails
+-- the insert of the event by the primary key of audit_log_external_event
+CREATE OR REPLACE FUNCTION InsertAuditLogExternalEvent (
+    v_audit_log_id BIGINT,
+    v_log_time TIMESTAMP WITH TIME ZONE,
+    v_origin VARCHAR(255),
+    v_custom_event_id INT
+    )
+RETURNS VOID AS $FUNCTION$
+BEGIN
+    IF (
+            v_origin !~~* 'ovirt'
+            AND v_custom_event_id IS NOT NULL
+            ) THEN
+        INSERT INTO audit_log_external_event (
+            origin,
+            custom_event_id,
+            audit_log_id,
+            log_time
+            )
+        VALUES (
+            v_origin,
+            v_custom_event_id,
+            v_audit_log_id,
+            v_log_time
+            );
+    END IF;
+END;$FUNCTION$
+LANGUAGE plpgsql;
+
 CREATE OR REPLACE FUNCTION InsertAuditLog (
     INOUT v_audit_log_id BIGINT,
     v_log_time TIMESTAMP WITH TIME ZONE,
@@ -117,6 +147,8 @@ BEGIN
 
         v_audit_log_id := CURRVAL('audit_log_seq');
 
+        PERFORM InsertAuditLogExternalEvent(v_audit_log_id, v_log_time, v_origin, v_custom_event_id);
+
         ELSE IF (
             v_repeatable
             OR NOT EXISTS (
@@ -197,6 +229,8 @@ BEGIN
             );
 
             v_audit_log_id := CURRVAL('audit_log_seq');
+
+            PERFORM InsertAuditLogExternalEvent(v_audit_log_id, v_log_time, v_origin, v_custom_event_id);
          ELSE
 
             SELECT audit_log_id
@@ -338,6 +372,76 @@ BEGIN
 END;$FUNCTION$
 LANGUAGE plpgsql;
 
+-- Returns the events after the given one, filtered as by GetAllFromAuditLog
+CREATE OR REPLACE FUNCTION GetAuditLogAfterAuditLogId (
+    v_audit_log_id BIGINT,
+    v_max_results INT,
+    v_user_id UUID,
+    v_is_filtered BOOLEAN
+    )
+RETURNS SETOF audit_log STABLE AS $FUNCTION$
+BEGIN
+    RETURN QUERY
+
+    SELECT *
+    FROM audit_log a
+    WHERE audit_log_id > v_audit_log_id
+        AND NOT deleted
+        AND (
+            NOT v_is_filtered
+            OR EXISTS (
+                SELECT 1
+                FROM user_vm_permissions_view pv,
+                    user_object_permissions_view dpv
+                WHERE pv.user_id = v_user_id
+                    AND pv.entity_id = a.vm_id
+                    AND pv.entity_id = dpv.entity_id
+                )
+            OR EXISTS (
+                SELECT 1
+                FROM user_vm_template_permissions_view pv,
+                    user_object_permissions_view dpv
+                WHERE pv.user_id = v_user_id
+                    AND pv.entity_id = a.vm_template_id
+                    AND pv.entity_id = dpv.entity_id
+                )
+            OR EXISTS (
+                SELECT 1
+                FROM user_vds_permissions_view pv,
+                    user_object_permissions_view dpv
+                WHERE pv.user_id = v_user_id
+                    AND pv.entity_id = a.vds_id
+                    AND pv.entity_id = dpv.entity_id
+                )
+            OR EXISTS (
+                SELECT 1
+                FROM user_storage_pool_permissions_view pv,
+                    user_object_permissions_view dpv
+                WHERE pv.user_id = v_user_id
+                    AND pv.entity_id = a.storage_pool_id
+                    AND pv.entity_id = dpv.entity_id
+                )
+            OR EXISTS (
+                SELECT 1
+                FROM user_storage_domain_permissions_view pv,
+                    user_object_permissions_view dpv
+                WHERE pv.user_id = v_user_id
+                    AND pv.entity_id = a.storage_domain_id
+                    AND pv.entity_id = dpv.entity_id
+                )
+            OR EXISTS (
+                SELECT 1
+                FROM user_cluster_permissions_view pv,
+                    user_object_permissions_view dpv
+                WHERE pv.user_id = v_user_id
+                    AND pv.entity_id = a.cluster_id
+                    AND pv.entity_id = dpv.entity_id
+                )
+            )
+    ORDER BY audit_log_id DESC LIMIT v_max_results;
+END;$FUNCTION$
+LANGUAGE plpgsql;
+
 CREATE OR REPLACE FUNCTION GetAuditLogByAuditLogId (v_audit_log_id BIGINT)
 RETURNS SETOF audit_log STABLE AS $FUNCTION$
 BEGIN
@@ -424,28 +528,105 @@ BEGIN
 END;$FUNCTION$
 LANGUAGE plpgsql;
 
-CREATE OR REPLACE FUNCTION DeleteAuditLogOlderThenDate (v_date TIMESTAMP WITH TIME ZONE)
+DROP TYPE IF EXISTS audit_log_partitions_rs CASCADE;
+CREATE TYPE audit_log_partitions_rs AS (
+        partition_name NAME,
+        upper_bound TIMESTAMP WITH TIME ZONE
+        );
+
+-- Returns the range partitions of audit_log, without the default partition
+CREATE OR REPLACE FUNCTION GetAuditLogPartitions ()
+RETURNS SETOF audit_log_partitions_rs STABLE AS $FUNCTION$
+BEGIN
+    RETURN QUERY
+
+    SELECT p.relname,
+        substring(pg_get_expr(p.relpartbound, p.oid) FROM 'TO \(''([^'']+)''\)')::TIMESTAMP WITH TIME ZONE
+    FROM pg_inherits i
+    INNER JOIN pg_class p
+        ON p.oid = i.inhrelid
+    WHERE i.inhparent = 'audit_log'::regclass
+        AND pg_get_expr(p.relpartbound, p.oid) <> 'DEFAULT';
+END;$FUNCTION$
+LANGUAGE plpgsql;
+
+-- Creates the daily partitions of audit_log up to the given number of days ahead, the events that were logged to
+-- the default partition meanwhile are moved to the partitions of their days
+CREATE OR REPLACE FUNCTION CreateAuditLogPartitions (v_days_ahead INT)
 RETURNS VOID AS $FUNCTION$
-DECLARE v_id BIGINT;
+DECLARE v_from TIMESTAMP WITH TIME ZONE;
+
+v_to TIMESTAMP WITH TIME ZONE;
+
+v_end TIMESTAMP WITH TIME ZONE;
 
-SWV_RowCount INT;
+v_partition_name TEXT;
 
 BEGIN
-    -- get first the id from which to remove in order to use index
-    SELECT audit_log_id
-    INTO v_id
-    FROM audit_log
-    WHERE LOG_TIME < v_date
-    ORDER BY audit_log_id DESC LIMIT 1;
+    -- the partition bounds are UTC days
+    v_end := (date_trunc('day', CURRENT_TIMESTAMP AT TIME ZONE 'UTC') + (v_days_ahead + 1) * INTERVAL '1 day')
+        AT TIME ZONE 'UTC';
 
-    -- check if there are candidates to remove
-    GET DIAGNOSTICS SWV_RowCount = ROW_COUNT;
+    SELECT max(upper_bound)
+    INTO v_from
+    FROM GetAuditLogPartitions();
 
-    IF (SWV_RowCount > 0) THEN
-        DELETE
-        FROM audit_log
-        WHERE audit_log_id <= v_id;
-    END IF;
+    v_from := coalesce(v_from, date_trunc('day', CURRENT_TIMESTAMP AT TIME ZONE 'UTC') AT TIME ZONE 'UTC');
+
+    WHILE v_from < v_end LOOP
+        v_to := v_from + INTERVAL '1 day';
+        v_partition_name := 'audit_log_' || to_char(v_from AT TIME ZONE 'UTC', 'YYYYMMDD');
+
+        IF EXISTS (
+                SELECT 1
+                FROM audit_log_default
+                WHERE log_time >= v_from
+                    AND log_time < v_to
+                ) THEN
+            EXECUTE format('CREATE TABLE %I (LIKE audit_log INCLUDING DEFAULTS)', v_partition_name);
+            EXECUTE format('WITH moved AS (DELETE FROM audit_log_default WHERE log_time >= %L AND log_time < %L '
+                    'RETURNING *) INSERT INTO %I SELECT * FROM moved', v_from, v_to, v_partition_name);
+            EXECUTE format('ALTER TABLE audit_log ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                v_partition_name, v_from, v_to);
+        ELSE
+            EXECUTE format('CREATE TABLE %I PARTITION OF audit_log FOR VALUES FROM (%L) TO (%L)',
+                v_partition_name, v_from, v_to);
+        END IF;
+
+        v_from := v_to;
+    END LOOP;
+END;$FUNCTION$
+LANGUAGE plpgsql;
+
+-- The partitions that expired entirely are dropped, only the events of the partition that expired partially are
+-- deleted one by one
+CREATE OR REPLACE FUNCTION DeleteAuditLogOlderThenDate (v_date TIMESTAMP WITH TIME ZONE)
+RETURNS VOID AS $FUNCTION$
+DECLARE v_partition RECORD;
+
+BEGIN
+    FOR v_partition IN
+        SELECT partition_name
+        FROM GetAuditLogPartitions()
+        WHERE upper_bound <= v_date
+    LOOP
+        EXECUTE format('DROP TABLE %I', v_partition.partition_name);
+    END LOOP;
+
+    DELETE
+    FROM audit_log
+    WHERE LOG_TIME < v_date;
+
+    DELETE
+    FROM audit_log_external_event
+    WHERE log_time < v_date;
+
+    -- fk_event_notification_hist_audit_log, that removed the notifications of the deleted events by cascade, was
+    -- dropped since a foreign key cannot reference audit_log_id alone on the partitioned audit_log. A notification is
+    -- sent after its event is logged, so the notifications sent before the date are of deleted events.
+    DELETE
+    FROM event_notification_hist
+    WHERE sent_at < v_date;
 END;$FUNCTION$
 LANGUAGE plpgsql;
 
@@ -531,7 +712,7 @@ Used to find out how many seconds to wait after Start/Stop/Restart PM operations
 v_vds_name     - The host name
 v_event        - The event [USER_VDS_STOP | USER_VDS_START | USER_VDS_RESTART]
 v_wait_for_sec - Configurable time in seconds to wait from last operation.
-Returns : The number of seconds we have to wait (negative value means we can do the operation immediately)
+Returns : The number of seconds we have to wait (non positive value means we can do the operation immediately)
 */
 CREATE OR REPLACE FUNCTION get_seconds_to_wait_before_pm_operation (
     v_vds_name VARCHAR(255),
@@ -550,12 +731,15 @@ BEGIN
             FROM audit_log
             WHERE vds_name = v_vds_name
                 AND log_type_name = v_event
+                -- only the partitions of the quiet time are scanned
+                AND log_time >= CURRENT_TIMESTAMP - v_wait_for_sec * INTERVAL '1 second'
             ) THEN
     BEGIN
         v_last_event_dt := log_time
         FROM audit_log
         WHERE vds_name = v_vds_name
             AND log_type_name = v_event
+            AND log_time >= CURRENT_TIMESTAMP - v_wait_for_sec * INTERVAL '1 second'
         ORDER BY audit_log_id DESC limit 1;
 
         v_now_dt := CURRENT_TIMESTAMP;
@@ -574,13 +758,35 @@ CREATE OR REPLACE FUNCTION GetAuditLogByOriginAndCustomEventId (
     v_custom_event_id INT
     )
 RETURNS SETOF audit_log STABLE AS $FUNCTION$
+DECLARE v_audit_log_id BIGINT;
+
+v_log_time TIMESTAMP WITH TIME ZONE;
+
 BEGIN
-    RETURN QUERY
+    IF (v_origin ~~* 'ovirt') THEN
+        RETURN QUERY
 
-    SELECT *
-    FROM audit_log
-    WHERE origin = v_origin
-        AND custom_event_id = v_custom_event_id;
+        SELECT *
+        FROM audit_log
+        WHERE origin = v_origin
+            AND custom_event_id = v_custom_event_id;
+    ELSE
+        -- the log time of the external event limits the lookup to the partition of the event
+        SELECT audit_log_id,
+            log_time
+        INTO v_audit_log_id,
+            v_log_time
+        FROM audit_log_external_event
+        WHERE origin = v_origin
+            AND custom_event_id = v_custom_event_id;
+
+        RETURN QUERY
+
+        SELECT *
+        FROM audit_log
+        WHERE audit_log_id = v_audit_log_id
+            AND log_time = v_log_time;
+    END IF;
 END;$FUNCTION$
 LANGUAGE plpgsql;
 
@@ -113,6 +113,20 @@ END;$FUNCTION$
 
 LANGUAGE plpgsql;
 
+CREATE OR REPLACE FUNCTION UpdateCommandEntityData (
+    v_command_id uuid,
+    v_data TEXT
+    )
+RETURNS VOID AS $FUNCTION$
+
+BEGIN
+    UPDATE command_entities
+    SET data = v_data
+    WHERE command_id = v_command_id;
+END;$FUNCTION$
+
+LANGUAGE plpgsql;
+
 CREATE OR REPLACE FUNCTION UpdateCommandEntityExecuted (
     v_command_id uuid,
     v_executed boolean
@@ -231,6 +245,44 @@ END;$FUNCTION$
 
 LANGUAGE plpgsql;
 
+DROP TYPE IF EXISTS command_entity_headers_rs CASCADE;
+CREATE TYPE command_entity_headers_rs AS (
+        command_id UUID,
+        command_type INT,
+        parent_command_id UUID,
+        root_command_id UUID,
+        user_id UUID,
+        engine_session_seq_id BIGINT,
+        created_at TIMESTAMP WITH TIME ZONE,
+        status VARCHAR(20),
+        executed BOOLEAN,
+        callback_enabled BOOLEAN,
+        callback_notified BOOLEAN
+        );
+
+-- Returns the command entities without their contexts, parameters, return values and data
+CREATE OR REPLACE FUNCTION GetAllCommandEntityHeaders ()
+RETURNS SETOF command_entity_headers_rs STABLE AS $FUNCTION$
+
+BEGIN
+    RETURN QUERY
+
+    SELECT command_id,
+        command_type,
+        parent_command_id,
+        root_command_id,
+        user_id,
+        engine_session_seq_id,
+        created_at,
+        status,
+        executed,
+        callback_enabled,
+        callback_notified
+    FROM command_entities;
+END;$FUNCTION$
+
+LANGUAGE plpgsql;
+
 CREATE OR REPLACE FUNCTION GetCommandEntitiesByParentCmdId (v_root_command_id uuid)
 RETURNS SETOF command_entities STABLE AS $FUNCTION$
 
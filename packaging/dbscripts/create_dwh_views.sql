@@ -18,20 +18,16 @@ SELECT id AS datacenter_id,
     _create_date AS create_date,
     _update_date AS update_date
 FROM storage_pool
-WHERE (
-        _create_date > (
+WHERE id IN (
+    SELECT entity_id
+    FROM dwh_change_log
+    WHERE entity_type = 'storage_pool'
+        AND change_date > (
             SELECT var_datetime
             FROM dwh_history_timekeeping
             WHERE (var_name = 'lastSync')
             )
-        )
-    OR (
-        _update_date > (
-            SELECT var_datetime
-            FROM dwh_history_timekeeping AS history_timekeeping_1
-            WHERE (var_name = 'lastSync')
-            )
-        );
+    );
 
 CREATE OR REPLACE VIEW dwh_storage_domain_configuration_history_view AS
 
@@ -42,20 +38,16 @@ SELECT id AS storage_domain_id,
     _create_date AS create_date,
     _update_date AS update_date
 FROM storage_domain_static
-WHERE (
-        _create_date > (
+WHERE id IN (
+    SELECT entity_id
+    FROM dwh_change_log
+    WHERE entity_type = 'storage_domain_static'
+        AND change_date > (
             SELECT var_datetime
             FROM dwh_history_timekeeping
             WHERE (var_name = 'lastSync')
             )
-        )
-    OR (
-        _update_date > (
-            SELECT var_datetime
-            FROM dwh_history_timekeeping AS history_timekeeping_1
-            WHERE (var_name = 'lastSync')
-            )
-        );
+    );
 
 CREATE OR REPLACE VIEW dwh_datacenter_storage_map_history_view AS
 
@@ -89,20 +81,16 @@ SELECT cluster_id AS cluster_id,
     _create_date AS create_date,
     _update_date AS update_date
 FROM cluster
-WHERE (
-        _create_date > (
+WHERE cluster_id IN (
+    SELECT entity_id
+    FROM dwh_change_log
+    WHERE entity_type = 'cluster'
+        AND change_date > (
             SELECT var_datetime
             FROM dwh_history_timekeeping
             WHERE (var_name = 'lastSync')
             )
-        )
-    OR (
-        _update_date > (
-            SELECT var_datetime
-            FROM dwh_history_timekeeping AS history_timekeeping_1
-            WHERE (var_name = 'lastSync')
-            )
-        );
+    );
 
 CREATE OR REPLACE VIEW dwh_host_configuration_history_view AS
 
@@ -136,20 +124,16 @@ INNER JOIN vds_dynamic AS b
     ON a.vds_id = b.vds_id
 INNER JOIN vds_statistics AS c
     ON c.vds_id = a.vds_id
-WHERE (
-        a._create_date > (
+WHERE a.vds_id IN (
+    SELECT entity_id
+    FROM dwh_change_log
+    WHERE entity_type = 'vds_static'
+        AND change_date > (
             SELECT var_datetime
             FROM dwh_history_timekeeping
             WHERE (var_name = 'lastSync')
             )
-        )
-    OR (
-        a._update_date > (
-            SELECT var_datetime
-            FROM dwh_history_timekeeping AS history_timekeeping_1
-            WHERE (var_name = 'lastSync')
-            )
-        );
+    );
 
 CREATE OR REPLACE VIEW dwh_host_configuration_full_check_view AS
 
@@ -228,22 +212,16 @@ SELECT a.id AS host_interface_id,
     a._create_date AS create_date,
     a._update_date AS update_date
 FROM vds_interface AS a
-WHERE (
-        (
-            a._create_date > (
-                SELECT var_datetime
-                FROM dwh_history_timekeeping
-                WHERE (var_name = 'lastSync')
-                )
-            )
-        OR (
-            a._update_date > (
-                SELECT var_datetime
-                FROM dwh_history_timekeeping AS history_timekeeping_1
-                WHERE (var_name = 'lastSync')
-                )
+WHERE a.id IN (
+    SELECT entity_id
+    FROM dwh_change_log
+    WHERE entity_type = 'vds_interface'
+        AND change_date > (
+            SELECT var_datetime
+            FROM dwh_history_timekeeping
+            WHERE (var_name = 'lastSync')
             )
-        )
+    )
     AND (
         a.is_bond IS NULL
         OR a.is_bond = FALSE
@@ -310,17 +288,34 @@ LEFT JOIN (
     FROM vm_host_pinning_map
     ORDER BY vm_id
     ) f
-    ON f.vm_id = a.vm_guid,
-        (
-            SELECT var_datetime
-            FROM dwh_history_timekeeping
-            WHERE var_name = 'lastSync'
-            ) AS lastSync
+    ON f.vm_id = a.vm_guid
 WHERE (
         a.entity_type = 'VM'
         AND b.entity_type = 'TEMPLATE'
         )
-    AND greatest(a._create_date, a._update_date, b._update_date) > lastSync.var_datetime;
+    -- the changes of the template are changes of its VMs
+    AND (
+        a.vm_guid IN (
+            SELECT entity_id
+            FROM dwh_change_log
+            WHERE entity_type = 'vm_static'
+                AND change_date > (
+                    SELECT var_datetime
+                    FROM dwh_history_timekeeping
+                    WHERE (var_name = 'lastSync')
+                    )
+            )
+        OR a.vmt_guid IN (
+            SELECT entity_id
+            FROM dwh_change_log
+            WHERE entity_type = 'vm_static'
+                AND change_date > (
+                    SELECT var_datetime
+                    FROM dwh_history_timekeeping
+                    WHERE (var_name = 'lastSync')
+                    )
+            )
+        );
 
 CREATE OR REPLACE VIEW dwh_vm_history_view AS
 
@@ -369,21 +364,15 @@ LEFT JOIN (
 INNER JOIN vm_static
     ON vm_interface.vm_guid = vm_static.vm_guid
 WHERE entity_type = 'VM'
-    AND (
-        (
-            vm_interface._create_date > (
+    AND vm_interface.id IN (
+        SELECT entity_id
+        FROM dwh_change_log
+        WHERE entity_type = 'vm_interface'
+            AND change_date > (
                 SELECT var_datetime
                 FROM dwh_history_timekeeping
                 WHERE (var_name = 'lastSync')
                 )
-            )
-        OR (
-            vm_interface._update_date > (
-                SELECT var_datetime
-                FROM dwh_history_timekeeping AS history_timekeeping_1
-                WHERE (var_name = 'lastSync')
-                )
-            )
         );
 
 CREATE OR REPLACE VIEW dwh_vm_interface_history_view AS
@@ -424,21 +413,15 @@ WHERE i.active = TRUE
             vm_static.entity_type = 'VM'
             OR vm_static.entity_type IS NULL
         )
-    AND (
-        (
-            i._create_date > (
+    AND i.image_guid IN (
+        SELECT entity_id
+        FROM dwh_change_log
+        WHERE entity_type = 'images'
+            AND change_date > (
                 SELECT var_datetime
                 FROM dwh_history_timekeeping
                 WHERE (var_name = 'lastSync')
                 )
-            )
-        OR (
-            i._update_date > (
-                SELECT var_datetime
-                FROM dwh_history_timekeeping AS history_timekeeping_1
-                WHERE (var_name = 'lastSync')
-                )
-            )
         )
 GROUP BY vm_disk_id, storage_domain_id, vm_disk_size_mb, vm_disk_type, vm_disk_format, create_date, update_date;
 
@@ -461,6 +444,17 @@ WHERE (
             )
         OR (type = 'interface')
         )
+    AND device_id IN (
+        SELECT entity_id
+        FROM dwh_change_log
+        WHERE entity_type = 'vm_device'
+            AND change_date > (
+                SELECT var_datetime
+                FROM dwh_history_timekeeping
+                WHERE (var_name = 'lastSync')
+                )
+        )
+    -- the devices of a shared disk have the same id
     AND (
         (
             _create_date > (
@@ -690,21 +684,27 @@ SELECT user_id,
     _create_date AS create_date,
     _update_date AS update_date
 FROM users
-WHERE (
-        (
-            _create_date > (
-                SELECT var_datetime
-                FROM dwh_history_timekeeping
-                WHERE (var_name = 'lastSync')
-                )
-            )
-        OR (
-            _update_date > (
-                SELECT var_datetime
-                FROM dwh_history_timekeeping AS history_timekeeping_1
-                WHERE (var_name = 'lastSync')
-                )
+WHERE user_id IN (
+    SELECT entity_id
+    FROM dwh_change_log
+    WHERE entity_type = 'users'
+        AND change_date > (
+            SELECT var_datetime
+            FROM dwh_history_timekeeping
+            WHERE (var_name = 'lastSync')
             )
+    );
+
+CREATE OR REPLACE VIEW dwh_change_log_view AS
+
+SELECT entity_type,
+    entity_id,
+    operation,
+    change_id,
+    change_date
+FROM dwh_change_log
+WHERE change_date > (
+        SELECT var_datetime
+        FROM dwh_history_timekeeping
+        WHERE (var_name = 'lastSync')
         );
-
-
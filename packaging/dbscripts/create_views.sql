@@ -1544,6 +1544,21 @@ FROM vm_dynamic
 INNER JOIN vm_static
     ON vm_static.vm_guid = vm_dynamic.vm_guid;
 
+-- The placement of the VMs, as read by the affinity policy units of the scheduling for every scheduled VM
+CREATE OR REPLACE VIEW vms_scheduling_view AS
+
+SELECT vm_static.vm_guid,
+    vm_static.vm_name,
+    vm_static.cluster_id,
+    vm_static.origin,
+    vm_static.migration_support,
+    vm_dynamic.status,
+    vm_dynamic.run_on_vds
+FROM vm_static
+INNER JOIN vm_dynamic
+    ON vm_dynamic.vm_guid = vm_static.vm_guid
+WHERE vm_static.entity_type = 'VM';
+
 CREATE OR REPLACE VIEW vms_with_tags AS
 
 SELECT DISTINCT vms.vm_name,
@@ -3309,8 +3324,9 @@ FROM user_vm_template_permissions_view_base NATURAL
  JOIN engine_session_user_flat_groups;
 
 -- Permissions on VMs
--- The user and admin has permission on the VM
-CREATE OR REPLACE VIEW vm_permissions_view_base (
+-- The user and admin has permission on the VM, expanded from the object hierarchy.
+-- The expansion is costly, it is only used to maintain materialized_vm_permissions.
+CREATE OR REPLACE VIEW vm_permissions_expanded_view (
     entity_id,
     granted_id,
     role_type
@@ -3356,6 +3372,18 @@ CROSS JOIN vm_static
 WHERE object_type_id = 1
     AND allows_viewing_children;
 
+-- The permissions on VMs as maintained by the triggers on the permissions, roles, vm_static and cluster tables
+CREATE OR REPLACE VIEW vm_permissions_view_base (
+    entity_id,
+    granted_id,
+    role_type
+    ) AS
+
+SELECT entity_id,
+    granted_id,
+    role_type
+FROM materialized_vm_permissions;
+
 -- only user permissions
 CREATE OR REPLACE VIEW user_vm_permissions_view (
     entity_id,
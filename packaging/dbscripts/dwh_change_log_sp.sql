@@ -0,0 +1,118 @@
+
+
+----------------------------------------------------------------
+-- [dwh_change_log] Table
+----------------------------------------------------------------
+-- Returns the changes of the configuration entities sampled by DWH that were made after the given version, in the
+-- order of their versions, so the changes can be read in batches
+CREATE OR REPLACE FUNCTION GetDwhChangeLogAfterChangeId (
+    v_change_id BIGINT,
+    v_max_results INT
+    )
+RETURNS SETOF dwh_change_log STABLE AS $FUNCTION$
+BEGIN
+    RETURN QUERY
+
+    SELECT *
+    FROM dwh_change_log
+    WHERE change_id > v_change_id
+    ORDER BY change_id LIMIT v_max_results;
+END;$FUNCTION$
+LANGUAGE plpgsql;
+
+-- Records the latest change of the entity, TG_ARGV[0] is the column of the id of the entity.
+-- The date of the change is the date the DAOs set to _create_date or _update_date, as compared by DWH with lastSync.
+CREATE OR REPLACE FUNCTION dwh_change_log_on_change ()
+RETURNS TRIGGER AS $$
+DECLARE v_entity_id UUID;
+
+v_change_date TIMESTAMP WITH TIME ZONE;
+
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        EXECUTE format('SELECT ($1).%I', TG_ARGV[0]) USING OLD INTO v_entity_id;
+        v_change_date := CURRENT_TIMESTAMP;
+    ELSIF TG_OP = 'INSERT' THEN
+        EXECUTE format('SELECT ($1).%I', TG_ARGV[0]) USING NEW INTO v_entity_id;
+        v_change_date := NEW._create_date;
+    ELSE
+        EXECUTE format('SELECT ($1).%I', TG_ARGV[0]) USING NEW INTO v_entity_id;
+        v_change_date := NEW._update_date;
+    END IF;
+
+    INSERT INTO dwh_change_log (
+        entity_type,
+        entity_id,
+        operation,
+        change_date
+        )
+    VALUES (
+        TG_TABLE_NAME,
+        v_entity_id,
+        left(TG_OP, 1),
+        coalesce(v_change_date, CURRENT_TIMESTAMP)
+        )
+    ON CONFLICT (entity_type, entity_id) DO UPDATE
+    SET operation = EXCLUDED.operation,
+        change_id = EXCLUDED.change_id,
+        change_date = greatest(dwh_change_log.change_date, EXCLUDED.change_date);
+
+    RETURN NULL;
+END;$$
+LANGUAGE plpgsql;
+
+-- Updates that do not change _update_date are not sampled by DWH, so they are not recorded
+DO $$
+DECLARE
+    v_table RECORD;
+BEGIN
+    FOR v_table IN
+        SELECT *
+        FROM (
+            VALUES ('storage_pool', 'id'),
+                ('storage_domain_static', 'id'),
+                ('cluster', 'cluster_id'),
+                ('vds_static', 'vds_id'),
+                ('vds_interface', 'id'),
+                ('vm_static', 'vm_guid'),
+                ('vm_interface', 'id'),
+                ('images', 'image_guid'),
+                ('vm_device', 'device_id'),
+                ('users', 'user_id')
+            ) AS t(table_name, id_column)
+    LOOP
+        EXECUTE format('DROP TRIGGER IF EXISTS dwh_change_log_on_change ON %I', v_table.table_name);
+        EXECUTE format('CREATE TRIGGER dwh_change_log_on_change AFTER INSERT OR DELETE ON %I '
+                'FOR EACH ROW EXECUTE FUNCTION dwh_change_log_on_change(%L)',
+            v_table.table_name, v_table.id_column);
+        EXECUTE format('DROP TRIGGER IF EXISTS dwh_change_log_on_update ON %I', v_table.table_name);
+        EXECUTE format('CREATE TRIGGER dwh_change_log_on_update AFTER UPDATE ON %I '
+                'FOR EACH ROW WHEN (OLD._update_date IS DISTINCT FROM NEW._update_date) '
+                'EXECUTE FUNCTION dwh_change_log_on_change(%L)',
+            v_table.table_name, v_table.id_column);
+    END LOOP;
+END;$$;
+
+-- Removes the deletions DWH already sampled once it advances lastSync, the other changes are kept once per entity
+CREATE OR REPLACE FUNCTION dwh_change_log_on_last_sync ()
+RETURNS TRIGGER AS $$
+BEGIN
+    DELETE
+    FROM dwh_change_log
+    WHERE operation = 'D'
+        AND change_date < NEW.var_datetime;
+
+    RETURN NULL;
+END;$$
+LANGUAGE plpgsql;
+
+DROP TRIGGER
+IF EXISTS dwh_change_log_on_last_sync
+    ON dwh_history_timekeeping;
+
+CREATE TRIGGER dwh_change_log_on_last_sync AFTER
+UPDATE
+    ON dwh_history_timekeeping
+FOR EACH ROW
+WHEN (NEW.var_name = 'lastSync' AND OLD.var_datetime IS DISTINCT FROM NEW.var_datetime)
+EXECUTE FUNCTION dwh_change_log_on_last_sync();
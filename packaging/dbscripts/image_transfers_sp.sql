@@ -129,6 +129,23 @@ END;$FUNCTION$
 LANGUAGE plpgsql;
 
 
+CREATE OR REPLACE FUNCTION UpdateImageTransferStatus(
+    v_command_id UUID,
+    v_active BOOLEAN,
+    v_bytes_sent BIGINT,
+    v_last_updated TIMESTAMP
+    )
+RETURNS VOID
+AS $FUNCTION$
+BEGIN
+    UPDATE image_transfers
+    SET active = v_active,
+        bytes_sent = v_bytes_sent,
+        last_updated = v_last_updated
+    WHERE command_id = v_command_id;
+END;$FUNCTION$
+LANGUAGE plpgsql;
+
 CREATE OR REPLACE FUNCTION DeleteImageUploads(v_command_id UUID)
 RETURNS VOID
 AS $FUNCTION$
@@ -789,3 +789,321 @@ BEGIN
         AND object_id = v_object_id;
 END; $FUNCTION$
 LANGUAGE plpgsql;
+
+----------------------------------------------------------------
+-- Materialized VM permissions
+--
+-- The permissions on VMs are expanded from the object hierarchy (system, data center, cluster, VM) once, when
+-- the permissions, the roles or the hierarchy change, instead of on every filtered query.
+-- The grants are kept per granted element (user or group), so group membership changes need no maintenance:
+-- the grants are joined with the groups of the session by user_vm_permissions_view.
+----------------------------------------------------------------
+
+-- Takes advisory locks on the given objects of one level of the hierarchy, ordered by their ids.
+-- A change of the permissions on an object locks the object exclusively, while a change of the hierarchy under an
+-- object locks it shared, so that changes which may affect the same grants see each other once committed, while
+-- unrelated changes run concurrently. Use LockMaterializedVmPermissionsHierarchy, which locks the levels in order.
+CREATE OR REPLACE FUNCTION LockMaterializedVmPermissionsObjects (
+    v_object_ids UUID[],
+    v_exclusive_object_ids UUID[]
+    )
+RETURNS VOID AS $FUNCTION$
+DECLARE
+    v_object_id UUID;
+BEGIN
+    FOR v_object_id IN
+        SELECT DISTINCT object_id
+        FROM unnest(v_object_ids) AS object_id
+        WHERE object_id IS NOT NULL
+        ORDER BY object_id
+    LOOP
+        IF v_object_id = ANY (v_exclusive_object_ids) THEN
+            PERFORM pg_advisory_xact_lock(hashtext('materialized_vm_permissions'), hashtext(v_object_id::TEXT));
+        ELSE
+            PERFORM pg_advisory_xact_lock_shared(hashtext('materialized_vm_permissions'), hashtext(v_object_id::TEXT));
+        END IF;
+    END LOOP;
+END;$FUNCTION$
+LANGUAGE plpgsql;
+
+-- Locks the hierarchy of the given objects top-down: system, data centers, clusters and VMs, including the data
+-- centers of the given clusters. The objects are locked shared, except the given exclusive ones.
+-- Every maintenance of the grants takes these locks before the lock of a granted element, so the locks are always
+-- taken in the same order and concurrent changes cannot deadlock.
+CREATE OR REPLACE FUNCTION LockMaterializedVmPermissionsHierarchy (
+    v_storage_pool_ids UUID[],
+    v_cluster_ids UUID[],
+    v_vm_guids UUID[],
+    v_exclusive_object_ids UUID[]
+    )
+RETURNS VOID AS $FUNCTION$
+BEGIN
+    PERFORM LockMaterializedVmPermissionsObjects(ARRAY [getGlobalIds('system')], v_exclusive_object_ids);
+    PERFORM LockMaterializedVmPermissionsObjects(v_storage_pool_ids || ARRAY(
+        SELECT storage_pool_id
+        FROM cluster
+        WHERE cluster_id = ANY (v_cluster_ids)), v_exclusive_object_ids);
+    PERFORM LockMaterializedVmPermissionsObjects(v_cluster_ids, v_exclusive_object_ids);
+    PERFORM LockMaterializedVmPermissionsObjects(v_vm_guids, v_exclusive_object_ids);
+END;$FUNCTION$
+LANGUAGE plpgsql;
+
+-- Returns the VMs a permission on the given object grants access to
+CREATE OR REPLACE FUNCTION GetVmGuidsUnderObject (
+    v_object_id UUID,
+    v_object_type_id INT
+    )
+RETURNS UUID[] STABLE AS $FUNCTION$
+BEGIN
+    RETURN CASE v_object_type_id
+        WHEN 1 THEN ARRAY(
+            SELECT vm_guid
+            FROM vm_static)
+        WHEN 14 THEN ARRAY(
+            SELECT vm_guid
+            FROM vm_static
+            INNER JOIN cluster
+                ON cluster.cluster_id = vm_static.cluster_id
+            WHERE cluster.storage_pool_id = v_object_id)
+        WHEN 9 THEN ARRAY(
+            SELECT vm_guid
+            FROM vm_static
+            WHERE cluster_id = v_object_id)
+        WHEN 2 THEN ARRAY [v_object_id]
+        ELSE ARRAY []::UUID[]
+    END;
+END;$FUNCTION$
+LANGUAGE plpgsql;
+
+-- Recomputes the grants of the given element on the given VMs
+CREATE OR REPLACE FUNCTION RefreshMaterializedVmPermissionsForGrantee (
+    v_granted_id UUID,
+    v_vm_guids UUID[]
+    )
+RETURNS VOID AS $FUNCTION$
+BEGIN
+    DELETE
+    FROM materialized_vm_permissions
+    WHERE granted_id = v_granted_id
+        AND entity_id = ANY (v_vm_guids);
+
+    INSERT INTO materialized_vm_permissions (
+        entity_id,
+        granted_id,
+        role_type
+        )
+    SELECT DISTINCT entity_id,
+        granted_id,
+        role_type
+    FROM vm_permissions_expanded_view
+    WHERE granted_id = v_granted_id
+        AND entity_id = ANY (v_vm_guids)
+    ON CONFLICT DO NOTHING;
+END;$FUNCTION$
+LANGUAGE plpgsql;
+
+-- Recomputes the grants of all the elements on the given VMs
+CREATE OR REPLACE FUNCTION RefreshMaterializedVmPermissionsForVms (v_vm_guids UUID[])
+RETURNS VOID AS $FUNCTION$
+BEGIN
+    DELETE
+    FROM materialized_vm_permissions
+    WHERE entity_id = ANY (v_vm_guids);
+
+    INSERT INTO materialized_vm_permissions (
+        entity_id,
+        granted_id,
+        role_type
+        )
+    SELECT DISTINCT entity_id,
+        granted_id,
+        role_type
+    FROM vm_permissions_expanded_view
+    WHERE entity_id = ANY (v_vm_guids)
+    ON CONFLICT DO NOTHING;
+END;$FUNCTION$
+LANGUAGE plpgsql;
+
+-- Recomputes the grants of the given element on the VMs under the given object, when a permission changes.
+-- The object is locked exclusively under its hierarchy, and then the changes of the permissions of the same element
+-- are serialized, since the grants of the element on a VM may come from permissions on several objects.
+CREATE OR REPLACE FUNCTION RefreshMaterializedVmPermissionsForPermission (
+    v_granted_id UUID,
+    v_object_id UUID,
+    v_object_type_id INT
+    )
+RETURNS VOID AS $FUNCTION$
+BEGIN
+    -- a permission on a VM conflicts with a change of the data center of the cluster of the VM
+    PERFORM LockMaterializedVmPermissionsHierarchy(
+        CASE
+            WHEN v_object_type_id = 14 THEN ARRAY [v_object_id]
+            ELSE ARRAY []::UUID[]
+        END,
+        CASE v_object_type_id
+            WHEN 9 THEN ARRAY [v_object_id]
+            WHEN 2 THEN ARRAY(
+                SELECT cluster_id
+                FROM vm_static
+                WHERE vm_guid = v_object_id)
+            ELSE ARRAY []::UUID[]
+        END,
+        CASE
+            WHEN v_object_type_id = 2 THEN ARRAY [v_object_id]
+            ELSE ARRAY []::UUID[]
+        END,
+        ARRAY [v_object_id]);
+
+    PERFORM pg_advisory_xact_lock(hashtext('materialized_vm_permissions_grantee'), hashtext(v_granted_id::TEXT));
+    PERFORM RefreshMaterializedVmPermissionsForGrantee(v_granted_id, GetVmGuidsUnderObject(v_object_id, v_object_type_id));
+END;$FUNCTION$
+LANGUAGE plpgsql;
+
+-- Rebuilds all the grants, while no other change is made, e.g. after an upgrade
+CREATE OR REPLACE FUNCTION RebuildMaterializedVmPermissions ()
+RETURNS VOID AS $FUNCTION$
+BEGIN
+    TRUNCATE TABLE materialized_vm_permissions;
+
+    INSERT INTO materialized_vm_permissions (
+        entity_id,
+        granted_id,
+        role_type
+        )
+    SELECT DISTINCT entity_id,
+        granted_id,
+        role_type
+    FROM vm_permissions_expanded_view;
+END;$FUNCTION$
+LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION materialized_vm_permissions_on_permission_change ()
+RETURNS TRIGGER AS $$
+BEGIN
+    -- Only permissions on the system, data centers, clusters and VMs grant access to VMs
+    IF TG_OP IN ('UPDATE', 'DELETE') AND OLD.object_type_id IN (1, 2, 9, 14) THEN
+        PERFORM RefreshMaterializedVmPermissionsForPermission(OLD.ad_element_id, OLD.object_id, OLD.object_type_id);
+    END IF;
+
+    IF TG_OP = 'INSERT' AND NEW.object_type_id IN (1, 2, 9, 14) THEN
+        PERFORM RefreshMaterializedVmPermissionsForPermission(NEW.ad_element_id, NEW.object_id, NEW.object_type_id);
+    ELSIF TG_OP = 'UPDATE' AND NEW.object_type_id IN (1, 2, 9, 14)
+        AND (NEW.ad_element_id <> OLD.ad_element_id
+            OR NEW.object_id <> OLD.object_id
+            OR NEW.object_type_id <> OLD.object_type_id) THEN
+        PERFORM RefreshMaterializedVmPermissionsForPermission(NEW.ad_element_id, NEW.object_id, NEW.object_type_id);
+    END IF;
+
+    RETURN NULL;
+END;$$
+LANGUAGE plpgsql;
+
+DROP TRIGGER
+IF EXISTS materialized_vm_permissions_on_permission_change
+    ON permissions;
+
+CREATE TRIGGER materialized_vm_permissions_on_permission_change AFTER
+INSERT OR UPDATE OR DELETE
+    ON permissions
+FOR EACH ROW
+EXECUTE FUNCTION materialized_vm_permissions_on_permission_change();
+
+CREATE OR REPLACE FUNCTION materialized_vm_permissions_on_role_change ()
+RETURNS TRIGGER AS $$
+DECLARE
+    v_permission RECORD;
+BEGIN
+    IF NEW.role_type IS DISTINCT FROM OLD.role_type
+        OR NEW.allows_viewing_children IS DISTINCT FROM OLD.allows_viewing_children THEN
+        FOR v_permission IN
+            SELECT DISTINCT ad_element_id,
+                object_id,
+                object_type_id
+            FROM permissions
+            WHERE role_id = NEW.id
+                AND object_type_id IN (1, 2, 9, 14)
+        LOOP
+            PERFORM RefreshMaterializedVmPermissionsForPermission(v_permission.ad_element_id,
+                v_permission.object_id,
+                v_permission.object_type_id);
+        END LOOP;
+    END IF;
+
+    RETURN NULL;
+END;$$
+LANGUAGE plpgsql;
+
+DROP TRIGGER
+IF EXISTS materialized_vm_permissions_on_role_change
+    ON roles;
+
+CREATE TRIGGER materialized_vm_permissions_on_role_change AFTER
+UPDATE
+    ON roles
+FOR EACH ROW
+EXECUTE FUNCTION materialized_vm_permissions_on_role_change();
+
+CREATE OR REPLACE FUNCTION materialized_vm_permissions_on_vm_change ()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        PERFORM LockMaterializedVmPermissionsHierarchy(ARRAY []::UUID[], ARRAY [OLD.cluster_id], ARRAY [OLD.vm_guid],
+            ARRAY []::UUID[]);
+
+        DELETE
+        FROM materialized_vm_permissions
+        WHERE entity_id = OLD.vm_guid;
+    ELSIF TG_OP = 'INSERT' THEN
+        PERFORM LockMaterializedVmPermissionsHierarchy(ARRAY []::UUID[], ARRAY [NEW.cluster_id], ARRAY [NEW.vm_guid],
+            ARRAY []::UUID[]);
+        PERFORM RefreshMaterializedVmPermissionsForVms(ARRAY [NEW.vm_guid]);
+    ELSIF NEW.cluster_id IS DISTINCT FROM OLD.cluster_id THEN
+        PERFORM LockMaterializedVmPermissionsHierarchy(ARRAY []::UUID[],
+            ARRAY [OLD.cluster_id, NEW.cluster_id],
+            ARRAY [NEW.vm_guid],
+            ARRAY []::UUID[]);
+        PERFORM RefreshMaterializedVmPermissionsForVms(ARRAY [NEW.vm_guid]);
+    END IF;
+
+    RETURN NULL;
+END;$$
+LANGUAGE plpgsql;
+
+DROP TRIGGER
+IF EXISTS materialized_vm_permissions_on_vm_change
+    ON vm_static;
+
+CREATE TRIGGER materialized_vm_permissions_on_vm_change AFTER
+INSERT OR UPDATE OF cluster_id OR DELETE
+    ON vm_static
+FOR EACH ROW
+EXECUTE FUNCTION materialized_vm_permissions_on_vm_change();
+
+CREATE OR REPLACE FUNCTION materialized_vm_permissions_on_cluster_change ()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF NEW.storage_pool_id IS DISTINCT FROM OLD.storage_pool_id THEN
+        -- conflicts with the changes of the VMs of the cluster and of their permissions
+        PERFORM LockMaterializedVmPermissionsHierarchy(ARRAY [OLD.storage_pool_id, NEW.storage_pool_id],
+            ARRAY [NEW.cluster_id],
+            ARRAY []::UUID[],
+            ARRAY [NEW.cluster_id]);
+        PERFORM RefreshMaterializedVmPermissionsForVms(ARRAY(
+            SELECT vm_guid
+            FROM vm_static
+            WHERE cluster_id = NEW.cluster_id));
+    END IF;
+
+    RETURN NULL;
+END;$$
+LANGUAGE plpgsql;
+
+DROP TRIGGER
+IF EXISTS materialized_vm_permissions_on_cluster_change
+    ON cluster;
+
+CREATE TRIGGER materialized_vm_permissions_on_cluster_change AFTER
+UPDATE OF storage_pool_id
+    ON cluster
+FOR EACH ROW
+EXECUTE FUNCTION materialized_vm_permissions_on_cluster_change();
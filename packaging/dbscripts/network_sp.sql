@@ -2875,3 +2875,424 @@ BEGIN
 
 END;$FUNCTION$
 LANGUAGE plpgsql;
+
+----------------------------------------------------------------
+-- [vds_interface_sync_status] Table
+--
+-- Holds the last calculated sync status of the host interfaces that carry a network. A status is valid only as long
+-- as its row exists: the triggers below invalidate the statuses of the hosts affected by any change of the inputs of
+-- the calculation, and the engine calculates the missing statuses again on demand.
+--
+-- Each invalidation also increments the generation of the host in vds_interface_sync_generation. The engine reads the
+-- generations before the inputs of the calculation, and a status is saved only if the generation of its host did not
+-- change meanwhile, so a status calculated from inputs which changed during the calculation is never saved.
+----------------------------------------------------------------
+CREATE OR REPLACE FUNCTION GetInterfaceSyncStatusByClusterId (v_cluster_id UUID)
+RETURNS SETOF vds_interface_sync_status STABLE AS $FUNCTION$
+BEGIN
+    RETURN QUERY
+
+    SELECT vds_interface_sync_status.*
+    FROM vds_interface_sync_status
+    INNER JOIN vds_static
+        ON vds_static.vds_id = vds_interface_sync_status.vds_id
+    WHERE vds_static.cluster_id = v_cluster_id;
+END;$FUNCTION$
+LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION GetInterfaceSyncGenerationByClusterId (v_cluster_id UUID)
+RETURNS SETOF vds_interface_sync_generation STABLE AS $FUNCTION$
+BEGIN
+    RETURN QUERY
+
+    SELECT vds_interface_sync_generation.*
+    FROM vds_interface_sync_generation
+    INNER JOIN vds_static
+        ON vds_static.vds_id = vds_interface_sync_generation.vds_id
+    WHERE vds_static.cluster_id = v_cluster_id;
+END;$FUNCTION$
+LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION SaveInterfaceSyncStatus (
+    v_vds_interface_id UUID,
+    v_vds_id UUID,
+    v_network_name VARCHAR(256),
+    v_in_sync BOOLEAN,
+    v_generation BIGINT
+    )
+RETURNS VOID AS $FUNCTION$
+DECLARE v_current_generation BIGINT;
+
+BEGIN
+    -- A host that was never invalidated has generation 0. The insert waits for a concurrent invalidation which
+    -- creates the row of the host, so its generation is read below once it is committed.
+    INSERT INTO vds_interface_sync_generation (
+        vds_id,
+        generation
+        )
+    SELECT v_vds_id,
+        0
+    WHERE EXISTS (
+            SELECT 1
+            FROM vds_static
+            WHERE vds_id = v_vds_id
+            )
+    ON CONFLICT (vds_id) DO NOTHING;
+
+    -- The lock is held until the status is committed, so a later invalidation of the host removes it
+    SELECT generation
+    INTO v_current_generation
+    FROM vds_interface_sync_generation
+    WHERE vds_id = v_vds_id
+    FOR SHARE;
+
+    -- The inputs of the calculation changed since it started, the status is calculated again on demand
+    IF v_current_generation IS DISTINCT FROM v_generation THEN
+        RETURN;
+    END IF;
+
+    -- The interface may have been removed since its status was calculated
+    INSERT INTO vds_interface_sync_status (
+        vds_interface_id,
+        vds_id,
+        network_name,
+        in_sync
+        )
+    SELECT v_vds_interface_id,
+        v_vds_id,
+        v_network_name,
+        v_in_sync
+    WHERE EXISTS (
+            SELECT 1
+            FROM vds_interface
+            WHERE id = v_vds_interface_id
+            )
+    ON CONFLICT (vds_interface_id) DO UPDATE
+    SET vds_id = EXCLUDED.vds_id,
+        network_name = EXCLUDED.network_name,
+        in_sync = EXCLUDED.in_sync;
+END;$FUNCTION$
+LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION InvalidateInterfaceSyncStatus (v_vds_ids UUID[])
+RETURNS VOID AS $FUNCTION$
+BEGIN
+    -- The generations are locked in the order of the hosts, to avoid deadlocks between concurrent invalidations
+    INSERT INTO vds_interface_sync_generation (
+        vds_id,
+        generation
+        )
+    SELECT vds_id,
+        1
+    FROM vds_static
+    WHERE vds_id = ANY (v_vds_ids)
+    ORDER BY vds_id
+    ON CONFLICT (vds_id) DO UPDATE
+    SET generation = vds_interface_sync_generation.generation + 1;
+
+    DELETE
+    FROM vds_interface_sync_status
+    WHERE vds_id = ANY (v_vds_ids);
+END;$FUNCTION$
+LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION vds_interface_sync_status_on_network_change ()
+RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM InvalidateInterfaceSyncStatus(ARRAY(
+                SELECT vds_static.vds_id
+                FROM vds_static
+                INNER JOIN network_cluster
+                    ON network_cluster.cluster_id = vds_static.cluster_id
+                WHERE network_cluster.network_id = OLD.id
+
+                UNION
+
+                SELECT vds_id
+                FROM vds_interface_sync_status
+                WHERE network_name = OLD.name
+                ));
+
+    RETURN NULL;
+END;$$
+LANGUAGE plpgsql;
+
+DROP TRIGGER
+IF EXISTS vds_interface_sync_status_on_network_change
+    ON network;
+
+CREATE TRIGGER vds_interface_sync_status_on_network_change AFTER
+UPDATE OR DELETE
+    ON network
+FOR EACH ROW
+EXECUTE FUNCTION vds_interface_sync_status_on_network_change();
+
+CREATE OR REPLACE FUNCTION vds_interface_sync_status_on_network_cluster_change ()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM InvalidateInterfaceSyncStatus(ARRAY(
+                    SELECT vds_id
+                    FROM vds_static
+                    WHERE cluster_id = OLD.cluster_id
+                    ));
+    END IF;
+
+    IF TG_OP = 'INSERT' OR (TG_OP = 'UPDATE' AND NEW.cluster_id <> OLD.cluster_id) THEN
+        PERFORM InvalidateInterfaceSyncStatus(ARRAY(
+                    SELECT vds_id
+                    FROM vds_static
+                    WHERE cluster_id = NEW.cluster_id
+                    ));
+    END IF;
+
+    RETURN NULL;
+END;$$
+LANGUAGE plpgsql;
+
+DROP TRIGGER
+IF EXISTS vds_interface_sync_status_on_network_cluster_change
+    ON network_cluster;
+
+CREATE TRIGGER vds_interface_sync_status_on_network_cluster_change AFTER
+INSERT OR DELETE
+    ON network_cluster
+FOR EACH ROW
+EXECUTE FUNCTION vds_interface_sync_status_on_network_cluster_change();
+
+DROP TRIGGER
+IF EXISTS vds_interface_sync_status_on_network_cluster_update
+    ON network_cluster;
+
+-- The other columns, such as the status maintained by the monitoring, do not affect the sync status
+CREATE TRIGGER vds_interface_sync_status_on_network_cluster_update AFTER
+UPDATE
+    ON network_cluster
+FOR EACH ROW
+WHEN ((OLD.network_id, OLD.cluster_id, OLD.default_route)
+    IS DISTINCT FROM (NEW.network_id, NEW.cluster_id, NEW.default_route))
+EXECUTE FUNCTION vds_interface_sync_status_on_network_cluster_change();
+
+CREATE OR REPLACE FUNCTION vds_interface_sync_status_on_network_attachment_change ()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM InvalidateInterfaceSyncStatus(ARRAY(
+                    SELECT vds_id
+                    FROM vds_interface
+                    WHERE id = OLD.nic_id
+                    ));
+    END IF;
+
+    IF TG_OP = 'INSERT' OR (TG_OP = 'UPDATE' AND NEW.nic_id <> OLD.nic_id) THEN
+        PERFORM InvalidateInterfaceSyncStatus(ARRAY(
+                    SELECT vds_id
+                    FROM vds_interface
+                    WHERE id = NEW.nic_id
+                    ));
+    END IF;
+
+    RETURN NULL;
+END;$$
+LANGUAGE plpgsql;
+
+DROP TRIGGER
+IF EXISTS vds_interface_sync_status_on_network_attachment_change
+    ON network_attachments;
+
+CREATE TRIGGER vds_interface_sync_status_on_network_attachment_change AFTER
+INSERT OR UPDATE OR DELETE
+    ON network_attachments
+FOR EACH ROW
+EXECUTE FUNCTION vds_interface_sync_status_on_network_attachment_change();
+
+CREATE OR REPLACE FUNCTION vds_interface_sync_status_on_vds_interface_change ()
+RETURNS TRIGGER AS $$
+BEGIN
+    -- The sync status of VLAN devices and bonds depends also on their base interfaces,
+    -- so all the statuses of the host are recalculated
+    PERFORM InvalidateInterfaceSyncStatus(ARRAY[NEW.vds_id]);
+
+    RETURN NULL;
+END;$$
+LANGUAGE plpgsql;
+
+DROP TRIGGER
+IF EXISTS vds_interface_sync_status_on_vds_interface_change
+    ON vds_interface;
+
+CREATE TRIGGER vds_interface_sync_status_on_vds_interface_change AFTER
+INSERT
+    ON vds_interface
+FOR EACH ROW
+EXECUTE FUNCTION vds_interface_sync_status_on_vds_interface_change();
+
+DROP TRIGGER
+IF EXISTS vds_interface_sync_status_on_vds_interface_update
+    ON vds_interface;
+
+-- The monitoring saves all the interfaces of the host whenever it refreshes them, only the columns compared with the
+-- network definition (or used to find the base interface) affect the sync status
+CREATE TRIGGER vds_interface_sync_status_on_vds_interface_update AFTER
+UPDATE
+    ON vds_interface
+FOR EACH ROW
+WHEN ((OLD.name, OLD.network_name, OLD.base_interface, OLD.vlan_id, OLD.mtu, OLD.bridged, OLD.reported_switch_type,
+        OLD.qos_overridden, OLD.boot_protocol, OLD.addr, OLD.subnet, OLD.gateway, OLD.ipv4_default_route,
+        OLD.ipv6_boot_protocol, OLD.ipv6_address, OLD.ipv6_prefix, OLD.ipv6_gateway)
+    IS DISTINCT FROM (NEW.name, NEW.network_name, NEW.base_interface, NEW.vlan_id, NEW.mtu, NEW.bridged,
+        NEW.reported_switch_type, NEW.qos_overridden, NEW.boot_protocol, NEW.addr, NEW.subnet, NEW.gateway,
+        NEW.ipv4_default_route, NEW.ipv6_boot_protocol, NEW.ipv6_address, NEW.ipv6_prefix, NEW.ipv6_gateway))
+EXECUTE FUNCTION vds_interface_sync_status_on_vds_interface_change();
+
+CREATE OR REPLACE FUNCTION vds_interface_sync_status_on_qos_change ()
+RETURNS TRIGGER AS $$
+DECLARE v_qos_id UUID;
+
+BEGIN
+    v_qos_id := CASE TG_OP WHEN 'INSERT' THEN NEW.id ELSE OLD.id END;
+
+    -- Either the QoS of a network, or the QoS overridden by a network attachment or reported for a host interface
+    -- (sharing the id of the attachment or of the interface)
+    PERFORM InvalidateInterfaceSyncStatus(ARRAY(
+                SELECT vds_static.vds_id
+                FROM vds_static
+                INNER JOIN network_cluster
+                    ON network_cluster.cluster_id = vds_static.cluster_id
+                INNER JOIN network
+                    ON network.id = network_cluster.network_id
+                WHERE network.qos_id = v_qos_id
+
+                UNION
+
+                SELECT vds_interface.vds_id
+                FROM network_attachments
+                INNER JOIN vds_interface
+                    ON vds_interface.id = network_attachments.nic_id
+                WHERE network_attachments.id = v_qos_id
+
+                UNION
+
+                SELECT vds_id
+                FROM vds_interface
+                WHERE id = v_qos_id
+                ));
+
+    RETURN NULL;
+END;$$
+LANGUAGE plpgsql;
+
+DROP TRIGGER
+IF EXISTS vds_interface_sync_status_on_qos_change
+    ON qos;
+
+CREATE TRIGGER vds_interface_sync_status_on_qos_change AFTER
+INSERT OR UPDATE OR DELETE
+    ON qos
+FOR EACH ROW
+EXECUTE FUNCTION vds_interface_sync_status_on_qos_change();
+
+CREATE OR REPLACE FUNCTION InvalidateInterfaceSyncStatusOfDnsResolverConfiguration (
+    v_dns_resolver_configuration_id UUID
+    )
+RETURNS VOID AS $FUNCTION$
+BEGIN
+    -- Either the DNS configuration of a network, of a network attachment, or reported by a host (sharing the id of
+    -- the host)
+    PERFORM InvalidateInterfaceSyncStatus(ARRAY(
+                SELECT vds_static.vds_id
+                FROM vds_static
+                INNER JOIN network_cluster
+                    ON network_cluster.cluster_id = vds_static.cluster_id
+                INNER JOIN network
+                    ON network.id = network_cluster.network_id
+                WHERE network.dns_resolver_configuration_id = v_dns_resolver_configuration_id
+
+                UNION
+
+                SELECT vds_interface.vds_id
+                FROM network_attachments
+                INNER JOIN vds_interface
+                    ON vds_interface.id = network_attachments.nic_id
+                WHERE network_attachments.dns_resolver_configuration_id = v_dns_resolver_configuration_id
+
+                UNION
+
+                SELECT vds_id
+                FROM vds_static
+                WHERE vds_id = v_dns_resolver_configuration_id
+                ));
+END;$FUNCTION$
+LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION vds_interface_sync_status_on_name_server_change ()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM InvalidateInterfaceSyncStatusOfDnsResolverConfiguration(OLD.dns_resolver_configuration_id);
+    END IF;
+
+    IF TG_OP = 'INSERT'
+        OR (TG_OP = 'UPDATE' AND NEW.dns_resolver_configuration_id <> OLD.dns_resolver_configuration_id) THEN
+        PERFORM InvalidateInterfaceSyncStatusOfDnsResolverConfiguration(NEW.dns_resolver_configuration_id);
+    END IF;
+
+    RETURN NULL;
+END;$$
+LANGUAGE plpgsql;
+
+DROP TRIGGER
+IF EXISTS vds_interface_sync_status_on_name_server_change
+    ON name_server;
+
+-- Only the hosts using the changed DNS configuration are invalidated. A configuration removed along with its owner
+-- is covered by the trigger of the owner.
+CREATE TRIGGER vds_interface_sync_status_on_name_server_change AFTER
+INSERT OR UPDATE OR DELETE
+    ON name_server
+FOR EACH ROW
+EXECUTE FUNCTION vds_interface_sync_status_on_name_server_change();
+
+CREATE OR REPLACE FUNCTION vds_interface_sync_status_on_cluster_change ()
+RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM InvalidateInterfaceSyncStatus(ARRAY(
+                SELECT vds_id
+                FROM vds_static
+                WHERE cluster_id = NEW.cluster_id
+                ));
+
+    RETURN NULL;
+END;$$
+LANGUAGE plpgsql;
+
+DROP TRIGGER
+IF EXISTS vds_interface_sync_status_on_cluster_change
+    ON cluster;
+
+CREATE TRIGGER vds_interface_sync_status_on_cluster_change AFTER
+UPDATE
+    ON cluster
+FOR EACH ROW
+EXECUTE FUNCTION vds_interface_sync_status_on_cluster_change();
+
+CREATE OR REPLACE FUNCTION vds_interface_sync_status_on_vds_static_change ()
+RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM InvalidateInterfaceSyncStatus(ARRAY[NEW.vds_id]);
+
+    RETURN NULL;
+END;$$
+LANGUAGE plpgsql;
+
+DROP TRIGGER
+IF EXISTS vds_interface_sync_status_on_vds_static_change
+    ON vds_static;
+
+-- The cluster is saved with every update of the host, the trigger fires only when it actually changes
+CREATE TRIGGER vds_interface_sync_status_on_vds_static_change AFTER
+UPDATE OF cluster_id
+    ON vds_static
+FOR EACH ROW
+WHEN (OLD.cluster_id IS DISTINCT FROM NEW.cluster_id)
+EXECUTE FUNCTION vds_interface_sync_status_on_vds_static_change();
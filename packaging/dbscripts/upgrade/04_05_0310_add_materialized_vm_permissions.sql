@@ -0,0 +1,8 @@
+CREATE TABLE materialized_vm_permissions (
+    entity_id UUID NOT NULL,
+    granted_id UUID NOT NULL,
+    role_type INTEGER NOT NULL,
+    CONSTRAINT pk_materialized_vm_permissions PRIMARY KEY (entity_id, granted_id, role_type)
+);
+
+CREATE INDEX idx_materialized_vm_permissions_granted_id ON materialized_vm_permissions(granted_id, role_type);
@@ -0,0 +1,11 @@
+CREATE TABLE vds_interface_sync_status (
+    vds_interface_id UUID NOT NULL,
+    vds_id UUID NOT NULL,
+    network_name VARCHAR(256) NOT NULL,
+    in_sync BOOLEAN NOT NULL,
+    CONSTRAINT pk_vds_interface_sync_status PRIMARY KEY (vds_interface_id),
+    FOREIGN KEY (vds_interface_id) REFERENCES vds_interface(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_vds_interface_sync_status_vds_id ON vds_interface_sync_status(vds_id);
+CREATE INDEX idx_vds_interface_sync_status_network_name ON vds_interface_sync_status(network_name);
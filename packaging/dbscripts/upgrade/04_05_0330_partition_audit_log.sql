@@ -0,0 +1,84 @@
+-- audit_log is partitioned by day on log_time, so expired events are removed by dropping whole partitions.
+-- The existing events are kept by a single partition, that is dropped once all of them expire, and the daily
+-- partitions are created ahead of time by the engine.
+
+-- a foreign key cannot reference a partitioned table by audit_log_id alone, the notification history of removed
+-- events is removed by DeleteAuditLogOlderThenDate instead
+ALTER TABLE event_notification_hist DROP CONSTRAINT IF EXISTS fk_event_notification_hist_audit_log;
+
+-- the primary key and unique indexes of a partitioned table must include log_time
+ALTER TABLE audit_log DROP CONSTRAINT pk_audit_log;
+DROP INDEX IF EXISTS audit_log_origin_custom_event_id_idx;
+
+-- the names of the indexes are taken by the indexes of the partitioned table, the existing indexes are attached to
+-- them when they are created
+DO $$
+DECLARE
+    v_index RECORD;
+BEGIN
+    FOR v_index IN
+        SELECT c.relname
+        FROM pg_index i
+        INNER JOIN pg_class c
+            ON c.oid = i.indexrelid
+        WHERE i.indrelid = 'audit_log'::regclass
+    LOOP
+        EXECUTE format('ALTER INDEX %I RENAME TO %I', v_index.relname, v_index.relname || '_legacy');
+    END LOOP;
+END;$$;
+
+ALTER TABLE audit_log RENAME TO audit_log_legacy;
+
+CREATE TABLE audit_log (LIKE audit_log_legacy INCLUDING DEFAULTS) PARTITION BY RANGE (log_time);
+
+-- the partition bounds are UTC days
+DO $$
+DECLARE
+    v_tomorrow TIMESTAMP WITH TIME ZONE;
+BEGIN
+    v_tomorrow := (date_trunc('day', CURRENT_TIMESTAMP AT TIME ZONE 'UTC') + INTERVAL '1 day') AT TIME ZONE 'UTC';
+    EXECUTE format('ALTER TABLE audit_log ATTACH PARTITION audit_log_legacy FOR VALUES FROM (MINVALUE) TO (%L)',
+        v_tomorrow);
+END;$$;
+
+-- events logged for days the partitions of which were not created yet
+CREATE TABLE audit_log_default PARTITION OF audit_log DEFAULT;
+
+ALTER TABLE audit_log ADD CONSTRAINT pk_audit_log PRIMARY KEY (audit_log_id, log_time);
+
+-- duplicate external events are rejected by AddExternalEventCommand
+CREATE INDEX audit_log_origin_custom_event_id_idx ON audit_log (origin, custom_event_id) WHERE origin !~~* 'ovirt';
+CREATE INDEX idx_audit_correlation_id ON audit_log (correlation_id);
+CREATE INDEX idx_audit_log_gluster_volume_id ON audit_log (gluster_volume_id) WHERE gluster_volume_id IS NOT NULL;
+CREATE INDEX idx_audit_log_job_id ON audit_log (job_id);
+CREATE INDEX idx_audit_log_log_time ON audit_log (log_time);
+CREATE INDEX idx_audit_log_storage_domain_name ON audit_log (storage_domain_name);
+CREATE INDEX idx_audit_log_storage_pool_name ON audit_log (storage_pool_name);
+CREATE INDEX idx_audit_log_type_name ON audit_log (log_type, log_type_name);
+CREATE INDEX idx_audit_log_user_name ON audit_log (user_name);
+CREATE INDEX idx_audit_log_vds_name ON audit_log (vds_name);
+CREATE INDEX idx_audit_log_vm_name ON audit_log (vm_name);
+CREATE INDEX idx_audit_log_vm_template_name ON audit_log (vm_template_name);
+CREATE INDEX idx_audit_log_deleted ON audit_log (deleted);
+CREATE INDEX idx_audit_log_severity ON audit_log (severity);
+
+-- the legacy indexes that did not match any index of the partitioned table
+DO $$
+DECLARE
+    v_index RECORD;
+BEGIN
+    FOR v_index IN
+        SELECT c.relname
+        FROM pg_index i
+        INNER JOIN pg_class c
+            ON c.oid = i.indexrelid
+        WHERE i.indrelid = 'audit_log_legacy'::regclass
+            AND NOT EXISTS (
+                SELECT 1
+                FROM pg_inherits inh
+                WHERE inh.inhrelid = i.indexrelid
+                )
+    LOOP
+        EXECUTE format('DROP INDEX %I', v_index.relname);
+    END LOOP;
+END;$$;
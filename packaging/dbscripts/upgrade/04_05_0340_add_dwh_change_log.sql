@@ -0,0 +1,67 @@
+-- The latest change of each configuration entity sampled by DWH, maintained by the triggers of dwh_change_log_sp.sql.
+-- change_id is the version of the change, that increases with every change of the entity.
+CREATE TABLE dwh_change_log (
+    entity_type VARCHAR(64) NOT NULL,
+    entity_id UUID NOT NULL,
+    operation CHAR(1) NOT NULL,
+    change_id BIGSERIAL NOT NULL,
+    change_date TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_dwh_change_log PRIMARY KEY (entity_type, entity_id)
+);
+
+CREATE INDEX idx_dwh_change_log_change_date ON dwh_change_log(entity_type, change_date);
+CREATE UNIQUE INDEX idx_dwh_change_log_change_id ON dwh_change_log(change_id);
+CREATE INDEX idx_dwh_change_log_deletions ON dwh_change_log(change_date) WHERE operation = 'D';
+
+-- the existing entities, so the changes DWH did not sample yet are not lost
+INSERT INTO dwh_change_log (entity_type, entity_id, operation, change_date)
+SELECT 'storage_pool', id, 'I', greatest(_create_date, _update_date)
+FROM storage_pool
+WHERE _create_date IS NOT NULL;
+
+INSERT INTO dwh_change_log (entity_type, entity_id, operation, change_date)
+SELECT 'storage_domain_static', id, 'I', greatest(_create_date, _update_date)
+FROM storage_domain_static
+WHERE _create_date IS NOT NULL;
+
+INSERT INTO dwh_change_log (entity_type, entity_id, operation, change_date)
+SELECT 'cluster', cluster_id, 'I', greatest(_create_date, _update_date)
+FROM cluster
+WHERE _create_date IS NOT NULL;
+
+INSERT INTO dwh_change_log (entity_type, entity_id, operation, change_date)
+SELECT 'vds_static', vds_id, 'I', greatest(_create_date, _update_date)
+FROM vds_static
+WHERE _create_date IS NOT NULL;
+
+INSERT INTO dwh_change_log (entity_type, entity_id, operation, change_date)
+SELECT 'vds_interface', id, 'I', greatest(_create_date, _update_date)
+FROM vds_interface
+WHERE _create_date IS NOT NULL;
+
+INSERT INTO dwh_change_log (entity_type, entity_id, operation, change_date)
+SELECT 'vm_static', vm_guid, 'I', greatest(_create_date, _update_date)
+FROM vm_static
+WHERE _create_date IS NOT NULL;
+
+INSERT INTO dwh_change_log (entity_type, entity_id, operation, change_date)
+SELECT 'vm_interface', id, 'I', greatest(_create_date, _update_date)
+FROM vm_interface
+WHERE _create_date IS NOT NULL;
+
+INSERT INTO dwh_change_log (entity_type, entity_id, operation, change_date)
+SELECT 'images', image_guid, 'I', greatest(_create_date, _update_date)
+FROM images
+WHERE _create_date IS NOT NULL;
+
+-- shared disks are devices of several VMs
+INSERT INTO dwh_change_log (entity_type, entity_id, operation, change_date)
+SELECT 'vm_device', device_id, 'I', max(greatest(_create_date, _update_date))
+FROM vm_device
+WHERE _create_date IS NOT NULL
+GROUP BY device_id;
+
+INSERT INTO dwh_change_log (entity_type, entity_id, operation, change_date)
+SELECT 'users', user_id, 'I', greatest(_create_date, _update_date)
+FROM users
+WHERE _create_date IS NOT NULL;
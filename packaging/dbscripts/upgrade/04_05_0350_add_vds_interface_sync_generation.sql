@@ -0,0 +1,6 @@
+CREATE TABLE vds_interface_sync_generation (
+    vds_id UUID NOT NULL,
+    generation BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT pk_vds_interface_sync_generation PRIMARY KEY (vds_id),
+    FOREIGN KEY (vds_id) REFERENCES vds_static(vds_id) ON DELETE CASCADE
+);
@@ -0,0 +1,24 @@
+-- The unique index on the origin and custom event id of external events cannot be kept on the partitioned audit_log,
+-- since it would have to include log_time, so the external events are registered by a table of their own, which
+-- keeps them unique and points at their audit_log partition by their log_time.
+CREATE TABLE audit_log_external_event (
+    origin VARCHAR(255) NOT NULL,
+    custom_event_id INT NOT NULL,
+    audit_log_id BIGINT NOT NULL,
+    log_time TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_audit_log_external_event PRIMARY KEY (origin, custom_event_id)
+);
+
+CREATE INDEX idx_audit_log_external_event_log_time ON audit_log_external_event(log_time);
+
+-- the first event of each custom event id is kept, as the unique index kept it before the partitioning
+INSERT INTO audit_log_external_event (origin, custom_event_id, audit_log_id, log_time)
+SELECT origin, custom_event_id, audit_log_id, log_time
+FROM audit_log
+WHERE origin !~~* 'ovirt'
+    AND custom_event_id IS NOT NULL
+ORDER BY audit_log_id
+ON CONFLICT DO NOTHING;
+
+-- the external events are looked up by audit_log_external_event
+DROP INDEX IF EXISTS audit_log_origin_custom_event_id_idx;
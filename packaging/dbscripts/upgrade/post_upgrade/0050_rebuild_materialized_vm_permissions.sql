@@ -0,0 +1,3 @@
+-- The materialized VM permissions are not maintained while the triggers are dropped during the upgrade,
+-- so they are rebuilt from scratch once the views and the stored procedures are in place again
+SELECT RebuildMaterializedVmPermissions();
@@ -210,6 +210,9 @@ select fn_db_add_config_value('AnsibleRunnerArtifactsCleanupCheckTimeInHours','2
 
 select fn_db_add_config_value('AnsibleRunnerArtifactsLifetimeInDays', '14', 'general');
 
+-- Maximal number of disks converted at the same time when packing or extracting an OVA
+select fn_db_add_config_value('OvaDiskConversionParallelism', '2', 'general');
+
 select fn_db_add_config_value('MaxIoThreadsPerVm','127','general');
 
 select fn_db_add_config_value('DisplayUncaughtUIExceptions', 'true', 'general');
@@ -627,6 +630,8 @@ select fn_db_add_config_value('IrsResponseQueueName','jms.topic.vdsm_irs_respons
 select fn_db_add_config_value('EventQueueName','jms.queue.events','general');
 select fn_db_add_config_value('EventProcessingPoolSize','10','general');
 select fn_db_add_config_value('EventPurgeTimeoutInHours','3','general');
+select fn_db_add_config_value('EventFirstVmMonitoring','false','general');
+select fn_db_add_config_value('VmStatsIdlePollingFactor','4','general');
 select fn_db_add_config_value('TimeToReduceFailedRunOnVdsInMinutes','30','general');
 select fn_db_add_config_value('UnknownTaskPrePollingLapse','60000','general');
 select fn_db_add_config_value_for_versions_up_to('UserDefinedVMProperties', '','4.7');
@@ -680,6 +685,8 @@ select fn_db_add_config_value('DelayToRunAutoStartVmIntervalInSeconds','10','gen
 --How many times we try to wait for the HA VM NextRun configuration to be applied
 select fn_db_add_config_value('MaxNumOfSkipsBeforeAutoStartVm','3','general');
 select fn_db_add_config_value('MaxTimeAutoStartBlockedOnPriority','600','general');
+--How many VMs of the same restart wave are started concurrently
+select fn_db_add_config_value('AutoStartVmsRunnerMaxParallelStarts','10','general');
 --Handling Keyboard Layout configuration for VNC
 select fn_db_add_config_value('VncKeyboardLayout','en-us','general');
 select fn_db_add_config_value('VncKeyboardLayoutValidValues','ar,da,de,de-ch,en-gb,en-us,es,et,fi,fo,fr,fr-be,fr-ca,fr-ch,hr,hu,is,it,ja,lt,lv,mk,nl,no,pl,pt,pt-br,ru,sl,sv,th,tr','general');
@@ -807,6 +814,7 @@ select fn_db_add_config_value('ImageTransferClientTicketValidityInSeconds','3600
 select fn_db_add_config_value('ImageTransferHostTicketValidityInSeconds','300','general');
 select fn_db_add_config_value('ImageTransferHostTicketRefreshAllowanceInSeconds','60','general');
 select fn_db_add_config_value('ImageTransferPausedLogIntervalInSeconds','1800','general');
+select fn_db_add_config_value('ImageTransferStatusPollingIntervalInSeconds','5','general');
 select fn_db_add_config_value('TransferImageClientInactivityTimeoutInSeconds','60','general');
 select fn_db_add_config_value('UploadImageChunkSizeKB','8192','general');
 select fn_db_add_config_value('UploadImageXhrTimeoutInSeconds','10','general');
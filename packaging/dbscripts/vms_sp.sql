@@ -1974,6 +1974,16 @@ BEGIN
 END; $FUNCTION$
 LANGUAGE plpgsql;
 
+Create or replace FUNCTION GetRunningVmsForSchedulingByClusterId(v_cluster_id UUID) RETURNS SETOF vms_scheduling_view STABLE
+    AS $FUNCTION$
+BEGIN
+    RETURN QUERY SELECT vms_scheduling_view.*
+    FROM vms_scheduling_view
+    WHERE run_on_vds IS NOT NULL
+        AND cluster_id = v_cluster_id;
+END; $FUNCTION$
+LANGUAGE plpgsql;
+
 ---------------------
 -- vm_init functions
 ---------------------